@@ -0,0 +1,60 @@
+package org.geogebra.benchmark;
+
+import java.io.IOException;
+
+import org.geogebra.common.kernel.commands.AlgebraProcessor;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Runs typical inputs through the command pipeline (parsing, command
+ * processing and labeling) on top of a file of the corpus.
+ */
+public class AlgebraProcessorBenchmark extends CorpusBenchmark {
+
+	private static final String[] INPUTS = { "A_1 = (1, 2)", "B_1 = (3, -1)",
+			"s_1 = Segment(A_1, B_1)", "k_1 = Circle(A_1, B_1)",
+			"M_1 = Midpoint(s_1)", "l_1 = Sequence(i^2, i, 1, 50)",
+			"m_1 = Mean(l_1)", "f_1(x) = x^3 - 2x + 1",
+			"R_1 = Root(f_1, -2, 0)", "t_1 = Text(\"m = \" + m_1)" };
+
+	@Param({ "circles.ggb" })
+	public String file;
+
+	private AlgebraProcessor processor;
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+		processor = app.getKernel().getAlgebraProcessor();
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void processInputs(Blackhole bh) {
+		for (String input : INPUTS) {
+			GeoElementND[] result = processor.processAlgebraCommand(input,
+					false);
+			bh.consume(result);
+		}
+		// removing an object removes its dependents too
+		for (String input : INPUTS) {
+			GeoElement geo = app.getKernel()
+					.lookupLabel(input.substring(0, 3));
+			if (geo != null) {
+				geo.remove();
+			}
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package org.geogebra.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.io.MyXMLio;
+import org.geogebra.common.jre.headless.AppCommon;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.Charsets;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Base class for benchmarks running on a file of the reference corpus
+ * (resources/org/geogebra/benchmark/corpus). Subclasses select the files with
+ * a {@code @Param} field and call {@link #load(String)} in their setup.
+ */
+@State(Scope.Benchmark)
+public abstract class CorpusBenchmark {
+
+	/** all files of the corpus */
+	public static final String[] CORPUS = { "circles.ggb",
+			"slider-cascade.ggb", "implicit-curves.ggb" };
+
+	/** headless app with the loaded file */
+	protected AppCommon app;
+	/** construction XML of the loaded file */
+	protected String xml;
+
+	/**
+	 * Creates a new app and loads a file of the corpus.
+	 *
+	 * @param file
+	 *            file name
+	 * @throws IOException
+	 *             if the file is not in the corpus
+	 */
+	protected void load(String file) throws IOException {
+		app = AppCommonFactory.create();
+		xml = readXML(file);
+		app.setXML(xml, true);
+		if (app.getKernel().getConstruction().getGeoSetConstructionOrder()
+				.isEmpty()) {
+			throw new IllegalStateException("Failed to load " + file);
+		}
+	}
+
+	/**
+	 * @param file
+	 *            file name
+	 * @return content of geogebra.xml
+	 * @throws IOException
+	 *             if the file is not in the corpus
+	 */
+	protected static String readXML(String file) throws IOException {
+		InputStream is = CorpusBenchmark.class
+				.getResourceAsStream("corpus/" + file);
+		if (is == null) {
+			throw new IOException(file + " not found in corpus");
+		}
+		ZipInputStream zip = new ZipInputStream(is);
+		try {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				if (MyXMLio.XML_FILE.equals(entry.getName())) {
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					byte[] buffer = new byte[8192];
+					int read;
+					while ((read = zip.read(buffer)) > 0) {
+						out.write(buffer, 0, read);
+					}
+					return new String(out.toByteArray(), Charsets.getUtf8());
+				}
+			}
+		} finally {
+			zip.close();
+		}
+		throw new IOException(MyXMLio.XML_FILE + " not found in " + file);
+	}
+
+	/**
+	 * @param type
+	 *            type of elements
+	 * @return elements of given type in construction order
+	 */
+	protected <T> ArrayList<T> getGeos(Class<T> type) {
+		ArrayList<T> geos = new ArrayList<>();
+		for (GeoElement geo : app.getKernel().getConstruction()
+				.getGeoSetConstructionOrder()) {
+			if (type.isInstance(geo)) {
+				geos.add(type.cast(geo));
+			}
+		}
+		return geos;
+	}
+}
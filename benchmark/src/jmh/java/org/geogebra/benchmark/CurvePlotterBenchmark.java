@@ -0,0 +1,60 @@
+package org.geogebra.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.geogebra.common.euclidian.EuclidianView;
+import org.geogebra.common.euclidian.plot.CurvePlotter;
+import org.geogebra.common.euclidian.plot.CurvePlotter.Gap;
+import org.geogebra.common.euclidian.plot.GeneralPathClippedForCurvePlotter;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.kernelND.CurveEvaluable;
+import org.geogebra.common.kernel.kernelND.GeoCurveCartesianND;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Plots functions and curves of a construction in the graphics view.
+ */
+public class CurvePlotterBenchmark extends CorpusBenchmark {
+
+	@Param({ "slider-cascade.ggb" })
+	public String file;
+
+	private ArrayList<CurveEvaluable> curves;
+	private EuclidianView view;
+	private GeneralPathClippedForCurvePlotter path;
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+		view = app.getEuclidianView1();
+		path = new GeneralPathClippedForCurvePlotter(view);
+		curves = new ArrayList<>();
+		curves.addAll(getGeos(GeoFunction.class));
+		curves.addAll(getGeos(GeoCurveCartesianND.class));
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void plotCurve(Blackhole bh) {
+		for (CurveEvaluable curve : curves) {
+			path.reset();
+			double min = curve instanceof GeoFunction ? view.getXmin()
+					: curve.getMinParameter();
+			double max = curve instanceof GeoFunction ? view.getXmax()
+					: curve.getMaxParameter();
+			bh.consume(CurvePlotter.plotCurve(curve, min, max, view, path,
+					false, Gap.MOVE_TO));
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.geogebra.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Evaluates functions of a construction in many points.
+ */
+public class FunctionValueBenchmark extends CorpusBenchmark {
+
+	private static final int POINTS = 1000;
+
+	@Param({ "slider-cascade.ggb" })
+	public String file;
+
+	private ArrayList<GeoFunction> functions;
+	private final double[] xs = new double[POINTS];
+	private final double[] values = new double[POINTS];
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+		functions = getGeos(GeoFunction.class);
+		for (int i = 0; i < POINTS; i++) {
+			xs[i] = -10 + 20.0 * i / POINTS;
+		}
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void value(Blackhole bh) {
+		for (GeoFunction f : functions) {
+			for (int i = 0; i < POINTS; i++) {
+				bh.consume(f.value(xs[i]));
+			}
+		}
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void batchValue(Blackhole bh) {
+		for (GeoFunction f : functions) {
+			f.value(xs, values, POINTS);
+			bh.consume(values);
+		}
+	}
+}
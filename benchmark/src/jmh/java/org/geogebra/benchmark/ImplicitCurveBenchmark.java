@@ -0,0 +1,43 @@
+package org.geogebra.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.geogebra.common.kernel.implicit.GeoImplicitCurve;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Recomputes the quadtree based paths of implicit curves.
+ */
+public class ImplicitCurveBenchmark extends CorpusBenchmark {
+
+	@Param({ "implicit-curves.ggb" })
+	public String file;
+
+	private ArrayList<GeoImplicitCurve> curves;
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+		curves = getGeos(GeoImplicitCurve.class);
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void updatePath(Blackhole bh) {
+		for (GeoImplicitCurve curve : curves) {
+			curve.updatePath();
+			bh.consume(curve.getLocus());
+		}
+	}
+}
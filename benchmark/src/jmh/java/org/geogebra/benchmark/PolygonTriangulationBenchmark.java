@@ -0,0 +1,101 @@
+package org.geogebra.benchmark;
+
+import java.util.Random;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.discrete.PolygonTriangulation;
+import org.geogebra.common.kernel.discrete.SweepTriangulation;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoPolygon;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Triangulates a large simple polygon (wavy outline like imported map data)
+ * with the point and segment objects of {@link PolygonTriangulation} and with
+ * {@link SweepTriangulation}.
+ */
+@State(Scope.Benchmark)
+public class PolygonTriangulationBenchmark {
+
+	@Param({ "1000", "10000", "50000" })
+	public int vertices;
+
+	private GeoPolygon polygon;
+	private double[] xs;
+	private double[] ys;
+	private final SweepTriangulation reused = new SweepTriangulation();
+	private int moves = 0;
+
+	/**
+	 * Creates the polygon.
+	 */
+	@Setup
+	public void setup() {
+		Construction cons = AppCommonFactory.create().getKernel()
+				.getConstruction();
+		Random random = new Random(42);
+		xs = new double[vertices];
+		ys = new double[vertices];
+		GeoPointND[] points = new GeoPointND[vertices];
+		for (int i = 0; i < vertices; i++) {
+			double angle = 2 * Math.PI * i / vertices;
+			double radius = 10 + 3 * Math.sin(200 * angle)
+					+ 0.01 * random.nextDouble();
+			xs[i] = radius * Math.cos(angle);
+			ys[i] = radius * Math.sin(angle);
+			points[i] = new GeoPoint(cons, xs[i], ys[i], 1);
+		}
+		polygon = new GeoPolygon(cons, points);
+		polygon.getPolygonTriangulation().setPolygon(polygon);
+		reused.update(xs, ys, vertices);
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 * @throws Exception
+	 *             if triangulation fails
+	 */
+	@Benchmark
+	public void objects(Blackhole bh) throws Exception {
+		PolygonTriangulation pt = polygon.getPolygonTriangulation();
+		pt.clear();
+		pt.updatePoints();
+		bh.consume(pt.checkIsConvex());
+		pt.setIntersections();
+		pt.triangulate();
+		bh.consume(pt.getTriangleFans());
+	}
+
+	/**
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void sweep(Blackhole bh) {
+		SweepTriangulation triangulation = new SweepTriangulation();
+		bh.consume(triangulation.update(xs, ys, vertices));
+		bh.consume(triangulation.getTriangles());
+	}
+
+	/**
+	 * Moves one vertex a little, as when dragging a point.
+	 *
+	 * @param bh
+	 *            blackhole
+	 */
+	@Benchmark
+	public void sweepMovedVertex(Blackhole bh) {
+		moves++;
+		xs[0] += (moves % 2 == 0 ? 1E-4 : -1E-4);
+		bh.consume(reused.update(xs, ys, vertices));
+		bh.consume(reused.getTriangles());
+	}
+}
@@ -0,0 +1,47 @@
+package org.geogebra.benchmark;
+
+import java.io.IOException;
+
+import org.geogebra.common.kernel.UndoManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Stores and restores undo points.
+ */
+public class UndoBenchmark extends CorpusBenchmark {
+
+	@Param({ "circles.ggb", "slider-cascade.ggb", "implicit-curves.ggb" })
+	public String file;
+
+	private UndoManager undoManager;
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+		app.setUndoActive(true);
+		undoManager = app.getKernel().getConstruction().getUndoManager();
+		undoManager.initUndoInfo();
+	}
+
+	/**
+	 * Stores undo point.
+	 */
+	@Benchmark
+	public void storeUndoInfo() {
+		undoManager.storeUndoInfo();
+	}
+
+	/**
+	 * Reloads current undo point.
+	 */
+	@Benchmark
+	public void restoreUndoInfo() {
+		undoManager.restoreCurrentUndoInfo();
+	}
+}
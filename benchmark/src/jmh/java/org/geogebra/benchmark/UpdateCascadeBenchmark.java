@@ -0,0 +1,60 @@
+package org.geogebra.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Moves all free numbers and points of a construction, like dragging sliders.
+ */
+public class UpdateCascadeBenchmark extends CorpusBenchmark {
+
+	@Param({ "circles.ggb", "slider-cascade.ggb", "implicit-curves.ggb" })
+	public String file;
+
+	private ArrayList<GeoElement> free;
+	private final TreeSet<AlgoElement> tempSet = new TreeSet<>();
+	private double step = 0.01;
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+		free = new ArrayList<>();
+		for (GeoElement geo : getGeos(GeoElement.class)) {
+			if (geo.isIndependent() && geo.isChangeable()
+					&& (geo instanceof GeoNumeric || geo instanceof GeoPoint)) {
+				free.add(geo);
+			}
+		}
+	}
+
+	/**
+	 * Moves free elements forth and back and updates dependent objects.
+	 */
+	@Benchmark
+	public void updateCascade() {
+		step = -step;
+		for (GeoElement geo : free) {
+			if (geo instanceof GeoNumeric) {
+				GeoNumeric num = (GeoNumeric) geo;
+				num.setValue(num.getValue() + step);
+			} else {
+				GeoPoint point = (GeoPoint) geo;
+				point.setCoords(point.getInhomX() + step, point.getInhomY(), 1);
+			}
+		}
+		GeoElement.updateCascade(free, tempSet, true);
+	}
+}
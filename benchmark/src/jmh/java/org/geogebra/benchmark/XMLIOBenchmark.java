@@ -0,0 +1,58 @@
+package org.geogebra.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.geogebra.common.jre.io.MyXMLioJre;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Loads and saves files of the corpus.
+ */
+public class XMLIOBenchmark extends CorpusBenchmark {
+
+	@Param({ "circles.ggb", "slider-cascade.ggb", "implicit-curves.ggb" })
+	public String file;
+
+	/**
+	 * @throws IOException
+	 *             if file is missing
+	 */
+	@Setup
+	public void setup() throws IOException {
+		load(file);
+	}
+
+	/**
+	 * @return number of elements
+	 * @throws Exception
+	 *             if file can't be processed
+	 */
+	@Benchmark
+	public int load() throws Exception {
+		app.getXMLio().processXMLString(xml, true, false);
+		return app.getKernel().getConstruction().steps();
+	}
+
+	/**
+	 * @return construction XML
+	 */
+	@Benchmark
+	public String getXML() {
+		return app.getXMLio().getFullXML();
+	}
+
+	/**
+	 * @return zipped file
+	 * @throws IOException
+	 *             if zipping fails
+	 */
+	@Benchmark
+	public byte[] save() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		((MyXMLioJre) app.getXMLio()).writeGeoGebraFile(out, false);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,90 @@
+package org.geogebra.common.jre.cas;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.geogebra.common.cas.CasResultStore;
+import org.geogebra.common.util.Charsets;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Stores CAS results in a directory, one file per result. Files are written
+ * atomically, so the directory can be shared by several processes.
+ */
+public class FileCasResultStore implements CasResultStore {
+
+	/** separates key and result in the file */
+	private static final char SEPARATOR = '\0';
+
+	private final File directory;
+
+	/**
+	 * @param directory
+	 *            directory for the results, created if needed
+	 */
+	public FileCasResultStore(File directory) {
+		this.directory = directory;
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			Log.warn("Cannot create CAS cache directory " + directory);
+		}
+	}
+
+	@Override
+	public String get(String key) {
+		File file = getFile(key);
+		if (file == null || !file.isFile()) {
+			return null;
+		}
+		try {
+			String content = new String(Files.readAllBytes(file.toPath()),
+					Charsets.getUtf8());
+			int separator = content.indexOf(SEPARATOR);
+			// different key with the same hash
+			if (separator < 0 || !key.equals(content.substring(0, separator))) {
+				return null;
+			}
+			return content.substring(separator + 1);
+		} catch (IOException e) {
+			Log.debug("Cannot read CAS cache: " + e.getMessage());
+			return null;
+		}
+	}
+
+	@Override
+	public void put(String key, String result) {
+		File file = getFile(key);
+		if (file == null || file.exists()) {
+			return;
+		}
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(directory.toPath(), "cas", ".tmp");
+			Files.write(temp,
+					(key + SEPARATOR + result).getBytes(Charsets.getUtf8()));
+			Files.move(temp, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Log.debug("Cannot write CAS cache: " + e.getMessage());
+			if (temp != null) {
+				temp.toFile().delete();
+			}
+		}
+	}
+
+	private File getFile(String key) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1");
+			byte[] hash = digest.digest(key.getBytes(Charsets.getUtf8()));
+			return new File(directory,
+					String.format("%040x", new BigInteger(1, hash)));
+		} catch (NoSuchAlgorithmException e) {
+			Log.debug(e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,258 @@
+package org.geogebra.common.jre.headless;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Pool of initialized headless apps, e.g. for export jobs on a server. Apps
+ * are created once and reset to their initial state when they are returned,
+ * which is much cheaper than creating a new app for every job.
+ *
+ * @param <T>
+ *            app type
+ */
+public class AppCommonPool<T extends AppCommon> {
+
+	private final AppFactory<T> factory;
+	private final LinkedBlockingDeque<T> idle = new LinkedBlockingDeque<>();
+	/** XML of each app right after creation */
+	private final ConcurrentHashMap<T, String> initialXML =
+			new ConcurrentHashMap<>();
+	/** apps taken from the pool and not released yet */
+	private final Set<T> checkedOut = Collections
+			.newSetFromMap(new ConcurrentHashMap<T, Boolean>());
+
+	private final AtomicLong acquired = new AtomicLong();
+	private final AtomicLong waitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong resets = new AtomicLong();
+	private final AtomicLong resetNanos = new AtomicLong();
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong createNanos = new AtomicLong();
+
+	/**
+	 * Creates apps for the pool.
+	 *
+	 * @param <T>
+	 *            app type
+	 */
+	public interface AppFactory<T extends AppCommon> {
+		/**
+		 * @return new app
+		 */
+		T create();
+	}
+
+	/**
+	 * Creates the pool and all its apps.
+	 *
+	 * @param factory
+	 *            app factory
+	 * @param size
+	 *            number of apps
+	 */
+	public AppCommonPool(AppFactory<T> factory, int size) {
+		this.factory = factory;
+		for (int i = 0; i < size; i++) {
+			idle.add(createApp());
+		}
+	}
+
+	/**
+	 * Takes an app from the pool, waits until one is available.
+	 *
+	 * @return app in initial state
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public T acquire() throws InterruptedException {
+		long start = System.nanoTime();
+		T app = idle.takeFirst();
+		checkedOut.add(app);
+		recordWait(System.nanoTime() - start);
+		return app;
+	}
+
+	/**
+	 * Takes an app from the pool.
+	 *
+	 * @param timeout
+	 *            maximal waiting time
+	 * @param unit
+	 *            unit of the timeout
+	 * @return app in initial state, null on timeout
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public T acquire(long timeout, TimeUnit unit) throws InterruptedException {
+		long start = System.nanoTime();
+		T app = idle.pollFirst(timeout, unit);
+		if (app != null) {
+			checkedOut.add(app);
+			recordWait(System.nanoTime() - start);
+		}
+		return app;
+	}
+
+	/**
+	 * Resets the app and returns it to the pool. If the reset fails, the app
+	 * is replaced by a new one.
+	 *
+	 * @param app
+	 *            app obtained from {@link #acquire()}
+	 * @throws IllegalArgumentException
+	 *             if the app is not from this pool
+	 * @throws IllegalStateException
+	 *             if the app was already released
+	 */
+	public void release(T app) {
+		String xml = initialXML.get(app);
+		if (xml == null) {
+			throw new IllegalArgumentException("App is not from this pool");
+		}
+		// a second release would put the app into the pool twice
+		if (!checkedOut.remove(app)) {
+			throw new IllegalStateException("App was already released");
+		}
+		long start = System.nanoTime();
+		T resetApp = app;
+		try {
+			reset(app, xml);
+			resetNanos.addAndGet(System.nanoTime() - start);
+			resets.incrementAndGet();
+		} catch (RuntimeException e) {
+			Log.warn("Replacing app after failed reset: " + e.getMessage());
+			initialXML.remove(app);
+			resetApp = createApp();
+		}
+		// recently used apps first, their caches are warm
+		idle.addFirst(resetApp);
+	}
+
+	/**
+	 * Restores the state of the app after creation.
+	 *
+	 * @param app
+	 *            app
+	 * @param xml
+	 *            XML of the app right after creation
+	 */
+	protected void reset(T app, String xml) {
+		app.getScriptManager().reset();
+		Kernel kernel = app.getKernel();
+		kernel.removeAllMacros();
+		// also clears global JavaScript
+		kernel.clearConstruction(true);
+		kernel.getConstruction().getConstructionDefaults().resetDefaults();
+		// restores kernel and view settings
+		app.setXML(xml, true);
+		app.getSelectionManager().clearSelectedGeos(false);
+	}
+
+	private T createApp() {
+		long start = System.nanoTime();
+		T app = factory.create();
+		initialXML.put(app, app.getXML());
+		createNanos.addAndGet(System.nanoTime() - start);
+		created.incrementAndGet();
+		return app;
+	}
+
+	private void recordWait(long nanos) {
+		acquired.incrementAndGet();
+		waitNanos.addAndGet(nanos);
+		long max = maxWaitNanos.get();
+		while (nanos > max && !maxWaitNanos.compareAndSet(max, nanos)) {
+			max = maxWaitNanos.get();
+		}
+	}
+
+	/**
+	 * @return number of apps owned by the pool
+	 */
+	public int getSize() {
+		return initialXML.size();
+	}
+
+	/**
+	 * @return number of apps waiting for a job
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+
+	/**
+	 * @return number of jobs that got an app
+	 */
+	public long getAcquireCount() {
+		return acquired.get();
+	}
+
+	/**
+	 * @return average time waiting for an app in milliseconds
+	 */
+	public double getAverageWaitMillis() {
+		return average(waitNanos, acquired);
+	}
+
+	/**
+	 * @return maximal time waiting for an app in milliseconds
+	 */
+	public double getMaxWaitMillis() {
+		return maxWaitNanos.get() / 1E6;
+	}
+
+	/**
+	 * @return number of resets
+	 */
+	public long getResetCount() {
+		return resets.get();
+	}
+
+	/**
+	 * @return average reset time in milliseconds
+	 */
+	public double getAverageResetMillis() {
+		return average(resetNanos, resets);
+	}
+
+	/**
+	 * @return number of created apps, including replacements
+	 */
+	public long getCreateCount() {
+		return created.get();
+	}
+
+	/**
+	 * @return average time to create an app in milliseconds
+	 */
+	public double getAverageCreateMillis() {
+		return average(createNanos, created);
+	}
+
+	private static double average(AtomicLong nanos, AtomicLong count) {
+		long n = count.get();
+		return n == 0 ? 0 : nanos.get() / 1E6 / n;
+	}
+
+	@Override
+	public String toString() {
+		return "App pool: " + getSize() + " apps, " + getIdleCount() + " idle, "
+				+ getAcquireCount() + " jobs, wait "
+				+ format(getAverageWaitMillis()) + " ms (max "
+				+ format(getMaxWaitMillis()) + " ms), reset "
+				+ format(getAverageResetMillis()) + " ms, create "
+				+ format(getAverageCreateMillis()) + " ms";
+	}
+
+	private static String format(double millis) {
+		return String.valueOf(Math.round(millis * 100) / 100.0);
+	}
+}
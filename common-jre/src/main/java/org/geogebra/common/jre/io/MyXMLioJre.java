@@ -33,6 +33,7 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -64,6 +65,10 @@ public abstract class MyXMLioJre extends MyXMLio {
 	// private static XMLReaderFactory factory;
 
 	private QDParser xmlParser;
+	/** executor for tokenizing, null to parse on the calling thread */
+	private ExecutorService parseExecutor;
+	/** time spent processing the last loaded XML file in milliseconds */
+	private double lastLoadTime;
 
 	/**
 	 * @param kernel
@@ -80,6 +85,32 @@ public abstract class MyXMLioJre extends MyXMLio {
 		xmlParser = new QDParser();
 	}
 
+	/**
+	 * Enables streaming mode: files are read and tokenized on a worker thread
+	 * while the construction is being built.
+	 * 
+	 * @param parseExecutor
+	 *            executor for tokenizing, see
+	 *            {@link PipelinedXMLParser#createExecutor()}; null to parse
+	 *            everything on the calling thread
+	 */
+	public void setParseExecutor(ExecutorService parseExecutor) {
+		this.parseExecutor = parseExecutor;
+	}
+
+	/**
+	 * @return time spent processing the last XML file (parsing and building
+	 *         the construction) in milliseconds
+	 */
+	public double getLastLoadTime() {
+		return lastLoadTime;
+	}
+
+	private void setLoadTime(long startNanos, String fileName) {
+		lastLoadTime = (System.nanoTime() - startNanos) / 1E6;
+		Log.debug(fileName + " processed in " + lastLoadTime + "ms");
+	}
+
 	/**
 	 * Reads zipped file from input stream that includes the construction saved
 	 * in xml format and maybe image files.
@@ -142,6 +173,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 	 */
 	protected void processXMLBuffer(byte[] buffer, boolean clearConstruction,
 			boolean isGGTOrDefaults) throws Exception {
+		long start = System.nanoTime();
 		// handle the data in the memory buffer
 		ByteArrayInputStream bs = new ByteArrayInputStream(buffer);
 		XMLStreamInputStream ir = new XMLStreamInputStream(bs);
@@ -150,6 +182,7 @@ public abstract class MyXMLioJre extends MyXMLio {
 		doParseXML(ir, clearConstruction, isGGTOrDefaults, true, true, true);
 
 		bs.close();
+		setLoadTime(start, "XML buffer");
 	}
 
 	/**
@@ -167,12 +200,14 @@ public abstract class MyXMLioJre extends MyXMLio {
 		// get all entries from the zip archive
 		ZipEntry entry = zip.getNextEntry();
 		if (entry != null && entry.getName().equals(XML_FILE)) {
+			long start = System.nanoTime();
 			// process xml file
 			kernel.getConstruction().setFileLoading(true);
 			doParseXML(new XMLStreamInputStream(zip), true, false, true, true,
 					false);
 			kernel.getConstruction().setFileLoading(false);
 			zip.close();
+			setLoadTime(start, XML_FILE);
 		} else {
 			zip.close();
 			throw new Exception(XML_FILE + " not found");
@@ -573,7 +608,12 @@ public abstract class MyXMLioJre extends MyXMLio {
 	final protected void parseXML(MyXMLHandler xmlHandler, XMLStream stream)
 			throws Exception {
 		XMLStreamJre streamJre = (XMLStreamJre) stream;
-		xmlParser.parse(xmlHandler, streamJre.getReader());
+		if (parseExecutor != null) {
+			new PipelinedXMLParser(parseExecutor).parse(xmlHandler,
+					streamJre.getReader());
+		} else {
+			xmlParser.parse(xmlHandler, streamJre.getReader());
+		}
 		streamJre.closeReader();
 
 	}
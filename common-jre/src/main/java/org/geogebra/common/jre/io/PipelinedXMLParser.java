@@ -0,0 +1,219 @@
+package org.geogebra.common.jre.io;
+
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.io.DocHandler;
+import org.geogebra.common.io.QDParser;
+
+/**
+ * XML parser that reads and tokenizes the input on a worker thread while the
+ * handler processes the already tokenized part on the calling thread, so that
+ * unzipping, decoding and tokenizing overlap with building the construction.
+ * The handler receives exactly the same events as with {@link QDParser}.
+ */
+public class PipelinedXMLParser {
+
+	/** events per batch */
+	private static final int BATCH_SIZE = 256;
+	/** maximal number of batches waiting for the handler */
+	private static final int QUEUE_CAPACITY = 64;
+
+	private static final int START_DOCUMENT = 0;
+	private static final int END_DOCUMENT = 1;
+	private static final int START_ELEMENT = 2;
+	private static final int END_ELEMENT = 3;
+	private static final int TEXT = 4;
+
+	private final ExecutorService executor;
+	private final ArrayBlockingQueue<Batch> queue = new ArrayBlockingQueue<>(
+			QUEUE_CAPACITY);
+	/** processed batches, reused by the tokenizer */
+	private final ConcurrentLinkedQueue<Batch> pool = new ConcurrentLinkedQueue<>();
+	private volatile boolean cancelled;
+
+	/**
+	 * @param executor
+	 *            executor for the tokenizer; loading may be nested (e.g.
+	 *            macros), so it should not queue tasks, see
+	 *            {@link #createExecutor()}
+	 */
+	public PipelinedXMLParser(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * @return executor with daemon threads that creates new threads as needed
+	 */
+	public static ExecutorService createExecutor() {
+		return Executors.newCachedThreadPool(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "GeoGebra XML parser");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * Parses the XML, returns when the handler processed the whole document.
+	 *
+	 * @param handler
+	 *            handler that receives document events
+	 * @param reader
+	 *            source of XML data
+	 * @throws Exception
+	 *             if XML is not valid or the handler failed
+	 */
+	public void parse(DocHandler handler, final Reader reader)
+			throws Exception {
+		final Recorder recorder = new Recorder();
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					new QDParser().parse(recorder, reader);
+				} catch (Throwable t) {
+					recorder.batch.error = t;
+				}
+				recorder.batch.last = true;
+				publish(recorder.batch);
+			}
+		});
+		try {
+			replay(handler);
+		} catch (Exception e) {
+			cancelled = true;
+			queue.clear();
+			throw e;
+		}
+	}
+
+	private void replay(DocHandler handler) throws Exception {
+		while (true) {
+			Batch batch = queue.take();
+			for (int i = 0; i < batch.size; i++) {
+				batch.events[i].sendTo(handler);
+			}
+			if (batch.error instanceof Exception) {
+				throw (Exception) batch.error;
+			} else if (batch.error != null) {
+				throw (Error) batch.error;
+			}
+			if (batch.last) {
+				return;
+			}
+			batch.size = 0;
+			pool.offer(batch);
+		}
+	}
+
+	private void publish(Batch batch) {
+		try {
+			while (!cancelled
+					&& !queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+				// handler is busy, wait
+			}
+		} catch (InterruptedException e) {
+			cancelled = true;
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class Batch {
+		final Event[] events = new Event[BATCH_SIZE];
+		int size;
+		boolean last;
+		Throwable error;
+
+		Batch() {
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				events[i] = new Event();
+			}
+		}
+	}
+
+	private static class Event {
+		int type;
+		String value;
+		final LinkedHashMap<String, String> attrs = new LinkedHashMap<>();
+
+		void sendTo(DocHandler handler) throws Exception {
+			switch (type) {
+			case START_DOCUMENT:
+				handler.startDocument();
+				break;
+			case END_DOCUMENT:
+				handler.endDocument();
+				break;
+			case START_ELEMENT:
+				handler.startElement(value, attrs);
+				break;
+			case END_ELEMENT:
+				handler.endElement(value);
+				break;
+			default:
+				handler.text(value);
+			}
+		}
+	}
+
+	/**
+	 * Collects tokenizer events into batches.
+	 */
+	private class Recorder implements DocHandler {
+		Batch batch = new Batch();
+
+		private Event next(int type, String value) throws Exception {
+			if (cancelled) {
+				throw new Exception("XML parsing cancelled");
+			}
+			if (batch.size == BATCH_SIZE) {
+				publish(batch);
+				batch = pool.poll();
+				if (batch == null) {
+					batch = new Batch();
+				}
+			}
+			Event event = batch.events[batch.size++];
+			event.type = type;
+			event.value = value;
+			event.attrs.clear();
+			return event;
+		}
+
+		@Override
+		public void startElement(String tag, LinkedHashMap<String, String> h)
+				throws Exception {
+			// the parser reuses its attribute map
+			next(START_ELEMENT, tag).attrs.putAll(h);
+		}
+
+		@Override
+		public void endElement(String tag) throws Exception {
+			next(END_ELEMENT, tag);
+		}
+
+		@Override
+		public void startDocument() throws Exception {
+			next(START_DOCUMENT, null);
+		}
+
+		@Override
+		public void endDocument() throws Exception {
+			next(END_DOCUMENT, null);
+		}
+
+		@Override
+		public void text(String str) throws Exception {
+			next(TEXT, str);
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.kernel.TaskScheduler;
+
+/**
+ * Runs tasks on a fork-join pool.
+ */
+public class ForkJoinTaskScheduler implements TaskScheduler {
+
+	/** number of tasks run by one fork-join task */
+	private static final int TASK_SIZE = 2;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates scheduler using one thread per processor
+	 */
+	public ForkJoinTaskScheduler() {
+		this(new ForkJoinPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool for running the tasks
+	 */
+	public ForkJoinTaskScheduler(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void runAll(List<Runnable> tasks) {
+		pool.invoke(new RunTask(tasks, 0, tasks.size()));
+	}
+
+	@Override
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	private static class RunTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<Runnable> tasks;
+		private final int from;
+		private final int to;
+
+		protected RunTask(List<Runnable> tasks, int from, int to) {
+			this.tasks = tasks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= TASK_SIZE) {
+				for (int i = from; i < to; i++) {
+					tasks.get(i).run();
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new RunTask(tasks, from, mid),
+					new RunTask(tasks, mid, to));
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package org.geogebra.common.jre.kernel;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.LevelUpdateScheduler;
+
+/**
+ * Update scheduler computing independent algorithms on a fork-join pool.
+ */
+public class ParallelUpdateScheduler extends LevelUpdateScheduler {
+
+	/** levels with fewer algos are computed in the calling thread */
+	private static final int MIN_PARALLEL_SIZE = 8;
+	/** number of algos computed by one task */
+	private static final int TASK_SIZE = 4;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates scheduler using one thread per processor
+	 */
+	public ParallelUpdateScheduler() {
+		this(new ForkJoinPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool for computing algorithms
+	 */
+	public ParallelUpdateScheduler(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	protected void computeAll(List<AlgoElement> algos) {
+		if (algos.size() < MIN_PARALLEL_SIZE) {
+			for (AlgoElement algo : algos) {
+				algo.compute();
+			}
+			return;
+		}
+		pool.invoke(new ComputeTask(algos, 0, algos.size()));
+	}
+
+	private static class ComputeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final List<AlgoElement> algos;
+		private final int from;
+		private final int to;
+
+		protected ComputeTask(List<AlgoElement> algos, int from, int to) {
+			this.algos = algos;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= TASK_SIZE) {
+				for (int i = from; i < to; i++) {
+					algos.get(i).compute();
+				}
+				return;
+			}
+			int mid = (from + to) >>> 1;
+			invokeAll(new ComputeTask(algos, from, mid),
+					new ComputeTask(algos, mid, to));
+		}
+	}
+}
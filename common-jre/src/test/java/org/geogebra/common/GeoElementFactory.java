@@ -7,6 +7,7 @@ import org.geogebra.common.kernel.commands.AlgebraProcessor;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoLine;
+import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.geos.GeoRay;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.scientific.LabelController;
@@ -84,6 +85,21 @@ public class GeoElementFactory {
         return new GeoFunction(unitTest.getConstruction(), function);
     }
 
+	/**
+	 * Create a free point with automatic label.
+	 *
+	 * @param x
+	 *            x-coordinate
+	 * @param y
+	 *            y-coordinate
+	 * @return point
+	 */
+	public GeoPoint createPoint(double x, double y) {
+		GeoPoint point = new GeoPoint(unitTest.getConstruction(), x, y, 1);
+		point.setLabel(null);
+		return point;
+	}
+
 	/**
 	 * @return line with a hidden label
 	 */
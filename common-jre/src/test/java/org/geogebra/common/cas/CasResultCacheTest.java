@@ -0,0 +1,78 @@
+package org.geogebra.common.cas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+public class CasResultCacheTest {
+
+	@Test
+	public void randomCommandsShouldNotBeCached() {
+		assertFalse(CasResultCache.isDeterministic("(1+rand(6))"));
+		assertFalse(CasResultCache.isDeterministic("randnorm(0,1)"));
+		assertFalse(CasResultCache.isDeterministic("randperm(5)"));
+		assertFalse(CasResultCache.isDeterministic("shuffle([1,2,3])"));
+		assertTrue(CasResultCache.isDeterministic("factor(x^2-1)"));
+		assertTrue(CasResultCache.isDeterministic("ggbtmpvarrand+1"));
+
+		CasResultCache cache = new CasResultCache(10, null);
+		assertNull(cache.getKey("rand(0,1)", 5000));
+		assertEquals(1, cache.getBypassed());
+	}
+
+	@Test
+	public void keyShouldDependOnTimeoutAndInput() {
+		CasResultCache cache = new CasResultCache(10, null);
+		assertEquals(cache.getKey("factor( x^2  -1 )", 5000),
+				cache.getKey(" factor( x^2 -1 ) ", 5000));
+		assertNotEquals(cache.getKey("factor(x^2-1)", 5000),
+				cache.getKey("factor(x^2-1)", 13000));
+		assertNotEquals(cache.getKey("\"a  b\"", 5000),
+				cache.getKey("\"a b\"", 5000));
+	}
+
+	@Test
+	public void leastRecentlyUsedShouldBeRemoved() {
+		CasResultCache cache = new CasResultCache(2, null);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		assertEquals(2, cache.size());
+		assertNull(cache.get("b"));
+		assertEquals("1", cache.get("a"));
+		assertEquals("3", cache.get("c"));
+		assertEquals(3, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void storeShouldBeUsedAfterClear() {
+		final HashMap<String, String> stored = new HashMap<>();
+		CasResultCache cache = new CasResultCache(2, new CasResultStore() {
+
+			@Override
+			public String get(String key) {
+				return stored.get(key);
+			}
+
+			@Override
+			public void put(String key, String result) {
+				stored.put(key, result);
+			}
+		});
+		cache.put("a", "1");
+		assertEquals("1", stored.get("a"));
+		cache.clear();
+		assertEquals("1", cache.get("a"));
+		assertEquals("1", cache.get("a"));
+		assertEquals(1, cache.getStoreHits());
+		assertEquals(1, cache.getHits());
+	}
+}
@@ -0,0 +1,63 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.awt.GPoint;
+import org.geogebra.common.euclidian.event.PointerEventType;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Test;
+
+public class HitIndexTest extends BaseUnitTest {
+
+	private static final int THRESHOLD = 3;
+
+	@Test
+	public void candidatesShouldContainAllHits() {
+		EuclidianView view = getApp().getActiveEuclidianView();
+		for (int i = 0; i < 20; i++) {
+			for (int j = 0; j < 20; j++) {
+				getElementFactory().createPoint(i * 0.7, j * 0.45);
+			}
+		}
+		int allDrawables = view.getAllDrawableList().size();
+		for (int x = -20; x < 600; x += 7) {
+			for (int y = -400; y < 100; y += 7) {
+				ArrayList<Drawable> candidates = view.getHitIndex()
+						.getCandidates(x, y, THRESHOLD);
+				assertTrue(candidates.size() < allDrawables / 10);
+				for (Drawable d : view.getAllDrawableList()) {
+					if (d.hit(x, y, THRESHOLD) || d.hitLabel(x, y)) {
+						assertTrue(candidates.contains(d));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void movedPointShouldBeHit() {
+		EuclidianView view = getApp().getActiveEuclidianView();
+		GeoPoint point = getElementFactory().createPoint(1, 1);
+		getElementFactory().createPoint(5, 5);
+		GPoint oldPosition = toScreen(view, point);
+		view.setHits(oldPosition, PointerEventType.MOUSE);
+		assertTrue(view.getHits().contains(point));
+
+		point.setCoords(3, -2, 1);
+		point.updateRepaint();
+		((Drawable) view.getDrawableFor(point)).updateIfNeeded();
+		view.setHits(oldPosition, PointerEventType.MOUSE);
+		assertFalse(view.getHits().contains(point));
+		view.setHits(toScreen(view, point), PointerEventType.MOUSE);
+		assertTrue(view.getHits().contains(point));
+	}
+
+	private static GPoint toScreen(EuclidianView view, GeoPoint point) {
+		return new GPoint(view.toScreenCoordX(point.getInhomX()),
+				view.toScreenCoordY(point.getInhomY()));
+	}
+}
@@ -0,0 +1,72 @@
+package org.geogebra.common.euclidian;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.GeoElementFactory;
+import org.geogebra.common.awt.GColor;
+import org.geogebra.common.awt.GGraphics2D;
+import org.geogebra.common.factories.AwtFactory;
+import org.geogebra.common.kernel.algos.AlgoMidpoint;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StaticLayerTest extends BaseUnitTest {
+
+	private EuclidianView view;
+	private GGraphics2D graphics;
+	private GeoPoint moved;
+	private GeoPoint fixed;
+
+	@Before
+	public void setupStaticLayerTest() {
+		view = getApp().getActiveEuclidianView();
+		graphics = AwtFactory.getPrototype().createBufferedImage(800, 600, false)
+				.createGraphics();
+		GeoElementFactory factory = getElementFactory();
+		for (int i = 0; i < 100; i++) {
+			factory.createPoint(i * 0.1, -1);
+		}
+		moved = factory.createPoint(1, 1);
+		fixed = factory.createPoint(3, 1);
+		new AlgoMidpoint(getConstruction(), moved, fixed).getPoint()
+				.setLabel(null);
+	}
+
+	@Test
+	public void onlyMovedDrawablesShouldBeDrawnLive() {
+		StaticLayer layer = view.getStaticLayer();
+		layer.start(moved, null);
+		for (int x = 0; x < 10; x++) {
+			moved.setCoords(x, 1, 1);
+			moved.updateRepaint();
+			view.drawObjects(graphics);
+		}
+		assertEquals(2, layer.getLiveDrawableCount());
+		assertEquals(1, layer.getRebuildCount());
+	}
+
+	@Test
+	public void styleChangeShouldInvalidateLayer() {
+		StaticLayer layer = view.getStaticLayer();
+		layer.start(moved, null);
+		view.drawObjects(graphics);
+		fixed.setObjColor(GColor.RED);
+		fixed.updateVisualStyleRepaint(null);
+		view.drawObjects(graphics);
+		assertEquals(3, layer.getLiveDrawableCount());
+		assertEquals(2, layer.getRebuildCount());
+	}
+
+	@Test
+	public void stoppedLayerShouldNotDraw() {
+		StaticLayer layer = view.getStaticLayer();
+		layer.start(moved, null);
+		assertTrue(layer.draw(graphics));
+		layer.stop();
+		assertFalse(layer.draw(graphics));
+	}
+}
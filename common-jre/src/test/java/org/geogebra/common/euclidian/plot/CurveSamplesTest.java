@@ -0,0 +1,44 @@
+package org.geogebra.common.euclidian.plot;
+
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.plugin.Operation;
+import org.junit.Test;
+
+public class CurveSamplesTest extends BaseUnitTest {
+
+	@Test
+	public void samplesShouldBeEvaluatedWhenNeeded() {
+		final int[] evaluated = new int[1];
+		FunctionVariable x = new FunctionVariable(getKernel());
+		Function sin = new Function(
+				new ExpressionNode(getKernel(), x, Operation.SIN, null), x);
+		GeoFunction f = new GeoFunction(getConstruction(), sin) {
+			@Override
+			public void evaluateCurve(double[] ts, double[][] out, int n) {
+				evaluated[0] += n;
+				super.evaluateCurve(ts, out, n);
+			}
+		};
+		int count = 1 << 16;
+		CurveSamples samples = new CurveSamples(f, 0, 0.01, count);
+		assertEquals(0, evaluated[0]);
+
+		double[] eval = new double[2];
+		samples.get(100, eval);
+		assertEquals(1, eval[0], DELTA);
+		assertEquals(Math.sin(1), eval[1], DELTA);
+		samples.get(101, eval);
+		assertEquals(CurveSamples.BLOCK_SIZE, evaluated[0]);
+
+		// last block only contains the end of the interval
+		samples.get(count, eval);
+		assertEquals(Math.sin(count * 0.01), eval[1], 1E-12);
+		assertEquals(CurveSamples.BLOCK_SIZE + 1, evaluated[0]);
+	}
+}
@@ -0,0 +1,45 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.discrete.PolygonTriangulation;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoPolygon;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.junit.Test;
+
+public class DrawPolygon3DTest extends BaseUnitTest {
+
+	@Test
+	public void polygonWithShortIndicesShouldBeTriangulatedAtOnce() {
+		int length = DrawPolygon3D.MAX_VERTICES_FOR_TRIANGLES;
+		PolygonTriangulation pt = createStar(length);
+		assertTrue(DrawPolygon3D.triangulateSimple(pt, length));
+		assertTrue(pt.usesTriangles());
+	}
+
+	@Test
+	public void polygonTooLargeForShortIndicesShouldUseFans() {
+		int length = DrawPolygon3D.MAX_VERTICES_FOR_TRIANGLES + 1;
+		PolygonTriangulation pt = createStar(length);
+		assertFalse(DrawPolygon3D.triangulateSimple(pt, length));
+		assertFalse(pt.usesTriangles());
+	}
+
+	private PolygonTriangulation createStar(int length) {
+		GeoPointND[] points = new GeoPointND[length];
+		for (int i = 0; i < length; i++) {
+			double angle = 2 * Math.PI * i / length;
+			double radius = i % 2 == 0 ? 1 : 2;
+			points[i] = new GeoPoint(getConstruction(),
+					radius * Math.cos(angle), radius * Math.sin(angle), 1);
+		}
+		GeoPolygon polygon = new GeoPolygon(getConstruction(), points);
+		PolygonTriangulation pt = polygon.getPolygonTriangulation();
+		pt.setPolygon(polygon);
+		pt.clear();
+		return pt;
+	}
+}
@@ -0,0 +1,53 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.kernel.matrix.Coords3;
+import org.geogebra.common.kernel.matrix.CoordsDouble3;
+import org.junit.Test;
+
+public class SurfaceSamplesTest {
+
+	@Test
+	public void samplesShouldSurviveGrowing() {
+		SurfaceSamples samples = new SurfaceSamples();
+		for (int i = 0; i < 5000; i++) {
+			int slot = samples.add(i / 7.0, -i);
+			samples.setPoint(slot, new CoordsDouble3(i, 2 * i, 3 * i));
+		}
+		assertEquals(5000, samples.size());
+		Coords3 point = new CoordsDouble3();
+		for (int i = 0; i < 5000; i++) {
+			int slot = samples.find(i / 7.0, -i);
+			assertTrue(samples.hasPoint(slot));
+			samples.getPoint(slot, point);
+			assertEquals(2 * i, point.getYd(), 0);
+		}
+		assertEquals(-1, samples.find(0.5, 0.5));
+	}
+
+	@Test
+	public void addingExistingSampleShouldKeepValues() {
+		SurfaceSamples samples = new SurfaceSamples();
+		int slot = samples.add(1, 2);
+		samples.setNormal(slot, new CoordsDouble3(0, 0, 1), true);
+		assertEquals(slot, samples.add(1, 2));
+		assertEquals(1, samples.size());
+		assertTrue(samples.hasNormal(slot));
+		assertFalse(samples.hasPoint(slot));
+		samples.clearNormals();
+		assertFalse(samples.hasNormal(slot));
+	}
+
+	@Test
+	public void fullTableShouldBeCleared() {
+		SurfaceSamples samples = new SurfaceSamples();
+		for (int i = 0; i < SurfaceSamples.MAX_SIZE; i++) {
+			samples.add(i, 0);
+		}
+		samples.ensureRoom(10);
+		assertEquals(0, samples.size());
+	}
+}
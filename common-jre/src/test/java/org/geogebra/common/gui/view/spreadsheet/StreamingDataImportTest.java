@@ -0,0 +1,78 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.util.opencsv.CSVException;
+import org.junit.Test;
+
+public class StreamingDataImportTest extends BaseUnitTest {
+
+	@Test
+	public void numbersShouldBeParsed() throws CSVException {
+		StreamingDataImport data = parse(
+				"x,y\r\n1,\"1,234\"\n2.5,3E2\n-1,abc\n");
+		assertEquals(4, data.getRowCount());
+		assertEquals(2, data.getColumnCount());
+		assertEquals("x", data.getText(0, 0));
+		assertEquals(1234, data.getNumber(1, 1), 0);
+		assertEquals(300, data.getNumber(1, 2), 0);
+		assertEquals("abc", data.getText(1, 3));
+		assertNull(data.getText(0, 1));
+		assertTrue(data.isNumeric(0, 1));
+		assertFalse(data.isNumeric(1, 1));
+	}
+
+	@Test
+	public void lowercaseExponentShouldBeNumber() throws CSVException {
+		StreamingDataImport data = parse("1.5e-3\n2E2\n-4e+1\n3e\n");
+		assertEquals(0.0015, data.getNumber(0, 0), 0);
+		assertEquals(200, data.getNumber(0, 1), 0);
+		assertEquals(-40, data.getNumber(0, 2), 0);
+		assertEquals("3e", data.getText(0, 3));
+		assertFalse(data.isNumeric(0, 0));
+		GeoList list = parse("1e-3\n2e-3").toList(getConstruction(), 0, 0);
+		assertEquals(0.002, list.getPackedNumbers()[1], 0);
+	}
+
+	@Test
+	public void quotedLineBreaksShouldStayInRow() throws CSVException {
+		StreamingDataImport data = parse("1,\"a\nb\",2\n3");
+		assertEquals(2, data.getRowCount());
+		assertEquals("a\nb", data.getText(1, 0));
+		assertEquals(2, data.getNumber(2, 0), 0);
+		assertEquals(3, data.getNumber(0, 1), 0);
+		assertTrue(Double.isNaN(data.getNumber(2, 1)));
+	}
+
+	@Test
+	public void numericColumnShouldBecomeList() throws CSVException {
+		StreamingDataImport data = parse("a\tb\n1\t2\n3\t4");
+		GeoList list = data.toList(getConstruction(), 1, 1);
+		assertEquals(2, list.size());
+		assertEquals(2, list.getPackedNumbers()[0], 0);
+		assertEquals(4, list.get(1).evaluateDouble(), 0);
+		assertEquals(3, data.toList(getConstruction(), 0, 0).size());
+	}
+
+	@Test
+	public void numbersShouldBeCopiedToSpreadsheet() throws CSVException {
+		parse("1,2\n,4").toSpreadsheet(getApp(), 1, 2);
+		assertEquals(1, lookup("B3").evaluateDouble(), 0);
+		assertEquals(2, lookup("C3").evaluateDouble(), 0);
+		assertNull(lookup("B4"));
+		assertEquals(4, lookup("C4").evaluateDouble(), 0);
+		assertTrue(lookup("C4").isAuxiliaryObject());
+	}
+
+	private static StreamingDataImport parse(String source)
+			throws CSVException {
+		StreamingDataImport data = StreamingDataImport.forSource(source);
+		data.addLines(source);
+		return data;
+	}
+}
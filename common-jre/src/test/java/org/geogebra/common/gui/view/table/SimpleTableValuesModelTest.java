@@ -0,0 +1,52 @@
+package org.geogebra.common.gui.view.table;
+
+import static org.junit.Assert.assertEquals;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoLine;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SimpleTableValuesModelTest extends BaseUnitTest {
+
+	private SimpleTableValuesModel model;
+
+	@Before
+	public void setupModelTest() {
+		model = new SimpleTableValuesModel(getKernel());
+		double[] values = new double[201];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+		model.setValues(values);
+	}
+
+	@Test
+	public void updateShouldRecomputeColumn() {
+		GeoLine line = new GeoLine(getConstruction(), 1, -1, 0);
+		model.addEvaluatable(line);
+		assertEquals("150", model.getCellAt(150, 1));
+		line.setCoords(2, -1, 0);
+		model.updateEvaluatable(line);
+		assertEquals("300", model.getCellAt(150, 1));
+		assertEquals(2, model.getValueAt(1, 1), 0);
+		assertEquals("150", model.getCellAt(150, 0));
+	}
+
+	@Test
+	public void otherColumnsShouldKeepValues() {
+		GeoLine first = new GeoLine(getConstruction(), 1, -1, 0);
+		GeoLine second = new GeoLine(getConstruction(), 1, -1, 1);
+		first.setTableColumn(1);
+		second.setTableColumn(2);
+		model.addEvaluatable(first);
+		model.addEvaluatable(second);
+		assertEquals(201, model.getValueAt(200, 2), 0);
+		first.setCoords(3, -1, 0);
+		second.setCoords(3, -1, 0);
+		model.updateEvaluatable(first);
+		assertEquals(600, model.getValueAt(200, 1), 0);
+		// not updated yet
+		assertEquals(201, model.getValueAt(200, 2), 0);
+	}
+}
@@ -0,0 +1,44 @@
+package org.geogebra.common.jre.cas;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileCasResultStoreTest {
+
+	private File directory;
+
+	@Before
+	public void createDirectory() throws IOException {
+		directory = Files.createTempDirectory("cas").toFile();
+	}
+
+	@After
+	public void deleteDirectory() {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void resultsShouldBeSharedBetweenStores() {
+		FileCasResultStore store = new FileCasResultStore(directory);
+		assertNull(store.get("5000:factor(x^2-1)"));
+		store.put("5000:factor(x^2-1)", "(x-1)*(x+1)");
+		store.put("5000:\"ä\"", "\"ä\"");
+
+		FileCasResultStore other = new FileCasResultStore(directory);
+		assertEquals("(x-1)*(x+1)", other.get("5000:factor(x^2-1)"));
+		assertEquals("\"ä\"", other.get("5000:\"ä\""));
+		assertNull(other.get("13000:factor(x^2-1)"));
+		assertEquals(2, directory.list().length);
+	}
+}
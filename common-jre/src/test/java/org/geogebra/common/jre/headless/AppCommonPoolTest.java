@@ -0,0 +1,74 @@
+package org.geogebra.common.jre.headless;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Test;
+
+public class AppCommonPoolTest {
+
+	@Test
+	public void releasedAppShouldBeReset() throws InterruptedException {
+		AppCommonPool<AppCommon> pool = new AppCommonPool<>(
+				AppCommonFactory::create, 1);
+		AppCommon app = pool.acquire();
+		Kernel kernel = app.getKernel();
+		int decimals = kernel.getPrintDecimals();
+		boolean showAxis = app.getSettings().getEuclidian(1).getShowAxis(0);
+
+		new GeoPoint(kernel.getConstruction(), 1, 2, 1).setLabel("A");
+		kernel.setPrintDecimals(decimals + 3);
+		app.getSettings().getEuclidian(1).setShowAxes(!showAxis, !showAxis);
+		pool.release(app);
+
+		AppCommon reused = pool.acquire();
+		assertSame(app, reused);
+		assertNull(kernel.lookupLabel("A"));
+		assertEquals(decimals, kernel.getPrintDecimals());
+		assertEquals(showAxis,
+				app.getSettings().getEuclidian(1).getShowAxis(0));
+	}
+
+	@Test
+	public void poolShouldReportMetrics() throws InterruptedException {
+		AppCommonPool<AppCommon> pool = new AppCommonPool<>(
+				AppCommonFactory::create, 2);
+		assertEquals(2, pool.getSize());
+		assertEquals(2, pool.getCreateCount());
+		AppCommon app1 = pool.acquire();
+		AppCommon app2 = pool.acquire();
+		assertEquals(0, pool.getIdleCount());
+		assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+		pool.release(app1);
+		pool.release(app2);
+		assertEquals(2, pool.getIdleCount());
+		assertEquals(2, pool.getAcquireCount());
+		assertEquals(2, pool.getResetCount());
+		assertTrue(pool.getAverageResetMillis() > 0);
+		assertTrue(pool.toString().startsWith("App pool: 2 apps"));
+	}
+
+	@Test
+	public void secondReleaseShouldBeRejected() throws InterruptedException {
+		AppCommonPool<AppCommon> pool = new AppCommonPool<>(
+				AppCommonFactory::create, 1);
+		AppCommon app = pool.acquire();
+		pool.release(app);
+		try {
+			pool.release(app);
+			fail("app released twice");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertEquals(1, pool.getIdleCount());
+		assertEquals(1, pool.getResetCount());
+	}
+}
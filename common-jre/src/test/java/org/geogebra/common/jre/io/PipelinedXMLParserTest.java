@@ -0,0 +1,132 @@
+package org.geogebra.common.jre.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+
+import org.geogebra.common.io.DocHandler;
+import org.geogebra.common.io.QDParser;
+import org.junit.After;
+import org.junit.Test;
+
+public class PipelinedXMLParserTest {
+
+	private final ExecutorService executor = PipelinedXMLParser
+			.createExecutor();
+
+	@After
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	public void pipelinedParserShouldSendSameEvents() throws Exception {
+		StringBuilder xml = new StringBuilder(
+				"<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<geogebra format=\"5.0\">\n"
+						+ "<construction title=\"a &amp; b\">\n");
+		for (int i = 0; i < 2000; i++) {
+			xml.append("<expression label=\"a_{").append(i)
+					.append("}\" exp=\"").append(i).append(" &lt; x\"/>\n")
+					.append("<element type=\"numeric\" label=\"a_{").append(i)
+					.append("}\">\n\t<value val=\"").append(i)
+					.append("\"/>\n</element>\n");
+		}
+		xml.append("<!-- comment -->\n<javascript>a &lt; b</javascript>\n");
+		xml.append("</construction>\n</geogebra>");
+
+		EventLog sequential = new EventLog();
+		new QDParser().parse(sequential, new StringReader(xml.toString()));
+		EventLog pipelined = new EventLog();
+		new PipelinedXMLParser(executor).parse(pipelined,
+				new StringReader(xml.toString()));
+		assertEquals(sequential.toString(), pipelined.toString());
+		assertTrue(pipelined.toString().contains("exp=1999 < x"));
+		assertTrue(pipelined.toString().contains("text:a < b"));
+	}
+
+	@Test
+	public void parsingErrorsShouldBeThrownAfterEvents() {
+		EventLog log = new EventLog();
+		try {
+			new PipelinedXMLParser(executor).parse(log,
+					new StringReader("<geogebra><element a=\"&foo;\"/>"));
+		} catch (Exception e) {
+			log.add(e.getMessage());
+		}
+		assertTrue(log.toString().startsWith(
+				"startDocument\nstart:geogebra\nUnknown entity: &foo;"));
+	}
+
+	@Test
+	public void handlerErrorsShouldStopParsing() {
+		StringBuilder xml = new StringBuilder("<geogebra>");
+		for (int i = 0; i < 100000; i++) {
+			xml.append("<element/>");
+		}
+		xml.append("</geogebra>");
+		EventLog log = new EventLog() {
+			@Override
+			public void startElement(String tag,
+					LinkedHashMap<String, String> attrs) throws Exception {
+				if ("element".equals(tag)) {
+					throw new Exception("handler error");
+				}
+				super.startElement(tag, attrs);
+			}
+		};
+		try {
+			new PipelinedXMLParser(executor).parse(log,
+					new StringReader(xml.toString()));
+		} catch (Exception e) {
+			log.add(e.getMessage());
+		}
+		assertEquals("startDocument\nstart:geogebra\nhandler error\n",
+				log.toString());
+	}
+
+	private static class EventLog implements DocHandler {
+		private final StringBuilder sb = new StringBuilder();
+
+		@Override
+		public void startElement(String tag,
+				LinkedHashMap<String, String> attrs) throws Exception {
+			sb.append("start:").append(tag);
+			for (String key : attrs.keySet()) {
+				sb.append(' ').append(key).append('=').append(attrs.get(key));
+			}
+			sb.append('\n');
+		}
+
+		@Override
+		public void endElement(String tag) {
+			sb.append("end:").append(tag).append('\n');
+		}
+
+		@Override
+		public void startDocument() {
+			sb.append("startDocument\n");
+		}
+
+		@Override
+		public void endDocument() {
+			sb.append("endDocument\n");
+		}
+
+		@Override
+		public void text(String str) {
+			add("text:" + str);
+		}
+
+		public void add(String line) {
+			sb.append(line).append('\n');
+		}
+
+		@Override
+		public String toString() {
+			return sb.toString();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package org.geogebra.common.jre.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.LevelUpdateScheduler;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelUpdateSchedulerTest extends BaseUnitTest {
+
+	@Before
+	public void setupScheduler() {
+		getKernel().setUpdateScheduler(new ParallelUpdateScheduler());
+	}
+
+	@Test
+	public void independentAlgosShouldShareLevel() {
+		GeoNumeric a = add("a = 1");
+		GeoElement b = add("b = a + 1");
+		GeoElement c = add("c = 2a");
+		GeoElement d = add("d = b + c");
+		ArrayList<ArrayList<AlgoElement>> levels = LevelUpdateScheduler
+				.getLevels(a.getAlgoUpdateSet());
+		assertEquals(2, levels.size());
+		assertEquals(2, levels.get(0).size());
+		assertEquals(b.getParentAlgorithm(), levels.get(0).get(0));
+		assertEquals(c.getParentAlgorithm(), levels.get(0).get(1));
+		assertEquals(d.getParentAlgorithm(), levels.get(1).get(0));
+	}
+
+	@Test
+	public void parallelUpdateShouldMatchSequential() {
+		GeoNumeric a = add("a = 1");
+		GeoNumeric[] dependent = new GeoNumeric[100];
+		for (int i = 0; i < dependent.length; i++) {
+			dependent[i] = add("b_{" + i + "} = sqrt(a + " + i + ")");
+		}
+		GeoNumeric sum = add("s = b_{0} + b_{99}");
+		a.setValue(5);
+		a.updateCascade();
+		for (int i = 0; i < dependent.length; i++) {
+			assertEquals(Math.sqrt(5 + i), dependent[i].getValue(), DELTA);
+		}
+		assertEquals(Math.sqrt(5) + Math.sqrt(104), sum.getValue(), DELTA);
+	}
+
+	@Test
+	public void randomAndFunctionCallsShouldNotBeParallel() {
+		add("a = 1");
+		add("f(x) = x^2");
+		assertTrue(add("b = a + 1").getParentAlgorithm().isParallelSafe());
+		assertFalse(add("c = f(a)").getParentAlgorithm().isParallelSafe());
+		assertFalse(add("d = a + random()").getParentAlgorithm()
+				.isParallelSafe());
+		assertFalse(add("e = RandomBetween(a, 10)").getParentAlgorithm()
+				.isParallelSafe());
+	}
+
+	@Test
+	public void algosShouldOnlyBeParallelIfAudited() {
+		add("A = (1, 2)");
+		add("B = (3, 4)");
+		add("a = 1");
+		assertTrue(add("Midpoint(A, B)").getParentAlgorithm()
+				.isParallelSafe());
+		assertFalse(add("Sequence(k a, k, 1, 3)").getParentAlgorithm()
+				.isParallelSafe());
+		assertFalse(add("Zip(k a, k, {1, 2})").getParentAlgorithm()
+				.isParallelSafe());
+		assertFalse(add("Circle(A, B)").getParentAlgorithm()
+				.isParallelSafe());
+	}
+}
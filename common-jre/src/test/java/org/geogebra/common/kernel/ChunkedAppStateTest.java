@@ -0,0 +1,135 @@
+package org.geogebra.common.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.test.UndoRedoTester;
+import org.junit.Test;
+
+public class ChunkedAppStateTest extends BaseUnitTest {
+
+	private static final String POINT_A = "<element type=\"point\" label=\"A\">\n"
+			+ "\t<coords x=\"1.0\" y=\"2.0\" z=\"1.0\"/>\n</element>\n";
+	private static final String POINT_A_MOVED = POINT_A.replace("2.0", "3.0");
+	private static final String MIDPOINT = "<command name=\"Midpoint\">\n"
+			+ "\t<input a0=\"A\" a1=\"B\"/>\n\t<output a0=\"M\"/>\n</command>\n";
+
+	@Test
+	public void chunksShouldRestoreXml() {
+		String xml = file(POINT_A + MIDPOINT + point("M"));
+		ChunkedAppState state = new ChunkedAppState(xml, null);
+		assertEquals(xml, state.getXml());
+		assertEquals(5, state.getChunkCount());
+		assertEquals(POINT_A, state.getChunk(1));
+		assertEquals(MIDPOINT, state.getChunk(2));
+	}
+
+	@Test
+	public void unchangedChunksShouldBeShared() {
+		ChunkedAppState first = new ChunkedAppState(
+				file(POINT_A + point("B")), null);
+		ChunkedAppState moved = new ChunkedAppState(
+				file(POINT_A_MOVED + point("B")), first);
+		assertSame(first.getChunk(0), moved.getChunk(0));
+		assertSame(first.getChunk(2), moved.getChunk(2));
+		assertFalse(first.equalsTo(moved));
+
+		ChunkedAppState inserted = new ChunkedAppState(
+				file(point("C") + POINT_A_MOVED + point("B")), moved);
+		assertSame(moved.getChunk(1), inserted.getChunk(2));
+		assertSame(moved.getChunk(2), inserted.getChunk(3));
+		assertTrue(inserted.equalsTo(new ChunkedAppState(inserted.getXml(),
+				null)));
+	}
+
+	@Test
+	public void changedAttributesShouldBeReplayed() {
+		ChunkedAppState current = new ChunkedAppState(
+				file(POINT_A_MOVED + MIDPOINT), null);
+		ChunkedAppState target = new ChunkedAppState(file(POINT_A + MIDPOINT),
+				current);
+		StringBuilder sb = new StringBuilder();
+		ArrayList<String> labels = new ArrayList<>();
+		assertTrue(target.getChangedElementsXML(current, sb, labels));
+		assertEquals(POINT_A, sb.toString());
+		assertEquals("A", labels.get(0));
+	}
+
+	@Test
+	public void structuralChangesShouldNotBeReplayed() {
+		ChunkedAppState current = new ChunkedAppState(file(POINT_A), null);
+		String withCaption = POINT_A.replace("</element>",
+				"\t<caption val=\"a\"/>\n</element>");
+		assertFalse(new ChunkedAppState(file(withCaption), current)
+				.getChangedElementsXML(current, new StringBuilder(),
+						new ArrayList<String>()));
+		assertFalse(new ChunkedAppState(file(POINT_A + MIDPOINT), current)
+				.getChangedElementsXML(current, new StringBuilder(),
+						new ArrayList<String>()));
+		assertFalse(new ChunkedAppState(file(POINT_A), current)
+				.getChangedElementsXML(current, new StringBuilder(),
+						new ArrayList<String>()));
+	}
+
+	@Test
+	public void undoShouldRestoreMovedPoint() {
+		UndoRedoTester undoRedo = new UndoRedoTester(getApp());
+		undoRedo.setupUndoRedo();
+		GeoPoint a = add("A = (1, 2)");
+		GeoElement m = add("M = Midpoint(A, (3, 4))");
+		getApp().storeUndoInfo();
+		a.setCoords(5, 6, 1);
+		a.updateCascade();
+		getApp().storeUndoInfo();
+
+		undoRedo.undo();
+		assertSame(a, lookup("A"));
+		assertEquals("(1, 2)", a.toValueString(StringTemplate.editTemplate));
+		assertEquals("(2, 3)", m.toValueString(StringTemplate.editTemplate));
+		undoRedo.redo();
+		assertEquals("(4, 5)", m.toValueString(StringTemplate.editTemplate));
+	}
+
+	@Test
+	public void failedReplayShouldReloadState() {
+		GeoPoint a = new GeoPoint(getConstruction(), 1, 2, 1);
+		a.setLabel("A");
+		GeoPoint b = new GeoPoint(getConstruction(), 3, 4, 1);
+		b.setLabel("B");
+		ChunkedAppState state = new ChunkedAppState(
+				getConstruction().getCurrentUndoXML(true).toString(), null);
+		a.setCoords(5, 6, 1);
+		b.setCoords(7, 8, 1);
+		DefaultUndoManager undoManager = new DefaultUndoManager(
+				getConstruction()) {
+			@Override
+			protected boolean replayChangedElements(AppState target)
+					throws Exception {
+				// A is restored, then the replay fails
+				((GeoPoint) lookup("A")).setCoords(1, 2, 1);
+				throw new Exception("replay failed");
+			}
+		};
+		undoManager.loadUndoInfo(state, null);
+		GeoPoint restored = (GeoPoint) lookup("B");
+		assertEquals(3, restored.getInhomX(), DELTA);
+		assertEquals(4, restored.getInhomY(), DELTA);
+	}
+
+	private static String point(String label) {
+		return POINT_A.replace("\"A\"", "\"" + label + "\"");
+	}
+
+	private static String file(String elements) {
+		return "<geogebra format=\"5.0\">\n<kernel>\n</kernel>\n"
+				+ "<construction title=\"\" author=\"\" date=\"\">\n" + elements
+				+ "</construction>\n</geogebra>";
+	}
+}
@@ -0,0 +1,77 @@
+package org.geogebra.common.kernel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.TreeSet;
+
+import org.geogebra.common.AppCommonFactory;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.algos.AlgoMidpoint;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.Test;
+
+public class ConstructionLockTest {
+
+	@Test
+	public void updateShouldNotWaitForOtherConstruction() throws Exception {
+		Construction cons1 = AppCommonFactory.create().getKernel()
+				.getConstruction();
+		final Construction cons2 = AppCommonFactory.create().getKernel()
+				.getConstruction();
+		final ArrayList<GeoPoint> points = createPoints(cons2);
+		GeoPoint midpoint = new AlgoMidpoint(cons2, points.get(0),
+				points.get(1)).getPoint();
+		synchronized (cons1.getUpdateLock()) {
+			Thread thread = new Thread(
+					() -> moveAndUpdate(points, 4, cons2.getTempAlgoSet()));
+			thread.start();
+			thread.join(10000);
+			assertFalse(thread.isAlive());
+		}
+		assertEquals(3, midpoint.getInhomX(), 1E-10);
+	}
+
+	@Test
+	public void constructionsShouldBeUpdatedInParallel() throws Exception {
+		int threads = 4;
+		final GeoPoint[] midpoints = new GeoPoint[threads];
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < threads; i++) {
+			final Construction cons = AppCommonFactory.create().getKernel()
+					.getConstruction();
+			final ArrayList<GeoPoint> points = createPoints(cons);
+			midpoints[i] = new AlgoMidpoint(cons, points.get(0),
+					points.get(1)).getPoint();
+			workers[i] = new Thread(() -> {
+				for (int step = 0; step <= 1000; step++) {
+					moveAndUpdate(points, step, cons.getTempAlgoSet());
+				}
+			});
+		}
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		for (GeoPoint midpoint : midpoints) {
+			assertEquals(501, midpoint.getInhomX(), 1E-10);
+		}
+	}
+
+	private static ArrayList<GeoPoint> createPoints(Construction cons) {
+		ArrayList<GeoPoint> points = new ArrayList<>();
+		points.add(new GeoPoint(cons, 0, 0, 1));
+		points.add(new GeoPoint(cons, 2, 0, 1));
+		return points;
+	}
+
+	private static void moveAndUpdate(ArrayList<GeoPoint> points, double x,
+			TreeSet<AlgoElement> tempSet) {
+		points.get(0).setCoords(x, 0, 1);
+		GeoElement.updateCascade(points, tempSet, false);
+	}
+}
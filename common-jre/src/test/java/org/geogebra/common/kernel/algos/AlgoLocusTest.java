@@ -0,0 +1,136 @@
+package org.geogebra.common.kernel.algos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ForkJoinTaskScheduler;
+import org.geogebra.common.kernel.MyPoint;
+import org.geogebra.common.kernel.PathMover;
+import org.geogebra.common.kernel.geos.GeoLocus;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.junit.After;
+import org.junit.Test;
+
+public class AlgoLocusTest extends BaseUnitTest {
+
+	@After
+	public void resetScheduler() {
+		getKernel().setTaskScheduler(null);
+	}
+
+	@Test
+	public void locusShouldBeComputedSequentially() {
+		checkMidpointLocus(createMidpointLocus());
+	}
+
+	@Test
+	public void locusShouldBeComputedInSegments() {
+		getKernel().setTaskScheduler(new ForkJoinTaskScheduler());
+		GeoLocus locus = createMidpointLocus();
+		checkMidpointLocus(locus);
+		add("SetValue(A, (1, 0))");
+		checkMidpointLocus(locus);
+	}
+
+	@Test
+	public void segmentedLocusShouldMatchSequential() {
+		GeoLocus locus = createMidpointLocus();
+		ArrayList<MyPoint> sequential = new ArrayList<>(locus.getPoints());
+		getKernel().setTaskScheduler(new ForkJoinTaskScheduler());
+		locus.getParentAlgorithm().update();
+		ArrayList<MyPoint> segmented = locus.getPoints();
+		assertTrue(segmented.size() <= PathMover.MAX_POINTS);
+		// same start and end of the path
+		assertEquals(0, sequential.get(0).distance(segmented.get(0)), DELTA);
+		assertEquals(0, sequential.get(sequential.size() - 1)
+				.distance(segmented.get(segmented.size() - 1)), DELTA);
+		// both walks describe the same curve
+		for (MyPoint pt : segmented) {
+			assertEquals(0, distance(pt, sequential), 0.1);
+		}
+		for (MyPoint pt : sequential) {
+			assertEquals(0, distance(pt, segmented), 0.1);
+		}
+	}
+
+	@Test
+	public void segmentedLocusOnOpenPathShouldKeepAllPoints() {
+		add("A = (0, 0)");
+		add("B = (4, 0)");
+		add("s = Segment(A, B)");
+		add("P = Point(s)");
+		add("D = (0, 2)");
+		add("M = Midpoint(P, D)");
+		GeoLocus locus = (GeoLocus) add("loc = Locus(M, P)");
+		ArrayList<MyPoint> sequential = new ArrayList<>(locus.getPoints());
+		getKernel().setTaskScheduler(new ForkJoinTaskScheduler());
+		locus.getParentAlgorithm().update();
+		ArrayList<MyPoint> segmented = locus.getPoints();
+		// from the midpoint of AD to the midpoint of BD in one piece
+		assertEquals(0, segmented.get(0).distance(new MyPoint(0, 1)), DELTA);
+		assertEquals(0, segmented.get(segmented.size() - 1)
+				.distance(new MyPoint(2, 1)), DELTA);
+		for (int i = 1; i < segmented.size(); i++) {
+			assertTrue(segmented.get(i).getLineTo());
+			assertTrue(segmented.get(i).getX() > segmented.get(i - 1).getX());
+		}
+		for (MyPoint pt : sequential) {
+			assertEquals(0, distance(pt, segmented), 0.1);
+		}
+	}
+
+	@Test
+	public void segmentsShouldOnlyBeUsedForAllowedAlgos() {
+		getKernel().setTaskScheduler(new ForkJoinTaskScheduler());
+		add("c = Circle((0, 0), 3)");
+		add("P = Point(c)");
+		add("f(x) = x^2");
+		add("Q = (x(P), f(x(P)))");
+		GeoLocus locus = (GeoLocus) add("Locus(Q, P)");
+		// computed sequentially: function calls are not allowed in helpers
+		assertTrue(locus.isDefined());
+		for (MyPoint pt : locus.getPoints()) {
+			assertEquals(pt.getX() * pt.getX(), pt.getY(), DELTA);
+		}
+	}
+
+	private static double distance(MyPoint pt, List<MyPoint> polyline) {
+		double min = Double.POSITIVE_INFINITY;
+		for (MyPoint other : polyline) {
+			min = Math.min(min, pt.distance(other));
+		}
+		return min;
+	}
+
+	private GeoLocus createMidpointLocus() {
+		add("A = (0, 0)");
+		add("c = Circle(A, 3)");
+		add("P = Point(c)");
+		add("D = (5, 1)");
+		add("M = Midpoint(P, D)");
+		return (GeoLocus) add("loc = Locus(M, P)");
+	}
+
+	/**
+	 * Midpoint locus is a circle with half the radius
+	 */
+	private void checkMidpointLocus(GeoLocus locus) {
+		double centerX = (((GeoPoint) lookup("A")).getInhomX() + 5) / 2;
+		assertTrue(locus.isDefined());
+		assertTrue(locus.getPoints().size() > 20);
+		double minX = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		for (MyPoint pt : locus.getPoints()) {
+			assertEquals(1.5, Math.hypot(pt.getX() - centerX, pt.getY() - 0.5),
+					DELTA);
+			minX = Math.min(minX, pt.getX());
+			maxX = Math.max(maxX, pt.getX());
+		}
+		assertEquals(centerX - 1.5, minX, 0.1);
+		assertEquals(centerX + 1.5, maxX, 0.1);
+	}
+}
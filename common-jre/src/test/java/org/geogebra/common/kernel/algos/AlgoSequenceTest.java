@@ -2,9 +2,14 @@ package org.geogebra.common.kernel.algos;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import org.geogebra.common.BaseUnitTest;
 import org.geogebra.common.kernel.geos.GeoAngle;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
 import org.junit.Test;
 
 public class AlgoSequenceTest extends BaseUnitTest {
@@ -18,4 +23,55 @@ public class AlgoSequenceTest extends BaseUnitTest {
 		GeoAngle angle = addAvInput("list(1)");
 		assertThat(angle.showInEuclidianView(), is(true));
 	}
+
+	@Test
+	public void numericSequenceShouldFollowDependencies() {
+		GeoNumeric a = add("a = 2");
+		GeoList list = add("list = Sequence(a i^2 - 1 / i, i, 1, 10000)");
+		assertEquals(10000, list.size());
+		assertEquals(2 * 100 * 100 - 0.01, list.get(99).evaluateDouble(),
+				DELTA);
+		a.setValue(-1);
+		a.updateCascade();
+		assertEquals(10000, list.size());
+		assertEquals(-100 * 100 - 0.01, list.get(99).evaluateDouble(),
+				DELTA);
+		assertFalse(list.get(0).isIndependent());
+	}
+
+	@Test
+	public void numericSequenceShouldHandleUndefinedValues() {
+		GeoList list = add("list = Sequence(sqrt(i), i, -2, 2, 0.5)");
+		assertEquals(9, list.size());
+		assertFalse(list.get(0).isDefined());
+		assertEquals(Math.sqrt(1.5), list.get(7).evaluateDouble(), DELTA);
+	}
+
+	@Test
+	public void numericSequenceShouldRoundLikeDependentNumbers() {
+		GeoList list = add("list = Sequence(cos(k pi / 2), k, 1, 4)");
+		assertEquals(0, list.get(0).evaluateDouble(), 0);
+		assertEquals(-1, list.get(1).evaluateDouble(), 0);
+		assertEquals(0, list.get(2).evaluateDouble(), 0);
+		GeoList points = add("Sequence((k, sin(k pi)), k, 1, 3)");
+		assertEquals(0, ((GeoPoint) points.get(2)).getInhomY(), 0);
+	}
+
+	@Test
+	public void pointSequenceShouldBeComputed() {
+		GeoNumeric n = add("n = 5");
+		GeoList list = add("list = Sequence((i, i / n), i, 0, n)");
+		assertEquals(6, list.size());
+		GeoPoint last = (GeoPoint) list.get(5);
+		assertEquals(5, last.getInhomX(), DELTA);
+		assertEquals(1, last.getInhomY(), DELTA);
+		n.setValue(2);
+		n.updateCascade();
+		assertEquals(3, list.size());
+		assertEquals(1, ((GeoPoint) list.get(2)).getInhomY(), DELTA);
+
+		GeoList polar = add("polar = Sequence((2; i pi / 2), i, 0, 3)");
+		assertEquals(-2, ((GeoPoint) polar.get(2)).getInhomX(), DELTA);
+		assertEquals(-2, ((GeoPoint) polar.get(3)).getInhomY(), DELTA);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.algos.AlgoRoots;
+import org.geogebra.common.kernel.geos.GeoCurveCartesian;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.implicit.GeoImplicit;
+import org.geogebra.common.plugin.Operation;
+import org.junit.Test;
+
+public class CompiledExpressionTest extends BaseUnitTest {
+
+	@Test
+	public void compiledShouldMatchInterpreter() {
+		checkSameAsInterpreter("x^2 + 3x - 1");
+		checkSameAsInterpreter("sin(x) / (1 + exp(x))");
+		checkSameAsInterpreter("2 cos(3x) tan(x / 2)");
+		checkSameAsInterpreter("x^(1/3) + (-x)^(2/3)");
+		checkSameAsInterpreter("e^(x / 2) - ln(abs(x))");
+		checkSameAsInterpreter("sqrt(x) + cbrt(x) + sgn(x)");
+		checkSameAsInterpreter("asin(x / 10) + acos(x / 10) + atan(x)");
+		checkSameAsInterpreter("sinh(x) + cosh(x) - tanh(x)");
+		checkSameAsInterpreter("sec(x) + csc(x) + cot(x)");
+		checkSameAsInterpreter("log(2, abs(x) + 1) + lg(x) + ld(x)");
+		checkSameAsInterpreter("nroot(x, 3) + sin(10pi x)");
+	}
+
+	@Test
+	public void compiledShouldReadSliderValues() {
+		GeoNumeric a = add("a = 2");
+		GeoFunction f = add("f(x) = a x + 1");
+		assertNotNull(f.getFunction().getCompiledExpression());
+		assertEquals(5, f.value(2), DELTA);
+		a.setValue(3);
+		assertEquals(7, f.value(2), DELTA);
+	}
+
+	@Test
+	public void compiledShouldCallOtherFunctions() {
+		GeoFunction f = add("f(x) = x^2");
+		FunctionVariable x = new FunctionVariable(getKernel());
+		Function g = new Function(new ExpressionNode(getKernel(), f,
+				Operation.FUNCTION, x.wrap().plus(1)).multiply(2), x);
+		CompiledExpression compiled = g.getCompiledExpression();
+		assertNotNull(compiled);
+		assertFalse(compiled.isThreadSafe());
+		assertEquals(18, g.value(2), DELTA);
+	}
+
+	@Test
+	public void unsupportedExpressionShouldUseInterpreter() {
+		GeoFunction f = add("f(x) = If(x > 0, x, -x)");
+		assertNull(f.getFunction().getCompiledExpression());
+		assertEquals(2, f.value(-2), DELTA);
+	}
+
+	@Test
+	public void compiledShouldBeUpdatedWhenExpressionChanges() {
+		GeoFunction f = add("f(x) = x + 1");
+		Function fun = f.getFunction();
+		assertEquals(3, fun.value(2), DELTA);
+		fun.translate(0, 1);
+		assertEquals(4, fun.value(2), DELTA);
+		fun.setExpression(fun.getFunctionVariable().wrap().multiply(3));
+		assertEquals(6, fun.value(2), DELTA);
+	}
+
+	@Test
+	public void batchShouldMatchSingleEvaluation() {
+		checkBatch("x^2 + 3x - 1");
+		checkBatch("(-x)^(2/3) + e^(x / 2) - sin(x)");
+		checkBatch("If(x > 0, x, -x)");
+	}
+
+	@Test
+	public void batchShouldWorkForFunctionsOfSeveralVariables() {
+		GeoFunctionNVar f = add("f(x, y) = x^2 + sin(y)");
+		double[] xs = { 1, 2, 3 };
+		double[] ys = { 0, -1, 4 };
+		double[] out = new double[3];
+		f.evaluate(new double[][] { xs, ys }, out, 3);
+		for (int k = 0; k < 3; k++) {
+			assertEquals(f.evaluate(xs[k], ys[k]), out[k], 0);
+		}
+	}
+
+	@Test
+	public void batchShouldWorkForCurves() {
+		GeoCurveCartesian curve = add("Curve(cos(t), sin(2t), t, 0, 2pi)");
+		double[] ts = { 0, 0.5, 1, 1.5 };
+		double[][] out = new double[2][4];
+		curve.evaluateCurve(ts, out, 4);
+		double[] point = new double[2];
+		for (int k = 0; k < 4; k++) {
+			curve.evaluateCurve(ts[k], point);
+			assertEquals(point[0], out[0][k], 0);
+			assertEquals(point[1], out[1][k], 0);
+		}
+	}
+
+	@Test
+	public void intersectionWithCompositeFunctionShouldFindRoots() {
+		GeoImplicit curve = add("x^3 + y^3 = 8");
+		GeoFunction g = add("g(x) = sin(x) + 1");
+		// iPoly(x, g(x)) as created by implicit curve intersections
+		GeoFunction composite = new GeoFunction(getConstruction(), curve,
+				null, g);
+		double[] xs = { -1, 0, 1, 2 };
+		double[] out = new double[xs.length];
+		composite.value(xs, out, xs.length);
+		for (int k = 0; k < xs.length; k++) {
+			assertEquals(composite.value(xs[k]), out[k], 0);
+		}
+		AlgoRoots roots = new AlgoRoots(getConstruction(), composite,
+				new GeoNumeric(getConstruction(), -5),
+				new GeoNumeric(getConstruction(), 5));
+		GeoPoint[] points = roots.getRootPoints();
+		assertEquals(1, points.length);
+		double x = points[0].getInhomX();
+		assertEquals(0, curve.evaluateImplicitCurve(x, g.value(x)), 1E-6);
+	}
+
+	private void checkBatch(String definition) {
+		GeoFunction f = add("f(x) = " + definition);
+		double[] xs = new double[1000];
+		for (int k = 0; k < xs.length; k++) {
+			xs[k] = -5 + k * 0.01;
+		}
+		double[] out = new double[xs.length];
+		f.value(xs, out, xs.length);
+		for (int k = 0; k < xs.length; k++) {
+			assertEquals(definition + " at " + xs[k], f.value(xs[k]), out[k],
+					0);
+		}
+		// in place evaluation
+		f.value(xs, xs, xs.length);
+		assertEquals(out[10], xs[10], 0);
+	}
+
+	private void checkSameAsInterpreter(String definition) {
+		GeoFunction f = add("f(x) = " + definition);
+		Function fun = f.getFunction();
+		assertNotNull(definition, fun.getCompiledExpression());
+		for (double x = -5; x < 5; x += 0.01) {
+			double compiled = fun.value(x);
+			fun.getFunctionVariable().set(x);
+			double interpreted = fun.getExpression().evaluateDouble();
+			assertEquals(definition + " at " + x, interpreted, compiled, 0);
+		}
+	}
+}
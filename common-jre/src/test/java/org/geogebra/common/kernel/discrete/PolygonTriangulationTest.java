@@ -0,0 +1,49 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.discrete.PolygonTriangulation.Convexity;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoPolygon;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.junit.Test;
+
+public class PolygonTriangulationTest extends BaseUnitTest {
+
+	@Test
+	public void largePolygonShouldUseSweep() {
+		PolygonTriangulation pt = createStar(100).getPolygonTriangulation();
+		pt.clear();
+		assertTrue(pt.triangulateSimple());
+		assertTrue(pt.usesTriangles());
+		assertEquals(Convexity.NOT, pt.checkIsConvex());
+		assertEquals(98, pt.getTriangleCount());
+		assertEquals(98, pt.getTriangleFans().size());
+		assertEquals(100, pt.getMaxPointIndex());
+	}
+
+	@Test
+	public void smallPolygonShouldUseObjects() {
+		PolygonTriangulation pt = createStar(10).getPolygonTriangulation();
+		pt.clear();
+		assertFalse(pt.triangulateSimple());
+		assertFalse(pt.usesTriangles());
+		assertEquals(10, pt.updatePoints());
+	}
+
+	private GeoPolygon createStar(int length) {
+		GeoPointND[] points = new GeoPointND[length];
+		for (int i = 0; i < length; i++) {
+			double angle = 2 * Math.PI * i / length;
+			double radius = i % 2 == 0 ? 1 : 2;
+			points[i] = new GeoPoint(getConstruction(),
+					radius * Math.cos(angle), radius * Math.sin(angle), 1);
+		}
+		GeoPolygon polygon = new GeoPolygon(getConstruction(), points);
+		polygon.getPolygonTriangulation().setPolygon(polygon);
+		return polygon;
+	}
+}
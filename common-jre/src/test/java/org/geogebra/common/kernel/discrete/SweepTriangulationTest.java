@@ -0,0 +1,132 @@
+package org.geogebra.common.kernel.discrete;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SweepTriangulationTest {
+
+	private final SweepTriangulation triangulation = new SweepTriangulation();
+
+	@Test
+	public void squareShouldHaveTwoTriangles() {
+		checkTriangulation(new double[] { 0, 1, 1, 0 },
+				new double[] { 0, 0, 1, 1 }, 4);
+	}
+
+	@Test
+	public void clockwisePolygonShouldBeTriangulated() {
+		checkTriangulation(new double[] { 0, 0, 2, 1, 2 },
+				new double[] { 0, 2, 2, 1, 0 }, 5);
+	}
+
+	@Test
+	public void combShouldBeTriangulated() {
+		// teeth pointing up and down give split and merge vertices
+		int teeth = 50;
+		double[] x = new double[4 * teeth + 4];
+		double[] y = new double[x.length];
+		int k = 0;
+		for (int i = 0; i < teeth; i++) {
+			x[k] = 2 * i;
+			y[k++] = 0;
+			x[k] = 2 * i + 1;
+			y[k++] = -5;
+		}
+		x[k] = 2 * teeth;
+		y[k++] = 0;
+		x[k] = 2 * teeth;
+		y[k++] = 10;
+		for (int i = teeth; i > 0; i--) {
+			x[k] = 2 * i - 1;
+			y[k++] = 10;
+			x[k] = 2 * i - 1.5;
+			y[k++] = 3 + (i % 3);
+		}
+		x[k] = 0;
+		y[k++] = 10;
+		checkTriangulation(x, y, k);
+	}
+
+	@Test
+	public void randomStarPolygonsShouldBeTriangulated() {
+		Random random = new Random(42);
+		for (int run = 0; run < 20; run++) {
+			int length = 10 + random.nextInt(3000);
+			double[] x = new double[length];
+			double[] y = new double[length];
+			for (int i = 0; i < length; i++) {
+				double angle = 2 * Math.PI * i / length;
+				double radius = 1 + 10 * random.nextDouble();
+				x[i] = radius * Math.cos(angle);
+				y[i] = radius * Math.sin(angle);
+			}
+			checkTriangulation(x, y, length);
+		}
+	}
+
+	@Test
+	public void selfIntersectingPolygonShouldBeRejected() {
+		assertFalse(triangulation.update(new double[] { 0, 1, 1, 0 },
+				new double[] { 0, 1, 0, 1 }, 4));
+		assertFalse(triangulation.update(
+				new double[] { 0, 4, 4, 2, 2, 3, 3, 0 },
+				new double[] { 0, 0, 4, 4, -1, -1, 5, 5 }, 8));
+	}
+
+	@Test
+	public void movedVertexShouldKeepTriangles() {
+		double[] x = { 0, 4, 4, 2, 0 };
+		double[] y = { 0, 0, 4, 2, 4 };
+		checkTriangulation(x, y, 5);
+		y[3] = 2.5;
+		checkTriangulation(x, y, 5);
+		assertEquals(1, triangulation.getReuseCount());
+		y[3] = 3;
+		x[3] = -1;
+		assertFalse(triangulation.update(x, y, 5));
+	}
+
+	@Test
+	public void flippedTriangleShouldNotBeKept() {
+		double[] x = { 0, 4, 4, 0 };
+		double[] y = { 0, 0, 4, 4 };
+		checkTriangulation(x, y, 4);
+		// one of the diagonals is outside now
+		x[3] = 3;
+		y[3] = 1;
+		checkTriangulation(x, y, 4);
+		x[3] = 1;
+		y[3] = 3;
+		checkTriangulation(x, y, 4);
+	}
+
+	private void checkTriangulation(double[] x, double[] y, int length) {
+		assertTrue(triangulation.update(x, y, length));
+		checkTriangles(x, y, length);
+	}
+
+	private void checkTriangles(double[] x, double[] y, int length) {
+		double area = 0;
+		for (int i = 0; i < length; i++) {
+			int j = (i + 1) % length;
+			area += x[i] * y[j] - x[j] * y[i];
+		}
+		int[] triangles = triangulation.getTriangles();
+		double sum = 0;
+		for (int t = 0; t < triangulation.getTriangleCount(); t++) {
+			int a = triangles[3 * t];
+			int b = triangles[3 * t + 1];
+			int c = triangles[3 * t + 2];
+			double triangleArea = (x[b] - x[a]) * (y[c] - y[a])
+					- (y[b] - y[a]) * (x[c] - x[a]);
+			assertTrue(triangleArea > 0);
+			sum += triangleArea;
+		}
+		assertEquals(Math.abs(area), sum, 1E-9 * Math.abs(area));
+	}
+}
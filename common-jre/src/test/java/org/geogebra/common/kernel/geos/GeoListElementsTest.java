@@ -0,0 +1,110 @@
+package org.geogebra.common.kernel.geos;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.statistics.AlgoListSXY;
+import org.geogebra.common.kernel.statistics.AlgoMean;
+import org.geogebra.common.plugin.GeoClass;
+import org.junit.Test;
+
+public class GeoListElementsTest extends BaseUnitTest {
+
+	@Test
+	public void numbersShouldBeCreatedOnAccess() {
+		GeoList list = new GeoList(getConstruction());
+		list.setNumbers(new double[] { 1, 2, 6 }, 3, number(), null);
+		assertEquals(3, list.size());
+		assertEquals(3, new AlgoMean(getConstruction(), list).getResult()
+				.getDouble(), 0);
+		assertArrayEquals(new double[] { 2, 6 }, list.toDouble(1), 0);
+		assertEquals(GeoClass.NUMERIC, list.getElementType());
+		assertEquals(6, list.get(2).evaluateDouble(), 0);
+	}
+
+	@Test
+	public void elementsShouldBeReused() {
+		GeoList list = new GeoList(getConstruction());
+		list.setNumbers(new double[] { 1, 2, 3 }, 3, number(), null);
+		GeoElement second = list.get(1);
+		GeoElement third = list.get(2);
+		list.setNumbers(new double[] { 4, 5 }, 2, number(), null);
+		assertSame(second, list.get(1));
+		assertEquals(5, second.evaluateDouble(), 0);
+		assertFalse(third.isDefined());
+	}
+
+	@Test
+	public void clearShouldUndefineElements() {
+		GeoList list = new GeoList(getConstruction());
+		list.setNumbers(new double[] { 1, 2, 3 }, 3, number(), null);
+		GeoElement second = list.get(1);
+		GeoElement third = list.get(2);
+		list.clear();
+		assertFalse(third.isDefined());
+		list.setNumbers(new double[] { 4, 5 }, 2, number(), null);
+		assertSame(second, list.get(1));
+		assertEquals(5, second.evaluateDouble(), 0);
+		assertFalse(third.isDefined());
+	}
+
+	@Test
+	public void concurrentAccessShouldCreateOneElement()
+			throws InterruptedException {
+		final GeoList list = new GeoList(getConstruction());
+		list.setNumbers(new double[] { 1, 2, 3 }, 3, number(), null);
+		final GeoElement[] accessed = new GeoElement[8];
+		Thread[] threads = new Thread[accessed.length];
+		for (int t = 0; t < threads.length; t++) {
+			final int index = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					accessed[index] = list.get(2);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (GeoElement element : accessed) {
+			assertSame(list.get(2), element);
+		}
+	}
+
+	@Test
+	public void addShouldUnpackElements() {
+		GeoList list = new GeoList(getConstruction());
+		list.setNumbers(new double[] { 1, 2 }, 2, number(), null);
+		list.add(new GeoNumeric(getConstruction(), 3));
+		assertNull(list.getPackedNumbers());
+		assertEquals(3, list.size());
+		assertEquals(2, list.get(1).evaluateDouble(), 0);
+		assertEquals(3, list.get(2).evaluateDouble(), 0);
+	}
+
+	@Test
+	public void pointsShouldBeStoredAsCoordinates() {
+		GeoList list = new GeoList(getConstruction());
+		list.setPoints(new double[] { 1, 3, Double.POSITIVE_INFINITY },
+				new double[] { 2, 8, 0 }, 2,
+				new GeoPoint(getConstruction()), null);
+		assertEquals(6, new AlgoListSXY(getConstruction(), list).getResult()
+				.getDouble(), 0);
+		assertTrue(list.get(1).isGeoPoint());
+		assertEquals(8, ((GeoPoint) list.get(1)).getInhomY(), 0);
+		list.setPoints(new double[] { Double.POSITIVE_INFINITY },
+				new double[] { 0 }, 1, new GeoPoint(getConstruction()), null);
+		assertFalse(list.get(0).isDefined());
+	}
+
+	private GeoNumeric number() {
+		return new GeoNumeric(getConstruction());
+	}
+}
@@ -0,0 +1,115 @@
+package org.geogebra.common.kernel.implicit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.jre.kernel.ForkJoinTaskScheduler;
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.MyPoint;
+import org.junit.Test;
+
+public class TileCacheTest extends BaseUnitTest {
+
+	private static final double[][] CIRCLE = { { -4, 0, 1 }, { 0, 0 },
+			{ 1 } };
+
+	@Test
+	public void cellSizeShouldBeFromFixedSet() {
+		for (double size = 0.001; size < 1000; size *= 1.37) {
+			int level = TileCache.getLevel(size);
+			assertTrue(TileCache.getSize(level) >= size * (1 - 1E-9));
+			assertTrue(TileCache.getSize(level - 1) < size);
+		}
+		assertEquals(0, TileCache.getLevel(1));
+		assertEquals(4, TileCache.getLevel(2));
+	}
+
+	@Test
+	public void changedCurveShouldInvalidateCache() {
+		GeoImplicitCurve curve = circle(4);
+		TileCache cache = new TileCache();
+		cache.validate(curve.getCurveVersion(), CIRCLE, 0, 0);
+		TileCache.Sample sample = cache.get(-3, 5);
+		assertSame(sample, cache.get(-3, 5));
+		cache.validate(curve.getCurveVersion(), CIRCLE, 0, 0);
+		assertSame(sample, cache.get(-3, 5));
+		cache.validate(curve.getCurveVersion(), CIRCLE, 1, 0);
+		assertNotSame(sample, cache.get(-3, 5));
+
+		sample = cache.get(-3, 5);
+		curve.setCoeff(new double[][][] { circle(9).getCoeff(),
+				circle(9).getCoeff() });
+		cache.validate(curve.getCurveVersion(), CIRCLE, 1, 0);
+		assertNotSame(sample, cache.get(-3, 5));
+	}
+
+	@Test
+	public void updatedCurveShouldInvalidateCache() {
+		// the values of a dependent curve may change anywhere, also where
+		// they were zero before
+		GeoImplicitCurve curve = circle(4);
+		TileCache cache = new TileCache();
+		cache.validate(curve.getCurveVersion(), CIRCLE, 0, 0);
+		TileCache.Sample sample = cache.get(1, 1);
+		curve.update();
+		cache.validate(curve.getCurveVersion(), CIRCLE, 0, 0);
+		assertNotSame(sample, cache.get(1, 1));
+	}
+
+	@Test
+	public void pannedCurveShouldStayOnCircle() {
+		ViewCurve curve = new ViewCurve(getKernel().getConstruction());
+		curve.setCoeff(new double[][][] { CIRCLE, CIRCLE });
+		checkPoints(curve, -5, 5, -4, 4);
+		checkPoints(curve, -4.3, 5.7, -3.1, 4.9);
+		checkPoints(curve, -1, 9, -3.1, 4.9);
+	}
+
+	@Test
+	public void parallelSamplingShouldStayOnCircle() {
+		getKernel().setTaskScheduler(new ForkJoinTaskScheduler());
+		ViewCurve curve = new ViewCurve(getKernel().getConstruction());
+		curve.setCoeff(new double[][][] { CIRCLE, CIRCLE });
+		checkPoints(curve, -5, 5, -4, 4);
+		checkPoints(curve, -3, 7, -2, 6);
+		getKernel().setTaskScheduler(null);
+	}
+
+	private static void checkPoints(ViewCurve curve, double xmin,
+			double xmax, double ymin, double ymax) {
+		curve.bounds = new double[] { xmin, xmax, ymin, ymax, 50, 50 };
+		curve.updatePath();
+		ArrayList<MyPoint> points = curve.getLocus().getPoints();
+		assertTrue(points.size() > 20);
+		for (MyPoint pt : points) {
+			assertEquals(2, Math.hypot(pt.getX(), pt.getY()), 0.01);
+		}
+	}
+
+	private GeoImplicitCurve circle(double radiusSquared) {
+		GeoImplicitCurve curve = new GeoImplicitCurve(
+				getKernel().getConstruction());
+		curve.setCoeff(new double[][][] {
+				{ { -radiusSquared, 0, 1 }, { 0, 0 }, { 1 } },
+				{ { -radiusSquared, 0, 1 }, { 0, 0 }, { 1 } } });
+		return curve;
+	}
+
+	private static class ViewCurve extends GeoImplicitCurve {
+		private double[] bounds = { -5, 5, -5, 5, 50, 50 };
+
+		protected ViewCurve(Construction cons) {
+			super(cons);
+		}
+
+		@Override
+		protected double[] getViewBounds() {
+			return bounds;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package org.geogebra.common.kernel.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.geogebra.common.jre.kernel.ForkJoinTaskScheduler;
+import org.geogebra.common.kernel.TaskScheduler;
+import org.junit.Test;
+
+public class GaussKronrodIntegratorTest {
+
+	private static final UnivariateFunction SIN = new UnivariateFunction() {
+		@Override
+		public double value(double x) {
+			return Math.sin(10 * x);
+		}
+	};
+
+	@Test
+	public void integralShouldMatchAntiderivative() {
+		GaussKronrodIntegrator integrator = new GaussKronrodIntegrator();
+		assertEquals(0.2, integrator.integrate(SIN, 0, Math.PI / 10), 1E-12);
+		assertEquals(-0.2, integrator.integrate(SIN, Math.PI / 10, 0), 1E-12);
+		assertEquals(0, integrator.integrate(SIN, 1, 1), 0);
+	}
+
+	@Test
+	public void movingBoundShouldReuseSubintervals() {
+		GaussKronrodIntegrator integrator = new GaussKronrodIntegrator();
+		integrator.integrate(SIN, 0, 20, "sin");
+		int evaluated = integrator.getEvaluatedSubintervals();
+		assertTrue(integrator.getCachedSubintervals() > 0);
+		double cached = integrator.integrate(SIN, 0, 20.5, "sin");
+		assertTrue(integrator.getEvaluatedSubintervals() < evaluated);
+		assertEquals(new GaussKronrodIntegrator().integrate(SIN, 0, 20.5),
+				cached, 1E-12);
+		assertEquals((1 - Math.cos(205)) / 10, cached, 1E-12);
+	}
+
+	@Test
+	public void differentKeyShouldClearCache() {
+		GaussKronrodIntegrator integrator = new GaussKronrodIntegrator();
+		integrator.integrate(SIN, 0, 20, "sin");
+		UnivariateFunction square = new UnivariateFunction() {
+			@Override
+			public double value(double x) {
+				return x * x;
+			}
+		};
+		assertEquals(9, integrator.integrate(square, 0, 3, "x^2"), 1E-12);
+		assertEquals(1, integrator.getCachedSubintervals());
+	}
+
+	@Test
+	public void expensiveIntegralShouldBeSplit() {
+		final ForkJoinTaskScheduler pool = new ForkJoinTaskScheduler(
+				new ForkJoinPool(4));
+		final int[] calls = new int[1];
+		TaskScheduler scheduler = new TaskScheduler() {
+			@Override
+			public void runAll(List<Runnable> tasks) {
+				calls[0]++;
+				pool.runAll(tasks);
+			}
+
+			@Override
+			public int getParallelism() {
+				return pool.getParallelism();
+			}
+		};
+		GaussKronrodIntegrator integrator = new GaussKronrodIntegrator();
+		integrator.integrate(SIN, 0, 50, "sin", scheduler);
+		assertEquals(0, calls[0]);
+		int evaluated = integrator.getEvaluatedSubintervals();
+		assertTrue(
+				evaluated >= GaussKronrodIntegrator.MIN_PARALLEL_SUBINTERVALS);
+		// nothing to reuse for a new function
+		double parallel = integrator.integrate(SIN, 0, 51, "sin(10x)",
+				scheduler);
+		assertEquals(1, calls[0]);
+		assertEquals((1 - Math.cos(510)) / 10, parallel, 1E-10);
+		// moving a bound reuses the subintervals of all parts
+		double cached = integrator.integrate(SIN, 0, 51.5, "sin(10x)",
+				scheduler);
+		assertEquals(1, calls[0]);
+		assertEquals((1 - Math.cos(515)) / 10, cached, 1E-10);
+	}
+
+	@Test
+	public void divergentIntegralShouldBeUndefined() {
+		GaussKronrodIntegrator integrator = new GaussKronrodIntegrator();
+		UnivariateFunction reciprocal = new UnivariateFunction() {
+			@Override
+			public double value(double x) {
+				return 1 / x;
+			}
+		};
+		assertTrue(Double.isNaN(
+				integrator.integrate(reciprocal, 0, 1, "1/x")));
+		assertEquals(0, integrator.getCachedSubintervals());
+	}
+}
@@ -0,0 +1,120 @@
+package org.geogebra.common.kernel.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.arithmetic.Command;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.Function;
+import org.geogebra.common.kernel.arithmetic.FunctionNVar;
+import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParseResultCacheTest extends BaseUnitTest {
+
+	private ParseResultCache cache;
+	private CountingParser parser;
+
+	@Before
+	public void setupCacheTest() {
+		cache = new ParseResultCache(getKernel(), 2);
+		parser = new CountingParser();
+	}
+
+	@Test
+	public void repeatedInputShouldBeParsedOnce() throws ParseException {
+		ValidExpression first = cache.parseGeoGebraExpression(parser, "a=1+2");
+		ValidExpression second = cache.parseGeoGebraExpression(parser, "a=1+2");
+		assertEquals(1, parser.calls);
+		assertNotSame(first, second);
+		assertEquals("a", second.getLabel());
+		assertEquals("Sum", ((Command) second).getName());
+		assertEquals(first.toString(StringTemplate.xmlTemplate),
+				second.toString(StringTemplate.xmlTemplate));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void newLabelShouldClearCache() throws ParseException {
+		cache.parseGeoGebraExpression(parser, "a=1+2");
+		new GeoNumeric(getConstruction(), 3).setLabel("b");
+		cache.parseGeoGebraExpression(parser, "a=1+2");
+		assertEquals(2, parser.calls);
+	}
+
+	@Test
+	public void leastRecentlyUsedShouldBeRemoved() throws ParseException {
+		cache.parseGeoGebraExpression(parser, "1");
+		cache.parseGeoGebraExpression(parser, "2");
+		cache.parseGeoGebraExpression(parser, "1");
+		cache.parseGeoGebraExpression(parser, "3");
+		cache.parseGeoGebraExpression(parser, "1");
+		cache.parseGeoGebraExpression(parser, "2");
+		assertEquals(4, parser.calls);
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void functionsShouldNotBeCached() throws ParseException {
+		cache.parseGeoGebraExpression(parser, "f(x)=x");
+		cache.parseGeoGebraExpression(parser, "f(x)=x");
+		assertEquals(2, parser.calls);
+		assertEquals(0, cache.size());
+	}
+
+	private class CountingParser implements ParserInterface {
+		private int calls = 0;
+
+		@Override
+		public ValidExpression parseGeoGebraExpression(String str) {
+			calls++;
+			if (str.startsWith("f(x)")) {
+				FunctionVariable x = new FunctionVariable(getKernel(), "x");
+				return new Function(new ExpressionNode(getKernel(), x), x);
+			}
+			if (str.startsWith("a=")) {
+				Command command = new Command(getKernel(), "Sum", false);
+				command.addArgument(new ExpressionNode(getKernel(),
+						new MyDouble(getKernel(), 1), Operation.PLUS,
+						new MyDouble(getKernel(), 2)));
+				command.setLabel("a");
+				return command;
+			}
+			return new ExpressionNode(getKernel(),
+					new MyDouble(getKernel(), Double.parseDouble(str)));
+		}
+
+		@Override
+		public ExpressionNode parseExpression(String parseString) {
+			return null;
+		}
+
+		@Override
+		public Function parseFunction(String string) {
+			return null;
+		}
+
+		@Override
+		public FunctionNVar parseFunctionNVar(String string) {
+			return null;
+		}
+
+		@Override
+		public ValidExpression parseInputBoxExpression(String str) {
+			return null;
+		}
+
+		@Override
+		public String parseLabel(String label) {
+			return label;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.geogebra.common.BaseUnitTest;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PPolynomialTest extends BaseUnitTest {
+
+	private PVariable[] vars;
+
+	@Before
+	public void setupPolynomialTest() {
+		vars = new PVariable[5];
+		for (int i = 0; i < vars.length; i++) {
+			vars[i] = new PVariable(getKernel());
+		}
+	}
+
+	@Test
+	public void differenceOfSquaresShouldBeSerialized() {
+		PPolynomial a = new PPolynomial(vars[0]);
+		PPolynomial b = new PPolynomial(vars[1]);
+		PPolynomial product = a.add(b).multiply(a.subtract(b));
+		assertEquals("-" + vars[1] + "^2+" + vars[0] + "^2",
+				product.toString());
+		assertEquals("-" + vars[1].toTeX() + "^{2}+" + vars[0].toTeX()
+				+ "^{2}", product.toTeX());
+		assertTrue(product.subtract(a.multiply(a)).add(b.multiply(b))
+				.isZero());
+	}
+
+	@Test
+	public void coefficientsShouldBeSerialized() {
+		PPolynomial poly = new PPolynomial(BigInteger.valueOf(-3), vars[0])
+				.add(new PPolynomial(vars[1]).multiply(new PPolynomial(vars[0])))
+				.add(new PPolynomial(-1));
+		assertEquals("-1-3*" + vars[0] + "+" + vars[1] + "*" + vars[0],
+				poly.toString());
+		assertEquals("-1", new PPolynomial(-1).toString());
+		assertEquals("0", new PPolynomial().toString());
+		assertEquals(poly.toString(), PPolynomial
+				.getPolysAsCommaSeparatedString(new PPolynomial[] { poly }));
+	}
+
+	@Test
+	public void productShouldMatchTermMaps() {
+		Random random = new Random(42);
+		for (int run = 0; run < 50; run++) {
+			PPolynomial p = randomPolynomial(random);
+			PPolynomial q = randomPolynomial(random);
+			assertEquals(multiply(p.getTerms(), q.getTerms()),
+					p.multiply(q).getTerms());
+			assertEquals(p.multiply(q), q.multiply(p));
+		}
+	}
+
+	@Test
+	public void largeCoefficientsShouldBePromoted() {
+		BigInteger big = BigInteger.ONE.shiftLeft(40);
+		PPolynomial p = new PPolynomial(big, vars[0])
+				.add(new PPolynomial(1));
+		PPolynomial cube = p.multiply(p).multiply(p);
+		assertEquals(multiply(multiply(p.getTerms(), p.getTerms()),
+				p.getTerms()), cube.getTerms());
+		assertEquals(big.pow(3), cube.getTerms()
+				.get(new PTerm(vars[0], 3)));
+		PPolynomial small = cube.subtract(cube).add(new PPolynomial(2));
+		assertEquals(new PPolynomial(2), small);
+		assertTrue(small.isConstant());
+	}
+
+	@Test
+	public void substitutionShouldCollectTerms() {
+		PPolynomial a = new PPolynomial(vars[0]);
+		PPolynomial b = new PPolynomial(vars[1]);
+		PPolynomial square = PPolynomial.sqr(a.add(b));
+		Map<PVariable, BigInteger> values = new HashMap<>();
+		values.put(vars[1], BigInteger.ONE);
+		assertEquals(a.multiply(a).add(new PPolynomial(2).multiply(a))
+				.add(new PPolynomial(1)), square.substitute(values));
+		assertEquals(new PPolynomial(4).multiply(a).multiply(a),
+				square.substitute(vars[1], vars[0]));
+	}
+
+	@Test
+	public void equalPolynomialsShouldHaveEqualHash() {
+		PPolynomial a = new PPolynomial(vars[0]);
+		PPolynomial b = new PPolynomial(vars[1]);
+		PPolynomial c = new PPolynomial(vars[2]);
+		HashSet<PPolynomial> set = new HashSet<>();
+		set.add(a.add(b).add(c));
+		set.add(c.add(b.add(a)));
+		set.add(a.multiply(b).add(c).subtract(a.multiply(b)));
+		set.add(c);
+		assertEquals(2, set.size());
+	}
+
+	private PPolynomial randomPolynomial(Random random) {
+		PPolynomial result = new PPolynomial();
+		int terms = 1 + random.nextInt(6);
+		for (int i = 0; i < terms; i++) {
+			TreeMap<PVariable, Integer> powers = new TreeMap<>();
+			for (PVariable variable : vars) {
+				if (random.nextInt(3) == 0) {
+					powers.put(variable, 1 + random.nextInt(3));
+				}
+			}
+			result = result.add(new PPolynomial(
+					BigInteger.valueOf(random.nextInt(11) - 5),
+					new PTerm(powers)));
+		}
+		return result;
+	}
+
+	private static TreeMap<PTerm, BigInteger> multiply(
+			TreeMap<PTerm, BigInteger> a, TreeMap<PTerm, BigInteger> b) {
+		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
+		for (Map.Entry<PTerm, BigInteger> first : a.entrySet()) {
+			for (Map.Entry<PTerm, BigInteger> second : b.entrySet()) {
+				PTerm product = first.getKey().times(second.getKey());
+				BigInteger sum = first.getValue().multiply(second.getValue());
+				if (result.containsKey(product)) {
+					sum = sum.add(result.get(product));
+				}
+				if (sum.signum() == 0) {
+					result.remove(product);
+				} else {
+					result.put(product, sum);
+				}
+			}
+		}
+		return result;
+	}
+}
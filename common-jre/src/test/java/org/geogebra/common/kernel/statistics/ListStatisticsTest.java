@@ -0,0 +1,114 @@
+package org.geogebra.common.kernel.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.algos.AlgoMedian;
+import org.geogebra.common.kernel.algos.AlgoQ1;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
+import org.geogebra.common.kernel.geos.GeoText;
+import org.junit.Test;
+
+public class ListStatisticsTest extends BaseUnitTest {
+
+	@Test
+	public void statisticsShouldShareSortedValues() {
+		GeoList list = numbers(5, 1, 4, 2, 3);
+		AlgoMedian median = new AlgoMedian(getConstruction(), list);
+		double[] sorted = list.getStatistics().getSorted();
+		AlgoQ1 q1 = new AlgoQ1(getConstruction(), list);
+		assertSame(sorted, list.getStatistics().getSorted());
+		assertEquals(3, median.getMedian().getDouble(), 0);
+		assertEquals(1.5, q1.getQ1().getDouble(), 0);
+	}
+
+	@Test
+	public void updateShouldInvalidateValues() {
+		GeoList list = numbers(1, 2, 3);
+		AlgoMean mean = new AlgoMean(getConstruction(), list);
+		AlgoStandardDeviation sd = new AlgoStandardDeviation(
+				getConstruction(), list);
+		assertEquals(2, mean.getResult().getDouble(), 0);
+		((GeoNumeric) list.get(2)).setValue(6);
+		list.update();
+		mean.compute();
+		sd.compute();
+		assertEquals(3, mean.getResult().getDouble(), 0);
+		assertEquals(Math.sqrt(14.0 / 3), sd.getResult().getDouble(), 1E-12);
+		list.add(new GeoNumeric(getConstruction(), 7));
+		mean.compute();
+		assertEquals(4, mean.getResult().getDouble(), 0);
+	}
+
+	@Test
+	public void nonNumericListShouldBeUndefined() {
+		GeoList list = numbers(1, 2);
+		list.add(new GeoText(getConstruction(), "a"));
+		assertFalse(list.getStatistics().isNumeric());
+		assertFalse(new AlgoMedian(getConstruction(), list).getMedian()
+				.isDefined());
+		assertFalse(new AlgoMean(getConstruction(), list).getResult()
+				.isDefined());
+	}
+
+	@Test
+	public void pointStatisticsShouldUseCoordinates() {
+		GeoList points = new GeoList(getConstruction());
+		points.add(new GeoPoint(getConstruction(), 1, 2, 1));
+		points.add(new GeoPoint(getConstruction(), 3, 8, 1));
+		assertEquals(2, new AlgoListMeanX(getConstruction(), points)
+				.getResult().getDouble(), 0);
+		assertEquals(6, new AlgoListSXY(getConstruction(), points)
+				.getResult().getDouble(), 0);
+		GeoList xs = numbers(1, 3);
+		GeoList ys = numbers(2, 8);
+		assertEquals(6, new AlgoDoubleListSXY(getConstruction(), null, xs, ys)
+				.getResult().getDouble(), 0);
+	}
+
+	@Test
+	public void concurrentReadersShouldSeeCompleteValues()
+			throws InterruptedException {
+		double[] values = new double[10000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = values.length - i;
+		}
+		final GeoList list = new GeoList(getConstruction());
+		list.setNumbers(values, values.length,
+				new GeoNumeric(getConstruction()), null);
+		final double[] medians = new double[8];
+		final double[] sums = new double[medians.length];
+		Thread[] threads = new Thread[medians.length];
+		for (int t = 0; t < threads.length; t++) {
+			final int index = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					ListStatistics stats = list.getStatistics();
+					medians[index] = stats.getSorted()[4999];
+					sums[index] = stats.getSum();
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int t = 0; t < threads.length; t++) {
+			assertEquals(5000, medians[t], 0);
+			assertEquals(10000 * 10001 / 2, sums[t], 0);
+		}
+	}
+
+	private GeoList numbers(double... values) {
+		GeoList list = new GeoList(getConstruction());
+		for (double value : values) {
+			list.add(new GeoNumeric(getConstruction(), value));
+		}
+		return list;
+	}
+}
@@ -1,11 +1,18 @@
 package org.geogebra.common.plugin;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+
 import org.geogebra.common.BaseUnitTest;
+import org.geogebra.common.kernel.geos.GProperty;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -37,6 +44,81 @@ public class EventDispatcherTest extends BaseUnitTest {
 		verifyClientListenersNotified(EventType.TABLE_PANEL_SELECTED);
 	}
 
+	@Test
+	public void updatesShouldBeCoalescedInBatch() {
+		ArrayList<String> events = recordEvents();
+		GeoNumeric a = new GeoNumeric(getConstruction(), 1);
+		a.setLabel("a");
+		GeoNumeric b = new GeoNumeric(getConstruction(), 2);
+		b.setLabel("b");
+		events.clear();
+		eventDispatcher.setCoalesceUpdates(true);
+		eventDispatcher.startBatchUpdate();
+		eventDispatcher.update(a);
+		eventDispatcher.update(b);
+		eventDispatcher.updateVisualStyle(a, GProperty.COLOR);
+		eventDispatcher.update(a);
+		assertEquals(0, events.size());
+		eventDispatcher.endBatchUpdate();
+		assertEquals("[update a, update b, updateStyle a]", events.toString());
+		assertEquals(1, eventDispatcher.getDroppedEvents());
+		eventDispatcher.update(a);
+		assertEquals(4, events.size());
+	}
+
+	@Test
+	public void coalescedUpdateShouldUseCurrentLabel() {
+		ArrayList<String> events = recordEvents();
+		GeoNumeric a = new GeoNumeric(getConstruction(), 1);
+		a.setLabel("a");
+		eventDispatcher.setCoalesceUpdates(true);
+		eventDispatcher.startBatchUpdate();
+		eventDispatcher.update(a);
+		a.rename("c");
+		eventDispatcher.endBatchUpdate();
+		assertTrue(events.contains("update c"));
+		assertFalse(events.contains("update a"));
+	}
+
+	@Test
+	public void failedUpdateCascadeShouldEndBatch() {
+		ArrayList<String> events = recordEvents();
+		GeoNumeric a = new GeoNumeric(getConstruction(), 1) {
+			@Override
+			public void update(boolean drag) {
+				throw new IllegalStateException();
+			}
+		};
+		a.setLabel("a");
+		eventDispatcher.setCoalesceUpdates(true);
+		try {
+			a.updateCascade();
+			fail("update should fail");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		events.clear();
+		eventDispatcher.update(a);
+		assertEquals("[update a]", events.toString());
+	}
+
+	private ArrayList<String> recordEvents() {
+		final ArrayList<String> events = new ArrayList<>();
+		eventDispatcher.addEventListener(new EventListener() {
+
+			@Override
+			public void sendEvent(Event evt) {
+				events.add(evt.type.getName() + " " + evt.argument);
+			}
+
+			@Override
+			public void reset() {
+				// not needed
+			}
+		});
+		return events;
+	}
+
 	private void verifyClientListenersNotified(EventType eventType) {
 		Event event = new Event(eventType);
 		eventDispatcher.dispatchEvent(event);
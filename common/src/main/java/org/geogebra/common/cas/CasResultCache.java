@@ -0,0 +1,212 @@
+package org.geogebra.common.cas;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache for results of the CAS, keyed by the Giac input and the timeout. Giac
+ * is reset before every evaluation, so the result only depends on the input
+ * (which already contains the precision for numeric commands); rounding of
+ * the result happens after the cache. Inputs with random numbers are never
+ * cached.
+ *
+ * Recently used results are kept in memory, optionally all results are
+ * written to a {@link CasResultStore} that can be shared with other sessions.
+ */
+public class CasResultCache {
+
+	/** default number of results kept in memory */
+	public static final int DEFAULT_SIZE = 10000;
+
+	/** Giac commands that don't always give the same result */
+	private static final HashSet<String> NON_DETERMINISTIC = new HashSet<>(
+			Arrays.asList("srand", "shuffle", "sample", "ranm", "ranv", "alea",
+					"hasard", "time"));
+
+	private final int maxSize;
+	private final CasResultStore store;
+	private final LinkedHashMap<String, String> results;
+
+	private int hits;
+	private int storeHits;
+	private int misses;
+	private int bypassed;
+
+	/**
+	 * @param maxSize
+	 *            number of results kept in memory
+	 * @param store
+	 *            persistent store, may be null
+	 */
+	public CasResultCache(int maxSize, CasResultStore store) {
+		this.maxSize = maxSize;
+		this.store = store;
+		this.results = new LinkedHashMap<String, String>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, String> eldest) {
+				return size() > CasResultCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * @param giacInput
+	 *            input for Giac
+	 * @param timeoutMillis
+	 *            CAS timeout
+	 * @return cache key, null if the result must not be cached
+	 */
+	public synchronized String getKey(String giacInput, long timeoutMillis) {
+		if (giacInput == null || !isDeterministic(giacInput)) {
+			bypassed++;
+			return null;
+		}
+		return timeoutMillis + ":" + normalize(giacInput);
+	}
+
+	/**
+	 * @param key
+	 *            cache key
+	 * @return cached result, null if not found
+	 */
+	public synchronized String get(String key) {
+		String result = results.get(key);
+		if (result != null) {
+			hits++;
+			return result;
+		}
+		if (store != null) {
+			result = store.get(key);
+			if (result != null) {
+				storeHits++;
+				results.put(key, result);
+				return result;
+			}
+		}
+		misses++;
+		return null;
+	}
+
+	/**
+	 * @param key
+	 *            cache key
+	 * @param result
+	 *            result from CAS
+	 */
+	public synchronized void put(String key, String result) {
+		results.put(key, result);
+		if (store != null) {
+			store.put(key, result);
+		}
+	}
+
+	/**
+	 * Removes all results from memory, the store is not changed.
+	 */
+	public synchronized void clear() {
+		results.clear();
+	}
+
+	/**
+	 * @return number of results found in memory
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of results found in the store
+	 */
+	public synchronized int getStoreHits() {
+		return storeHits;
+	}
+
+	/**
+	 * @return number of results that had to be computed
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of inputs that could not be cached
+	 */
+	public synchronized int getBypassed() {
+		return bypassed;
+	}
+
+	/**
+	 * @return number of results in memory
+	 */
+	public synchronized int size() {
+		return results.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "CAS cache: " + hits + " hits, " + storeHits + " store hits, "
+				+ misses + " misses, " + bypassed + " bypassed, " + size()
+				+ " results";
+	}
+
+	/**
+	 * @param giacInput
+	 *            input for Giac
+	 * @return whether the input contains no random commands
+	 */
+	public static boolean isDeterministic(String giacInput) {
+		int start = -1;
+		for (int i = 0; i <= giacInput.length(); i++) {
+			boolean identifier = i < giacInput.length()
+					&& isIdentifierChar(giacInput.charAt(i));
+			if (identifier && start < 0) {
+				start = i;
+			} else if (!identifier && start >= 0) {
+				String name = giacInput.substring(start, i).toLowerCase();
+				if (name.startsWith("rand")
+						|| NON_DETERMINISTIC.contains(name)) {
+					return false;
+				}
+				start = -1;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isIdentifierChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+	/**
+	 * @param giacInput
+	 *            input for Giac
+	 * @return input without leading / trailing whitespace and with whitespace
+	 *         runs outside of strings replaced by single spaces
+	 */
+	static String normalize(String giacInput) {
+		StringBuilder sb = new StringBuilder(giacInput.length());
+		boolean space = false;
+		boolean inString = false;
+		for (int i = 0; i < giacInput.length(); i++) {
+			char c = giacInput.charAt(i);
+			if (c == '"' && (i == 0 || giacInput.charAt(i - 1) != '\\')) {
+				inString = !inString;
+			}
+			if (!inString && Character.isWhitespace(c)) {
+				space = sb.length() > 0;
+			} else {
+				if (space) {
+					sb.append(' ');
+					space = false;
+				}
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,23 @@
+package org.geogebra.common.cas;
+
+/**
+ * Second level of the CAS result cache, e.g. a directory shared by several
+ * sessions.
+ */
+public interface CasResultStore {
+
+	/**
+	 * @param key
+	 *            cache key
+	 * @return stored result, null if not found
+	 */
+	String get(String key);
+
+	/**
+	 * @param key
+	 *            cache key
+	 * @param result
+	 *            result from CAS
+	 */
+	void put(String key, String result);
+}
@@ -62,6 +62,7 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 	private StringBuilder getPolynomialCoeffsSB = new StringBuilder();
 	private StringBuilder sbPolyCoeffs = new StringBuilder();
 	private int counter = 1;
+	private CasResultCache resultCache;
 
 	/**
 	 * Creates new CAS interface
@@ -119,6 +120,9 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 	private synchronized CASGenericInterface getGiac() {
 		if (cas == null) {
 			cas = app.getCASFactory().newGiac(casParser, app.getKernel());
+			if (cas instanceof CASgiac) {
+				((CASgiac) cas).setResultCache(resultCache);
+			}
 		}
 		return cas;
 	}
@@ -183,6 +187,19 @@ public class GeoGebraCAS implements GeoGebraCasInterface {
 		}
 	}
 
+	@Override
+	public synchronized void setResultCache(CasResultCache cache) {
+		this.resultCache = cache;
+		if (cas instanceof CASgiac) {
+			((CASgiac) cas).setResultCache(cache);
+		}
+	}
+
+	@Override
+	public CasResultCache getResultCache() {
+		return resultCache;
+	}
+
 	@Override
 	final public String evaluateRaw(String exp) throws Throwable {
 		if (app.getSettings().getCasSettings().isEnabled()) {
@@ -10,6 +10,7 @@ import java.util.Map.Entry;
 import java.util.Random;
 
 import org.geogebra.common.cas.CASparser;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.kernel.AsynchronousCommand;
 import org.geogebra.common.kernel.CASException;
 import org.geogebra.common.kernel.CASGenericInterface;
@@ -489,6 +490,7 @@ public abstract class CASgiac implements CASGenericInterface {
 	public long timeoutMillis = 5000;
 	final private static String EVALFA = "evalfa(";
 	private StringBuilder expSB = new StringBuilder(EVALFA);
+	private CasResultCache resultCache;
 
 	// eg {(ggbtmpvarx>(-sqrt(110)/5)) && ((sqrt(110)/5)>ggbtmpvarx)}
 	// eg {(ggbtmpvarx>=(-sqrt(110)/5)) && ((sqrt(110)/5)>=ggbtmpvarx)}
@@ -717,7 +719,7 @@ public abstract class CASgiac implements CASGenericInterface {
 				StringTemplate.giacTemplate, this);
 
 		// evaluate in Giac
-		String plainResult = evaluateCAS(giacInput);
+		String plainResult = evaluateCached(giacInput);
 
 		// try again for undefined result
 		// eg Numeric(0.99999874^(16500))
@@ -728,7 +730,7 @@ public abstract class CASgiac implements CASGenericInterface {
 					StringTemplate.giacNumeric13, this);
 
 			// evaluate in Giac
-			plainResult = evaluateCAS(giacInput);
+			plainResult = evaluateCached(giacInput);
 
 		}
 
@@ -762,6 +764,39 @@ public abstract class CASgiac implements CASGenericInterface {
 		return plainResult;
 	}
 
+	/**
+	 * Evaluates input in Giac unless the result is in the result cache.
+	 * Undefined results are not cached, they may be caused by Giac not being
+	 * loaded yet.
+	 * 
+	 * @param giacInput
+	 *            Giac command
+	 * @return value returned from CAS
+	 */
+	private String evaluateCached(String giacInput) {
+		String key = resultCache == null ? null
+				: resultCache.getKey(giacInput, getTimeoutMilliseconds());
+		if (key == null) {
+			return evaluateCAS(giacInput);
+		}
+		String result = resultCache.get(key);
+		if (result == null) {
+			result = evaluateCAS(giacInput);
+			if (!isUndefined(result)) {
+				resultCache.put(key, result);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @param cache
+	 *            cache for results of Giac, null to always evaluate
+	 */
+	public void setResultCache(CasResultCache cache) {
+		this.resultCache = cache;
+	}
+
 	/**
 	 * 
 	 * @param result
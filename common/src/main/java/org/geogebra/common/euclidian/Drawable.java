@@ -260,6 +260,7 @@ public abstract class Drawable extends DrawableND {
 			firstCall = false;
 			labelRectangle.setBounds(xLabel, yLabel - offsetY, dim.getWidth(),
 					dim.getHeight());
+			labelDrawn();
 			return;
 		}
 
@@ -312,6 +313,13 @@ public abstract class Drawable extends DrawableND {
 		if (oldFont != null) {
 			g2.setFont(oldFont);
 		}
+		labelDrawn();
+	}
+
+	private void labelDrawn() {
+		if (view.getHitIndex() != null) {
+			view.getHitIndex().labelDrawn(this, labelRectangle);
+		}
 	}
 
 	/**
@@ -506,6 +514,45 @@ public abstract class Drawable extends DrawableND {
 		return labelRectangle.contains(x, y);
 	}
 
+	/**
+	 * Bounds used by the hit index of the view: for points outside of these
+	 * bounds (grown by the threshold) both hit(x, y, threshold) and
+	 * hitLabel(x, y) must return false. Drawables overriding this need to call
+	 * {@link #hitBoundsChanged()} when they are updated.
+	 * 
+	 * @return bounds in screen coordinates, null if this drawable should be
+	 *         tested everywhere
+	 */
+	public GRectangle getHitBounds() {
+		return null;
+	}
+
+	/**
+	 * @param bounds
+	 *            bounds of the drawable, null if only the label can be hit
+	 * @return bounds extended by the label rectangle
+	 */
+	protected GRectangle withLabelBounds(GRectangle bounds) {
+		if (HitIndex.isEmpty(labelRectangle)) {
+			return bounds == null
+					? AwtFactory.getPrototype().newRectangle(0, 0) : bounds;
+		}
+		if (bounds == null) {
+			return AwtFactory.getPrototype().newRectangle(labelRectangle);
+		}
+		bounds.add(labelRectangle);
+		return bounds;
+	}
+
+	/**
+	 * Notifies the hit index of the view that hit bounds need to be updated.
+	 */
+	protected void hitBoundsChanged() {
+		if (view != null && view.getHitIndex() != null) {
+			view.getHitIndex().setDirty(this);
+		}
+	}
+
 	/**
 	 * Was clicked at the handlers of bounding box? (mouse pointer location
 	 * (x,y) in screen coords)
@@ -63,13 +63,26 @@ public class DrawableList extends ArrayList<Drawable> {
 	 */
 	public final void drawAll(GGraphics2D g2) {
 		for (Drawable d : this) {
-			GeoElement geo = d.getGeoElement();
-			if (geo.isDefined()
-					&& !(geo.isGeoList() && ((GeoList) geo).drawAsComboBox())
-					&& !geo.isGeoInputBox() && !geo.isMask()) {
-				d.updateIfNeeded();
-				d.draw(g2);
-			}
+			drawIfShown(d, g2);
+		}
+	}
+
+	/**
+	 * Draws the drawable unless it's undefined or drawn by other means (combo
+	 * boxes, input boxes and masks).
+	 * 
+	 * @param d
+	 *            drawable
+	 * @param g2
+	 *            Graphic to be used
+	 */
+	static void drawIfShown(Drawable d, GGraphics2D g2) {
+		GeoElement geo = d.getGeoElement();
+		if (geo.isDefined()
+				&& !(geo.isGeoList() && ((GeoList) geo).drawAsComboBox())
+				&& !geo.isGeoInputBox() && !geo.isMask()) {
+			d.updateIfNeeded();
+			d.draw(g2);
 		}
 	}
 
@@ -7631,6 +7631,11 @@ public abstract class EuclidianController implements SpecialPointsListener {
 			return;
 		}
 		altCopy = false;
+		if (moveMode != MOVE_NONE && moveMode != MOVE_VIEW
+				&& moveMode != MOVE_X_AXIS && moveMode != MOVE_Y_AXIS) {
+			// only the moved objects and their dependents need repaint
+			view.getStaticLayer().start(movedGeoElement, translateableGeos);
+		}
 		// moveMode was set in mousePressed()
 		switch (moveMode) {
 		case MOVE_ROTATE:
@@ -10076,6 +10081,7 @@ public abstract class EuclidianController implements SpecialPointsListener {
 		final boolean alt = event.isAltDown();
 		final boolean meta = event.isPopupTrigger() || event.isMetaDown();
 		PointerEventType type = event.getType();
+		view.getStaticLayer().stop();
 
 		if (isDraggingOccuredBeyondThreshold()) {
 			if (shouldClearSelectionAfterMove(right)) {
@@ -503,6 +503,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 	private DrawBackground drawBg = null;
 	private final HitDetector hitDetector;
+	private final HitIndex hitIndex;
+	private final StaticLayer staticLayer;
 	private boolean isResetIconSelected = false;
 	private BoundingBox<? extends GShape> focusedGroupGeoBoundingBox;
 
@@ -555,6 +557,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	public EuclidianView() {
 		hitDetector = new HitDetector(this);
+		hitIndex = new HitIndex(this);
+		staticLayer = new StaticLayer(this);
 	}
 
 	/**
@@ -611,6 +615,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 		// ggb3D 2009-02-05
 		hitDetector.reset();
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 
 		printScaleNF = FormatFactory.getPrototype().getNumberFormat("#.#####",
 				5);
@@ -1686,6 +1692,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 			this.needsAllDrawablesUpdate = true;
 			return;
 		}
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 		allDrawableList.updateAll();
 		if (repaint) {
 			repaint();
@@ -1708,6 +1716,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	public void invalidateDrawableList() {
 		allDrawableList.sort();
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 		repaintView();
 	}
 
@@ -1722,6 +1732,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		}
 
 		isCrashlyticsLoggingEnabled = true;
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 		for (Drawable d : allDrawableList) {
 			d.updateForView();
 		}
@@ -1755,6 +1767,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void endBatchUpdate() {
 		this.batchUpdate = false;
 		if (this.needsAllDrawablesUpdate) {
+			hitIndex.invalidate();
+			staticLayer.invalidate();
 			allDrawableList.updateAll();
 			repaint();
 		}
@@ -1897,6 +1911,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	public void update(GeoElement geo) {
 		DrawableND d = drawableMap.get(geo);
 		if (d != null) {
+			staticLayer.geoChanged(geo);
 			if (!d.isCompatibleWithGeo()) {
 				remove(geo);
 				add(geo);
@@ -1908,6 +1923,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 						|| this.updateBackgroundOnNextRepaint;
 			} else if (!needsSynchUpdate(geo, d.isTracing())) {
 				d.setNeedsUpdate(true);
+				hitIndex.setDirty(d);
 			} else {
 				d.update();
 			}
@@ -1973,6 +1989,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 				logToCrashlytics("EuclidianView.allDrawableList modified at ",
 						"EuclidianView.createAndAddDrawable(GeoElement geo) for", geo);
 				allDrawableList.add((Drawable) d);
+				hitIndex.invalidate();
+				staticLayer.invalidate();
 			}
 			return true;
 		}
@@ -2051,6 +2069,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		if (drawableMap.containsKey(geo)) {
 			DrawableND drawable = drawableMap.get(geo);
 			drawable.setNeedsUpdate(true);
+			hitIndex.setDirty(drawable);
 			return true;
 		}
 		return false;
@@ -2116,6 +2135,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		logToCrashlytics(
 				"EuclidianView.allDrawableList modified at EuclidianView.remove(GeoElement geo)");
 		allDrawableList.remove(d);
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 		resetBoundingBoxes();
 
 		if (d instanceof RemoveNeeded) {
@@ -2358,7 +2379,7 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 
 	@Override
 	public void updateHighlight(GeoElementND geo) {
-		// nothing to do here
+		staticLayer.geoChanged(geo.toGeoElement());
 	}
 
 	@Override
@@ -3450,7 +3471,9 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 	 */
 	final private void drawGeometricObjects(GGraphics2D g2) {
 		// only draw drawables we need
-		allDrawableList.drawAll(g2);
+		if (!staticLayer.draw(g2)) {
+			allDrawableList.drawAll(g2);
+		}
 
 		if (getEuclidianController().isMultiSelection()) {
 			getEuclidianController()
@@ -4270,6 +4293,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 				"EuclidianView.allDrawableList modified at ",
 						"EuclidianView.addBackgroundImage(DrawImage img)");
 		allDrawableList.remove(img);
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 	}
 
 	/**
@@ -4282,6 +4307,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 				"EuclidianView.allDrawableList modified at ",
 						"EuclidianView.removeBackgroundImage(DrawImage img)");
 		allDrawableList.add(img);
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 	}
 
 	/**
@@ -4292,6 +4319,8 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		stickyPointList.clear();
 		logToCrashlytics("EuclidianView.allDrawableList modified at EuclidianView.resetLists()");
 		allDrawableList.clear();
+		hitIndex.invalidate();
+		staticLayer.invalidate();
 		bgImageList.clear();
 		previewFromInputBarGeos = null;
 		this.geosWaiting.clear();
@@ -6360,6 +6389,28 @@ public abstract class EuclidianView implements EuclidianViewInterfaceCommon,
 		return hitDetector;
 	}
 
+	/**
+	 * @return spatial index of the drawables
+	 */
+	public HitIndex getHitIndex() {
+		return hitIndex;
+	}
+
+	/**
+	 * @return cache of the drawables that don't move during drag
+	 */
+	public StaticLayer getStaticLayer() {
+		return staticLayer;
+	}
+
+	/**
+	 * @return transparent image of the size of this view for the static layer
+	 */
+	protected GBufferedImage createStaticLayerImage() {
+		return AwtFactory.getPrototype().createBufferedImage(getWidth(),
+				getHeight(), true);
+	}
+
 	/**
 	 * @return whether the reset icon is selected
 	 */
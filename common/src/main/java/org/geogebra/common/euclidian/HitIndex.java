@@ -0,0 +1,277 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+
+import org.geogebra.common.awt.GRectangle;
+
+/**
+ * Uniform grid of drawable bounds in screen coordinates, used by
+ * {@link HitDetector} to run exact hit tests only for drawables near the
+ * pointer.
+ *
+ * Drawables report their bounds via {@link Drawable#getHitBounds()}; those
+ * without bounds are tested for every pointer position. Changed drawables are
+ * marked dirty and moved to their new cells on the next query, structural
+ * changes of the drawable list rebuild the whole grid lazily.
+ */
+public class HitIndex {
+
+	/** cell size in pixels */
+	static final int CELL_SIZE = 64;
+	/** drawables spanning more cells are tested for every query */
+	private static final int MAX_CELLS = 64;
+	/** cell coordinates are clamped to this range */
+	private static final int MAX_CELL_INDEX = 1 << 20;
+	/** tolerance for rounding in the hit tests */
+	private static final int SLACK = 1;
+
+	private static final Comparator<Entry> ORDER = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry e1, Entry e2) {
+			return e1.order - e2.order;
+		}
+	};
+
+	private final EuclidianView view;
+	private final HashMap<Drawable, Entry> entries = new HashMap<>();
+	private final HashMap<Long, ArrayList<Entry>> cells = new HashMap<>();
+	private final ArrayList<Entry> unbounded = new ArrayList<>();
+	private final ArrayList<Entry> dirty = new ArrayList<>();
+	private final ArrayList<Entry> found = new ArrayList<>();
+	private final ArrayList<Drawable> candidates = new ArrayList<>();
+	private boolean valid = false;
+	private int stamp = 0;
+
+	private static class Entry {
+		private final Drawable drawable;
+		private final int order;
+		private GRectangle bounds;
+		private boolean isDirty;
+		private int stamp;
+		private int minCellX;
+		private int minCellY;
+		private int maxCellX;
+		private int maxCellY;
+
+		protected Entry(Drawable drawable, int order) {
+			this.drawable = drawable;
+			this.order = order;
+		}
+	}
+
+	/**
+	 * @param view
+	 *            view
+	 */
+	public HitIndex(EuclidianView view) {
+		this.view = view;
+	}
+
+	/**
+	 * Forces rebuild on next query, to be called when drawables are added,
+	 * removed or reordered.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * @param drawable
+	 *            drawable whose bounds may have changed
+	 */
+	public void setDirty(DrawableND drawable) {
+		if (!valid) {
+			return;
+		}
+		Entry entry = entries.get(drawable);
+		if (entry != null && !entry.isDirty) {
+			entry.isDirty = true;
+			dirty.add(entry);
+		}
+	}
+
+	/**
+	 * Marks the drawable dirty if its label moved out of the indexed bounds.
+	 *
+	 * @param drawable
+	 *            drawable
+	 * @param labelRectangle
+	 *            new label rectangle
+	 */
+	public void labelDrawn(Drawable drawable, GRectangle labelRectangle) {
+		if (!valid || isEmpty(labelRectangle)) {
+			return;
+		}
+		Entry entry = entries.get(drawable);
+		if (entry != null && !entry.isDirty && entry.bounds != null
+				&& !contains(entry.bounds, labelRectangle)) {
+			setDirty(drawable);
+		}
+	}
+
+	/**
+	 * @param x
+	 *            pointer x-coord
+	 * @param y
+	 *            pointer y-coord
+	 * @param threshold
+	 *            hit threshold
+	 * @return drawables that may be hit at given position, in the order of the
+	 *         drawable list; reused by subsequent calls
+	 */
+	public ArrayList<Drawable> getCandidates(int x, int y, int threshold) {
+		if (!valid) {
+			rebuild();
+		} else {
+			updateDirty();
+		}
+		int margin = threshold + SLACK;
+		stamp++;
+		found.clear();
+		for (Entry entry : unbounded) {
+			entry.stamp = stamp;
+			found.add(entry);
+		}
+		int maxCellX = getCell(x + margin);
+		int maxCellY = getCell(y + margin);
+		for (int cellX = getCell(x - margin); cellX <= maxCellX; cellX++) {
+			for (int cellY = getCell(y - margin); cellY <= maxCellY; cellY++) {
+				ArrayList<Entry> cell = cells.get(getKey(cellX, cellY));
+				if (cell == null) {
+					continue;
+				}
+				for (Entry entry : cell) {
+					if (entry.stamp != stamp
+							&& isNear(entry.bounds, x, y, margin)) {
+						entry.stamp = stamp;
+						found.add(entry);
+					}
+				}
+			}
+		}
+		Collections.sort(found, ORDER);
+		candidates.clear();
+		for (Entry entry : found) {
+			candidates.add(entry.drawable);
+		}
+		return candidates;
+	}
+
+	private void rebuild() {
+		entries.clear();
+		cells.clear();
+		unbounded.clear();
+		dirty.clear();
+		int order = 0;
+		for (Drawable drawable : view.getAllDrawableList()) {
+			Entry entry = new Entry(drawable, order++);
+			entries.put(drawable, entry);
+			add(entry);
+		}
+		valid = true;
+	}
+
+	private void updateDirty() {
+		int size = dirty.size();
+		for (int i = 0; i < size; i++) {
+			Entry entry = dirty.get(i);
+			remove(entry);
+			add(entry);
+			// still waiting for update: keep testing it everywhere
+			if (entry.drawable.needsUpdate()) {
+				dirty.add(entry);
+			} else {
+				entry.isDirty = false;
+			}
+		}
+		dirty.subList(0, size).clear();
+	}
+
+	private void add(Entry entry) {
+		GRectangle bounds = entry.drawable.needsUpdate() ? null
+				: entry.drawable.getHitBounds();
+		entry.bounds = bounds;
+		if (bounds != null) {
+			entry.minCellX = getCell(bounds.getMinX());
+			entry.minCellY = getCell(bounds.getMinY());
+			entry.maxCellX = getCell(bounds.getMaxX());
+			entry.maxCellY = getCell(bounds.getMaxY());
+			if ((long) (entry.maxCellX - entry.minCellX + 1)
+					* (entry.maxCellY - entry.minCellY + 1) > MAX_CELLS) {
+				entry.bounds = null;
+			}
+		}
+		if (entry.bounds == null) {
+			unbounded.add(entry);
+			return;
+		}
+		for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+			for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+				Long key = getKey(cellX, cellY);
+				ArrayList<Entry> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<>();
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	private void remove(Entry entry) {
+		if (entry.bounds == null) {
+			unbounded.remove(entry);
+			return;
+		}
+		for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+			for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+				Long key = getKey(cellX, cellY);
+				ArrayList<Entry> cell = cells.get(key);
+				if (cell != null) {
+					cell.remove(entry);
+					if (cell.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	private static int getCell(double coord) {
+		double cell = Math.floor(coord / CELL_SIZE);
+		if (Double.isNaN(cell)) {
+			return 0;
+		}
+		return (int) Math.max(-MAX_CELL_INDEX, Math.min(MAX_CELL_INDEX, cell));
+	}
+
+	private static Long getKey(int cellX, int cellY) {
+		return ((long) cellX << 32) ^ (cellY & 0xffffffffL);
+	}
+
+	private static boolean isNear(GRectangle bounds, int x, int y,
+			int margin) {
+		return x >= bounds.getMinX() - margin && x <= bounds.getMaxX() + margin
+				&& y >= bounds.getMinY() - margin
+				&& y <= bounds.getMaxY() + margin;
+	}
+
+	private static boolean contains(GRectangle bounds, GRectangle rect) {
+		return rect.getMinX() >= bounds.getMinX()
+				&& rect.getMaxX() <= bounds.getMaxX()
+				&& rect.getMinY() >= bounds.getMinY()
+				&& rect.getMaxY() <= bounds.getMaxY();
+	}
+
+	/**
+	 * @param rect
+	 *            rectangle
+	 * @return whether the rectangle has no area
+	 */
+	static boolean isEmpty(GRectangle rect) {
+		return rect.getWidth() <= 0 || rect.getHeight() <= 0;
+	}
+}
@@ -0,0 +1,230 @@
+package org.geogebra.common.euclidian;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.geogebra.common.awt.GBufferedImage;
+import org.geogebra.common.awt.GGraphics2D;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.util.debug.Log;
+
+/**
+ * Cached image of the drawables that don't change while objects are dragged,
+ * so that each frame only draws the moving objects.
+ *
+ * Drawables of the dragged objects and their update sets are drawn live, as
+ * are drawables of objects that are updated later during the drag. All other
+ * drawables are drawn once into an image below the live drawables, or into an
+ * image above them if they are in a higher layer than all live drawables.
+ * Static drawables in the layers between the live ones are drawn live to keep
+ * the order of the layers; within a layer the live drawables are drawn on top.
+ *
+ * The images are rebuilt lazily after view transforms, style changes and
+ * changes of the drawable list; if that happens in every frame, the layer is
+ * switched off until the drag ends.
+ */
+public class StaticLayer {
+
+	/** rebuilds in consecutive frames before the layer gives up */
+	private static final int MAX_REBUILDS_IN_ROW = 3;
+
+	private final EuclidianView view;
+	private final HashSet<GeoElement> liveGeos = new HashSet<>();
+	private final ArrayList<Drawable> liveDrawables = new ArrayList<>();
+	private GBufferedImage below;
+	private GBufferedImage above;
+	private int width;
+	private int height;
+	private boolean active = false;
+	private boolean valid = false;
+	private boolean disabled = false;
+	private int rebuildsInRow = 0;
+	private int rebuilds = 0;
+
+	/**
+	 * @param view
+	 *            view
+	 */
+	public StaticLayer(EuclidianView view) {
+		this.view = view;
+	}
+
+	/**
+	 * Starts caching the static drawables, or adds moved objects if the layer
+	 * is already active.
+	 *
+	 * @param movedGeo
+	 *            dragged object, may be null
+	 * @param movedGeos
+	 *            other dragged objects, may be null
+	 */
+	public void start(GeoElement movedGeo, ArrayList<GeoElement> movedGeos) {
+		active = true;
+		addMoved(movedGeo);
+		if (movedGeos != null) {
+			for (GeoElement geo : movedGeos) {
+				addMoved(geo);
+			}
+		}
+	}
+
+	private void addMoved(GeoElement geo) {
+		if (geo == null) {
+			return;
+		}
+		geoChanged(geo);
+		for (AlgoElement algo : geo.getAlgoUpdateSet()) {
+			for (int i = 0; i < algo.getOutputLength(); i++) {
+				geoChanged(algo.getOutput(i));
+			}
+		}
+	}
+
+	/**
+	 * Stops caching and releases the images.
+	 */
+	public void stop() {
+		active = false;
+		valid = false;
+		disabled = false;
+		rebuildsInRow = 0;
+		liveGeos.clear();
+		liveDrawables.clear();
+		below = null;
+		above = null;
+	}
+
+	/**
+	 * Forces rebuild of the images on next repaint.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Makes sure the drawable of changed object is drawn live.
+	 *
+	 * @param geo
+	 *            changed object
+	 */
+	public void geoChanged(GeoElement geo) {
+		if (active && liveGeos.add(geo)) {
+			valid = false;
+		}
+	}
+
+	/**
+	 * @return whether a drag is in progress
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Draws all drawables of the view, using the cached images if possible.
+	 *
+	 * @param g2
+	 *            graphics
+	 * @return false if the drawables have to be drawn directly
+	 */
+	public boolean draw(GGraphics2D g2) {
+		if (!active || disabled) {
+			return false;
+		}
+		if (!valid || width != view.getWidth()
+				|| height != view.getHeight()) {
+			if (rebuildsInRow >= MAX_REBUILDS_IN_ROW || !rebuild()) {
+				disabled = true;
+				below = null;
+				above = null;
+				return false;
+			}
+			rebuildsInRow++;
+		} else {
+			rebuildsInRow = 0;
+		}
+		if (below != null) {
+			g2.drawImage(below, 0, 0);
+		}
+		for (Drawable d : liveDrawables) {
+			DrawableList.drawIfShown(d, g2);
+		}
+		if (above != null) {
+			g2.drawImage(above, 0, 0);
+		}
+		return true;
+	}
+
+	private boolean rebuild() {
+		DrawableList all = view.getAllDrawableList();
+		int minLayer = Integer.MAX_VALUE;
+		int maxLayer = Integer.MIN_VALUE;
+		for (Drawable d : all) {
+			if (liveGeos.contains(d.getGeoElement())) {
+				int layer = d.getGeoElement().getLayer();
+				minLayer = Math.min(minLayer, layer);
+				maxLayer = Math.max(maxLayer, layer);
+			}
+		}
+		width = view.getWidth();
+		height = view.getHeight();
+		below = null;
+		above = null;
+		liveDrawables.clear();
+		GGraphics2D belowGraphics = null;
+		GGraphics2D aboveGraphics = null;
+		try {
+			for (Drawable d : all) {
+				int layer = d.getGeoElement().getLayer();
+				if (liveGeos.contains(d.getGeoElement())
+						|| (layer > minLayer && layer <= maxLayer)) {
+					liveDrawables.add(d);
+				} else if (layer <= minLayer) {
+					if (belowGraphics == null) {
+						below = createImage();
+						belowGraphics = below.createGraphics();
+						belowGraphics.setAntialiasing();
+					}
+					DrawableList.drawIfShown(d, belowGraphics);
+				} else {
+					if (aboveGraphics == null) {
+						above = createImage();
+						aboveGraphics = above.createGraphics();
+						aboveGraphics.setAntialiasing();
+					}
+					DrawableList.drawIfShown(d, aboveGraphics);
+				}
+			}
+		} catch (Exception e) {
+			Log.debug("problem with creating static layer " + width + " "
+					+ height);
+			return false;
+		}
+		valid = true;
+		rebuilds++;
+		return true;
+	}
+
+	private GBufferedImage createImage() {
+		GBufferedImage image = view.createStaticLayerImage();
+		if (image == null) {
+			throw new IllegalStateException("no image");
+		}
+		return image;
+	}
+
+	/**
+	 * @return number of drawables drawn in every frame
+	 */
+	int getLiveDrawableCount() {
+		return liveDrawables.size();
+	}
+
+	/**
+	 * @return number of times the images were drawn
+	 */
+	int getRebuildCount() {
+		return rebuilds;
+	}
+}
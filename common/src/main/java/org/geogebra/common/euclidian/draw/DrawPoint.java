@@ -134,6 +134,7 @@ public final class DrawPoint extends SetDrawable {
 
 	@Override
 	public void update() {
+		hitBoundsChanged();
 
 		if (gp != null) {
 			gp.reset(); // stop trace being left when (filled diamond) point
@@ -176,6 +177,7 @@ public final class DrawPoint extends SetDrawable {
 	}
 
 	private void update(double[] coords2, boolean rwCoords) {
+		hitBoundsChanged();
 
 		isVisible = true;
 		labelVisible = getTopLevelGeo().isLabelVisible();
@@ -530,6 +532,17 @@ public final class DrawPoint extends SetDrawable {
 		return dx < r && dx > -r && dx * dx + dy * dy <= r * r;
 	}
 
+	@Override
+	public GRectangle getHitBounds() {
+		if (isPreview) {
+			return null;
+		}
+		int r = Math.max(pointSize, SELECTION_RADIUS_MIN);
+		return withLabelBounds(AwtFactory.getPrototype().newRectangle(
+				(int) Math.floor(coords[0]) - r,
+				(int) Math.floor(coords[1]) - r, 2 * r + 1, 2 * r + 1));
+	}
+
 	@Override
 	public boolean isInside(GRectangle rect) {
 		return rect.contains(circle.getBounds());
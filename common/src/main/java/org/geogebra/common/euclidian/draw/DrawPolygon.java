@@ -93,6 +93,7 @@ public class DrawPolygon extends Drawable implements Previewable {
 
 	@Override
 	final public void update() {
+		hitBoundsChanged();
 		isVisible = geo.isEuclidianVisible();
 		if (isVisible) {
 			labelVisible = geo.isLabelVisible();
@@ -359,6 +360,18 @@ public class DrawPolygon extends Drawable implements Previewable {
 		return intersects && !contains;
 	}
 
+	@Override
+	public GRectangle getHitBounds() {
+		if (!isVisible) {
+			return withLabelBounds(null);
+		}
+		if (geo.isInverseFill() || gp.getBounds() == null) {
+			return null;
+		}
+		return withLabelBounds(
+				AwtFactory.getPrototype().newRectangle(gp.getBounds()));
+	}
+
 	@Override
 	final public boolean isInside(GRectangle rect) {
 		return gp.getBounds() != null && rect.contains(gp.getBounds());
@@ -102,6 +102,7 @@ public class DrawSegment extends SetDrawable implements Previewable {
 
 	@Override
 	final public void update() {
+		hitBoundsChanged();
 		isVisible = geo.isEuclidianVisible();
 		if (!isVisible) {
 			return;
@@ -142,6 +143,7 @@ public class DrawSegment extends SetDrawable implements Previewable {
 	 *            end point
 	 */
 	final public void update(Coords A, Coords B) {
+		hitBoundsChanged();
 
 		labelVisible = geo.isLabelVisible();
 		updateStrokes(geo);
@@ -560,6 +562,15 @@ public class DrawSegment extends SetDrawable implements Previewable {
 						2 * hitThreshold, 2 * hitThreshold));
 	}
 
+	@Override
+	public GRectangle getHitBounds() {
+		if (line == null || !isVisible) {
+			return withLabelBounds(null);
+		}
+		return withLabelBounds(
+				AwtFactory.getPrototype().newRectangle(line.getBounds()));
+	}
+
 	@Override
 	final public boolean isInside(GRectangle rect) {
 		return line != null && rect.contains(line.getP1())
@@ -8,6 +8,7 @@ import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.SegmentType;
+import org.geogebra.common.kernel.geos.ParametricCurve;
 import org.geogebra.common.kernel.kernelND.CurveEvaluable;
 import org.geogebra.common.kernel.matrix.CoordSys;
 import org.geogebra.common.util.DoubleUtil;
@@ -175,6 +176,19 @@ public class CurvePlotter {
 		dyadicStack[0] = 1;
 		depthStack[0] = 0;
 
+		// unless it runs into an undefined point, bisection continues until
+		// the parameter step is small enough: evaluate the curve for the
+		// parameters of that depth in blocks when bisection reaches them
+		int sampleDepth = 0;
+		while (sampleDepth < MAX_DEFINED_BISECTIONS
+				&& divisors[sampleDepth] > max_param_step) {
+			sampleDepth++;
+		}
+		CurveSamples samples = curve instanceof ParametricCurve
+				? new CurveSamples((ParametricCurve) curve, t1,
+						divisors[sampleDepth], 1 << sampleDepth)
+				: null;
+
 		onScreenStack[0] = onScreen;
 		posStack[0] = Cloner.clone(eval1);
 
@@ -226,7 +240,11 @@ public class CurvePlotter {
 				t = t1 + i * divisors[depth]; // t=t1+(t2-t1)*(i/2^depth)
 
 				// evaluate curve for parameter t
-				curve.evaluateCurve(t, eval);
+				if (samples != null && depth <= sampleDepth) {
+					samples.get(i << (sampleDepth - depth), eval);
+				} else {
+					curve.evaluateCurve(t, eval);
+				}
 				onScreen = view.isOnView(eval);
 				// check for singularity:
 				// c(t) undefined; c(t-eps) and c(t+eps) both defined
@@ -0,0 +1,71 @@
+package org.geogebra.common.euclidian.plot;
+
+import org.geogebra.common.kernel.geos.ParametricCurve;
+
+/**
+ * Values of a curve for t1 + k * step, k = 0 ... count. The values are
+ * evaluated in blocks of consecutive parameters when one of them is needed
+ * for the first time, so parts of the interval that are never reached don't
+ * cost anything.
+ */
+final class CurveSamples {
+
+	/** number of parameters evaluated at once */
+	static final int BLOCK_SIZE = 32;
+
+	private final ParametricCurve curve;
+	private final double t1;
+	private final double step;
+	private final int count;
+	private final int dim;
+	// blocks[b][j][k] is the j-th coordinate for index b * BLOCK_SIZE + k
+	private final double[][][] blocks;
+	private final double[] params = new double[BLOCK_SIZE];
+
+	/**
+	 * @param curve
+	 *            curve
+	 * @param t1
+	 *            min value of parameter
+	 * @param step
+	 *            parameter step
+	 * @param count
+	 *            number of steps
+	 */
+	CurveSamples(ParametricCurve curve, double t1, double step, int count) {
+		this.curve = curve;
+		this.t1 = t1;
+		this.step = step;
+		this.count = count;
+		this.dim = curve.newDoubleArray().length;
+		this.blocks = new double[count / BLOCK_SIZE + 1][][];
+	}
+
+	/**
+	 * @param index
+	 *            index of the parameter, between 0 and count
+	 * @param eval
+	 *            array to store the coordinates of the curve for
+	 *            t1 + index * step
+	 */
+	void get(int index, double[] eval) {
+		int block = index / BLOCK_SIZE;
+		if (blocks[block] == null) {
+			evaluateBlock(block);
+		}
+		int offset = index - block * BLOCK_SIZE;
+		for (int j = 0; j < dim; j++) {
+			eval[j] = blocks[block][j][offset];
+		}
+	}
+
+	private void evaluateBlock(int block) {
+		int first = block * BLOCK_SIZE;
+		int length = Math.min(BLOCK_SIZE, count + 1 - first);
+		for (int k = 0; k < length; k++) {
+			params[k] = t1 + (first + k) * step;
+		}
+		blocks[block] = new double[dim][length];
+		curve.evaluateCurve(params, blocks[block], length);
+	}
+}
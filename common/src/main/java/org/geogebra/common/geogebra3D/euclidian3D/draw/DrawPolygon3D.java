@@ -36,6 +36,8 @@ import org.geogebra.common.util.debug.Log;
  *
  */
 public class DrawPolygon3D extends Drawable3DSurfaces implements Previewable {
+	/** triangle indices are sent to the GPU as short values */
+	static final int MAX_VERTICES_FOR_TRIANGLES = Short.MAX_VALUE + 1;
 	private int surfaceDrawTypeAdded;
 	private boolean curvesAdded;
 	private Coords[] vertices = new Coords[0];
@@ -265,9 +267,12 @@ public class DrawPolygon3D extends Drawable3DSurfaces implements Previewable {
 		pt.clear();
 
 		try {
-			// simplify the polygon and check if there are at least 3 points
-			// left
-			if (pt.updatePoints() > 2) {
+			if (triangulateSimple(pt, verticesLength)) {
+				// large simple polygon
+				drawFans(renderer, polygon, n, vertices, verticesLength);
+			} else if (pt.updatePoints() > 2) {
+				// simplify the polygon and check if there are at least 3
+				// points left
 
 				// check if the polygon is convex
 				Convexity convexity = pt.checkIsConvex();
@@ -298,6 +303,22 @@ public class DrawPolygon3D extends Drawable3DSurfaces implements Previewable {
 		}
 	}
 
+	/**
+	 * Triangulates large simple polygons at once. The triangles are drawn
+	 * with short indices, so polygons with more vertices are not.
+	 * 
+	 * @param pt
+	 *            polygon triangulation
+	 * @param verticesLength
+	 *            vertices length
+	 * @return whether the polygon was triangulated
+	 */
+	static boolean triangulateSimple(PolygonTriangulation pt,
+			int verticesLength) {
+		return verticesLength <= MAX_VERTICES_FOR_TRIANGLES
+				&& pt.triangulateSimple();
+	}
+
 	static final private void drawConvex(Renderer renderer, GeoPolygon polygon,
 			Coords n, Coords[] vertices, int verticesLength,
 			Convexity convexity) {
@@ -312,6 +333,11 @@ public class DrawPolygon3D extends Drawable3DSurfaces implements Previewable {
 			Coords n, Coords[] vertices, int verticesLength) {
 
 		PolygonTriangulation pt = polygon.getPolygonTriangulation();
+		if (pt.usesTriangles()) {
+			renderer.getGeometryManager().drawTriangles(n, vertices,
+					verticesLength, pt.getTriangles(), pt.getTriangleCount());
+			return;
+		}
 		Coords[] verticesWithIntersections = pt.getCompleteVertices(vertices,
 				verticesLength);
 
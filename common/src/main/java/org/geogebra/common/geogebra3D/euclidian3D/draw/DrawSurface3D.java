@@ -14,15 +14,20 @@ import org.geogebra.common.geogebra3D.kernel3D.geos.GeoCurveCartesian3D;
 import org.geogebra.common.geogebra3D.kernel3D.geos.GeoSurfaceCartesian3D;
 import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.TaskScheduler;
+import org.geogebra.common.kernel.arithmetic.Command;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
 import org.geogebra.common.kernel.arithmetic.Function;
 import org.geogebra.common.kernel.arithmetic.FunctionNVar;
 import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.arithmetic.Traversing.VariableReplacer;
 import org.geogebra.common.kernel.geos.GProperty;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoFunctionNVar;
+import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.kernel.kernelND.SurfaceEvaluable;
 import org.geogebra.common.kernel.kernelND.SurfaceEvaluable.LevelOfDetail;
 import org.geogebra.common.kernel.matrix.Coords;
@@ -61,6 +66,10 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	private static final int MAX_SPLIT_IN_ONE_UPDATE_SPEED = 512;
 	private static final int MAX_SPLIT_IN_ONE_UPDATE_QUALITY = MAX_SPLIT_IN_ONE_UPDATE_SPEED
 			* 2;
+	/** fewer samples are evaluated in the drawing thread */
+	private static final int MIN_PARALLEL_SAMPLES = 64;
+	/** max factor for splits in one update when sampling in parallel */
+	private static final int MAX_PARALLEL_SPLIT_FACTOR = 4;
 	final private static int HIT_SAMPLES = 10;
 	final private static double DELTA_SAMPLES = 1.0 / HIT_SAMPLES;
 
@@ -148,6 +157,16 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	private SurfaceParameter uParam = new SurfaceParameter();
 	private SurfaceParameter vParam = new SurfaceParameter();
 
+	/** evaluated points and normals, kept when only the view changes */
+	private SurfaceSamples samples = new SurfaceSamples();
+	private boolean keepSamples = false;
+	/** copies of the surface for parallel sampling */
+	private GeoSurfaceCartesian3D[] parallelSurfaces;
+	private boolean parallelChecked = false;
+	private int splitFactor = 1;
+	private double[] sampleParameters = new double[0];
+	private int[] sampleSlots = new int[0];
+
 	private static class NotEnoughCornersException extends Exception {
 		private static final long serialVersionUID = 1L;
 		private DrawSurface3D surface;
@@ -382,8 +401,16 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 			debug("grids: " + uParam.n + ", " + vParam.n);
 			cornerListIndex = 0;
 
+			splitFactor = initParallelSampling();
+			if (splitFactor > 1) {
+				sampleRootMesh();
+			}
+
 			try {
 				firstCorner = createRootMesh();
+				if (splitFactor > 1) {
+					sampleSplits(cornerList, 0, cornerListIndex);
+				}
 
 				// split root mesh as start
 				currentSplitIndex = 0;
@@ -668,6 +695,12 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	protected void updateForView() {
 		if (getView3D().viewChangedByZoom()
 				|| getView3D().viewChangedByTranslate()) {
+			// the surface didn't change: samples can be reused
+			keepSamples = true;
+			if (getView3D().viewChangedByZoom()) {
+				// normals computed from neighbours depend on the scale
+				samples.clearNormals();
+			}
 			setWaitForUpdate();
 		}
 	}
@@ -675,6 +708,12 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	@Override
 	public void setWaitForUpdate() {
 		drawFromScratch = true;
+		if (!keepSamples) {
+			samples.clear();
+			parallelSurfaces = null;
+			parallelChecked = false;
+		}
+		keepSamples = false;
 		super.setWaitForUpdate();
 	}
 
@@ -921,8 +960,14 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 			currentSplitStoppedIndex = 0;
 		}
 
+		int maxSplits = maxSplitsInOneUpdate * splitFactor;
+		if (splitFactor > 1) {
+			sampleSplits(currentSplit, currentSplitStoppedIndex,
+					Math.min(currentSplitIndex, currentSplitStoppedIndex
+							+ maxSplits - loopSplitIndex));
+		}
 		while (currentSplitStoppedIndex < currentSplitIndex
-				&& loopSplitIndex < maxSplitsInOneUpdate) {
+				&& loopSplitIndex < maxSplits) {
 			currentSplit[currentSplitStoppedIndex].split(false);
 			currentSplitStoppedIndex++;
 
@@ -939,7 +984,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		// debug("nextSplitIndex = " + nextSplitIndex + " , drawListIndex = " +
 		// drawListIndex);
 
-		if (loopSplitIndex < maxSplitsInOneUpdate && nextSplitIndex > 0) {
+		if (loopSplitIndex < maxSplits && nextSplitIndex > 0) {
 			return split();
 		}
 
@@ -964,7 +1009,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 	}
 
 	protected Coords3 evaluatePoint(double u, double v) {
-		surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+		evaluateSurfacePoint(u, v, evaluatedPoint);
 
 		if (!evaluatedPoint.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -984,7 +1029,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 		// p is final value: use evaluatedPoint to compute
 		if (p == null || p.isFinalUndefined()) {
-			surfaceGeo.evaluatePoint(u, v, evaluatedPoint);
+			evaluateSurfacePoint(u, v, evaluatedPoint);
 
 			if (!evaluatedPoint.isDefined()) {
 				return Coords3.UNDEFINED;
@@ -1001,7 +1046,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		}
 
 		// p is not final value
-		surfaceGeo.evaluatePoint(u, v, p);
+		evaluateSurfacePoint(u, v, p);
 
 		if (!p.isDefined()) {
 			return Coords3.UNDEFINED;
@@ -1023,7 +1068,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		boolean defined;
 		// normal is final value: use evaluatedNormal to compute
 		if (normal == null || normal.isFinalUndefined()) {
-			defined = surfaceGeo.evaluateNormal(p, u, v, evaluatedNormal);
+			defined = evaluateSurfaceNormal(p, u, v, evaluatedNormal);
 
 			if (!defined) {
 				return Coords3.UNDEFINED;
@@ -1034,7 +1079,7 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 		}
 
 		// normal is not final value
-		defined = surfaceGeo.evaluateNormal(p, u, v, normal);
+		defined = evaluateSurfaceNormal(p, u, v, normal);
 
 		if (!defined) {
 			return Coords3.UNDEFINED;
@@ -1045,6 +1090,243 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 	}
 
+	private void evaluateSurfacePoint(double u, double v, Coords3 p) {
+		int slot = samples.add(u, v);
+		if (samples.hasPoint(slot)) {
+			samples.getPoint(slot, p);
+		} else {
+			surfaceGeo.evaluatePoint(u, v, p);
+			samples.setPoint(slot, p);
+		}
+	}
+
+	private boolean evaluateSurfaceNormal(Coords3 p, double u, double v,
+			Coords3 normal) {
+		int slot = samples.add(u, v);
+		if (samples.hasNormal(slot)) {
+			return samples.getNormal(slot, normal);
+		}
+		boolean defined = surfaceGeo.evaluateNormal(p, u, v, normal);
+		samples.setNormal(slot, normal, defined);
+		return defined;
+	}
+
+	/**
+	 * Prepares copies of the surface for parallel sampling.
+	 * 
+	 * @return factor for the number of splits in one update
+	 */
+	private int initParallelSampling() {
+		TaskScheduler scheduler = getView3D().getKernel().getTaskScheduler();
+		if (scheduler == null || scheduler.getParallelism() < 2
+				|| !(surfaceGeo instanceof GeoSurfaceCartesian3D)) {
+			return 1;
+		}
+		int parallelism = scheduler.getParallelism();
+		if (!parallelChecked) {
+			parallelChecked = true;
+			parallelSurfaces = null;
+			if (isThreadSafe((GeoSurfaceCartesian3D) surfaceGeo)) {
+				parallelSurfaces = new GeoSurfaceCartesian3D[0];
+			}
+		}
+		if (parallelSurfaces == null) {
+			return 1;
+		}
+		if (parallelSurfaces.length != parallelism) {
+			parallelSurfaces = new GeoSurfaceCartesian3D[parallelism];
+			for (int i = 0; i < parallelism; i++) {
+				parallelSurfaces[i] = copyWithOwnVariables(
+						(GeoSurfaceCartesian3D) surfaceGeo);
+			}
+		}
+		return Math.min(parallelism, MAX_PARALLEL_SPLIT_FACTOR);
+	}
+
+	/**
+	 * @param surface
+	 *            surface
+	 * @return whether copies of the surface can be evaluated concurrently,
+	 *         i.e. the functions only refer to numbers
+	 */
+	private static boolean isThreadSafe(GeoSurfaceCartesian3D surface) {
+		for (FunctionNVar function : surface.getFunctions()) {
+			if (function.getExpression().inspect(new Inspecting() {
+				@Override
+				public boolean check(ExpressionValue v) {
+					// other objects may store intermediate results
+					return v instanceof Command || v instanceof FunctionNVar
+							|| (v instanceof GeoElement
+									&& !(v instanceof GeoNumeric));
+				}
+			})) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Function variables store the values during evaluation, so each copy
+	 * needs its own.
+	 * 
+	 * @param surface
+	 *            surface
+	 * @return copy of the surface with new function variables
+	 */
+	private static GeoSurfaceCartesian3D copyWithOwnVariables(
+			GeoSurfaceCartesian3D surface) {
+		Kernel kernel = surface.getKernel();
+		FunctionNVar[] functions = surface.getFunctions();
+		FunctionVariable[] vars = functions[0].getFunctionVariables();
+		FunctionVariable[] copyVars = new FunctionVariable[vars.length];
+		for (int j = 0; j < vars.length; j++) {
+			copyVars[j] = new FunctionVariable(kernel,
+					vars[j].getSetVarString());
+		}
+		FunctionNVar[] copyFunctions = new FunctionNVar[functions.length];
+		for (int i = 0; i < functions.length; i++) {
+			ExpressionNode expr = functions[i].getFunctionExpression()
+					.deepCopy(kernel);
+			for (int j = 0; j < vars.length; j++) {
+				expr = expr.traverse(VariableReplacer.getReplacer(
+						vars[j].getSetVarString(), copyVars[j], kernel))
+						.wrap();
+			}
+			copyFunctions[i] = new FunctionNVar(expr, copyVars);
+		}
+		GeoSurfaceCartesian3D copy = new GeoSurfaceCartesian3D(
+				surface.getConstruction(), null, copyFunctions);
+		copy.setDerivatives();
+		return copy;
+	}
+
+	private void sampleRootMesh() {
+		double[] us = getRootMeshParameters(uParam);
+		double[] vs = getRootMeshParameters(vParam);
+		int count = 0;
+		ensureSampleCapacity(us.length * vs.length);
+		for (double v : vs) {
+			for (double u : us) {
+				sampleParameters[count++] = u;
+				sampleParameters[count++] = v;
+			}
+		}
+		sampleInParallel(count / 2);
+	}
+
+	/**
+	 * @param param
+	 *            parameter
+	 * @return values of the parameter in the root mesh, as in
+	 *         {@link #createRootMesh()}
+	 */
+	private static double[] getRootMeshParameters(SurfaceParameter param) {
+		double[] ret = new double[param.n + 1];
+		ret[0] = param.borderMax;
+		for (int i = 0; i < param.n - 1; i++) {
+			ret[i + 1] = param.max - (param.delta * i) / param.n;
+		}
+		ret[param.n] = param.borderMin;
+		return ret;
+	}
+
+	/**
+	 * Samples the new corners of the corners that will be split.
+	 * 
+	 * @param corners
+	 *            corners
+	 * @param from
+	 *            first index
+	 * @param to
+	 *            last index (excluded)
+	 */
+	private void sampleSplits(Corner[] corners, int from, int to) {
+		ensureSampleCapacity(5 * (to - from));
+		int count = 0;
+		for (int i = from; i < to; i++) {
+			Corner corner = corners[i];
+			if (corner != null && corner.l != null && corner.a != null) {
+				count = corner.addSplitParameters(sampleParameters, count);
+			}
+		}
+		sampleInParallel(count / 2);
+	}
+
+	private void ensureSampleCapacity(int count) {
+		if (sampleParameters.length < 2 * count) {
+			sampleParameters = new double[2 * count];
+			sampleSlots = new int[count];
+		}
+	}
+
+	/**
+	 * Evaluates the parameters in sampleParameters that were not sampled yet,
+	 * in parallel chunks.
+	 * 
+	 * @param count
+	 *            number of (u, v) pairs
+	 */
+	private void sampleInParallel(int count) {
+		samples.ensureRoom(count);
+		int missing = 0;
+		for (int i = 0; i < count; i++) {
+			int size = samples.size();
+			int slot = samples.add(sampleParameters[2 * i],
+					sampleParameters[2 * i + 1]);
+			if (samples.size() > size) {
+				sampleSlots[missing++] = slot;
+			}
+		}
+		if (missing < MIN_PARALLEL_SAMPLES) {
+			// evaluated when needed
+			return;
+		}
+		ArrayList<Runnable> tasks = new ArrayList<>(parallelSurfaces.length);
+		for (int i = 0; i < parallelSurfaces.length; i++) {
+			tasks.add(new SampleChunk(parallelSurfaces[i],
+					missing * i / parallelSurfaces.length,
+					missing * (i + 1) / parallelSurfaces.length));
+		}
+		getView3D().getKernel().getTaskScheduler().runAll(tasks);
+	}
+
+	/**
+	 * Evaluates points and normals like {@link #evaluatePoint} and
+	 * {@link #evaluateNormal}, using a copy of the surface.
+	 */
+	private class SampleChunk implements Runnable {
+		private final SurfaceEvaluable surface;
+		private final int from;
+		private final int to;
+
+		protected SampleChunk(SurfaceEvaluable surface, int from, int to) {
+			this.surface = surface;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public void run() {
+			Coords3 point = newCoords3();
+			Coords3 scaled = newCoords3();
+			Coords3 normal = newCoords3();
+			for (int i = from; i < to; i++) {
+				int slot = sampleSlots[i];
+				double u = samples.getU(slot);
+				double v = samples.getV(slot);
+				surface.evaluatePoint(u, v, point);
+				samples.setPoint(slot, point);
+				if (point.isDefined() && inCullingBox(point)) {
+					scaled.set(point.getXd(), point.getYd(), point.getZd());
+					scaleXYZ(scaled);
+					samples.setNormal(slot, normal,
+							surface.evaluateNormal(scaled, u, v, normal));
+				}
+			}
+		}
+	}
+
 	class Corner {
 		Coords3 p;
 		Coords3 normal;
@@ -1231,6 +1513,51 @@ public class DrawSurface3D extends Drawable3DSurfaces implements HasZPick {
 
 		}
 
+		/**
+		 * Adds the parameters of the corners that {@link #split(boolean)}
+		 * creates, unless this corner will be drawn without split.
+		 * 
+		 * @param params
+		 *            parameters (u, v)
+		 * @param index
+		 *            first free index in params
+		 * @return next free index in params
+		 */
+		int addSplitParameters(double[] params, int index) {
+			Corner left = l.a == null ? l.l : l;
+			Corner above = a.l == null ? a.a : a;
+			if (left == null || above == null || left.a == null) {
+				return index;
+			}
+			if (p.isNotFinalUndefined() && left.p.isNotFinalUndefined()
+					&& above.p.isNotFinalUndefined()
+					&& left.a.p.isNotFinalUndefined()) {
+				double d = getDistance(this, left, above, left.a);
+				if (!Double.isInfinite(d) && (d <= maxRWDistanceNoAngleCheck
+						|| isAngleOK(maxBend, this, left, above, left.a))) {
+					return index;
+				}
+			}
+			double um = l.a == null ? l.u : (u + left.u) / 2;
+			double vm = a.l == null ? a.v : (v + above.v) / 2;
+			int i = index;
+			if (a.l != null) {
+				params[i++] = u;
+				params[i++] = vm;
+			}
+			if (l.a != null) {
+				params[i++] = um;
+				params[i++] = v;
+			}
+			params[i++] = um;
+			params[i++] = vm;
+			params[i++] = um;
+			params[i++] = above.v;
+			params[i++] = left.u;
+			params[i++] = vm;
+			return i;
+		}
+
 		public void split(boolean draw) throws NotEnoughCornersException {
 
 			Corner left, above, subLeft, subAbove;
@@ -0,0 +1,245 @@
+package org.geogebra.common.geogebra3D.euclidian3D.draw;
+
+import org.geogebra.common.kernel.matrix.Coords3;
+
+/**
+ * Points and normals of a surface evaluated by {@link DrawSurface3D}, keyed by
+ * the parameters (u, v). Values are stored before scaling to the view, so they
+ * stay valid when the view is zoomed or moved.
+ *
+ * Samples are added on the drawing thread; the point and normal of different
+ * samples may then be set concurrently as long as no samples are added.
+ */
+class SurfaceSamples {
+
+	/** no more samples are stored, the table is cleared when full */
+	static final int MAX_SIZE = 1 << 16;
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	private static final byte EMPTY = 0;
+	private static final byte ADDED = 1;
+	private static final byte POINT = 2;
+	private static final byte NORMAL = 4;
+	private static final byte NORMAL_DEFINED = 8;
+
+	private double[] params;
+	private double[] points;
+	private double[] normals;
+	private byte[] flags;
+	private int size;
+
+	/**
+	 * Creates empty table
+	 */
+	SurfaceSamples() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	private void allocate(int capacity) {
+		params = new double[2 * capacity];
+		points = new double[3 * capacity];
+		normals = new double[3 * capacity];
+		flags = new byte[capacity];
+		size = 0;
+	}
+
+	/**
+	 * Removes all samples
+	 */
+	void clear() {
+		if (size > 0) {
+			allocate(INITIAL_CAPACITY);
+		}
+	}
+
+	/**
+	 * Removes the normals, keeps the points
+	 */
+	void clearNormals() {
+		for (int i = 0; i < flags.length; i++) {
+			flags[i] &= ~(NORMAL | NORMAL_DEFINED);
+		}
+	}
+
+	/**
+	 * @return number of samples
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Makes sure the given number of samples can be added without moving the
+	 * existing ones; clears the table if it would exceed {@link #MAX_SIZE}.
+	 *
+	 * @param count
+	 *            number of samples to be added
+	 */
+	void ensureRoom(int count) {
+		int needed = size + count;
+		if (needed > MAX_SIZE) {
+			allocate(INITIAL_CAPACITY);
+			needed = count;
+		}
+		int capacity = flags.length;
+		if (2 * needed <= capacity) {
+			return;
+		}
+		while (2 * needed > capacity) {
+			capacity *= 2;
+		}
+		double[] oldParams = params;
+		double[] oldPoints = points;
+		double[] oldNormals = normals;
+		byte[] oldFlags = flags;
+		allocate(capacity);
+		for (int i = 0; i < oldFlags.length; i++) {
+			if (oldFlags[i] != EMPTY) {
+				int slot = add(oldParams[2 * i], oldParams[2 * i + 1]);
+				flags[slot] = oldFlags[i];
+				System.arraycopy(oldPoints, 3 * i, points, 3 * slot, 3);
+				System.arraycopy(oldNormals, 3 * i, normals, 3 * slot, 3);
+			}
+		}
+	}
+
+	/**
+	 * @param u
+	 *            first parameter
+	 * @param v
+	 *            second parameter
+	 * @return slot of the sample, -1 if not found
+	 */
+	int find(double u, double v) {
+		int mask = flags.length - 1;
+		for (int slot = hash(u, v) & mask;; slot = (slot + 1) & mask) {
+			if (flags[slot] == EMPTY) {
+				return -1;
+			}
+			if (params[2 * slot] == u && params[2 * slot + 1] == v) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Adds a sample without point and normal, or finds the existing one.
+	 *
+	 * @param u
+	 *            first parameter
+	 * @param v
+	 *            second parameter
+	 * @return slot of the sample
+	 */
+	int add(double u, double v) {
+		if (2 * (size + 1) > flags.length) {
+			ensureRoom(1);
+		}
+		int mask = flags.length - 1;
+		int slot = hash(u, v) & mask;
+		while (flags[slot] != EMPTY) {
+			if (params[2 * slot] == u && params[2 * slot + 1] == v) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		params[2 * slot] = u;
+		params[2 * slot + 1] = v;
+		flags[slot] = ADDED;
+		size++;
+		return slot;
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @return first parameter
+	 */
+	double getU(int slot) {
+		return params[2 * slot];
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @return second parameter
+	 */
+	double getV(int slot) {
+		return params[2 * slot + 1];
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @return whether the point was set
+	 */
+	boolean hasPoint(int slot) {
+		return (flags[slot] & POINT) != 0;
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @param p
+	 *            output point
+	 */
+	void getPoint(int slot, Coords3 p) {
+		p.set(points[3 * slot], points[3 * slot + 1], points[3 * slot + 2]);
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @param p
+	 *            point (may be undefined)
+	 */
+	void setPoint(int slot, Coords3 p) {
+		points[3 * slot] = p.getXd();
+		points[3 * slot + 1] = p.getYd();
+		points[3 * slot + 2] = p.getZd();
+		flags[slot] |= POINT;
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @return whether the normal was set
+	 */
+	boolean hasNormal(int slot) {
+		return (flags[slot] & NORMAL) != 0;
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @param n
+	 *            output normal
+	 * @return whether the normal is defined
+	 */
+	boolean getNormal(int slot, Coords3 n) {
+		n.set(normals[3 * slot], normals[3 * slot + 1], normals[3 * slot + 2]);
+		return (flags[slot] & NORMAL_DEFINED) != 0;
+	}
+
+	/**
+	 * @param slot
+	 *            slot
+	 * @param n
+	 *            normal
+	 * @param defined
+	 *            whether the normal is defined
+	 */
+	void setNormal(int slot, Coords3 n, boolean defined) {
+		normals[3 * slot] = n.getXd();
+		normals[3 * slot + 1] = n.getYd();
+		normals[3 * slot + 2] = n.getZd();
+		flags[slot] |= defined ? NORMAL | NORMAL_DEFINED : NORMAL;
+	}
+
+	private static int hash(double u, double v) {
+		long bits = Double.doubleToLongBits(u) * 31
+				+ Double.doubleToLongBits(v);
+		int h = (int) (bits ^ (bits >>> 32));
+		return h ^ (h >>> 16);
+	}
+}
@@ -742,6 +742,37 @@ abstract public class Manager {
 		}
 	}
 
+	/**
+	 * draw triangles
+	 * 
+	 * @param n
+	 *            normal
+	 * @param vertices
+	 *            vertices
+	 * @param length
+	 *            vertices length
+	 * @param triangles
+	 *            vertex indices, three per triangle
+	 * @param count
+	 *            number of triangles
+	 */
+	public void drawTriangles(Coords n, Coords[] vertices, int length,
+			int[] triangles, int count) {
+		startGeometry(Type.TRIANGLES);
+
+		// set texture
+		setDummyTexture();
+
+		// set normal
+		normalToScale(n);
+
+		for (int i = 0; i < 3 * count; i++) {
+			vertexToScale(vertices[triangles[i]]);
+		}
+
+		endGeometry();
+	}
+
 	/**
 	 * (used only for elements)
 	 * 
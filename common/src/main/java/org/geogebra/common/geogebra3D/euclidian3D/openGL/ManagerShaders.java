@@ -682,6 +682,34 @@ public class ManagerShaders extends Manager {
 		endGeometry(3 * size, TypeElement.SURFACE);
 	}
 
+	@Override
+	public void drawTriangles(Coords n, Coords[] vertices, int length,
+			int[] triangles, int count) {
+
+		startGeometry(Type.TRIANGLES);
+
+		// set texture
+		setDummyTexture();
+
+		// set normal
+		normalToScale(n);
+
+		// set vertices
+		for (int i = 0; i < length; i++) {
+			vertexToScale(vertices[i]);
+		}
+
+		// indices
+		setIndicesForDrawTriangleFans(count);
+		for (int i = 0; i < 3 * count; i++) {
+			putToIndicesForDrawTriangleFans((short) triangles[i]);
+		}
+		rewindIndicesForDrawTriangleFans();
+
+		// end
+		endGeometry(3 * count, TypeElement.SURFACE);
+	}
+
 	/**
 	 * set indices reference when drawing triangle fans
 	 * 
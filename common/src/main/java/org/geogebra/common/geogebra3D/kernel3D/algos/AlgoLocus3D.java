@@ -67,6 +67,19 @@ public class AlgoLocus3D extends AlgoLocusND<MyPoint3D> {
 		super(cons, label, Q, P);
 	}
 
+	/**
+	 * @param parent
+	 *            locus algo this helper computes a part of
+	 */
+	private AlgoLocus3D(AlgoLocus3D parent) {
+		super(parent);
+	}
+
+	@Override
+	protected AlgoLocus3D createSegment() {
+		return new AlgoLocus3D(this);
+	}
+
 	@Override
 	protected void createMaxDistances() {
 		super.createMaxDistances();
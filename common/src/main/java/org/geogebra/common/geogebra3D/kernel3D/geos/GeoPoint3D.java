@@ -21,7 +21,6 @@ the Free Software Foundation.
 package org.geogebra.common.geogebra3D.kernel3D.geos;
 
 import java.util.ArrayList;
-import java.util.TreeSet;
 
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.euclidian.EuclidianView;
@@ -150,7 +149,6 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 
 	private ChangeableParent changeableParent = null;
 
-	private static TreeSet<AlgoElement> tempSet;
 
 	/**
 	 * @return whether getCoordParentNumbers() returns polar variables (r; phi).
@@ -1192,13 +1190,6 @@ public class GeoPoint3D extends GeoVec4D implements GeoPointND, PathOrPoint,
 		}
 	}
 
-	protected static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
-	}
-
 	// ////////////////////////////////
 	// GeoPoint2 interface
 
@@ -520,6 +520,46 @@ public abstract class CopyPasteCut {
 		return succ;
 	}
 
+	/**
+	 * Creates new cell geos for imported data, the upper left corner of the
+	 * data is placed in (column1, row1).
+	 * 
+	 * @param data
+	 *            imported data
+	 * @param column1
+	 *            min column
+	 * @param row1
+	 *            min row
+	 * @return whether paste was successful
+	 */
+	public boolean pasteExternal(StreamingDataImport data, int column1,
+			int row1) {
+		app.setWaitCursor();
+		boolean oldEqualsSetting = app.getSettings().getSpreadsheet()
+				.equalsRequired();
+		app.getSettings().getSpreadsheet().setEqualsRequired(true);
+		boolean succ = false;
+		try {
+			if (tableModel.getRowCount() < row1 + data.getRowCount()) {
+				tableModel.setRowCount(row1 + data.getRowCount());
+			}
+			if (tableModel.getColumnCount() < column1
+					+ data.getColumnCount()) {
+				tableModel.setColumnCount(column1 + data.getColumnCount());
+			}
+			data.toSpreadsheet(app, column1, row1);
+			app.repaintSpreadsheet();
+			succ = true;
+		} catch (Exception ex) {
+			ex.printStackTrace();
+		} finally {
+			app.getSettings().getSpreadsheet()
+					.setEqualsRequired(oldEqualsSetting);
+			app.setDefaultCursor();
+		}
+		return succ;
+	}
+
 	/**
 	 * @param column1
 	 *            start column
@@ -0,0 +1,381 @@
+package org.geogebra.common.gui.view.spreadsheet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoElementSpreadsheet;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoText;
+import org.geogebra.common.kernel.kernelND.GeoElementND;
+import org.geogebra.common.main.App;
+import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.opencsv.CSVException;
+import org.geogebra.common.util.opencsv.CSVParser;
+
+/**
+ * Imports external (CSV or tab separated) data line by line. Numbers are kept
+ * as columns of doubles, so large data sets can be turned into lists or
+ * spreadsheet cells without building a string table first and without the
+ * algebra processor.
+ *
+ * Cells are formatted the same way as in
+ * {@link DataImport#parseExternalData(App, String, boolean)}.
+ */
+public class StreamingDataImport {
+
+	private final CSVParser parser;
+	private final ArrayList<Column> columns = new ArrayList<>();
+	private int rowCount = 0;
+	// fields of a row containing a quoted line break
+	private ArrayList<String> pendingFields;
+
+	/**
+	 * Cells of one column; numbers are stored as values, other cells as
+	 * strings (empty cells have neither).
+	 */
+	private static final class Column {
+		double[] values = new double[0];
+		String[] texts;
+		int size = 0;
+
+		void add(int row, String cell) {
+			ensureCapacity(row + 1);
+			size = row + 1;
+			double value = parseNumber(cell);
+			values[row] = value;
+			if (Double.isNaN(value) && cell.length() > 0) {
+				if (texts == null) {
+					texts = new String[values.length];
+				}
+				texts[row] = cell;
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (values.length < capacity) {
+				int length = Math.max(capacity, 2 * values.length);
+				int oldLength = values.length;
+				values = Arrays.copyOf(values, length);
+				// skipped rows are empty
+				Arrays.fill(values, oldLength, length, Double.NaN);
+				if (texts != null) {
+					texts = Arrays.copyOf(texts, length);
+				}
+			}
+		}
+
+		boolean isEmpty(int row) {
+			return row >= size
+					|| (Double.isNaN(values[row]) && getText(row) == null);
+		}
+
+		String getText(int row) {
+			return texts == null || row >= size ? null : texts[row];
+		}
+
+		boolean isNumeric(int firstRow) {
+			if (texts == null) {
+				return true;
+			}
+			for (int row = firstRow; row < size; row++) {
+				if (texts[row] != null) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * @param separator
+	 *            field separator
+	 */
+	public StreamingDataImport(char separator) {
+		parser = new CSVParser(separator);
+	}
+
+	/**
+	 * @param source
+	 *            data (or a part of it)
+	 * @return importer using tab as separator if the source contains tabs,
+	 *         comma otherwise (same as
+	 *         {@link DataImport#parseExternalData(App, String, boolean)} if
+	 *         the whole data is passed)
+	 */
+	public static StreamingDataImport forSource(String source) {
+		return new StreamingDataImport(source.indexOf('\t') == -1 ? ','
+				: '\t');
+	}
+
+	/**
+	 * Parses all lines of the given string.
+	 *
+	 * @param source
+	 *            data
+	 * @throws CSVException
+	 *             if the data cannot be parsed
+	 */
+	public void addLines(String source) throws CSVException {
+		int start = 0;
+		int length = source.length();
+		while (start < length) {
+			int end = start;
+			while (end < length && source.charAt(end) != '\n'
+					&& source.charAt(end) != '\r') {
+				end++;
+			}
+			addLine(source.substring(start, end));
+			// \r\n, \n or \r
+			if (end + 1 < length && source.charAt(end) == '\r'
+					&& source.charAt(end + 1) == '\n') {
+				end++;
+			}
+			start = end + 1;
+		}
+	}
+
+	/**
+	 * Parses one line (without line break).
+	 *
+	 * @param line
+	 *            line of data
+	 * @throws CSVException
+	 *             if the line cannot be parsed
+	 */
+	public void addLine(String line) throws CSVException {
+		String[] fields = parser.parseLineMulti(line);
+		if (parser.isPending()) {
+			// the last field continues on the next line
+			if (pendingFields == null) {
+				pendingFields = new ArrayList<>();
+			}
+			pendingFields.addAll(Arrays.asList(fields));
+			return;
+		}
+		int offset = 0;
+		if (pendingFields != null) {
+			offset = pendingFields.size();
+			for (int k = 0; k < offset; k++) {
+				addCell(k, pendingFields.get(k));
+			}
+			pendingFields = null;
+		}
+		for (int k = 0; k < fields.length; k++) {
+			addCell(offset + k, fields[k]);
+		}
+		rowCount++;
+	}
+
+	private void addCell(int column, String field) {
+		while (columns.size() <= column) {
+			columns.add(new Column());
+		}
+		columns.get(column).add(rowCount, field.trim());
+	}
+
+	/**
+	 * @param cell
+	 *            trimmed cell content
+	 * @return number in the cell or NaN if it's not a number
+	 */
+	static double parseNumber(String cell) {
+		if (cell.length() == 0) {
+			return Double.NaN;
+		}
+		if (isPlainNumber(cell)) {
+			return Double.parseDouble(cell);
+		}
+		if (cell.indexOf(',') >= 0) {
+			// remove localized number formatting
+			String adjusted = DataImport.adjustNumberString(cell);
+			if (isPlainNumber(adjusted)) {
+				return Double.parseDouble(adjusted);
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * @return whether the string is a decimal number, optionally with exponent
+	 */
+	private static boolean isPlainNumber(String s) {
+		int i = 0;
+		int length = s.length();
+		if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			i++;
+		}
+		int digits = 0;
+		while (i < length && isDigit(s.charAt(i))) {
+			i++;
+			digits++;
+		}
+		if (i < length && s.charAt(i) == '.') {
+			i++;
+			while (i < length && isDigit(s.charAt(i))) {
+				i++;
+				digits++;
+			}
+		}
+		if (digits == 0) {
+			return false;
+		}
+		// exponent, e.g. 1.5e-3 as written by numpy or R
+		if (i < length && (s.charAt(i) == 'E' || s.charAt(i) == 'e')) {
+			i++;
+			if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+				i++;
+			}
+			int exponentDigits = 0;
+			while (i < length && isDigit(s.charAt(i))) {
+				i++;
+				exponentDigits++;
+			}
+			if (exponentDigits == 0) {
+				return false;
+			}
+		}
+		return i == length;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/**
+	 * @return number of rows
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return number of columns
+	 */
+	public int getColumnCount() {
+		return columns.size();
+	}
+
+	/**
+	 * @param column
+	 *            column index
+	 * @param firstRow
+	 *            first row (e.g. 1 to skip a header)
+	 * @return whether all non-empty cells of the column are numbers
+	 */
+	public boolean isNumeric(int column, int firstRow) {
+		return columns.get(column).isNumeric(firstRow);
+	}
+
+	/**
+	 * @param column
+	 *            column index
+	 * @param row
+	 *            row index
+	 * @return number in the cell, NaN for empty or non-numeric cells
+	 */
+	public double getNumber(int column, int row) {
+		Column col = columns.get(column);
+		return row < col.size ? col.values[row] : Double.NaN;
+	}
+
+	/**
+	 * @param column
+	 *            column index
+	 * @param row
+	 *            row index
+	 * @return content of a non-numeric cell, null for empty or numeric cells
+	 */
+	public String getText(int column, int row) {
+		return columns.get(column).getText(row);
+	}
+
+	/**
+	 * Creates an unlabeled list from a column. Numeric columns are stored as
+	 * values (see {@link GeoList#setNumbers}), so no element objects are
+	 * created; empty cells become undefined numbers.
+	 *
+	 * @param cons
+	 *            construction
+	 * @param column
+	 *            column index
+	 * @param firstRow
+	 *            first row (e.g. 1 to skip a header)
+	 * @return list of the cells in the column
+	 */
+	public GeoList toList(Construction cons, int column, int firstRow) {
+		Column col = columns.get(column);
+		GeoList list = new GeoList(cons);
+		int n = Math.max(rowCount - firstRow, 0);
+		if (col.isNumeric(firstRow)) {
+			double[] values = new double[n];
+			for (int row = firstRow; row < rowCount; row++) {
+				values[row - firstRow] = getNumber(column, row);
+			}
+			list.setNumbers(values, n, new GeoNumeric(cons), null);
+			return list;
+		}
+		list.ensureCapacity(n);
+		for (int row = firstRow; row < rowCount; row++) {
+			String text = col.getText(row);
+			list.add(text == null ? new GeoNumeric(cons, getNumber(column, row))
+					: new GeoText(cons, text));
+		}
+		return list;
+	}
+
+	/**
+	 * Creates spreadsheet cells for the data. Numbers in empty target cells
+	 * are created directly, other cells are processed as if they were typed
+	 * into the spreadsheet.
+	 *
+	 * @param app
+	 *            application
+	 * @param column0
+	 *            target column of the first column
+	 * @param row0
+	 *            target row of the first row
+	 */
+	public void toSpreadsheet(App app, int column0, int row0) {
+		Kernel kernel = app.getKernel();
+		Construction cons = kernel.getConstruction();
+		for (int column = 0; column < columns.size(); column++) {
+			Column col = columns.get(column);
+			for (int row = 0; row < rowCount; row++) {
+				GeoElement oldValue = RelativeCopy.getValue(app,
+						column0 + column, row0 + row);
+				if (col.isEmpty(row)) {
+					if (oldValue != null) {
+						oldValue.removeOrSetUndefinedIfHasFixedDescendent();
+					}
+					continue;
+				}
+				if (oldValue == null && col.getText(row) == null) {
+					GeoNumeric cell = new GeoNumeric(cons, col.values[row]);
+					cell.setAuxiliaryObject(true);
+					cell.setLabel(GeoElementSpreadsheet.getSpreadsheetCellName(
+							column0 + column, row0 + row));
+					continue;
+				}
+				String text = col.getText(row);
+				try {
+					GeoElementND value = RelativeCopy
+							.prepareAddingValueToTableNoStoringUndoInfo(kernel,
+									app, text == null
+											? String.valueOf(col.values[row])
+											: text,
+									oldValue, column0 + column, row0 + row,
+									true);
+					if (value != null) {
+						value.setAuxiliaryObject(true);
+					}
+				} catch (Exception e) {
+					Log.debug(e);
+				}
+			}
+		}
+	}
+}
@@ -1,11 +1,9 @@
 package org.geogebra.common.gui.view.table;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.geogebra.common.kernel.Kernel;
-import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.kernelND.GeoEvaluatable;
 
 /**
@@ -13,8 +11,7 @@ import org.geogebra.common.kernel.kernelND.GeoEvaluatable;
  */
 class SimpleTableValuesModel implements TableValuesModel {
 
-	private List<Double[]> doubleColumns;
-	private List<String[]> columns;
+	private List<TableValuesColumn> columns;
 	private List<String> header;
 
 	private List<TableValuesListener> listeners;
@@ -36,9 +33,8 @@ class SimpleTableValuesModel implements TableValuesModel {
 		this.listeners = new ArrayList<>();
 		this.builder = new StringBuilder();
 
-		this.columns = new LinkedList<>();
-		this.doubleColumns = new LinkedList<>();
-		this.header = new LinkedList<>();
+		this.columns = new ArrayList<>();
+		this.header = new ArrayList<>();
 		this.values = new double[0];
 
 		this.batchUpdate = false;
@@ -68,14 +64,7 @@ class SimpleTableValuesModel implements TableValuesModel {
 
 	@Override
 	public String getCellAt(int row, int column) {
-		String[] valuesColumn = columns.get(column);
-		String value = valuesColumn[row];
-		if (value == null) {
-			double doubleValue = getValueAt(row, column);
-			value = format(doubleValue);
-			valuesColumn[row] = value;
-		}
-		return value;
+		return columns.get(column).getStringValue(row);
 	}
 
 	/**
@@ -86,23 +75,7 @@ class SimpleTableValuesModel implements TableValuesModel {
 	 * @return function value
 	 */
 	double getValueAt(int row, int column) {
-		Double[] valuesColumn = doubleColumns.get(column);
-		Double value = valuesColumn[row];
-		if (value == null) {
-			value = evaluateAt(row, column);
-			valuesColumn[row] = value;
-		}
-		return value;
-	}
-
-	private double evaluateAt(int row, int column) {
-		GeoEvaluatable evaluatable = evaluatables.get(column - 1);
-		double x = values[row];
-		return evaluatable.value(x);
-	}
-
-	private String format(double x) {
-		return kernel.format(x, StringTemplate.defaultTemplate);
+		return columns.get(column).getDoubleValue(row);
 	}
 
 	@Override
@@ -125,8 +98,8 @@ class SimpleTableValuesModel implements TableValuesModel {
 			evaluatables.add(idx, evaluatable);
 			ensureIncreasingIndices(idx);
 			int column = idx + 1;
-			columns.add(column, new String[values.length]);
-			doubleColumns.add(column, new Double[values.length]);
+			columns.add(column,
+					new TableValuesColumn(evaluatable, values, kernel));
 			header.add(column, getHeaderName(evaluatable));
 			notifyColumnAdded(evaluatable, column);
 		}
@@ -164,7 +137,6 @@ class SimpleTableValuesModel implements TableValuesModel {
 			evaluatables.remove(evaluatable);
 			int column = index + 1;
 			columns.remove(column);
-			doubleColumns.remove(column);
 			header.remove(column);
 			for (int i = 0; i < evaluatables.size(); i++) {
 				evaluatables.get(i).setTableColumn(i + 1);
@@ -181,8 +153,7 @@ class SimpleTableValuesModel implements TableValuesModel {
 	void updateEvaluatable(GeoEvaluatable evaluatable) {
 		if (evaluatables.contains(evaluatable)) {
 			int index = evaluatables.indexOf(evaluatable);
-			columns.set(index + 1, new String[values.length]);
-			doubleColumns.set(index + 1, new Double[values.length]);
+			columns.get(index + 1).invalidateValues(values);
 			notifyColumnChanged(evaluatable, index + 1);
 		}
 	}
@@ -232,23 +203,14 @@ class SimpleTableValuesModel implements TableValuesModel {
 	 */
 	void setValues(double[] values) {
 		this.values = values;
-		for (int i = 0; i < columns.size(); i++) {
-			columns.set(i, new String[values.length]);
-		}
-		Double[] valuesColumn = new Double[values.length];
-		for (int i = 0; i < values.length; i++) {
-			valuesColumn[i] = values[i];
-		}
-		doubleColumns.set(0, valuesColumn);
-		for (int i = 1; i < doubleColumns.size(); i++) {
-			doubleColumns.set(i, new Double[values.length]);
+		for (TableValuesColumn column : columns) {
+			column.invalidateValues(values);
 		}
 		notifyDatasetChanged();
 	}
 
 	private void initializeModel() {
-		columns.add(new String[0]);
-		doubleColumns.add(new Double[0]);
+		columns.add(new TableValuesColumn(null, values, kernel));
 		header.add("x");
 	}
 
@@ -257,7 +219,6 @@ class SimpleTableValuesModel implements TableValuesModel {
 	 */
 	void clearModel() {
 		columns.clear();
-		doubleColumns.clear();
 		header.clear();
 		evaluatables.clear();
 		initializeModel();
@@ -0,0 +1,104 @@
+package org.geogebra.common.gui.view.table;
+
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.kernelND.GeoEvaluatable;
+
+/**
+ * Cached values of one column of the table. Function values are computed in
+ * blocks of rows when one of the rows is needed, strings are only formatted
+ * for requested cells.
+ */
+class TableValuesColumn {
+
+	/** number of rows evaluated at once */
+	static final int BLOCK_SIZE = 64;
+
+	private final GeoEvaluatable evaluatable;
+	private final Kernel kernel;
+	private double[] xValues;
+	private double[] doubleValues;
+	private boolean[] evaluatedBlocks;
+	private String[] stringValues;
+
+	/**
+	 * @param evaluatable
+	 *            function of the column, null for the x-values column
+	 * @param xValues
+	 *            x-values
+	 * @param kernel
+	 *            kernel for formatting
+	 */
+	TableValuesColumn(GeoEvaluatable evaluatable, double[] xValues,
+			Kernel kernel) {
+		this.evaluatable = evaluatable;
+		this.kernel = kernel;
+		invalidateValues(xValues);
+	}
+
+	/**
+	 * Forgets all cached values; the arrays are reused if the number of rows
+	 * did not change.
+	 *
+	 * @param values
+	 *            new x-values
+	 */
+	void invalidateValues(double[] values) {
+		this.xValues = values;
+		int blocks = (values.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		if (evaluatable == null) {
+			doubleValues = values;
+		} else if (doubleValues != null
+				&& doubleValues.length == values.length) {
+			Arrays.fill(evaluatedBlocks, false);
+		} else {
+			doubleValues = new double[values.length];
+			evaluatedBlocks = new boolean[blocks];
+		}
+		if (stringValues != null && stringValues.length == values.length) {
+			Arrays.fill(stringValues, null);
+		} else {
+			stringValues = new String[values.length];
+		}
+	}
+
+	/**
+	 * @param row
+	 *            row index
+	 * @return value in the row
+	 */
+	double getDoubleValue(int row) {
+		if (evaluatable != null) {
+			int block = row / BLOCK_SIZE;
+			if (!evaluatedBlocks[block]) {
+				evaluateBlock(block);
+			}
+		}
+		return doubleValues[row];
+	}
+
+	private void evaluateBlock(int block) {
+		int end = Math.min(xValues.length, (block + 1) * BLOCK_SIZE);
+		for (int row = block * BLOCK_SIZE; row < end; row++) {
+			doubleValues[row] = evaluatable.value(xValues[row]);
+		}
+		evaluatedBlocks[block] = true;
+	}
+
+	/**
+	 * @param row
+	 *            row index
+	 * @return formatted value in the row
+	 */
+	String getStringValue(int row) {
+		String value = stringValues[row];
+		if (value == null) {
+			value = kernel.format(getDoubleValue(row),
+					StringTemplate.defaultTemplate);
+			stringValues[row] = value;
+		}
+		return value;
+	}
+}
@@ -116,33 +116,35 @@ public abstract class MyXMLio {
 	 *            whether listeners (js) should be included
 	 * @return construction XML for undo step
 	 */
-	public final static synchronized StringBuilder getUndoXML(Construction c,
+	public final static StringBuilder getUndoXML(Construction c,
 			boolean getListenersToo) {
+		synchronized (c.getUpdateLock()) {
+			App consApp = c.getApplication();
+
+			StringBuilder sb = new StringBuilder();
+			addXMLHeader(sb);
+			addGeoGebraHeader(sb, false, consApp.getUniqueId(),
+					c.getApplication().getPlatform(),
+					c.getApplication().getConfig().getAppCode());
+
+			// save euclidianView settings
+			consApp.getCompanion().getEuclidianViewXML(sb, false);
+
+			// save kernel settings
+			c.getKernel().getKernelXML(sb, false);
+			consApp.getSettings().getTable().getXML(sb);
+			// save construction
+			c.getConstructionXML(sb, getListenersToo);
+
+			// save ProbabilityCalculator settings
+			if (consApp.isUsingFullGui() && consApp.getGuiManager() != null) {
+				consApp.getGuiManager().getViewsXML(sb, false);
+			}
 
-		App consApp = c.getApplication();
-
-		StringBuilder sb = new StringBuilder();
-		addXMLHeader(sb);
-		addGeoGebraHeader(sb, false, consApp.getUniqueId(),
-				c.getApplication().getPlatform(), c.getApplication().getConfig().getAppCode());
-
-		// save euclidianView settings
-		consApp.getCompanion().getEuclidianViewXML(sb, false);
-
-		// save kernel settings
-		c.getKernel().getKernelXML(sb, false);
-		consApp.getSettings().getTable().getXML(sb);
-		// save construction
-		c.getConstructionXML(sb, getListenersToo);
+			sb.append("</geogebra>");
 
-		// save ProbabilityCalculator settings
-		if (consApp.isUsingFullGui() && consApp.getGuiManager() != null) {
-			consApp.getGuiManager().getViewsXML(sb, false);
+			return sb;
 		}
-
-		sb.append("</geogebra>");
-
-		return sb;
 	}
 
 	/**
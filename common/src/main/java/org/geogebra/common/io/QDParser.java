@@ -46,11 +46,19 @@ public class QDParser {
 	private final static int DOCTYPE = 14;
 	private final static int PRE = 15;
 	private final static int CDATA = 16;
+	/** size of the read buffer */
+	private final static int BUFFER_SIZE = 8192;
+	/** size of the tag and attribute name pool, power of two */
+	private final static int NAME_POOL_SIZE = 256;
 
 	private LinkedHashMap<String, String> attrs;
 	private Stack<Integer> stack;
 	private StringBuilder sb;
 	private StringBuilder etag;
+	private char[] buffer;
+	private int bufferLength;
+	private int bufferPos;
+	private String[] names;
 
 	/**
 	 * Creates new parser
@@ -60,6 +68,8 @@ public class QDParser {
 		stack = new Stack<>();
 		sb = new StringBuilder();
 		etag = new StringBuilder();
+		buffer = new char[BUFFER_SIZE];
+		names = new String[NAME_POOL_SIZE];
 	}
 
 	/**
@@ -79,6 +89,50 @@ public class QDParser {
 		return PRE;
 	}
 
+	/**
+	 * Reads characters in blocks rather than one by one: each call of
+	 * {@link Reader#read()} may be synchronized.
+	 */
+	private int read(Reader r) throws Exception {
+		if (bufferPos == bufferLength) {
+			bufferLength = r.read(buffer, 0, buffer.length);
+			bufferPos = 0;
+			if (bufferLength <= 0) {
+				bufferLength = 0;
+				return -1;
+			}
+		}
+		return buffer[bufferPos++];
+	}
+
+	/**
+	 * Tag and attribute names repeat a lot, reuse the strings.
+	 * 
+	 * @param name
+	 *            name
+	 * @return string with the same content as name
+	 */
+	private String pooledName(StringBuilder name) {
+		int hash = 0;
+		int length = name.length();
+		for (int i = 0; i < length; i++) {
+			hash = 31 * hash + name.charAt(i);
+		}
+		int slot = (hash ^ (hash >>> 8)) & (NAME_POOL_SIZE - 1);
+		String pooled = names[slot];
+		if (pooled == null || !pooled.contentEquals(name)) {
+			pooled = name.toString();
+			names[slot] = pooled;
+		}
+		return pooled;
+	}
+
+	private static boolean endsWith(StringBuilder sb, char c) {
+		int length = sb.length();
+		return length > 1 && sb.charAt(length - 1) == c
+				&& sb.charAt(length - 2) == c;
+	}
+
 	/**
 	 * @param doc
 	 *            handler that receives document events
@@ -106,11 +160,13 @@ public class QDParser {
 
 		// attrs = new LinkedHashMap();
 		attrs.clear();
+		bufferLength = 0;
+		bufferPos = 0;
 
 		doc.startDocument();
 		int line = 1, col = 0;
 		boolean eol = false;
-		while ((c = r.read()) != -1) {
+		while ((c = read(r)) != -1) {
 
 			// We need to map \r, \r\n, and \n to \n
 			// See XML spec section 2.11
@@ -162,7 +218,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					mode = popMode(stack);
-					tagName = sb.toString();
+					tagName = pooledName(sb);
 					sb.setLength(0);
 					depth--;
 					if (depth == 0) {
@@ -177,7 +233,7 @@ public class QDParser {
 
 			// we are processing CDATA
 			case CDATA:
-				if (c == '>' && sb.toString().endsWith("]]")) {
+				if (c == '>' && endsWith(sb, ']')) {
 					sb.setLength(sb.length() - 2);
 					doc.text(sb.toString());
 					sb.setLength(0);
@@ -190,7 +246,7 @@ public class QDParser {
 			// we are processing a comment. We are inside
 			// the <!-- .... --> looking for the -->.
 			case COMMENT:
-				if (c == '>' && sb.toString().endsWith("--")) {
+				if (c == '>' && endsWith(sb, '-')) {
 					sb.setLength(0);
 					mode = popMode(stack);
 				} else {
@@ -276,7 +332,7 @@ public class QDParser {
 			// and are looking for the final >.
 			case SINGLE_TAG:
 				if (tagName == null) {
-					tagName = sb.toString();
+					tagName = pooledName(sb);
 				}
 				if (c != '>') {
 					exc("Expected > for tag: <" + tagName + "/>", line, col);
@@ -301,7 +357,7 @@ public class QDParser {
 				switch (c) {
 				case '>':
 					if (tagName == null) {
-						tagName = sb.toString();
+						tagName = pooledName(sb);
 					}
 					sb.setLength(0);
 					depth++;
@@ -340,7 +396,7 @@ public class QDParser {
 
 				default:
 					if (StringUtil.isWhitespace((char) c)) {
-						tagName = sb.toString();
+						tagName = pooledName(sb);
 						sb.setLength(0);
 						mode = IN_TAG;
 					} else {
@@ -389,11 +445,11 @@ public class QDParser {
 
 			case ATTRIBUTE_LVALUE:
 				if (StringUtil.isWhitespace((char) c)) {
-					lvalue = sb.toString();
+					lvalue = pooledName(sb);
 					sb.setLength(0);
 					mode = ATTRIBUTE_EQUAL;
 				} else if (c == '=') {
-					lvalue = sb.toString();
+					lvalue = pooledName(sb);
 					sb.setLength(0);
 					mode = ATTRIBUTE_RVALUE;
 				} else {
@@ -0,0 +1,238 @@
+package org.geogebra.common.kernel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * App State that splits the XML into one chunk per construction element
+ * (element, command, expression, CAS cell, group) plus header and footer.
+ * Chunks that did not change since the previous state are shared with it, so
+ * every undo point only retains the XML of elements that changed.
+ */
+public class ChunkedAppState implements AppState {
+
+	private static final String[] ELEMENT_TAGS = { "<element ", "<command ",
+			"<expression ", "<cascell", "<group" };
+
+	private String[] chunks;
+
+	/**
+	 * @param xml
+	 *            full XML
+	 * @param previous
+	 *            previous state to share unchanged chunks with (may be null)
+	 */
+	public ChunkedAppState(String xml, ChunkedAppState previous) {
+		String[] previousChunks = previous == null ? null : previous.chunks;
+		chunks = split(xml);
+		if (previousChunks != null) {
+			share(previousChunks);
+		}
+	}
+
+	private void share(String[] previousChunks) {
+		HashMap<String, String> previousMap = null;
+		for (int i = 0; i < chunks.length; i++) {
+			if (i < previousChunks.length
+					&& chunks[i].equals(previousChunks[i])) {
+				chunks[i] = previousChunks[i];
+				continue;
+			}
+			// elements were added or removed: look up by content
+			if (previousMap == null) {
+				previousMap = new HashMap<>();
+				for (String chunk : previousChunks) {
+					previousMap.put(chunk, chunk);
+				}
+			}
+			String shared = previousMap.get(chunks[i]);
+			if (shared != null) {
+				chunks[i] = shared;
+			}
+		}
+	}
+
+	/**
+	 * Splits XML to header, construction elements and footer.
+	 *
+	 * @param xml
+	 *            full XML
+	 * @return chunks, their concatenation is the original XML
+	 */
+	static String[] split(String xml) {
+		int start = xml.indexOf("<construction");
+		int end = xml.lastIndexOf("</construction>");
+		if (start < 0 || end < start) {
+			return new String[] { xml };
+		}
+		start = xml.indexOf('\n', start) + 1;
+		ArrayList<String> result = new ArrayList<>();
+		result.add(xml.substring(0, start));
+		int chunkStart = start;
+		int line = start;
+		while (line < end) {
+			if (line > chunkStart && isElementStart(xml, line)) {
+				result.add(xml.substring(chunkStart, line));
+				chunkStart = line;
+			}
+			line = xml.indexOf('\n', line) + 1;
+			if (line == 0) {
+				break;
+			}
+		}
+		if (end > chunkStart) {
+			result.add(xml.substring(chunkStart, end));
+		}
+		result.add(xml.substring(end));
+		return result.toArray(new String[0]);
+	}
+
+	private static boolean isElementStart(String xml, int pos) {
+		for (String tag : ELEMENT_TAGS) {
+			if (xml.startsWith(tag, pos)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public String getXml() {
+		if (chunks == null) {
+			return null;
+		}
+		int length = 0;
+		for (String chunk : chunks) {
+			length += chunk.length();
+		}
+		StringBuilder sb = new StringBuilder(length);
+		for (String chunk : chunks) {
+			sb.append(chunk);
+		}
+		return sb.toString();
+	}
+
+	@Override
+	public void delete() {
+		chunks = null;
+	}
+
+	@Override
+	public boolean equalsTo(AppState state) {
+		if (chunks == null || state == null) {
+			return false;
+		}
+		if (!(state instanceof ChunkedAppState)) {
+			return getXml().equals(state.getXml());
+		}
+		String[] other = ((ChunkedAppState) state).chunks;
+		if (other == null || other.length != chunks.length) {
+			return false;
+		}
+		for (int i = 0; i < chunks.length; i++) {
+			if (chunks[i] != other[i] && !chunks[i].equals(other[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Collects XML of elements that differ from the given state, provided
+	 * that applying them on top of that state is enough to restore this one:
+	 * header and footer are unchanged, no construction step was added or
+	 * removed and the changed elements only differ in attribute values (so
+	 * that no property is lost because its tag is omitted in the XML).
+	 *
+	 * @param current
+	 *            state of the construction
+	 * @param sb
+	 *            builder for XML of changed elements
+	 * @param labels
+	 *            output list for labels of changed elements
+	 * @return whether this state can be restored from the current one by
+	 *         processing the collected XML
+	 */
+	public boolean getChangedElementsXML(ChunkedAppState current,
+			StringBuilder sb, ArrayList<String> labels) {
+		String[] other = current.chunks;
+		if (chunks == null || other == null || other.length != chunks.length
+				|| chunks.length < 3) {
+			return false;
+		}
+		int last = chunks.length - 1;
+		for (int i = 0; i <= last; i++) {
+			if (chunks[i] == other[i] || chunks[i].equals(other[i])) {
+				continue;
+			}
+			if (i == 0 || i == last || !chunks[i].startsWith("<element ")
+					|| !sameStructure(chunks[i], other[i])) {
+				return false;
+			}
+			int lineEnd = chunks[i].indexOf('\n') + 1;
+			String label = getLabel(chunks[i]);
+			if (label == null || lineEnd == 0
+					|| !chunks[i].regionMatches(0, other[i], 0, lineEnd)) {
+				return false;
+			}
+			labels.add(label);
+			sb.append(chunks[i]);
+		}
+		return !labels.isEmpty();
+	}
+
+	/**
+	 * @param a
+	 *            XML
+	 * @param b
+	 *            XML
+	 * @return whether the XML strings only differ in attribute values
+	 */
+	static boolean sameStructure(String a, String b) {
+		int i = 0;
+		int j = 0;
+		while (i < a.length() && j < b.length()) {
+			char c = a.charAt(i);
+			if (c != b.charAt(j)) {
+				return false;
+			}
+			i++;
+			j++;
+			if (c == '"') {
+				i = a.indexOf('"', i) + 1;
+				j = b.indexOf('"', j) + 1;
+				if (i == 0 || j == 0) {
+					return false;
+				}
+			}
+		}
+		return i == a.length() && j == b.length();
+	}
+
+	private static String getLabel(String elementXML) {
+		int lineEnd = elementXML.indexOf('\n');
+		int start = elementXML.indexOf(" label=\"");
+		if (start < 0 || (lineEnd >= 0 && start > lineEnd)) {
+			return null;
+		}
+		start += 8;
+		int end = elementXML.indexOf('"', start);
+		return end < 0 ? null : elementXML.substring(start, end);
+	}
+
+	/**
+	 * @return number of chunks
+	 */
+	int getChunkCount() {
+		return chunks == null ? 0 : chunks.length;
+	}
+
+	/**
+	 * @param i
+	 *            index
+	 * @return chunk
+	 */
+	String getChunk(int i) {
+		return chunks[i];
+	}
+}
@@ -148,6 +148,9 @@ public class Construction {
 	private TreeSet<GeoElement> randomElements;
 	/** algo set currently updated by GeoElement.updateDependentObjects() */
 	private AlgorithmSet algoSetCurrentlyUpdated;
+	/** lock for updates, constructions of different apps are independent */
+	private final Object updateLock = new Object();
+	private TreeSet<AlgoElement> tempAlgoSet;
 
 	private final TreeSet<String> casDummies = new TreeSet<>();
 
@@ -186,6 +189,8 @@ public class Construction {
 	private GeoElement outputGeo;
 
 	private TreeSet<String> registeredFV = new TreeSet<>();
+	/** changes whenever the result of label lookup may change */
+	private int labelVersion = 0;
 
 	private boolean fileLoading;
 	private boolean casCellUpdate = false;
@@ -679,6 +684,7 @@ public class Construction {
 		}
 		localVariableTable.put(varname, geo);
 		geo.setLocalVariableLabel(varname);
+		labelVersion++;
 	}
 
 	/**
@@ -689,6 +695,7 @@ public class Construction {
 	 *            name of variable to be removed
 	 */
 	final public void removeLocalVariable(String varname) {
+		labelVersion++;
 		if (localVariableTable != null) {
 			GeoElement geo = localVariableTable.remove(varname);
 			if (geo != null) {
@@ -1970,6 +1977,7 @@ public class Construction {
 		kernel.setNotifyConstructionProtocolViewAboutAddRemoveActive(cpara);
 
 		step = s;
+		labelVersion++;
 
 		kernel.setAllowVisibilitySideEffects(true);
 
@@ -2003,6 +2011,7 @@ public class Construction {
 
 		geoTable.put(geo.getLabelSimple(), geo);
 		addToGeoSets(geo);
+		labelVersion++;
 	}
 
 	/**
@@ -2014,6 +2023,7 @@ public class Construction {
 	 * @see #putLabel(GeoElement)
 	 */
 	public void removeLabel(GeoElement geo) {
+		labelVersion++;
 		geoTable.remove(geo.getLabelSimple());
 		removeFromGeoSets(geo);
 	}
@@ -2112,6 +2122,7 @@ public class Construction {
 			geoCasCellTable = new HashMap<>();
 		}
 		geoCasCellTable.put(label, geoCasCell);
+		labelVersion++;
 	}
 
 	/**
@@ -2127,6 +2138,15 @@ public class Construction {
 		if (geoCasCellTable != null) {
 			geoCasCellTable.remove(variable);
 		}
+		labelVersion++;
+	}
+
+	/**
+	 * @return number that changes whenever labels are added or removed, so
+	 *         that results depending on label lookup can be cached
+	 */
+	public int getLabelVersion() {
+		return labelVersion;
 	}
 
 	/**
@@ -3058,6 +3078,7 @@ public class Construction {
 		this.corner11Algos = null;
 		this.casDummies.clear();
 		initGeoTables();
+		labelVersion++;
 
 		// reinit construction step
 		step = -1;
@@ -3363,6 +3384,23 @@ public class Construction {
 		return algoSetCurrentlyUpdated;
 	}
 
+	/**
+	 * @return lock held while updating multiple objects of this construction
+	 */
+	public Object getUpdateLock() {
+		return updateLock;
+	}
+
+	/**
+	 * @return temporary set of algorithms
+	 */
+	public TreeSet<AlgoElement> getTempAlgoSet() {
+		if (tempAlgoSet == null) {
+			tempAlgoSet = new TreeSet<>();
+		}
+		return tempAlgoSet;
+	}
+
 	/**
 	 * @param b
 	 *            new value of update construction flag
@@ -1,7 +1,11 @@
 package org.geogebra.common.kernel;
 
 import java.util.ArrayList;
+import java.util.TreeSet;
 
+import org.geogebra.common.GeoGebraConstants;
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.plugin.Event;
 import org.geogebra.common.plugin.EventType;
 
@@ -13,6 +17,8 @@ import org.geogebra.common.plugin.EventType;
 public class DefaultUndoManager extends UndoManager {
 
 	private ArrayList<UndoPossibleListener> mListener = new ArrayList<>();
+	/** last stored state, shares unchanged XML with the next one */
+	private ChunkedAppState lastState;
 
 	/**
 	 * @param cons
@@ -44,7 +50,9 @@ public class DefaultUndoManager extends UndoManager {
      *            string builder with construction XML
      */
     private synchronized void doStoreUndoInfo(final StringBuilder undoXML) {
-        AppState appStateToAdd = new StringAppState(undoXML.toString());
+        ChunkedAppState appStateToAdd = new ChunkedAppState(
+                undoXML.toString(), lastState);
+        lastState = appStateToAdd;
         UndoCommand command = createUndoCommand(appStateToAdd);
         maybeStoreUndoCommand(command);
         pruneStateList();
@@ -58,6 +66,16 @@ public class DefaultUndoManager extends UndoManager {
 
     @Override
 	protected void loadUndoInfo(AppState state, String slideID) {
+		boolean replayed = false;
+		try {
+			replayed = replayChangedElements(state);
+		} catch (Exception e) {
+			// some elements may be restored already, reload everything
+			e.printStackTrace();
+		}
+		if (replayed) {
+			return;
+		}
         try {
 			processXML(state.getXml(), false, null);
         } catch (Exception e) {
@@ -65,6 +83,47 @@ public class DefaultUndoManager extends UndoManager {
         }
     }
 
+	/**
+	 * Restores given state by re-applying XML of the elements that differ
+	 * from the current construction, if that is enough to restore it.
+	 * 
+	 * @param state
+	 *            state to restore
+	 * @return whether the state was restored
+	 * @throws Exception
+	 *             on trouble with parsing the XML
+	 */
+	protected boolean replayChangedElements(AppState state) throws Exception {
+		if (!(state instanceof ChunkedAppState)) {
+			return false;
+		}
+		ChunkedAppState current = new ChunkedAppState(
+				construction.getCurrentUndoXML(true).toString(),
+				(ChunkedAppState) state);
+		StringBuilder changedXML = new StringBuilder();
+		ArrayList<String> labels = new ArrayList<>();
+		if (!((ChunkedAppState) state).getChangedElementsXML(current,
+				changedXML, labels)) {
+			return false;
+		}
+		ArrayList<GeoElement> changed = new ArrayList<>(labels.size());
+		for (String label : labels) {
+			GeoElement geo = construction.lookupLabel(label);
+			if (geo == null) {
+				return false;
+			}
+			changed.add(geo);
+		}
+		changedXML.insert(0, "<geogebra format=\""
+				+ GeoGebraConstants.XML_FILE_FORMAT + "\">\n<construction>\n");
+		changedXML.append("</construction>\n</geogebra>\n");
+		construction.getXMLio().processXMLString(changedXML.toString(), false,
+				false, true, false);
+		GeoElement.updateCascade(changed, new TreeSet<AlgoElement>(), true);
+		construction.getKernel().notifyRepaint();
+		return true;
+	}
+
     /**
      * inform listener that undo - action happened
      */
@@ -3,6 +3,7 @@ package org.geogebra.common.kernel;
 import java.util.ArrayList;
 import java.util.Set;
 
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.kernel.arithmetic.Command;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.MyArbitraryConstant;
@@ -189,4 +190,16 @@ public interface GeoGebraCasInterface {
 	 * If a cas exists, clear the results, otherwise do not initialize it
 	 */
 	void clearResult();
+
+	/**
+	 * @param cache
+	 *            cache for results of the underlying CAS, may be shared by
+	 *            several kernels; null to disable caching
+	 */
+	void setResultCache(CasResultCache cache);
+
+	/**
+	 * @return cache for results of the underlying CAS, null if not cached
+	 */
+	CasResultCache getResultCache();
 }
@@ -31,6 +31,7 @@ import org.geogebra.common.kernel.algos.AlgoPointVector;
 import org.geogebra.common.kernel.algos.AlgoVectorPoint;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DependentAlgo;
+import org.geogebra.common.kernel.algos.LevelUpdateScheduler;
 import org.geogebra.common.kernel.arithmetic.ArithmeticFactory;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionNodeConstants.StringType;
@@ -362,6 +363,8 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 	private final ScheduledPreviewFromInputBar scheduledPreviewFromInputBar;
 	private boolean userStopsLoading = false;
 	private AnimationManager animationManager;
+	private LevelUpdateScheduler updateScheduler;
+	private TaskScheduler taskScheduler;
 
 	private StringBuilder sbFormat;
 	private StringBuilder formatSB;
@@ -5372,6 +5375,40 @@ public class Kernel implements SpecialPointsListener, ConstructionStepper {
 		userStopsLoading = flag;
 	}
 
+	/**
+	 * @return scheduler for updating dependent algorithms, null if they are
+	 *         updated one by one
+	 */
+	public LevelUpdateScheduler getUpdateScheduler() {
+		return updateScheduler;
+	}
+
+	/**
+	 * @param scheduler
+	 *            scheduler for updating dependent algorithms, null to update
+	 *            them one by one
+	 */
+	public void setUpdateScheduler(LevelUpdateScheduler scheduler) {
+		this.updateScheduler = scheduler;
+	}
+
+	/**
+	 * @return scheduler for sampling implicit curves and computing loci, null
+	 *         if they are computed in the calling thread
+	 */
+	public TaskScheduler getTaskScheduler() {
+		return taskScheduler;
+	}
+
+	/**
+	 * @param scheduler
+	 *            scheduler for sampling implicit curves and computing loci,
+	 *            null to compute them in the calling thread
+	 */
+	public void setTaskScheduler(TaskScheduler scheduler) {
+		this.taskScheduler = scheduler;
+	}
+
 	/**
 	 * Computes precision.
 	 * 
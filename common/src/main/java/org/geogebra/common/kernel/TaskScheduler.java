@@ -0,0 +1,24 @@
+package org.geogebra.common.kernel;
+
+import java.util.List;
+
+/**
+ * Runs independent parts of a computation, possibly concurrently. Used for
+ * sampling implicit curves and computing loci.
+ */
+public interface TaskScheduler {
+
+	/**
+	 * Runs all tasks and returns when all of them are finished. The tasks are
+	 * independent of each other and may run in any order or concurrently.
+	 *
+	 * @param tasks
+	 *            tasks
+	 */
+	void runAll(List<Runnable> tasks);
+
+	/**
+	 * @return number of tasks that may run at the same time
+	 */
+	int getParallelism();
+}
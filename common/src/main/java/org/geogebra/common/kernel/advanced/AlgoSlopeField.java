@@ -1,6 +1,7 @@
 package org.geogebra.common.kernel.advanced;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.geogebra.common.euclidian.EuclidianView;
 import org.geogebra.common.kernel.Construction;
@@ -12,6 +13,7 @@ import org.geogebra.common.kernel.arithmetic.Evaluate2Var;
 import org.geogebra.common.kernel.arithmetic.FunctionalNVar;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunctionNVar;
 import org.geogebra.common.kernel.geos.GeoLocus;
 import org.geogebra.common.kernel.geos.GeoNumeric;
 import org.geogebra.common.util.DoubleUtil;
@@ -258,14 +260,38 @@ public class AlgoSlopeField extends AlgoElement {
 			}
 
 			length = Math.min(xStep, yStep * scaleRatio) * length * 0.5;
+
+			// evaluate the functions column by column
+			int rows = 0;
+			for (double yy = ymin; yy < ymax + yStep / 2; yy += yStep) {
+				rows++;
+			}
+			double[] ys = new double[rows];
+			int row = 0;
+			for (double yy = ymin; yy < ymax + yStep / 2; yy += yStep) {
+				ys[row++] = yy;
+			}
+			double[] xs = new double[rows];
+			double[] numVals = new double[rows];
+			double[] denVals = new double[rows];
+			boolean isQuotient = num.isDefined() && den.isDefined();
+
 			for (double xx = xmin; xx < xmax + xStep / 2; xx += xStep) {
-				for (double yy = ymin; yy < ymax + yStep / 2; yy += yStep) {
-					if (num.isDefined() && den.isDefined()) {
+				Arrays.fill(xs, xx);
+				if (isQuotient) {
+					evaluate(num, xs, ys, numVals, rows);
+					evaluate(den, xs, ys, denVals, rows);
+				} else {
+					evaluate(func, xs, ys, numVals, rows);
+				}
+				for (row = 0; row < rows; row++) {
+					double yy = ys[row];
+					if (isQuotient) {
 						// quotient function like x / y
 
 						// make sure eg SlopeField[(2 - y) / 2] works
-						double numD = num.evaluate(xx, yy);
-						double denD = den.evaluate(xx, yy);
+						double numD = numVals[row];
+						double denD = denVals[row];
 
 						if (DoubleUtil.isZero(denD)) {
 							if (DoubleUtil.isZero(numD)) {
@@ -283,7 +309,7 @@ public class AlgoSlopeField extends AlgoElement {
 						}
 					} else {
 						// non-quotient function like x y
-						double gradient = func.evaluate(xx, yy);
+						double gradient = numVals[row];
 						drawLine(1, gradient, length, xx, yy, scaleRatio);
 					}
 				}
@@ -294,6 +320,18 @@ public class AlgoSlopeField extends AlgoElement {
 		locus.setDefined(true);
 	}
 
+	private static void evaluate(Evaluate2Var f, double[] xs, double[] ys,
+			double[] out, int n) {
+		if (f instanceof GeoFunctionNVar
+				&& ((GeoFunctionNVar) f).getVarNumber() == 2) {
+			((GeoFunctionNVar) f).evaluate(new double[][] { xs, ys }, out, n);
+			return;
+		}
+		for (int k = 0; k < n; k++) {
+			out[k] = f.evaluate(xs[k], ys[k]);
+		}
+	}
+
 	private void drawLine(double dx0, double dy0, double length, double xx,
 			double yy, double scaleRatio) {
 		double dyScaled = dy0 * scaleRatio;
@@ -201,6 +201,11 @@ public class AlgoDependentNumber extends AlgoElement
 		}
 	}
 
+	@Override
+	public boolean isParallelSafe() {
+		return isParallelSafe(getExpression());
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		// was defined as e.g. r = 5a - 3b
@@ -137,6 +137,11 @@ public class AlgoDependentPoint extends AlgoElement
 		}
 	}
 
+	@Override
+	public boolean isParallelSafe() {
+		return isParallelSafe(getExpression());
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		return P.getDefinition() == null ? "?"
@@ -100,6 +100,12 @@ public class AlgoDistancePoints extends AlgoElement
 		dist.setValue(P.distance(Q));
 	}
 
+	@Override
+	public boolean isParallelSafe() {
+		// only reads the input points
+		return true;
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		// Michael Borcherds 2008-03-30
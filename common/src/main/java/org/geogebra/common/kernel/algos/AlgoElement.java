@@ -51,8 +51,6 @@ import org.geogebra.common.util.StringUtil;
  */
 public abstract class AlgoElement extends ConstructionElement
 		implements EuclidianViewCE {
-	private static boolean tempSetLock = false;
-	private static TreeSet<AlgoElement> tempSet;
 	/** input elements */
 	public GeoElement[] input;
 	private ArrayList<GeoPointND> freeInputPoints;
@@ -679,17 +677,8 @@ public abstract class AlgoElement extends ConstructionElement
 			}
 		}
 
-		// update all geos
-		tempSetLock = true;
-		GeoElement.updateCascade(geos, getTempSet(), true);
-		tempSetLock = false;
-	}
-
-	private static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null || tempSetLock) {
-			tempSet = new TreeSet<>();
-		}
-		return tempSet;
+		// update all geos, the set must not be shared with nested updates
+		GeoElement.updateCascade(geos, new TreeSet<AlgoElement>(), true);
 	}
 
 	// public part
@@ -1753,6 +1742,29 @@ public abstract class AlgoElement extends ConstructionElement
 		this.stopUpdateCascade = stopUpdateCascade;
 	}
 
+	/**
+	 * Whether {@link #compute()} may run concurrently with other algorithms of
+	 * the same update level, see {@link LevelUpdateScheduler}. Only algorithms
+	 * whose computation reads their inputs and writes their outputs (no CAS,
+	 * random numbers, labeling, nested updates or other shared state) may
+	 * return true.
+	 * 
+	 * @return whether this may be computed in parallel
+	 */
+	public boolean isParallelSafe() {
+		return false;
+	}
+
+	/**
+	 * @param def
+	 *            definition of a dependent element
+	 * @return whether evaluating the definition only reads other elements
+	 */
+	protected static boolean isParallelSafe(ExpressionNode def) {
+		return def != null
+				&& !def.inspect(Inspecting.SharedStateChecker.INSTANCE);
+	}
+
 	/**
 	 * @return whether this needs to be updated when stepping through cons
 	 */
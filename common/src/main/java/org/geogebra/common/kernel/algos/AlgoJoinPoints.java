@@ -138,6 +138,12 @@ public class AlgoJoinPoints extends AlgoElement
 		GeoVec3D.lineThroughPoints(P, Q, g);
 	}
 
+	@Override
+	public boolean isParallelSafe() {
+		// only reads the input points
+		return true;
+	}
+
 	@Override
 	final public String toString(StringTemplate tpl) {
 		return getLoc().getPlainDefault("LineAB", "Line %0, %1",
@@ -33,6 +33,15 @@ public class AlgoLocus extends AlgoLocusND<MyPoint> {
 		super(cons, Q, P, min_steps, registerCE);
 	}
 
+	private AlgoLocus(AlgoLocus parent) {
+		super(parent);
+	}
+
+	@Override
+	protected AlgoLocus createSegment() {
+		return new AlgoLocus(this);
+	}
+
 	@Override
 	protected void createStartPos(Construction cons1) {
 		startQPos = new GeoPoint(cons1);
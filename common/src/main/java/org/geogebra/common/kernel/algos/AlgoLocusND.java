@@ -12,6 +12,7 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.TreeSet;
@@ -27,6 +28,7 @@ import org.geogebra.common.kernel.MyPoint;
 import org.geogebra.common.kernel.Path;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.TaskScheduler;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.MyDouble;
 import org.geogebra.common.kernel.commands.Commands;
@@ -54,6 +56,8 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 	protected static final int MAX_X_PIXEL_DIST = 5;
 	private static int MAX_Y_PIXEL_DIST = 5;
+	/** maximal number of path segments computed in parallel */
+	private static final int MAX_SEGMENTS = 8;
 
 	protected GeoPointND movingPoint; // input
 	protected GeoPointND locusPoint; // input
@@ -107,6 +111,18 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 	private T[] qcopyCache = createQCopyCache(3);
 	private int cacheIndex = 0;
 
+	private boolean prevQcopyDefined;
+	// helpers computing parts of the path in parallel
+	private ArrayList<AlgoLocusND<T>> segments;
+	// path parameter where the walk of a helper stops
+	private double segmentEnd;
+	// maximal number of points of a helper
+	private int segmentMaxPoints;
+	// whether helper's first point is the point at the start parameter
+	private boolean segmentStartInserted;
+	// whether helper's last point is the point at the end parameter
+	private boolean segmentEndDefined;
+
 	// private Updater updater;
 
 	// Constructor called from AlgoLocusList
@@ -156,6 +172,37 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		path.pointChanged(P);
 	}
 
+	/**
+	 * Creates a helper computing a part of the parent's locus. The helper
+	 * uses its own copy of the macro construction and the path, so that
+	 * several helpers may run in parallel.
+	 * 
+	 * @param parent
+	 *            locus algo
+	 */
+	protected AlgoLocusND(AlgoLocusND<T> parent) {
+		super(parent.cons, false);
+
+		createMaxDistances();
+
+		minStepsInstance = parent.minStepsInstance;
+		this.movingPoint = parent.movingPoint;
+		this.locusPoint = parent.locusPoint;
+
+		path = (Path) parent.path.toGeoElement().copy();
+		pathMover = path.createPathMover();
+
+		createStartPos(cons);
+		locus = newGeoLocus(cons);
+		init();
+	}
+
+	/**
+	 * @return helper for computing a part of this locus, see
+	 *         {@link #AlgoLocusND(AlgoLocusND)}
+	 */
+	abstract protected AlgoLocusND<T> createSegment();
+
 	/**
 	 * create max distances arrays
 	 */
@@ -390,7 +437,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 			copyP = (GeoPointND) macroKernel
 					.lookupLabel(((GeoElement) movingPoint).getLabelSimple());
 			((GeoElement) copyP).setFixed(false);
-			copyP.setPath(movingPoint.getPath());
+			copyP.setPath(path);
 
 			// alternative way to add the incidence of the path to Pcopy
 			// see init()
@@ -483,6 +530,12 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		continuous = kernel.isContinuous();
 		macroKernel.setContinuous(continuous);
 
+		TaskScheduler scheduler = kernel.getTaskScheduler();
+		if (scheduler != null && scheduler.getParallelism() > 1
+				&& canComputeInSegments() && computeInSegments(scheduler)) {
+			return;
+		}
+
 		// update macro construction with current values of global vars
 		resetMacroConstruction();
 		macroCons.updateConstruction(false);
@@ -507,7 +560,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 
 		// update Pcopy to compute Qcopy
 		pcopyUpdateCascade();
-		boolean prevQcopyDefined = copyQ.isDefined() && !copyQ.isInfinite();
+		prevQcopyDefined = copyQ.isDefined() && !copyQ.isInfinite();
 
 		// move Pcopy along the path
 		// do this until Qcopy comes back to its start position
@@ -524,74 +577,7 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 					&& pointCount <= PathMover.MAX_POINTS * views
 					&& whileLoops <= MAX_LOOPS) {
 				whileLoops++;
-
-				// lineTo may be false due to a parameter jump
-				// i.e. param in [0,1] gets bigger than 1 and thus jumps to 0
-				boolean parameterJump = !pathMover.getNext(copyP);
-				boolean stepChanged = false;
-
-				// update construction
-				pcopyUpdateCascade();
-
-				// Qcopy DEFINED
-				if (copyQ.isDefined() && !copyQ.isInfinite()) {
-					// STANDARD CASE: no parameter jump
-					if (!parameterJump) {
-						// make steps smaller until distance ok to connect with
-						// last point
-						while (copyQ.isDefined() && !copyQ.isInfinite()
-								&& !distanceOK(copyQ) && !maxTimeExceeded) {
-							// go back and try smaller step
-							boolean smallerStep = pathMover.smallerStep();
-							if (!smallerStep) {
-								break;
-							}
-
-							stepChanged = true;
-							pathMover.stepBack();
-							pathMover.getNext(copyP);
-
-							// update construction
-							pcopyUpdateCascade();
-						}
-
-						if (copyQ.isDefined() && !copyQ.isInfinite()) {
-							// draw point
-							insertPoint(copyQ, distanceSmall(copyQ, true));
-							prevQcopyDefined = true;
-						}
-					}
-
-					// PARAMETER jump: !lineTo
-					else {
-						// draw point
-						insertPoint(copyQ, distanceSmall(copyQ, true));
-						prevQcopyDefined = true;
-					}
-				}
-
-				// Qcopy NOT DEFINED
-				else {
-					// check if we moved from defined to undefined case:
-					// step back and try with smaller step
-					if (prevQcopyDefined && !parameterJump) {
-						pathMover.stepBack();
-						// set smallest step
-						if (!pathMover.smallerStep()) {
-							prevQcopyDefined = false;
-						} else {
-							stepChanged = true;
-						}
-					}
-
-					// add better undefined case support for continuous curves
-					// maybe change orientation of path mover
-				}
-
-				// if we didn't decrease the step width increase it
-				if (!stepChanged) {
-					pathMover.biggerStep();
-				}
+				nextStep();
 
 				// end of run: the next step would pass the start position
 				if (!pathMover.hasNext()) {
@@ -663,6 +649,264 @@ public abstract class AlgoLocusND<T extends MyPoint> extends AlgoElement {
 		// ", cache used: " + useCache);
 	}
 
+	/**
+	 * Moves Pcopy one step along the path, adapting the step width so that
+	 * the new point of the locus is close enough to the last one.
+	 */
+	private void nextStep() {
+		// lineTo may be false due to a parameter jump
+		// i.e. param in [0,1] gets bigger than 1 and thus jumps to 0
+		boolean parameterJump = !pathMover.getNext(copyP);
+		boolean stepChanged = false;
+
+		// update construction
+		pcopyUpdateCascade();
+
+		// Qcopy DEFINED
+		if (copyQ.isDefined() && !copyQ.isInfinite()) {
+			// STANDARD CASE: no parameter jump
+			if (!parameterJump) {
+				// make steps smaller until distance ok to connect with
+				// last point
+				while (copyQ.isDefined() && !copyQ.isInfinite()
+						&& !distanceOK(copyQ) && !maxTimeExceeded) {
+					// go back and try smaller step
+					boolean smallerStep = pathMover.smallerStep();
+					if (!smallerStep) {
+						break;
+					}
+
+					stepChanged = true;
+					pathMover.stepBack();
+					pathMover.getNext(copyP);
+
+					// update construction
+					pcopyUpdateCascade();
+				}
+
+				if (copyQ.isDefined() && !copyQ.isInfinite()) {
+					// draw point
+					insertPoint(copyQ, distanceSmall(copyQ, true));
+					prevQcopyDefined = true;
+				}
+			}
+
+			// PARAMETER jump: !lineTo
+			else {
+				// draw point
+				insertPoint(copyQ, distanceSmall(copyQ, true));
+				prevQcopyDefined = true;
+			}
+		}
+
+		// Qcopy NOT DEFINED
+		else {
+			// check if we moved from defined to undefined case:
+			// step back and try with smaller step
+			if (prevQcopyDefined && !parameterJump) {
+				pathMover.stepBack();
+				// set smallest step
+				if (!pathMover.smallerStep()) {
+					prevQcopyDefined = false;
+				} else {
+					stepChanged = true;
+				}
+			}
+
+			// add better undefined case support for continuous curves
+			// maybe change orientation of path mover
+		}
+
+		// if we didn't decrease the step width increase it
+		if (!stepChanged) {
+			pathMover.biggerStep();
+		}
+	}
+
+	/**
+	 * The path can be split in segments if its parameter range is finite, the
+	 * copy of the path is a path as well and all algos of the macro
+	 * construction are known to only read their inputs and write their
+	 * outputs, see {@link #isSegmentSafe(AlgoElement)}.
+	 * 
+	 * @return whether the locus can be computed by parallel helpers
+	 */
+	private boolean canComputeInSegments() {
+		GeoElement pathGeo = path.toGeoElement();
+		if (continuous || !MyDouble.isFinite(path.getMinParameter())
+				|| !MyDouble.isFinite(path.getMaxParameter())
+				|| !(pathGeo.isGeoConic() || pathGeo.isGeoSegment()
+						|| pathGeo.isGeoFunction()
+						|| pathGeo.isGeoCurveCartesian())) {
+			return false;
+		}
+		for (AlgoElement algo : macroCons.getAlgoList()) {
+			if (!isSegmentSafe(algo)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Helpers share the kernel and application of this locus, so only algos
+	 * that don't use any of their services may be updated by helpers at the
+	 * same time.
+	 * 
+	 * @param algo
+	 *            algo of the macro construction
+	 * @return whether the algo may be used in helper macro constructions
+	 */
+	private static boolean isSegmentSafe(AlgoElement algo) {
+		Class<?> type = algo.getClass();
+		return algo.isParallelSafe() && (type == AlgoMidpoint.class
+				|| type == AlgoJoinPoints.class
+				|| type == AlgoDistancePoints.class
+				|| type == AlgoDependentNumber.class
+				|| type == AlgoDependentPoint.class);
+	}
+
+	/**
+	 * Splits the parameter range of the path in segments, computes the locus
+	 * for each of them on a helper and joins the resulting point lists.
+	 * 
+	 * @param scheduler
+	 *            scheduler for the helpers
+	 * @return false if the helpers could not be created
+	 */
+	private boolean computeInSegments(TaskScheduler scheduler) {
+		int count = Math.min(scheduler.getParallelism(), MAX_SEGMENTS);
+		if (segments == null) {
+			segments = new ArrayList<>();
+		}
+		while (segments.size() < count) {
+			AlgoLocusND<T> segment = createSegment();
+			if (segment.macroCons == null) {
+				return false;
+			}
+			segments.add(segment);
+		}
+
+		double min = Math.min(path.getMinParameter(), path.getMaxParameter());
+		double max = Math.max(path.getMinParameter(), path.getMaxParameter());
+		// the limit of the sequential walk applies to all segments together
+		int maxPoints = PathMover.MAX_POINTS * views / count;
+		ArrayList<Runnable> tasks = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final AlgoLocusND<T> segment = segments.get(i);
+			double end = i == count - 1 ? max
+					: min + (max - min) * (i + 1) / count;
+			segment.prepareSegment(this, min + (max - min) * i / count, end,
+					maxPoints);
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					segment.computeSegment();
+				}
+			});
+		}
+		scheduler.runAll(tasks);
+
+		ArrayList<T> points = locus.getPoints();
+		boolean lastDefined = false;
+		for (int i = 0; i < count; i++) {
+			AlgoLocusND<T> segment = segments.get(i);
+			ArrayList<T> segmentPoints = segment.locus.getPoints();
+			// both segments contain the point at the parameter where they
+			// meet, keep only one of them
+			int first = lastDefined && segment.segmentStartInserted ? 1 : 0;
+			for (int j = first; j < segmentPoints.size(); j++) {
+				points.add(segmentPoints.get(j));
+			}
+			pointCount += segment.pointCount;
+			foundDefined = foundDefined || segment.foundDefined;
+			maxTimeExceeded = maxTimeExceeded || segment.maxTimeExceeded;
+			lastDefined = segment.segmentEndDefined;
+		}
+
+		if (maxTimeExceeded) {
+			Log.error("AlgoLocus: max time exceeded");
+			return true;
+		}
+		locus.setDefined(foundDefined);
+		return true;
+	}
+
+	/**
+	 * Copies the current state of the parent's construction and view to this
+	 * helper. Needs to be called in the thread of the parent.
+	 * 
+	 * @param parent
+	 *            locus algo
+	 * @param start
+	 *            path parameter of the first point
+	 * @param end
+	 *            path parameter of the last point
+	 * @param maxPoints
+	 *            maximal number of points
+	 */
+	private void prepareSegment(AlgoLocusND<T> parent, double start,
+			double end, int maxPoints) {
+		((GeoElement) path).set(parent.path.toGeoElement());
+		views = parent.views;
+		for (int i = 0; i < visibleEV.length; i++) {
+			visibleEV[i] = parent.visibleEV[i];
+			if (visibleEV[i] && i < kernel.getXmaxLength()) {
+				updateScreenBorders(i);
+			}
+		}
+
+		locus.clearPoints();
+		clearCache();
+		pointCount = 0;
+		lastX = Double.MAX_VALUE;
+		lastY = Double.MAX_VALUE;
+		maxTimeExceeded = false;
+		foundDefined = false;
+		continuous = false;
+		macroKernel.setContinuous(false);
+
+		resetMacroConstruction();
+		macroCons.updateConstruction(false);
+
+		copyP.getPathParameter().setT(start);
+		pathMover.init(copyP, minStepsInstance);
+		segmentEnd = end;
+		segmentMaxPoints = maxPoints;
+	}
+
+	/**
+	 * Moves Pcopy from the start to the end of the segment. Only uses the
+	 * macro construction and path of this helper, so that helpers for
+	 * different segments can run at the same time.
+	 */
+	private void computeSegment() {
+		pcopyUpdateCascade();
+		prevQcopyDefined = copyQ.isDefined() && !copyQ.isInfinite();
+		// pcopyUpdateCascade() inserts the first defined point with lineTo
+		// false, so a defined start point is the first point of the segment
+		segmentStartInserted = prevQcopyDefined
+				&& locus.getPoints().size() == 1;
+
+		int maxLoops = 2 * segmentMaxPoints;
+		int whileLoops = 0;
+		while (pathMover.getCurrentParameter() < segmentEnd
+				&& !maxTimeExceeded
+				&& pointCount < segmentMaxPoints
+				&& whileLoops <= maxLoops) {
+			whileLoops++;
+			// don't step over the end of the segment
+			double rest = segmentEnd - pathMover.getCurrentParameter();
+			if (pathMover.getStep() > rest) {
+				pathMover.setStep(rest);
+			}
+			nextStep();
+		}
+
+		segmentEndDefined = pathMover.getCurrentParameter() >= segmentEnd
+				&& copyQ.isDefined() && !copyQ.isInfinite();
+	}
+
 	/**
 	 * 
 	 * @param point
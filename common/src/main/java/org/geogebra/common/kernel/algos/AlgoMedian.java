@@ -12,7 +12,6 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
-import java.util.Arrays;
 import java.util.TreeMap;
 
 import org.geogebra.common.kernel.Construction;
@@ -22,6 +21,7 @@ import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 
 /**
  * Find median of a list. Adapted from AlgoSort
@@ -104,21 +104,13 @@ public class AlgoMedian extends AlgoElement {
 		// CASE 1: raw data
 		// ========================================
 		if (freqList == null) {
-			double[] sortList = new double[size];
-
-			// copy inputList into an array
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo instanceof NumberValue) {
-					sortList[i] = geo.evaluateDouble();
-				} else {
-					median.setUndefined();
-					return;
-				}
+			// sorted copy shared with other statistics of the same list
+			ListStatistics stats = inputList.getStatistics();
+			if (!stats.isNumeric()) {
+				median.setUndefined();
+				return;
 			}
-
-			// do the sorting
-			Arrays.sort(sortList);
+			double[] sortList = stats.getSorted();
 
 			if (MyDouble.exactEqual(Math.floor((double) size / 2),
 					size / 2.0)) {
@@ -92,6 +92,12 @@ public class AlgoMidpoint extends AlgoMidpointND
 				(P.inhomY + Q.inhomY) / 2.0d, 1.0);
 	}
 
+	@Override
+	public boolean isParallelSafe() {
+		// only reads the input points
+		return true;
+	}
+
 	@Override
 	public SymbolicParameters getSymbolicParameters() {
 		return new SymbolicParameters(this);
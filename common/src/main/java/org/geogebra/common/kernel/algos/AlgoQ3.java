@@ -12,14 +12,13 @@ the Free Software Foundation.
 
 package org.geogebra.common.kernel.algos;
 
-import java.util.Arrays;
-
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 
 /**
  * Sort a list. Adapted from AlgoSort
@@ -106,21 +105,13 @@ public class AlgoQ3 extends AlgoElement {
 		// ========================================
 
 		if (freqList == null) {
-			double[] sortList = new double[size];
-
-			// copy inputList into an array
-			for (int i = 0; i < size; i++) {
-				GeoElement geo = inputList.get(i);
-				if (geo instanceof NumberValue) {
-					sortList[i] = geo.evaluateDouble();
-				} else {
-					Q3.setUndefined();
-					return;
-				}
+			// sorted copy shared with other statistics of the same list
+			ListStatistics stats = inputList.getStatistics();
+			if (!stats.isNumeric()) {
+				Q3.setUndefined();
+				return;
 			}
-
-			// do the sorting
-			Arrays.sort(sortList);
+			double[] sortList = stats.getSorted();
 
 			switch (size % 4) {
 			case 0:
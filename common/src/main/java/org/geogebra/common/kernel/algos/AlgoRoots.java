@@ -340,9 +340,14 @@ public class AlgoRoots extends AlgoGeoPointsFunction {
 		double x, xval;
 		double deltax = (r - l) / samples;
 
+		// sample all points at once, roots are refined one by one below
+		for (int i = 0; i <= samples; i++) {
+			y[i] = l + i * deltax;
+		}
+		f.value(y, y, samples + 1);
+
 		for (int i = 0; i <= samples; i++) {
 			x = l + i * deltax;
-			y[i] = f.value(x);
 			// if left endpoint is root by pure luck...
 			if ((Math.abs(y[i]) < Kernel.MIN_PRECISION)
 					&& (signChanged(f, x))) { // if
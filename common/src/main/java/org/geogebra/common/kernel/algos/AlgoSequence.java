@@ -20,12 +20,18 @@ package org.geogebra.common.kernel.algos;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
+import org.geogebra.common.kernel.arithmetic.ExpressionNode;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.MyVecNode;
 import org.geogebra.common.kernel.arithmetic.ReplaceChildrenByValues;
 import org.geogebra.common.kernel.commands.Commands;
+import org.geogebra.common.kernel.geos.GeoAngle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.geos.GeoPoint;
 import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
@@ -38,6 +44,9 @@ import org.geogebra.common.util.debug.Log;
  */
 public class AlgoSequence extends AlgoElement {
 
+	/** maximal length of sequences computed in one batch */
+	private static final int MAX_FAST_SIZE = 10000000;
+
 	private GeoElementND expression; // input expression dependent on var
 	private GeoNumeric var; // input: local variable
 	private GeoNumberValue var_from;
@@ -51,6 +60,10 @@ public class AlgoSequence extends AlgoElement {
 	private boolean expIsFunctionOrCurve;
 	private boolean isEmpty;
 	private AlgoElement expressionParentAlgo;
+	// compiled coordinates of numeric or point expression, see computeFast
+	private ExpressionNode compiledDefinition;
+	private CompiledExpression[] compiled;
+	private boolean polar;
 
 	// we need to check that some Object[] reference didn't cause infinite
 	// update cycle
@@ -223,7 +236,12 @@ public class AlgoSequence extends AlgoElement {
 		cons.setSuppressLabelCreation(true);
 
 		// update list
-		if (setValuesOnly) {
+		if (computeFast(from, to, step, setValuesOnly)) {
+			last_from = from;
+			last_to = to;
+			last_step = step;
+		} else if (setValuesOnly && list.getPackedNumbers() == null
+				&& list.getPackedPointsX() == null) {
 			updateListItems(from, to, step);
 		} else {
 			createNewList(from, to, step);
@@ -405,6 +423,154 @@ public class AlgoSequence extends AlgoElement {
 		}
 	}
 
+	/**
+	 * Fast path for numbers and points given by an expression of the local
+	 * variable only: the expression is compiled and evaluated for all values
+	 * of the variable in one batch, the results are copied into the list
+	 * elements without updating the expression for every element.
+	 * 
+	 * @param from
+	 *            first value of the variable
+	 * @param to
+	 *            last value of the variable
+	 * @param step
+	 *            step
+	 * @param setValuesOnly
+	 *            whether the list already has the right size
+	 * @return false if the expression is not supported
+	 */
+	private boolean computeFast(double from, double to, double step,
+			boolean setValuesOnly) {
+		// the loops handle low memory
+		if (!compile() || kernel.getApplication().freeMemoryIsCritical()) {
+			return false;
+		}
+		double[] values = getVariableValues(from, to, step);
+		if (values == null) {
+			return false;
+		}
+		int n = values.length;
+		if (setValuesOnly && list.size() != n) {
+			return false;
+		}
+		double[][] args = { values };
+		double[] xs = new double[n];
+		compiled[0].evaluate(args, xs, n);
+		double[] ys = null;
+		if (compiled.length > 1) {
+			ys = new double[n];
+			compiled[1].evaluate(args, ys, n);
+			if (polar) {
+				for (int i = 0; i < n; i++) {
+					double r = xs[i];
+					xs[i] = r * Math.cos(ys[i]);
+					ys[i] = r * Math.sin(ys[i]);
+				}
+			}
+		}
+
+		// element objects are only created when accessed
+		if (ys == null) {
+			list.setNumbers(xs, n, expression.toGeoElement(), this);
+		} else {
+			list.setPoints(xs, ys, n, expression.toGeoElement(), this);
+		}
+
+		// leave the variable and expression in the same state as the loop
+		if (n > 0) {
+			updateLocalVar(values[n - 1]);
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the expression is a number or point given by a
+	 *         compilable expression of the local variable
+	 */
+	private boolean compile() {
+		if (expIsFunctionOrCurve
+				|| !(expressionParentAlgo instanceof AlgoDependentNumber
+						|| expressionParentAlgo instanceof AlgoDependentPoint)) {
+			return false;
+		}
+		ExpressionNode definition = expression.getDefinition();
+		if (definition == compiledDefinition) {
+			return compiled != null;
+		}
+		compiledDefinition = definition;
+		compiled = null;
+		if (definition == null
+				|| expression.getDrawAlgorithm() != expressionParentAlgo
+				|| (expressionParentAlgo instanceof AlgoDependentNumber
+						&& !((AlgoDependentNumber) expressionParentAlgo)
+								.isRewriteFormula())) {
+			return false;
+		}
+		// other objects depending on the variable would not be updated
+		for (AlgoElement algo : var.getAlgoUpdateSet()) {
+			if (algo != expressionParentAlgo && algo != this) {
+				return false;
+			}
+		}
+		ExpressionValue[] variables = { var };
+		if (expression instanceof GeoNumeric
+				&& !(expression instanceof GeoAngle)) {
+			// same rounding as AlgoDependentNumber
+			CompiledExpression value = CompiledExpression
+					.compileValue(definition, variables);
+			if (value != null) {
+				compiled = new CompiledExpression[] { value };
+			}
+		} else if (expression instanceof GeoPoint
+				&& definition.unwrap() instanceof MyVecNode) {
+			MyVecNode vec = (MyVecNode) definition.unwrap();
+			CompiledExpression x = CompiledExpression
+					.compileValue(vec.getX().wrap(), variables);
+			CompiledExpression y = CompiledExpression
+					.compileValue(vec.getY().wrap(), variables);
+			if (x != null && y != null) {
+				compiled = new CompiledExpression[] { x, y };
+				polar = vec.hasPolarCoords();
+			}
+		}
+		return compiled != null;
+	}
+
+	/**
+	 * @return values of the local variable, same as in the loops of
+	 *         {@link #createNewList(double, double, double)}; null if there
+	 *         are too many of them
+	 */
+	private double[] getVariableValues(double from, double to, double step) {
+		if (isEmpty) {
+			return new double[0];
+		}
+		double count = Math.ceil((to - from) / step) + 1;
+		if (Double.isNaN(count) || count > MAX_FAST_SIZE) {
+			return null;
+		}
+		double[] values = new double[(int) count + 1];
+		int n = 0;
+		double currentVal = from;
+		while ((step > 0 && currentVal <= to + Kernel.MIN_PRECISION)
+				|| (step < 0 && currentVal >= to - Kernel.MIN_PRECISION)) {
+			if (n == values.length) {
+				return null;
+			}
+			values[n++] = currentVal;
+			currentVal += step;
+			if (DoubleUtil.isInteger(currentVal)) {
+				currentVal = Math.round(currentVal);
+			}
+		}
+		if (n < values.length) {
+			double[] result = new double[n];
+			System.arraycopy(values, 0, result, 0, n);
+			return result;
+		}
+		return values;
+	}
+
 	/**
 	 * Sets value of the local loop variable of the sequence and updates all
 	 * it's dependencies until we reach the sequence algo.
@@ -21,6 +21,7 @@ import org.geogebra.common.kernel.geos.GeoAngle.AngleStyle;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 
 /**
  * Mean, variance, sum, sum of squares, standard deviation of a list adapted
@@ -190,9 +191,25 @@ public abstract class AlgoStats1D extends AlgoElement {
 		GeoElement geo, geoFreq, geo2;
 		boolean useMidpoint = false;
 		double n = 0;
+		// values shared with other statistics of the same list
+		double[] values = null;
+
+		// whole list of numbers only, no frequencies
+		if (geoList2 == null && Truncate == null) {
+			ListStatistics stats = geoList.getStatistics();
+			if (!stats.isNumeric()) {
+				result.setUndefined();
+				return;
+			}
+			values = stats.getValues();
+			sumVal = stats.getSum();
+			sumSquares = stats.getSumSquares();
+			product = stats.getProduct();
+			n = size;
+		}
 
 		// list of numbers only, no frequencies
-		if (geoList2 == null) {
+		else if (geoList2 == null) {
 			double val;
 			for (int i = 0; i < size; i++) {
 				geo = geoList.get(i);
@@ -271,8 +288,11 @@ public abstract class AlgoStats1D extends AlgoElement {
 			if (geoList2 == null) {
 				double val;
 				for (int i = 0; i < size; i++) {
-					geo = geoList.get(i);
-					val = geo.evaluateDouble();
+					if (values != null) {
+						val = values[i];
+					} else {
+						val = geoList.get(i).evaluateDouble();
+					}
 					sumAbsoluteDeviation += Math.abs(mu - val);
 				}
 			}
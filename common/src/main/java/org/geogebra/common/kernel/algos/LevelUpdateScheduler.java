@@ -0,0 +1,96 @@
+package org.geogebra.common.kernel.algos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Updates a set of algorithms level by level. Algorithms of one level don't
+ * depend on each other, so the computations of those that are
+ * {@link AlgoElement#isParallelSafe() parallel safe} may run concurrently, see
+ * {@link #computeAll(List)}.
+ *
+ * Output elements are updated from the calling thread afterwards, level by
+ * level and in construction order within each level, so that views and
+ * scripts are always notified in the same order.
+ */
+public abstract class LevelUpdateScheduler {
+
+	/**
+	 * Updates all algorithms.
+	 *
+	 * @param algos
+	 *            algorithms in updating order, e.g. an {@link AlgorithmSet}
+	 */
+	public void updateAll(Iterable<AlgoElement> algos) {
+		ArrayList<AlgoElement> parallel = new ArrayList<>();
+		for (ArrayList<AlgoElement> level : getLevels(algos)) {
+			parallel.clear();
+			for (AlgoElement algo : level) {
+				if (algo.isParallelSafe() && !algo.doStopUpdateCascade()) {
+					algo.updateUnlabeledRandomGeos();
+					parallel.add(algo);
+				}
+			}
+			computeAll(parallel);
+			for (AlgoElement algo : level) {
+				if (!algo.isParallelSafe()) {
+					algo.update();
+				} else if (!algo.doStopUpdateCascade()) {
+					algo.updateDependentGeos();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Splits algorithms into levels: each algorithm is on a higher level than
+	 * the algorithms of the set it depends on.
+	 *
+	 * @param algos
+	 *            algorithms in updating order
+	 * @return levels, each of them in updating order
+	 */
+	public static ArrayList<ArrayList<AlgoElement>> getLevels(
+			Iterable<AlgoElement> algos) {
+		ArrayList<ArrayList<AlgoElement>> levels = new ArrayList<>();
+		HashMap<AlgoElement, Integer> levelOf = new HashMap<>();
+		for (AlgoElement algo : algos) {
+			int level = levelAfter(levelOf, algo.getUpdateAfterAlgo(), 0);
+			GeoElement[] input = algo.getInput();
+			if (input != null) {
+				for (GeoElement geo : input) {
+					if (geo != null) {
+						level = levelAfter(levelOf, geo.getParentAlgorithm(),
+								level);
+					}
+				}
+			}
+			levelOf.put(algo, level);
+			while (levels.size() <= level) {
+				levels.add(new ArrayList<AlgoElement>());
+			}
+			levels.get(level).add(algo);
+		}
+		return levels;
+	}
+
+	private static int levelAfter(HashMap<AlgoElement, Integer> levelOf,
+			AlgoElement parent, int level) {
+		Integer parentLevel = parent == null ? null : levelOf.get(parent);
+		return parentLevel == null ? level
+				: Math.max(level, parentLevel + 1);
+	}
+
+	/**
+	 * Calls {@link AlgoElement#compute()} for all given algorithms; they are
+	 * independent of each other and may be computed in any order or
+	 * concurrently. Returns when all computations are finished.
+	 *
+	 * @param algos
+	 *            parallel safe algorithms of one level
+	 */
+	protected abstract void computeAll(List<AlgoElement> algos);
+}
@@ -0,0 +1,877 @@
+package org.geogebra.common.kernel.arithmetic;
+
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.geos.GeoDummyVariable;
+import org.geogebra.common.kernel.geos.GeoFunction;
+import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.plugin.Operation;
+import org.geogebra.common.util.DoubleUtil;
+import org.geogebra.common.util.MyMath;
+
+/**
+ * Purely numeric expression tree compiled into a tree of evaluation nodes
+ * working on primitive doubles. Evaluating a compiled expression neither
+ * allocates nor dispatches on {@link Operation} for every sample.
+ *
+ * The nodes mirror the two evaluation paths of the interpreter:
+ * {@link ExpressionNode#evaluateDouble()} for the operations it handles
+ * directly and {@link ExpressionNodeEvaluator} (via
+ * {@link MyDouble}) for everything else, so that the compiled result is the
+ * same as the interpreted one.
+ *
+ * Batches of samples may be evaluated node by node, see
+ * {@link #value(double[], double[], int)}; intermediate results are kept in
+ * arrays allocated once per batch.
+ *
+ * Expressions containing anything but numbers, function variables, numeric
+ * constants and the supported operations are not compiled, see
+ * {@link #compile(ExpressionNode, FunctionVariable[])}.
+ */
+public final class CompiledExpression {
+
+	private final Node root;
+	private final boolean threadSafe;
+
+	private CompiledExpression(Node root, boolean threadSafe) {
+		this.root = root;
+		this.threadSafe = threadSafe;
+	}
+
+	/**
+	 * @param x
+	 *            value of the first variable
+	 * @return value of the expression
+	 */
+	public double value(double x) {
+		return root.evaluate(x, Double.NaN, null);
+	}
+
+	/**
+	 * @param x
+	 *            value of the first variable
+	 * @param y
+	 *            value of the second variable
+	 * @return value of the expression
+	 */
+	public double value(double x, double y) {
+		return root.evaluate(x, y, null);
+	}
+
+	/**
+	 * @param vals
+	 *            values of all variables
+	 * @return value of the expression
+	 */
+	public double evaluate(double[] vals) {
+		return root.evaluate(vals.length > 0 ? vals[0] : Double.NaN,
+				vals.length > 1 ? vals[1] : Double.NaN, vals);
+	}
+
+	/**
+	 * Evaluates the expression for a batch of values of the first variable.
+	 * 
+	 * @param xs
+	 *            values of the first variable
+	 * @param out
+	 *            output array, may be the same as xs
+	 * @param n
+	 *            number of values
+	 */
+	public void value(double[] xs, double[] out, int n) {
+		evaluate(new double[][] { xs }, out, n);
+	}
+
+	/**
+	 * Evaluates the expression for a batch of argument tuples.
+	 * 
+	 * @param args
+	 *            values of variables, args[i][k] is the value of i-th variable
+	 *            in the k-th tuple
+	 * @param out
+	 *            output array
+	 * @param n
+	 *            number of tuples
+	 */
+	public void evaluate(double[][] args, double[] out, int n) {
+		if (n <= 0) {
+			return;
+		}
+		// the output array might be one of the arguments
+		double[] result = out;
+		for (double[] arg : args) {
+			if (arg == out) {
+				result = new double[n];
+			}
+		}
+		root.evaluate(args, result, n, new Buffers(n));
+		if (result != out) {
+			System.arraycopy(result, 0, out, 0, n);
+		}
+	}
+
+	/**
+	 * @return whether this may be evaluated from several threads at once;
+	 *         false if the expression calls other functions
+	 */
+	public boolean isThreadSafe() {
+		return threadSafe;
+	}
+
+	/**
+	 * @param expression
+	 *            numeric expression
+	 * @param fVars
+	 *            function variables, position in array determines the
+	 *            position in argument array of {@link #evaluate(double[])}
+	 * @return compiled expression or null if the expression contains
+	 *         unsupported operations or values
+	 */
+	public static CompiledExpression compile(ExpressionNode expression,
+			FunctionVariable[] fVars) {
+		return compile(expression, (ExpressionValue[]) fVars);
+	}
+
+	/**
+	 * @param expression
+	 *            numeric expression
+	 * @param variables
+	 *            function variables or numbers that should be treated as
+	 *            variables (e.g. local variables of commands), position in
+	 *            array determines the position in argument array of
+	 *            {@link #evaluate(double[])}
+	 * @return compiled expression or null if the expression contains
+	 *         unsupported operations or values
+	 */
+	public static CompiledExpression compile(ExpressionNode expression,
+			ExpressionValue[] variables) {
+		if (expression == null || variables == null) {
+			return null;
+		}
+		Compiler compiler = new Compiler(variables);
+		Node root = compiler.compileDouble(expression);
+		return root == null ? null
+				: new CompiledExpression(root, compiler.threadSafe);
+	}
+
+	/**
+	 * Compiles the expression as evaluated by {@link ExpressionNodeEvaluator}
+	 * (e.g. for dependent numbers): unlike
+	 * {@link ExpressionNode#evaluateDouble()} this rounds results close to
+	 * zero for all trigonometric functions, see {@link MyDouble#cos()}.
+	 * 
+	 * @param expression
+	 *            numeric expression
+	 * @param variables
+	 *            function variables or numbers that should be treated as
+	 *            variables
+	 * @return compiled expression or null if the expression contains
+	 *         unsupported operations or values
+	 */
+	public static CompiledExpression compileValue(ExpressionNode expression,
+			ExpressionValue[] variables) {
+		if (expression == null || variables == null) {
+			return null;
+		}
+		Compiler compiler = new Compiler(variables);
+		Node root = compiler.compileValue(expression);
+		return root == null ? null
+				: new CompiledExpression(root, compiler.threadSafe);
+	}
+
+	/**
+	 * Evaluation node. The first two variables are passed as arguments so
+	 * that functions of one or two variables can be evaluated without
+	 * allocating an array.
+	 */
+	private static abstract class Node {
+		/**
+		 * @param x
+		 *            value of first variable
+		 * @param y
+		 *            value of second variable
+		 * @param vars
+		 *            values of all variables, may be null for less than three
+		 *            variables
+		 * @return value
+		 */
+		abstract double evaluate(double x, double y, double[] vars);
+
+		/**
+		 * @param args
+		 *            values of variables, args[i][k] is the value of i-th
+		 *            variable in the k-th tuple
+		 * @param out
+		 *            array to store the result
+		 * @param n
+		 *            number of tuples
+		 * @param buffers
+		 *            storage for intermediate results
+		 */
+		abstract void evaluate(double[][] args, double[] out, int n,
+				Buffers buffers);
+	}
+
+	/**
+	 * Stack of arrays for intermediate results of batch evaluation.
+	 */
+	private static final class Buffers {
+		private final int size;
+		private double[][] stack = new double[4][];
+		private int top = 0;
+
+		Buffers(int size) {
+			this.size = size;
+		}
+
+		double[] push() {
+			if (top == stack.length) {
+				double[][] bigger = new double[2 * top][];
+				System.arraycopy(stack, 0, bigger, 0, top);
+				stack = bigger;
+			}
+			if (stack[top] == null) {
+				stack[top] = new double[size];
+			}
+			return stack[top++];
+		}
+
+		void pop() {
+			top--;
+		}
+	}
+
+	private static class Constant extends Node {
+		private final NumberValue number;
+
+		Constant(NumberValue number) {
+			this.number = number;
+		}
+
+		@Override
+		double evaluate(double x, double y, double[] vars) {
+			// read on every evaluation: sliders and constants may be changed
+			// in place
+			return number.getDouble();
+		}
+
+		@Override
+		void evaluate(double[][] args, double[] out, int n, Buffers buffers) {
+			double val = number.getDouble();
+			for (int k = 0; k < n; k++) {
+				out[k] = val;
+			}
+		}
+	}
+
+	private static class Variable extends Node {
+		private final int index;
+
+		Variable(int index) {
+			this.index = index;
+		}
+
+		@Override
+		double evaluate(double x, double y, double[] vars) {
+			switch (index) {
+			case 0:
+				return x;
+			case 1:
+				return y;
+			default:
+				return vars[index];
+			}
+		}
+
+		@Override
+		void evaluate(double[][] args, double[] out, int n, Buffers buffers) {
+			System.arraycopy(args[index], 0, out, 0, n);
+		}
+	}
+
+	private static abstract class Unary extends Node {
+		private final Node arg;
+
+		Unary(Node arg) {
+			this.arg = arg;
+		}
+
+		@Override
+		final double evaluate(double x, double y, double[] vars) {
+			return apply(arg.evaluate(x, y, vars));
+		}
+
+		@Override
+		final void evaluate(double[][] args, double[] out, int n,
+				Buffers buffers) {
+			arg.evaluate(args, out, n, buffers);
+			for (int k = 0; k < n; k++) {
+				out[k] = apply(out[k]);
+			}
+		}
+
+		abstract double apply(double val);
+	}
+
+	private static abstract class Binary extends Node {
+		private final Node left;
+		private final Node right;
+
+		Binary(Node left, Node right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		final double evaluate(double x, double y, double[] vars) {
+			return apply(left.evaluate(x, y, vars),
+					right.evaluate(x, y, vars));
+		}
+
+		@Override
+		final void evaluate(double[][] args, double[] out, int n,
+				Buffers buffers) {
+			left.evaluate(args, out, n, buffers);
+			double[] rt = buffers.push();
+			right.evaluate(args, rt, n, buffers);
+			for (int k = 0; k < n; k++) {
+				out[k] = apply(out[k], rt[k]);
+			}
+			buffers.pop();
+		}
+
+		abstract double apply(double lt, double rt);
+	}
+
+	/**
+	 * Power, see {@link ExpressionNode#evaluateDouble()} and
+	 * {@link ExpressionNodeEvaluator#handlePower}
+	 */
+	private static class Power extends Node {
+		private final boolean plain;
+		private final Node base;
+		private final Node exponent;
+		// numerator and denominator if the exponent is a fraction
+		private final Node numerator;
+		private final Node denominator;
+
+		Power(boolean plain, Node base, Node exponent, Node numerator,
+				Node denominator) {
+			this.plain = plain;
+			this.base = base;
+			this.exponent = exponent;
+			this.numerator = numerator;
+			this.denominator = denominator;
+		}
+
+		@Override
+		double evaluate(double x, double y, double[] vars) {
+			double lt = base.evaluate(x, y, vars);
+			if (!plain && MyDouble.exactEqual(lt, Math.E)) {
+				return Math.exp(exponent.evaluate(x, y, vars));
+			}
+			if (lt < 0 && numerator != null) {
+				return ExpressionNodeEvaluator.negPower(lt,
+						numerator.evaluate(x, y, vars),
+						denominator.evaluate(x, y, vars));
+			}
+			return pow(lt, exponent.evaluate(x, y, vars));
+		}
+
+		@Override
+		void evaluate(double[][] args, double[] out, int n, Buffers buffers) {
+			base.evaluate(args, out, n, buffers);
+			double[] rt = buffers.push();
+			exponent.evaluate(args, rt, n, buffers);
+			if (numerator == null) {
+				for (int k = 0; k < n; k++) {
+					out[k] = power(out[k], rt[k]);
+				}
+			} else {
+				double[] num = buffers.push();
+				double[] den = buffers.push();
+				numerator.evaluate(args, num, n, buffers);
+				denominator.evaluate(args, den, n, buffers);
+				for (int k = 0; k < n; k++) {
+					if (out[k] < 0) {
+						out[k] = ExpressionNodeEvaluator.negPower(out[k],
+								num[k], den[k]);
+					} else {
+						out[k] = power(out[k], rt[k]);
+					}
+				}
+				buffers.pop();
+				buffers.pop();
+			}
+			buffers.pop();
+		}
+
+		private double power(double lt, double rt) {
+			if (!plain && MyDouble.exactEqual(lt, Math.E)) {
+				return Math.exp(rt);
+			}
+			return pow(lt, rt);
+		}
+
+		private double pow(double lt, double rt) {
+			return plain ? Math.pow(lt, rt) : MyDouble.pow(lt, rt);
+		}
+	}
+
+	private static class FunctionCall extends Node {
+		private final GeoFunction function;
+		private final Node arg;
+
+		FunctionCall(GeoFunction function, Node arg) {
+			this.function = function;
+			this.arg = arg;
+		}
+
+		@Override
+		double evaluate(double x, double y, double[] vars) {
+			return function.value(arg.evaluate(x, y, vars));
+		}
+
+		@Override
+		void evaluate(double[][] args, double[] out, int n, Buffers buffers) {
+			arg.evaluate(args, out, n, buffers);
+			function.value(out, out, n);
+		}
+	}
+
+	private static class Compiler {
+		private final ExpressionValue[] variables;
+		protected boolean threadSafe = true;
+
+		protected Compiler(ExpressionValue[] variables) {
+			this.variables = variables;
+		}
+
+		/**
+		 * Compiles value as evaluated by evaluateDouble()
+		 */
+		protected Node compileDouble(ExpressionValue ev) {
+			if (!(ev instanceof ExpressionNode)) {
+				return compileLeaf(ev);
+			}
+			ExpressionNode node = (ExpressionNode) ev;
+			if (node.isLeaf()) {
+				return compileDouble(node.getLeft());
+			}
+			Operation op = node.getOperation();
+			switch (op) {
+			case PLUS:
+			case MINUS:
+			case MULTIPLY:
+			case DIVIDE:
+				return binary(op, compileDouble(node.getLeft()),
+						compileDouble(node.getRight()));
+			case POWER:
+				return power(node, true);
+			case SIN:
+			case COS:
+			case SQRT:
+				return plainUnary(op, compileDouble(node.getLeft()));
+			default:
+				return compileValue(node);
+			}
+		}
+
+		/**
+		 * Compiles value as evaluated by ExpressionNodeEvaluator
+		 */
+		protected Node compileValue(ExpressionValue ev) {
+			if (!(ev instanceof ExpressionNode)) {
+				return compileLeaf(ev);
+			}
+			ExpressionNode node = (ExpressionNode) ev;
+			Operation op = node.getOperation();
+			if (node.isLeaf() || op == Operation.NO_OPERATION) {
+				return compileValue(node.getLeft());
+			}
+			switch (op) {
+			case PLUS:
+			case MINUS:
+			case MULTIPLY:
+			case MULTIPLY_OR_FUNCTION:
+			case DIVIDE:
+			case ARCTAN2:
+			case ARCTAN2D:
+			case LOGB:
+			case NROOT:
+				return binary(op, compileValue(node.getLeft()),
+						compileValue(node.getRight()));
+			case POWER:
+				return power(node, false);
+			case FUNCTION:
+				return functionCall(node);
+			default:
+				return unary(op, compileValue(node.getLeft()));
+			}
+		}
+
+		private Node compileLeaf(ExpressionValue ev) {
+			for (int i = 0; i < variables.length; i++) {
+				if (variables[i] == ev) {
+					return new Variable(i);
+				}
+			}
+			if (ev instanceof FunctionVariable) {
+				return null;
+			}
+			if (ev instanceof MyDouble || (ev instanceof GeoNumeric
+					&& !(ev instanceof GeoDummyVariable))) {
+				return new Constant((NumberValue) ev);
+			}
+			return null;
+		}
+
+		/**
+		 * Unary operations handled by {@link ExpressionNode#evaluateDouble()}
+		 */
+		private static Node plainUnary(Operation op, Node arg) {
+			if (arg == null) {
+				return null;
+			}
+			switch (op) {
+			case SIN:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.sin(val);
+					}
+				};
+			case COS:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.cos(val);
+					}
+				};
+			default:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.sqrt(val);
+					}
+				};
+			}
+		}
+
+		/**
+		 * Unary operations as computed by the {@link MyDouble} methods
+		 */
+		private static Node unary(Operation op, Node arg) {
+			if (arg == null) {
+				return null;
+			}
+			switch (op) {
+			case SIN:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						// don't want this for eg sin(1.23*10^-9) but we do
+						// for eg sin(10pi)
+						return Math.abs(val) > 0.1 ? checkZero(Math.sin(val))
+								: Math.sin(val);
+					}
+				};
+			case COS:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return checkZero(Math.cos(val));
+					}
+				};
+			case TAN:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						if (DoubleUtil.isEqual(Math.abs(val) % Math.PI,
+								Kernel.PI_HALF)) {
+							return Double.NaN;
+						}
+						return Math.abs(val) > 0.1 ? checkZero(Math.tan(val))
+								: Math.tan(val);
+					}
+				};
+			case EXP:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.exp(val);
+					}
+				};
+			case LOG:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.log(val);
+					}
+				};
+			case LOG10:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.log(val) / MyMath.LOG10;
+					}
+				};
+			case LOG2:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.log(val) / MyMath.LOG2;
+					}
+				};
+			case ARCCOS:
+			case ARCCOSD:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.acos(val);
+					}
+				};
+			case ARCSIN:
+			case ARCSIND:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.asin(val);
+					}
+				};
+			case ARCTAN:
+			case ARCTAND:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.atan(val);
+					}
+				};
+			case SQRT:
+			case SQRT_SHORT:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.sqrt(val);
+					}
+				};
+			case CBRT:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.cbrt(val);
+					}
+				};
+			case ABS:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return Math.abs(val);
+					}
+				};
+			case SGN:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.sgn(val);
+					}
+				};
+			case COSH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.cosh(val);
+					}
+				};
+			case SINH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.sinh(val);
+					}
+				};
+			case TANH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.tanh(val);
+					}
+				};
+			case ACOSH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.acosh(val);
+					}
+				};
+			case ASINH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.asinh(val);
+					}
+				};
+			case ATANH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.atanh(val);
+					}
+				};
+			case CSC:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.csc(val);
+					}
+				};
+			case SEC:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.sec(val);
+					}
+				};
+			case COT:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.cot(val);
+					}
+				};
+			case CSCH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.csch(val);
+					}
+				};
+			case SECH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.sech(val);
+					}
+				};
+			case COTH:
+				return new Unary(arg) {
+					@Override
+					double apply(double val) {
+						return MyMath.coth(val);
+					}
+				};
+			default:
+				return null;
+			}
+		}
+
+		/**
+		 * make sure cos(2790 deg) gives zero, see MyDouble
+		 */
+		protected static double checkZero(double val) {
+			return DoubleUtil.isZero(val) ? 0 : val;
+		}
+
+		private static Node binary(Operation op, Node left, Node right) {
+			if (left == null || right == null) {
+				return null;
+			}
+			switch (op) {
+			case PLUS:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						return lt + rt;
+					}
+				};
+			case MINUS:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						return lt - rt;
+					}
+				};
+			case MULTIPLY:
+			case MULTIPLY_OR_FUNCTION:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						return lt * rt;
+					}
+				};
+			case DIVIDE:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						return lt / rt;
+					}
+				};
+			case ARCTAN2:
+			case ARCTAN2D:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						return Math.atan2(lt, rt);
+					}
+				};
+			case LOGB:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						return Math.log(rt) / Math.log(lt);
+					}
+				};
+			case NROOT:
+				return new Binary(left, right) {
+					@Override
+					double apply(double lt, double rt) {
+						if (0 > lt && DoubleUtil.isInteger(rt)
+								&& Math.round(rt) % 2 == 1) {
+							return -MyDouble.pow(-lt, 1 / rt);
+						}
+						return MyDouble.pow(lt, 1 / rt);
+					}
+				};
+			default:
+				return null;
+			}
+		}
+
+		private Node power(ExpressionNode node, boolean plain) {
+			Node base = plain ? compileDouble(node.getLeft())
+					: compileValue(node.getLeft());
+			Node exponent = plain ? compileDouble(node.getRight())
+					: compileValue(node.getRight());
+			if (base == null || exponent == null) {
+				return null;
+			}
+			Node numerator = null;
+			Node denominator = null;
+			ExpressionValue right = node.getRight();
+			if (right.isExpressionNode() && ((ExpressionNode) right)
+					.getOperation() == Operation.DIVIDE) {
+				numerator = compileDouble(((ExpressionNode) right).getLeft());
+				denominator = compileDouble(
+						((ExpressionNode) right).getRight());
+				if (numerator == null || denominator == null) {
+					return null;
+				}
+			}
+			return new Power(plain, base, exponent, numerator, denominator);
+		}
+
+		private Node functionCall(ExpressionNode node) {
+			ExpressionValue fn = node.getLeft().unwrap();
+			if (!(fn instanceof GeoFunction)
+					|| ((GeoFunction) fn).isBooleanFunction()) {
+				return null;
+			}
+			Node arg = compileValue(node.getRight());
+			if (arg == null) {
+				return null;
+			}
+			// the other function may be compiled or interpreted lazily
+			threadSafe = false;
+			return new FunctionCall((GeoFunction) fn, arg);
+		}
+	}
+}
@@ -214,11 +214,40 @@ public class Function extends FunctionNVar
 			return evaluateBoolean(x) ? 1 : 0;
 		}
 		// NumberValue
+		CompiledExpression compiledExp = getCompiledExpression();
+		if (compiledExp != null) {
+			return compiledExp.value(x);
+		}
 		fVars[0].set(x);
 		return expression.evaluateDouble();
 
 	}
 
+	/**
+	 * Evaluates this function for several positions at once.
+	 * 
+	 * @param xs
+	 *            positions
+	 * @param out
+	 *            array to store the values, may be the same as xs
+	 * @param n
+	 *            number of positions
+	 */
+	public void value(double[] xs, double[] out, int n) {
+		// subclasses (e.g. composite functions) may override value(double)
+		// and use the expression only as a placeholder
+		CompiledExpression compiledExp = isBooleanFunction
+				|| getClass() != Function.class ? null
+						: getCompiledExpression();
+		if (compiledExp != null) {
+			compiledExp.value(xs, out, n);
+			return;
+		}
+		for (int k = 0; k < n; k++) {
+			out[k] = value(xs[k]);
+		}
+	}
+
 	/**
 	 * Returns this function's value at position x. (Note: use this method if
 	 * isBooleanFunction() returns true.
@@ -280,7 +309,7 @@ public class Function extends FunctionNVar
 	 */
 	final public void translateY(double vy) {
 		expression = translateY(expression, fVars, vy);
-
+		resetCompiledExpression();
 	}
 
 	/**
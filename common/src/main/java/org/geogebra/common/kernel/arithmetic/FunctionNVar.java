@@ -69,6 +69,10 @@ public class FunctionNVar extends ValidExpression
 	private String shortLHS;
 	private ExpressionNode casEvalExpression;
 	private String casEvalStringSymbolic;
+	// compiled expression, recompiled when expression or variables change
+	private CompiledExpression compiled;
+	private ExpressionNode compiledExpression;
+	private FunctionVariable[] compiledVars;
 
 	private static ArrayList<ExpressionNode> undecided = new ArrayList<>();
 
@@ -138,6 +142,7 @@ public class FunctionNVar extends ValidExpression
 		this.isBooleanFunction = fn.isBooleanFunction;
 		this.isConstantFunction = fn.isConstantFunction;
 		this.ineqs = fn.ineqs;
+		resetCompiledExpression();
 	}
 
 	/**
@@ -200,6 +205,7 @@ public class FunctionNVar extends ValidExpression
 	@Override
 	public void resolveVariables(EvalInfo info) {
 		expression.resolveVariables(info);
+		resetCompiledExpression();
 	}
 
 	/**
@@ -213,6 +219,7 @@ public class FunctionNVar extends ValidExpression
 		if (expression != null) {
 			expression.replaceChildrenByValues(geo);
 		}
+		resetCompiledExpression();
 	}
 
 	/**
@@ -223,6 +230,7 @@ public class FunctionNVar extends ValidExpression
 	 */
 	public void setExpression(ExpressionNode exp) {
 		expression = exp;
+		resetCompiledExpression();
 	}
 
 	/**
@@ -236,6 +244,7 @@ public class FunctionNVar extends ValidExpression
 	public void setExpression(ExpressionNode exp, FunctionVariable[] vars) {
 		expression = exp;
 		fVars = vars;
+		resetCompiledExpression();
 	}
 
 	@Override
@@ -330,6 +339,7 @@ public class FunctionNVar extends ValidExpression
 	 * @return whether this is a valid (numeric or boolean) function
 	 */
 	public boolean initFunction(EvalInfo info) {
+		resetCompiledExpression();
 
 		// replace function variables in tree
 		for (int i = 0; i < fVars.length; i++) {
@@ -495,6 +505,10 @@ public class FunctionNVar extends ValidExpression
 			return evaluateBoolean(vals) ? 1 : 0;
 		}
 		// NumberValue
+		CompiledExpression compiledExp = getCompiledExpression();
+		if (compiledExp != null) {
+			return compiledExp.evaluate(vals);
+		}
 		if (fVars != null) {
 			for (int i = 0; i < fVars.length; i++) {
 				fVars[i].set(vals[i]);
@@ -510,6 +524,10 @@ public class FunctionNVar extends ValidExpression
 			return evaluateBoolean(x, y) ? 1 : 0;
 		}
 		// NumberValue
+		CompiledExpression compiledExp = getCompiledExpression();
+		if (compiledExp != null) {
+			return compiledExp.value(x, y);
+		}
 
 		fVars[0].set(x);
 		fVars[1].set(y);
@@ -517,6 +535,59 @@ public class FunctionNVar extends ValidExpression
 		return expression.evaluateDouble();
 	}
 
+	/**
+	 * Evaluates this function for several argument tuples at once.
+	 * 
+	 * @param args
+	 *            values of variables, args[i][k] is the value of i-th variable
+	 *            in the k-th tuple
+	 * @param out
+	 *            array to store the values
+	 * @param n
+	 *            number of tuples
+	 */
+	public void evaluate(double[][] args, double[] out, int n) {
+		CompiledExpression compiledExp = isBooleanFunction ? null
+				: getCompiledExpression();
+		if (compiledExp != null) {
+			compiledExp.evaluate(args, out, n);
+			return;
+		}
+		double[] vals = new double[args.length];
+		for (int k = 0; k < n; k++) {
+			for (int i = 0; i < args.length; i++) {
+				vals[i] = args[i][k];
+			}
+			out[k] = evaluate(vals);
+		}
+	}
+
+	/**
+	 * Returns the compiled form of this function's expression, compiling it
+	 * if the expression or variables changed since the last call. Evaluating
+	 * the compiled expression does not set the values of function variables.
+	 * 
+	 * @return compiled expression or null if the expression can only be
+	 *         evaluated by the interpreter
+	 */
+	public CompiledExpression getCompiledExpression() {
+		if (compiledExpression != expression || compiledVars != fVars) {
+			compiledExpression = expression;
+			compiledVars = fVars;
+			compiled = CompiledExpression.compile(expression, fVars);
+		}
+		return compiled;
+	}
+
+	/**
+	 * Forces recompilation of the expression; needs to be called when the
+	 * expression tree was changed in place.
+	 */
+	protected void resetCompiledExpression() {
+		compiledExpression = null;
+		compiled = null;
+	}
+
 	/**
 	 * Returns this function's value at position vals. (Note: use this method if
 	 * isBooleanFunction() returns true.
@@ -1247,6 +1318,7 @@ public class FunctionNVar extends ValidExpression
 		expression = expression
 				.traverse(CopyReplacer.getReplacer(dummy, newX, kernel)).wrap();
 		invalidateIneqs();
+		resetCompiledExpression();
 	}
 
 	/**
@@ -1304,6 +1376,7 @@ public class FunctionNVar extends ValidExpression
 				CopyReplacer.getReplacer(dummy, newX.divide(newZ), kernel))
 				.wrap();
 		this.initIneqs(expression, this);
+		resetCompiledExpression();
 	}
 
 	@Override
@@ -1313,6 +1386,7 @@ public class FunctionNVar extends ValidExpression
 			return ev;
 		}
 		expression = expression.traverse(t).wrap();
+		resetCompiledExpression();
 		return this;
 	}
 
@@ -99,9 +99,12 @@ public interface Inspecting {
 
 		private boolean isOtherVar;
 		private int nrOfPoints;
-		private static int type;
-		private static int dim;
-		private static UnplottableChecker checker = new UnplottableChecker();
+		private int type;
+		private final int dim;
+
+		private UnplottableChecker(int dim) {
+			this.dim = dim;
+		}
 
 		@Override
 		public boolean check(ExpressionValue v) {
@@ -204,7 +207,7 @@ public interface Inspecting {
 			return setType(v);
 		}
 
-		private static boolean setType(ExpressionValue v) {
+		private boolean setType(ExpressionValue v) {
 			if (v instanceof Command) {
 				type = 1;
 				return false;
@@ -250,12 +253,10 @@ public interface Inspecting {
 		/**
 		 * @param dimension
 		 *            2 or 3: in how many dimensions can we plot a point
-		 * @return UnplottableChecker singleton instance
+		 * @return new UnplottableChecker instance
 		 */
 		public static UnplottableChecker getChecker(int dimension) {
-			type = 0;
-			dim = dimension;
-			return checker;
+			return new UnplottableChecker(dimension);
 		}
 	}
 
@@ -326,6 +327,35 @@ public interface Inspecting {
 		
 	}
 
+	/**
+	 * Checks for commands, function calls and random numbers: evaluating
+	 * those changes state shared with other expressions
+	 */
+	public enum SharedStateChecker implements Inspecting {
+		/** singleton instance */
+		INSTANCE;
+
+		@Override
+		public boolean check(ExpressionValue v) {
+			if (v instanceof Command) {
+				return true;
+			}
+			if (v instanceof ExpressionNode) {
+				switch (((ExpressionNode) v).getOperation()) {
+				case FUNCTION:
+				case FUNCTION_NVAR:
+				case VEC_FUNCTION:
+				case DERIVATIVE:
+				case RANDOM:
+					return true;
+				default:
+					return false;
+				}
+			}
+			return false;
+		}
+	}
+
 	/**
 	 * @author csilla check whether the expression contains only "+" (needed for
 	 *         Theorem proving)
@@ -15,16 +15,15 @@ package org.geogebra.common.kernel.cas;
 import java.util.ArrayList;
 
 import org.apache.commons.math3.analysis.UnivariateFunction;
-import org.apache.commons.math3.analysis.integration.LegendreGaussIntegrator;
 import org.geogebra.common.cas.giac.CASgiac;
 import org.geogebra.common.kernel.Construction;
-import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.algos.AlgoDependentFunction;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoFunctionFreehand;
 import org.geogebra.common.kernel.algos.DrawInformationAlgo;
 import org.geogebra.common.kernel.algos.GetCommand;
+import org.geogebra.common.kernel.arithmetic.CompiledExpression;
 import org.geogebra.common.kernel.arithmetic.ExpressionNode;
 import org.geogebra.common.kernel.arithmetic.ExpressionValue;
 import org.geogebra.common.kernel.arithmetic.Function;
@@ -41,6 +40,7 @@ import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumberValue;
 import org.geogebra.common.kernel.geos.GeoNumeric;
+import org.geogebra.common.kernel.integration.GaussKronrodIntegrator;
 import org.geogebra.common.util.DoubleUtil;
 import org.geogebra.common.util.debug.Log;
 
@@ -66,15 +66,8 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 	private boolean evaluateNumerically;
 	private boolean validButUndefined = false;
 
-	// for numerical adaptive GaussQuad integration
-	private static final int FIRST_ORDER = 3;
-	private static final int SECOND_ORDER = 5;
-	private static final int MIN_ITER = 1;
-	private static final int MAX_ITER = 5;
-	private static LegendreGaussIntegrator firstGauss;
-	private static LegendreGaussIntegrator secondGauss;
-	private static int adaptiveGaussQuadCounter = 0;
-	private static final int MAX_GAUSS_QUAD_CALLS = 500;
+	// for numerical adaptive integration, keeps subintervals for moving bounds
+	private GaussKronrodIntegrator integrator;
 	private static final int STANDARD_MULTIPLIER = 1;
 	// freehand functions tend to be less smooth
 	private static final int FREEHAND_MULTIPLIER = 10;
@@ -546,12 +539,47 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 	}
 
 	private void standardIntegral(double lowerLimit, double upperLimit) {
+		if (integrator == null) {
+			integrator = new GaussKronrodIntegrator();
+		}
 		// freehand functions aren't generally nice and smooth, so more
 		// iterations may be needed
 		// https://help.geogebra.org/topic/problem-mit-integral-unter-freihandskizze
-		n.setValue(numericIntegration(f, lowerLimit, upperLimit,
-				f.includesFreehandOrData() ? FREEHAND_MULTIPLIER
-						: STANDARD_MULTIPLIER));
+		boolean freehand = f.includesFreehandOrData();
+		integrator.setMaxSubintervals(GaussKronrodIntegrator.MAX_SUBINTERVALS
+				* (freehand ? FREEHAND_MULTIPLIER : STANDARD_MULTIPLIER));
+		// subintervals of the last computation can be reused if the function
+		// (including values of its parameters) did not change
+		String key = freehand ? null
+				: f.toValueString(StringTemplate.maxPrecision);
+		final CompiledExpression compiled = freehand ? null
+				: getThreadSafeExpression();
+		if (compiled == null) {
+			n.setValue(integrator.integrate(f, lowerLimit, upperLimit, key));
+			return;
+		}
+		// expensive integrals may be split into parts computed concurrently
+		n.setValue(integrator.integrate(new UnivariateFunction() {
+			@Override
+			public double value(double x) {
+				return compiled.value(x);
+			}
+		}, lowerLimit, upperLimit, key, kernel.getTaskScheduler()));
+	}
+
+	/**
+	 * @return compiled expression of f if it gives the same values as f and
+	 *         may be evaluated from several threads, null otherwise
+	 */
+	private CompiledExpression getThreadSafeExpression() {
+		Function fun = f.getFunction();
+		// subclasses (e.g. composite functions) may override value(double)
+		if (!f.isDefined() || fun == null || fun.getClass() != Function.class
+				|| fun.isBooleanFunction()) {
+			return null;
+		}
+		CompiledExpression compiled = fun.getCompiledExpression();
+		return compiled != null && compiled.isThreadSafe() ? compiled : null;
 	}
 
 	// private MyArbitraryConstant arbconst = new MyArbitraryConstant(this);
@@ -886,7 +914,7 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 
 	/**
 	 * Computes integral of function fun in interval a, b using an adaptive
-	 * Gauss quadrature approach.
+	 * Gauss-Kronrod quadrature approach.
 	 * 
 	 * @param ad
 	 *            function
@@ -907,74 +935,10 @@ public class AlgoIntegralDefinite extends AlgoUsingTempCASalgo
 			return 0;
 		}
 
-		adaptiveGaussQuadCounter = 0;
-		if (a > b) {
-			return -doAdaptiveGaussQuad(ad, b, a, maxMultiplier);
-		}
-		return doAdaptiveGaussQuad(ad, a, b, maxMultiplier);
-
-		// System.out.println("calls: " + adaptiveGaussQuadCounter);
-
-	}
-
-	private static double doAdaptiveGaussQuad(UnivariateFunction fun, double a,
-			double b, int maxMultiplier) {
-		if (++adaptiveGaussQuadCounter > MAX_GAUSS_QUAD_CALLS * maxMultiplier) {
-			return Double.NaN;
-		}
-
-		// init GaussQuad classes for numerical integration
-		if (firstGauss == null) {
-			firstGauss = new LegendreGaussIntegrator(FIRST_ORDER, MIN_ITER,
-					MAX_ITER);
-			secondGauss = new LegendreGaussIntegrator(SECOND_ORDER, MIN_ITER,
-					MAX_ITER);
-		}
-
-		double firstSum = 0;
-		double secondSum = 0;
-
-		boolean error = false;
-
-		// integrate using gauss quadrature
-		try {
-			firstSum = firstGauss.integrate(MAX_GAUSS_QUAD_CALLS, fun, a, b);
-			if (Double.isNaN(firstSum)) {
-				return Double.NaN;
-			}
-			secondSum = secondGauss.integrate(MAX_GAUSS_QUAD_CALLS, fun, a, b);
-			if (Double.isNaN(secondSum)) {
-				return Double.NaN;
-			}
-		} catch (IllegalArgumentException e) {
-			return Double.NaN;
-		} catch (RuntimeException e) {
-			// catches IllegalStateException and ArithmeticException
-			// eg
-			// org.apache.commons.math3.exception.TooManyEvaluationsException:
-			// illegal state: maximal count ({0}) exceeded500: evaluations
-			error = true;
-		}
-
-		// if (!error) Application.debug(a+" "+b+" "+(firstSum - secondSum),
-		// Kernel.isEqual(firstSum, secondSum, Kernel.STANDARD_PRECISION) ? 1 :
-		// 0);
-		// else Application.debug(a+" "+b+" error",1);
-
-		// check if both results are equal
-		boolean equal = !error && DoubleUtil.isEqual(firstSum, secondSum,
-				Kernel.STANDARD_PRECISION);
-
-		if (equal) {
-			// success
-			return secondSum;
-		}
-		double mid = (a + b) / 2;
-		double left = doAdaptiveGaussQuad(fun, a, mid, maxMultiplier);
-		if (Double.isNaN(left)) {
-			return Double.NaN;
-		}
-		return left + doAdaptiveGaussQuad(fun, mid, b, maxMultiplier);
+		GaussKronrodIntegrator integrator = new GaussKronrodIntegrator();
+		integrator.setMaxSubintervals(
+				GaussKronrodIntegrator.MAX_SUBINTERVALS * maxMultiplier);
+		return integrator.integrate(ad, a, b);
 	}
 
 	@Override
@@ -107,6 +107,7 @@ import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoQuadric3DInterface;
 import org.geogebra.common.kernel.kernelND.GeoVectorND;
 import org.geogebra.common.kernel.parser.ParseException;
+import org.geogebra.common.kernel.parser.ParseResultCache;
 import org.geogebra.common.kernel.parser.ParserInterface;
 import org.geogebra.common.kernel.parser.TokenMgrError;
 import org.geogebra.common.main.App;
@@ -181,6 +182,7 @@ public class AlgebraProcessor {
 	private CommandSyntax localizedCommandSyntax;
 	private CommandSyntax englishCommandSyntax;
 	private SqrtMinusOneReplacer sqrtMinusOneReplacer;
+	private final ParseResultCache parseCache;
 
 	/**
 	 * @param kernel
@@ -198,6 +200,14 @@ public class AlgebraProcessor {
 		parser = kernel.getParser();
 		setEnableStructures(app.getConfig().isEnableStructures());
 		sqrtMinusOneReplacer = new SqrtMinusOneReplacer(kernel);
+		parseCache = new ParseResultCache(kernel, ParseResultCache.DEFAULT_SIZE);
+	}
+
+	/**
+	 * @return cache of parsed commands
+	 */
+	public ParseResultCache getParseResultCache() {
+		return parseCache;
 	}
 
 	/**
@@ -862,7 +872,8 @@ public class AlgebraProcessor {
 				}
 				return new GeoElement[0];
 			}
-			ValidExpression ve = parser.parseGeoGebraExpression(cmd);
+			ValidExpression ve = parseCache.parseGeoGebraExpression(parser,
+					cmd);
 			return processAlgebraCommandNoExceptionHandling(ve, storeUndo,
 					handler, callback0,	info);
 
@@ -1145,7 +1156,7 @@ public class AlgebraProcessor {
 	 */
 	public ValidExpression getValidExpressionNoExceptionHandling(
 			final String cmd) throws Exception {
-		return parser.parseGeoGebraExpression(cmd);
+		return parseCache.parseGeoGebraExpression(parser, cmd);
 	}
 
 	/**
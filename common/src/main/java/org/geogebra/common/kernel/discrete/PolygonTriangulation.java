@@ -33,6 +33,8 @@ public class PolygonTriangulation {
 	public static final int CORNERS = 4;
 	public static final int CORNERS_ALL = CORNERS * 2;
 	public static final int EXTRA_POINTS = 12;
+	/** smaller polygons are triangulated with point and segment objects */
+	public static final int MIN_POINTS_FOR_SWEEP = 64;
 	final static double POINT_DELTA = Kernel.STANDARD_PRECISION;
 	final static double ORIENTATION_DELTA = Kernel.STANDARD_PRECISION;
 
@@ -55,6 +57,11 @@ public class PolygonTriangulation {
 	private Coords[] completeVertices = new Coords[0];
 	private Coords[] corners = null;
 
+	private SweepTriangulation sweepTriangulation;
+	private double[] sweepX = new double[0];
+	private double[] sweepY = new double[0];
+	private boolean usesSweep = false;
+
 	private static class MyTreeSet<E> extends TreeSet<E> {
 
 		/**
@@ -668,10 +675,66 @@ public class PolygonTriangulation {
 		fansList.clear();
 		maxPointIndex = 0;
 		firstPoint = null;
+		usesSweep = false;
 
 		comparedSameOrientationSegment = null;
 	}
 
+	/**
+	 * Triangulates large simple polygons with {@link SweepTriangulation},
+	 * without creating objects per vertex. If this fails, use
+	 * {@link #updatePoints()}, {@link #setIntersections()} and
+	 * {@link #triangulate()}.
+	 * 
+	 * @return true if the polygon was triangulated
+	 */
+	public boolean triangulateSimple() {
+		int length = polygon.getPointsLength();
+		if (corners != null || length < MIN_POINTS_FOR_SWEEP) {
+			return false;
+		}
+		if (sweepX.length < length) {
+			sweepX = new double[length];
+			sweepY = new double[length];
+		}
+		for (int i = 0; i < length; i++) {
+			sweepX[i] = polygon.getPointX(i);
+			sweepY[i] = polygon.getPointY(i);
+		}
+		if (sweepTriangulation == null) {
+			sweepTriangulation = new SweepTriangulation();
+		}
+		if (!sweepTriangulation.update(sweepX, sweepY, length)) {
+			return false;
+		}
+		maxPointIndex = length;
+		usesSweep = true;
+		return true;
+	}
+
+	/**
+	 * @return whether the polygon was triangulated by
+	 *         {@link #triangulateSimple()}, see {@link #getTriangles()}
+	 */
+	public boolean usesTriangles() {
+		return usesSweep;
+	}
+
+	/**
+	 * @return vertex indices, three per triangle, see
+	 *         {@link #getTriangleCount()}
+	 */
+	public int[] getTriangles() {
+		return sweepTriangulation.getTriangles();
+	}
+
+	/**
+	 * @return number of triangles
+	 */
+	public int getTriangleCount() {
+		return sweepTriangulation.getTriangleCount();
+	}
+
 	/**
 	 * set point id
 	 * 
@@ -922,6 +985,9 @@ public class PolygonTriangulation {
 	 * @return true if the polygon is convex after simplification
 	 */
 	public Convexity checkIsConvex() {
+		if (usesSweep) {
+			return Convexity.NOT;
+		}
 
 		Point point1 = firstPoint;
 		Point point2 = point1.next;
@@ -2183,6 +2249,15 @@ public class PolygonTriangulation {
 	 *         covering the polygon
 	 */
 	public ArrayList<TriangleFan> getTriangleFans() {
+		if (usesSweep && fansList.isEmpty()) {
+			int[] triangles = getTriangles();
+			for (int i = 0; i < 3 * getTriangleCount(); i += 3) {
+				TriangleFan fan = new TriangleFan(triangles[i], false);
+				fan.add(triangles[i + 1]);
+				fan.add(triangles[i + 2]);
+				fansList.add(fan);
+			}
+		}
 		return fansList;
 
 	}
@@ -0,0 +1,923 @@
+package org.geogebra.common.kernel.discrete;
+
+import org.geogebra.common.util.DoubleUtil;
+
+/**
+ * Triangulation of simple polygons given as coordinate arrays.
+ *
+ * The polygon is split into y-monotone pieces with a sweep line (de Berg et
+ * al., Computational Geometry, chapter 3), then each piece is triangulated in
+ * linear time. The sweep status is a treap stored in int arrays and all arrays
+ * are kept between calls, so no objects are created per vertex.
+ *
+ * Edges that become neighbours in the sweep status are checked for
+ * intersections (Shamos-Hoey), so self-intersecting polygons are rejected and
+ * can be handled by {@link PolygonTriangulation}.
+ *
+ * When only a few vertices moved, the previous triangles are kept if they are
+ * still positively oriented and the moved edges don't cross other edges.
+ */
+public class SweepTriangulation {
+
+	/** more moved vertices: triangulate again */
+	private static final int MAX_MOVED_FOR_REUSE = 8;
+
+	private static final byte START = 0;
+	private static final byte END = 1;
+	private static final byte SPLIT = 2;
+	private static final byte MERGE = 3;
+	private static final byte REGULAR = 4;
+
+	/** vertices without consecutive duplicates, counter-clockwise */
+	private int n;
+	private double[] xs = new double[0];
+	private double[] ys = new double[0];
+	/** index of the vertex in the input */
+	private int[] orig = new int[0];
+
+	/** vertices in sweep order */
+	private int[] order = new int[0];
+	private int[] sortBuffer = new int[0];
+	private byte[] type = new byte[0];
+	private int[] helper = new int[0];
+
+	/** sweep status: treap of edges, edge i goes from vertex i to i + 1 */
+	private int root;
+	private int[] left = new int[0];
+	private int[] right = new int[0];
+	private int[] parent = new int[0];
+	private int[] priority = new int[0];
+	private int seed = 1;
+
+	/** diagonals: half-edge n + 2k goes from diagA[k] to diagB[k] */
+	private int diagCount;
+	private int[] diagA = new int[0];
+	private int[] diagB = new int[0];
+	/** diagonals ending in each vertex, linked by diagonal half-edge */
+	private int[] diagHead = new int[0];
+	private int[] diagLink = new int[0];
+	private boolean[] visited = new boolean[0];
+
+	/** neighbours of vertices with diagonals, sorted by angle */
+	private int[] ringStart = new int[0];
+	private int[] ringSize = new int[0];
+	private int[] ringVertex = new int[0];
+	private int[] ringHalfEdge = new int[0];
+	private double[] ringAngle = new double[0];
+
+	/** current monotone piece */
+	private int[] face = new int[0];
+	private int[] sorted = new int[0];
+	private boolean[] sortedLeft = new boolean[0];
+	private int[] stack = new int[0];
+
+	private int[] triangles = new int[0];
+	private int triangleCount;
+	private boolean valid;
+
+	/** input of last triangulation */
+	private int lastLength = -1;
+	private double[] lastX = new double[0];
+	private double[] lastY = new double[0];
+	private int[] moved = new int[MAX_MOVED_FOR_REUSE];
+	private int reuseCount = 0;
+
+	/**
+	 * Triangulates the polygon, keeps the previous triangles if possible.
+	 *
+	 * @param x
+	 *            x-coords of the vertices
+	 * @param y
+	 *            y-coords of the vertices
+	 * @param length
+	 *            number of vertices
+	 * @return false if the polygon is not simple (or degenerate)
+	 */
+	public boolean update(double[] x, double[] y, int length) {
+		if (valid && length == lastLength && canKeepTriangles(x, y, length)) {
+			reuseCount++;
+		} else {
+			valid = triangulate(x, y, length);
+		}
+		if (lastX.length < length) {
+			lastX = new double[length];
+			lastY = new double[length];
+		}
+		System.arraycopy(x, 0, lastX, 0, length);
+		System.arraycopy(y, 0, lastY, 0, length);
+		lastLength = length;
+		return valid;
+	}
+
+	/**
+	 * @return vertex indices, three per triangle, counter-clockwise
+	 */
+	public int[] getTriangles() {
+		return triangles;
+	}
+
+	/**
+	 * @return number of triangles
+	 */
+	public int getTriangleCount() {
+		return triangleCount;
+	}
+
+	/**
+	 * @return number of updates that kept the previous triangles
+	 */
+	public int getReuseCount() {
+		return reuseCount;
+	}
+
+	private boolean triangulate(double[] x, double[] y, int length) {
+		triangleCount = 0;
+		if (!setVertices(x, y, length)) {
+			return false;
+		}
+		ensureCapacity();
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		sortOrder();
+		for (int i = 1; i < n; i++) {
+			if (xs[order[i]] == xs[order[i - 1]]
+					&& ys[order[i]] == ys[order[i - 1]]) {
+				// polygon touches itself
+				return false;
+			}
+		}
+		return sweep() && triangulatePieces() && checkArea(x, y);
+	}
+
+	/**
+	 * Copies the vertices without consecutive duplicates, counter-clockwise.
+	 */
+	private boolean setVertices(double[] x, double[] y, int length) {
+		if (xs.length < length) {
+			xs = new double[length];
+			ys = new double[length];
+			orig = new int[length];
+		}
+		n = 0;
+		for (int i = 0; i < length; i++) {
+			if (n > 0 && isEqual(x[i], y[i], xs[n - 1], ys[n - 1])) {
+				continue;
+			}
+			xs[n] = x[i];
+			ys[n] = y[i];
+			orig[n] = i;
+			n++;
+		}
+		while (n > 1 && isEqual(xs[0], ys[0], xs[n - 1], ys[n - 1])) {
+			n--;
+		}
+		if (n < 3) {
+			return false;
+		}
+		double area = 0;
+		for (int i = 0; i < n; i++) {
+			int j = next(i);
+			area += xs[i] * ys[j] - xs[j] * ys[i];
+		}
+		if (area == 0 || Double.isNaN(area)) {
+			return false;
+		}
+		if (area < 0) {
+			for (int i = 0, j = n - 1; i < j; i++, j--) {
+				double t = xs[i];
+				xs[i] = xs[j];
+				xs[j] = t;
+				t = ys[i];
+				ys[i] = ys[j];
+				ys[j] = t;
+				int k = orig[i];
+				orig[i] = orig[j];
+				orig[j] = k;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isEqual(double x1, double y1, double x2,
+			double y2) {
+		return DoubleUtil.isEqual(x1, x2, PolygonTriangulation.POINT_DELTA)
+				&& DoubleUtil.isEqual(y1, y2, PolygonTriangulation.POINT_DELTA);
+	}
+
+	private void ensureCapacity() {
+		if (order.length < n) {
+			order = new int[n];
+			sortBuffer = new int[n];
+			type = new byte[n];
+			helper = new int[n];
+			left = new int[n];
+			right = new int[n];
+			parent = new int[n];
+			priority = new int[n];
+			diagHead = new int[n];
+			ringStart = new int[n];
+			ringSize = new int[n];
+			face = new int[n];
+			sorted = new int[n];
+			sortedLeft = new boolean[n];
+			stack = new int[n];
+		}
+		// a triangulation has n - 3 diagonals
+		if (diagA.length < n) {
+			diagA = new int[n];
+			diagB = new int[n];
+			diagLink = new int[2 * n];
+		}
+		if (triangles.length < 3 * (n - 2)) {
+			triangles = new int[3 * (n - 2)];
+		}
+	}
+
+	private int next(int i) {
+		return i == n - 1 ? 0 : i + 1;
+	}
+
+	private int prev(int i) {
+		return i == 0 ? n - 1 : i - 1;
+	}
+
+	/**
+	 * @return whether vertex a comes before vertex b in sweep order (top to
+	 *         bottom, left to right)
+	 */
+	private boolean above(int a, int b) {
+		return ys[a] > ys[b] || (ys[a] == ys[b] && xs[a] < xs[b]);
+	}
+
+	private static double cross(double ux, double uy, double vx, double vy) {
+		return ux * vy - uy * vx;
+	}
+
+	/**
+	 * @return cross product of (b - a) and (c - a)
+	 */
+	private double cross(int a, int b, int c) {
+		return cross(xs[b] - xs[a], ys[b] - ys[a], xs[c] - xs[a],
+				ys[c] - ys[a]);
+	}
+
+	/**
+	 * Bottom-up merge sort of the vertices in sweep order.
+	 */
+	private void sortOrder() {
+		int[] src = order;
+		int[] dst = sortBuffer;
+		for (int width = 1; width < n; width *= 2) {
+			for (int lo = 0; lo < n; lo += 2 * width) {
+				int mid = Math.min(lo + width, n);
+				int hi = Math.min(lo + 2 * width, n);
+				int i = lo, j = mid, k = lo;
+				while (i < mid && j < hi) {
+					dst[k++] = above(src[j], src[i]) ? src[j++] : src[i++];
+				}
+				while (i < mid) {
+					dst[k++] = src[i++];
+				}
+				while (j < hi) {
+					dst[k++] = src[j++];
+				}
+			}
+			int[] t = src;
+			src = dst;
+			dst = t;
+		}
+		order = src;
+		sortBuffer = dst;
+	}
+
+	// ////////////////////////////////////
+	// MONOTONE PIECES
+	// ////////////////////////////////////
+
+	private boolean sweep() {
+		root = -1;
+		diagCount = 0;
+		for (int i = 0; i < n; i++) {
+			diagHead[i] = -1;
+		}
+		for (int i = 0; i < n; i++) {
+			int v = order[i];
+			int p = prev(v);
+			int q = next(v);
+			boolean prevAbove = above(p, v);
+			boolean nextAbove = above(q, v);
+			double turn = cross(p, v, q);
+			if (prevAbove == nextAbove) {
+				if (turn == 0) {
+					// spike
+					return false;
+				}
+				if (prevAbove) {
+					type[v] = turn > 0 ? END : MERGE;
+				} else {
+					type[v] = turn > 0 ? START : SPLIT;
+				}
+			} else {
+				type[v] = REGULAR;
+			}
+
+			// edges ending in v
+			if (prevAbove) {
+				if (type[helper[p]] == MERGE) {
+					addDiagonal(v, helper[p]);
+				}
+				if (!remove(p)) {
+					return false;
+				}
+			}
+			if (nextAbove && !remove(v)) {
+				return false;
+			}
+
+			// edge left of v
+			if (type[v] == SPLIT || type[v] == MERGE
+					|| (!prevAbove && nextAbove)) {
+				int e = findLeft(v);
+				if (e < 0 || !above(e, next(e))) {
+					return false;
+				}
+				if (type[v] == SPLIT || type[helper[e]] == MERGE) {
+					addDiagonal(v, helper[e]);
+				}
+				helper[e] = v;
+			}
+
+			// edges starting in v
+			if (!nextAbove) {
+				helper[v] = v;
+				if (!insert(v, v)) {
+					return false;
+				}
+			}
+			if (!prevAbove && !insert(p, v)) {
+				return false;
+			}
+		}
+		return root < 0;
+	}
+
+	private void addDiagonal(int a, int b) {
+		int k = diagCount++;
+		diagA[k] = a;
+		diagB[k] = b;
+		diagLink[2 * k] = diagHead[a];
+		diagHead[a] = 2 * k;
+		diagLink[2 * k + 1] = diagHead[b];
+		diagHead[b] = 2 * k + 1;
+	}
+
+	/**
+	 * @return x-coord of the edge at the height of the vertex; horizontal edges
+	 *         are clamped to the vertex
+	 */
+	private double xAt(int e, int v) {
+		int a = e;
+		int b = next(e);
+		if (ys[a] == ys[b]) {
+			double min = Math.min(xs[a], xs[b]);
+			double max = Math.max(xs[a], xs[b]);
+			return xs[v] < min ? min : (xs[v] > max ? max : xs[v]);
+		}
+		return xs[a] + (ys[v] - ys[a]) * (xs[b] - xs[a]) / (ys[b] - ys[a]);
+	}
+
+	private int lower(int e) {
+		return above(e, next(e)) ? next(e) : e;
+	}
+
+	/**
+	 * Compares edge e starting in v with edge f in the sweep status.
+	 */
+	private int compare(int e, int f, int v) {
+		double xf = xAt(f, v);
+		if (xs[v] < xf) {
+			return -1;
+		}
+		if (xs[v] > xf) {
+			return 1;
+		}
+		double c = cross(v, lower(e), lower(f));
+		return c > 0 ? -1 : (c < 0 ? 1 : 0);
+	}
+
+	private boolean insert(int e, int v) {
+		left[e] = -1;
+		right[e] = -1;
+		// xorshift, no need for java.util.Random
+		seed ^= seed << 13;
+		seed ^= seed >>> 17;
+		seed ^= seed << 5;
+		priority[e] = seed;
+		int p = -1;
+		int cur = root;
+		boolean isLeft = false;
+		while (cur >= 0) {
+			p = cur;
+			int c = compare(e, cur, v);
+			if (c == 0) {
+				return false;
+			}
+			isLeft = c < 0;
+			cur = isLeft ? left[cur] : right[cur];
+		}
+		parent[e] = p;
+		if (p < 0) {
+			root = e;
+		} else if (isLeft) {
+			left[p] = e;
+		} else {
+			right[p] = e;
+		}
+		while (parent[e] >= 0 && priority[e] < priority[parent[e]]) {
+			rotateUp(e);
+		}
+		return !intersect(predecessor(e), e) && !intersect(e, successor(e));
+	}
+
+	private boolean remove(int e) {
+		int pred = predecessor(e);
+		int succ = successor(e);
+		while (left[e] >= 0 || right[e] >= 0) {
+			int child;
+			if (left[e] < 0) {
+				child = right[e];
+			} else if (right[e] < 0) {
+				child = left[e];
+			} else {
+				child = priority[left[e]] < priority[right[e]] ? left[e]
+						: right[e];
+			}
+			rotateUp(child);
+		}
+		int p = parent[e];
+		if (p < 0) {
+			root = -1;
+		} else if (left[p] == e) {
+			left[p] = -1;
+		} else {
+			right[p] = -1;
+		}
+		return !intersect(pred, succ);
+	}
+
+	private void rotateUp(int x) {
+		int p = parent[x];
+		int g = parent[p];
+		if (left[p] == x) {
+			left[p] = right[x];
+			if (right[x] >= 0) {
+				parent[right[x]] = p;
+			}
+			right[x] = p;
+		} else {
+			right[p] = left[x];
+			if (left[x] >= 0) {
+				parent[left[x]] = p;
+			}
+			left[x] = p;
+		}
+		parent[p] = x;
+		parent[x] = g;
+		if (g < 0) {
+			root = x;
+		} else if (left[g] == p) {
+			left[g] = x;
+		} else {
+			right[g] = x;
+		}
+	}
+
+	private int predecessor(int e) {
+		int cur = e;
+		if (left[cur] >= 0) {
+			cur = left[cur];
+			while (right[cur] >= 0) {
+				cur = right[cur];
+			}
+			return cur;
+		}
+		while (parent[cur] >= 0 && left[parent[cur]] == cur) {
+			cur = parent[cur];
+		}
+		return parent[cur];
+	}
+
+	private int successor(int e) {
+		int cur = e;
+		if (right[cur] >= 0) {
+			cur = right[cur];
+			while (left[cur] >= 0) {
+				cur = left[cur];
+			}
+			return cur;
+		}
+		while (parent[cur] >= 0 && right[parent[cur]] == cur) {
+			cur = parent[cur];
+		}
+		return parent[cur];
+	}
+
+	/**
+	 * @return closest edge left of v, -1 if none or if v lies on an edge
+	 */
+	private int findLeft(int v) {
+		int best = -1;
+		int cur = root;
+		while (cur >= 0) {
+			double x = xAt(cur, v);
+			if (x == xs[v]) {
+				return -1;
+			}
+			if (x < xs[v]) {
+				best = cur;
+				cur = right[cur];
+			} else {
+				cur = left[cur];
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return whether the edges (from vertex e to e + 1, f to f + 1) cross or
+	 *         touch, apart from the common vertex of consecutive edges
+	 */
+	private boolean intersect(int e, int f) {
+		if (e < 0 || f < 0) {
+			return false;
+		}
+		int a = e;
+		int b = next(e);
+		int c = f;
+		int d = next(f);
+		return segmentsIntersect(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c],
+				xs[d], ys[d], b == c, d == a);
+	}
+
+	private static boolean segmentsIntersect(double ax, double ay, double bx,
+			double by, double cx, double cy, double dx, double dy,
+			boolean bIsC, boolean dIsA) {
+		if (bIsC || dIsA) {
+			// consecutive edges only overlap when going back
+			double ux, uy, vx, vy;
+			if (bIsC) {
+				ux = ax - bx;
+				uy = ay - by;
+				vx = dx - bx;
+				vy = dy - by;
+			} else {
+				ux = bx - ax;
+				uy = by - ay;
+				vx = cx - ax;
+				vy = cy - ay;
+			}
+			return (bIsC && dIsA) || (cross(ux, uy, vx, vy) == 0
+					&& ux * vx + uy * vy > 0);
+		}
+		double o1 = cross(bx - ax, by - ay, cx - ax, cy - ay);
+		double o2 = cross(bx - ax, by - ay, dx - ax, dy - ay);
+		double o3 = cross(dx - cx, dy - cy, ax - cx, ay - cy);
+		double o4 = cross(dx - cx, dy - cy, bx - cx, by - cy);
+		if (((o1 > 0 && o2 < 0) || (o1 < 0 && o2 > 0))
+				&& ((o3 > 0 && o4 < 0) || (o3 < 0 && o4 > 0))) {
+			return true;
+		}
+		return (o1 == 0 && onSegment(ax, ay, bx, by, cx, cy))
+				|| (o2 == 0 && onSegment(ax, ay, bx, by, dx, dy))
+				|| (o3 == 0 && onSegment(cx, cy, dx, dy, ax, ay))
+				|| (o4 == 0 && onSegment(cx, cy, dx, dy, bx, by));
+	}
+
+	/**
+	 * @return whether (px, py), known to be on the line, is on the segment
+	 */
+	private static boolean onSegment(double ax, double ay, double bx,
+			double by, double px, double py) {
+		return Math.min(ax, bx) <= px && px <= Math.max(ax, bx)
+				&& Math.min(ay, by) <= py && py <= Math.max(ay, by);
+	}
+
+	// ////////////////////////////////////
+	// TRIANGULATION OF THE PIECES
+	// ////////////////////////////////////
+
+	private boolean triangulatePieces() {
+		int halfEdges = n + 2 * diagCount;
+		if (visited.length < halfEdges) {
+			visited = new boolean[halfEdges + n];
+		}
+		for (int i = 0; i < halfEdges; i++) {
+			visited[i] = false;
+		}
+		setRings();
+		for (int h = 0; h < halfEdges; h++) {
+			if (!visited[h] && !triangulatePiece(h)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Sorts the neighbours of the vertices with diagonals by angle.
+	 */
+	private void setRings() {
+		int size = 0;
+		for (int v = 0; v < n; v++) {
+			ringSize[v] = 0;
+			if (diagHead[v] >= 0) {
+				ringStart[v] = size;
+				size += 2;
+				for (int h = diagHead[v]; h >= 0; h = diagLink[h]) {
+					size++;
+				}
+			}
+		}
+		if (ringVertex.length < size) {
+			ringVertex = new int[size];
+			ringHalfEdge = new int[size];
+			ringAngle = new double[size];
+		}
+		for (int v = 0; v < n; v++) {
+			if (diagHead[v] < 0) {
+				continue;
+			}
+			// the boundary edge into v is never followed
+			addToRing(v, prev(v), -1);
+			addToRing(v, next(v), v);
+			for (int h = diagHead[v]; h >= 0; h = diagLink[h]) {
+				int k = h / 2;
+				int w = diagA[k] == v ? diagB[k] : diagA[k];
+				addToRing(v, w, n + 2 * k + (diagA[k] == v ? 0 : 1));
+			}
+		}
+	}
+
+	/**
+	 * Insertion sort, rings are small.
+	 */
+	private void addToRing(int v, int w, int halfEdge) {
+		double angle = Math.atan2(ys[w] - ys[v], xs[w] - xs[v]);
+		int start = ringStart[v];
+		int i = start + ringSize[v];
+		while (i > start && ringAngle[i - 1] > angle) {
+			ringVertex[i] = ringVertex[i - 1];
+			ringHalfEdge[i] = ringHalfEdge[i - 1];
+			ringAngle[i] = ringAngle[i - 1];
+			i--;
+		}
+		ringVertex[i] = w;
+		ringHalfEdge[i] = halfEdge;
+		ringAngle[i] = angle;
+		ringSize[v]++;
+	}
+
+	/**
+	 * @return half-edge following the one from u to v in the same piece
+	 */
+	private int nextHalfEdge(int u, int v) {
+		if (diagHead[v] < 0) {
+			return u == prev(v) ? v : -1;
+		}
+		int start = ringStart[v];
+		int size = ringSize[v];
+		for (int i = 0; i < size; i++) {
+			if (ringVertex[start + i] == u) {
+				// next neighbour clockwise
+				return ringHalfEdge[start + (i + size - 1) % size];
+			}
+		}
+		return -1;
+	}
+
+	private int from(int halfEdge) {
+		if (halfEdge < n) {
+			return halfEdge;
+		}
+		int k = (halfEdge - n) / 2;
+		return (halfEdge - n) % 2 == 0 ? diagA[k] : diagB[k];
+	}
+
+	private int to(int halfEdge) {
+		if (halfEdge < n) {
+			return next(halfEdge);
+		}
+		int k = (halfEdge - n) / 2;
+		return (halfEdge - n) % 2 == 0 ? diagB[k] : diagA[k];
+	}
+
+	private boolean triangulatePiece(int firstHalfEdge) {
+		int size = 0;
+		int h = firstHalfEdge;
+		int top = 0;
+		int bottom = 0;
+		do {
+			if (h < 0 || visited[h] || size == n) {
+				return false;
+			}
+			visited[h] = true;
+			int v = from(h);
+			face[size] = v;
+			if (above(v, face[top])) {
+				top = size;
+			}
+			if (above(face[bottom], v)) {
+				bottom = size;
+			}
+			size++;
+			h = nextHalfEdge(v, to(h));
+		} while (h != firstHalfEdge);
+		if (size < 3) {
+			return false;
+		}
+
+		// merge the chains: counter-clockwise from top is the left chain
+		int l = top;
+		int r = top == 0 ? size - 1 : top - 1;
+		sorted[0] = face[top];
+		sortedLeft[0] = true;
+		l = l == size - 1 ? 0 : l + 1;
+		for (int i = 1; i < size; i++) {
+			boolean leftDone = l == (bottom == size - 1 ? 0 : bottom + 1);
+			if (!leftDone && (r == bottom || above(face[l], face[r]))) {
+				sorted[i] = face[l];
+				sortedLeft[i] = true;
+				l = l == size - 1 ? 0 : l + 1;
+			} else {
+				sorted[i] = face[r];
+				sortedLeft[i] = false;
+				r = r == 0 ? size - 1 : r - 1;
+			}
+		}
+
+		stack[0] = 0;
+		stack[1] = 1;
+		int stackSize = 2;
+		for (int j = 2; j < size - 1; j++) {
+			if (sortedLeft[j] != sortedLeft[stack[stackSize - 1]]) {
+				for (int i = stackSize - 1; i > 0; i--) {
+					addTriangle(sorted[j], sorted[stack[i]],
+							sorted[stack[i - 1]]);
+				}
+				stack[0] = j - 1;
+				stack[1] = j;
+				stackSize = 2;
+			} else {
+				int last = stack[--stackSize];
+				while (stackSize > 0 && isInside(sorted[j], sorted[last],
+						sorted[stack[stackSize - 1]], sortedLeft[j])) {
+					addTriangle(sorted[j], sorted[last],
+							sorted[stack[stackSize - 1]]);
+					last = stack[--stackSize];
+				}
+				stack[stackSize++] = last;
+				stack[stackSize++] = j;
+			}
+		}
+		for (int i = stackSize - 1; i > 0; i--) {
+			addTriangle(sorted[size - 1], sorted[stack[i]],
+					sorted[stack[i - 1]]);
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether the diagonal from u to t is inside the piece, last being
+	 *         the vertex between them on the chain
+	 */
+	private boolean isInside(int u, int last, int t, boolean leftChain) {
+		double c = cross(u, t, last);
+		return leftChain ? c > 0 : c < 0;
+	}
+
+	private void addTriangle(int a, int b, int c) {
+		double area = cross(a, b, c);
+		if (area == 0) {
+			return;
+		}
+		if (3 * triangleCount + 3 > triangles.length) {
+			int[] old = triangles;
+			triangles = new int[2 * old.length + 3];
+			System.arraycopy(old, 0, triangles, 0, old.length);
+		}
+		int i = 3 * triangleCount;
+		triangles[i] = orig[a];
+		triangles[i + 1] = orig[area > 0 ? b : c];
+		triangles[i + 2] = orig[area > 0 ? c : b];
+		triangleCount++;
+	}
+
+	/**
+	 * @return whether the triangles cover the area of the polygon
+	 */
+	private boolean checkArea(double[] x, double[] y) {
+		double area = 0;
+		for (int i = 0; i < n; i++) {
+			int j = next(i);
+			area += xs[i] * ys[j] - xs[j] * ys[i];
+		}
+		double sum = 0;
+		for (int i = 0; i < 3 * triangleCount; i += 3) {
+			sum += triangleArea(x, y, triangles[i], triangles[i + 1],
+					triangles[i + 2]);
+		}
+		return DoubleUtil.isEqual(area, sum, 1E-9 * Math.abs(area));
+	}
+
+	/**
+	 * @return twice the signed area of the triangle
+	 */
+	private static double triangleArea(double[] x, double[] y, int a, int b,
+			int c) {
+		return cross(x[b] - x[a], y[b] - y[a], x[c] - x[a], y[c] - y[a]);
+	}
+
+	// ////////////////////////////////////
+	// REUSE
+	// ////////////////////////////////////
+
+	/**
+	 * @return whether the triangles of the last call are still a
+	 *         triangulation of the polygon
+	 */
+	private boolean canKeepTriangles(double[] x, double[] y, int length) {
+		if (n != length) {
+			// vertices were merged, they may separate
+			return false;
+		}
+		int movedCount = 0;
+		for (int i = 0; i < length; i++) {
+			if (x[i] != lastX[i] || y[i] != lastY[i]) {
+				if (movedCount == MAX_MOVED_FOR_REUSE) {
+					return false;
+				}
+				moved[movedCount++] = i;
+			}
+		}
+		for (int m = 0; m < movedCount; m++) {
+			int i = moved[m];
+			int j = i == length - 1 ? 0 : i + 1;
+			int h = i == 0 ? length - 1 : i - 1;
+			if (isEqual(x[i], y[i], x[j], y[j])
+					|| isEqual(x[i], y[i], x[h], y[h])
+					|| crossesBoundary(x, y, length, h)
+					|| crossesBoundary(x, y, length, i)) {
+				return false;
+			}
+		}
+		for (int t = 0; t < 3 * triangleCount; t += 3) {
+			int a = triangles[t];
+			int b = triangles[t + 1];
+			int c = triangles[t + 2];
+			if (movedCount > 0 && (isMoved(a, movedCount)
+					|| isMoved(b, movedCount) || isMoved(c, movedCount))
+					&& !(triangleArea(x, y, a, b, c) > 0)) {
+				return false;
+			}
+		}
+		if (movedCount > 0) {
+			// triangulation is valid, update coords for next check
+			for (int m = 0; m < movedCount; m++) {
+				int i = moved[m];
+				for (int k = 0; k < n; k++) {
+					if (orig[k] == i) {
+						xs[k] = x[i];
+						ys[k] = y[i];
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean isMoved(int i, int movedCount) {
+		for (int m = 0; m < movedCount; m++) {
+			if (moved[m] == i) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return whether the edge from i to i + 1 intersects any other edge
+	 */
+	private static boolean crossesBoundary(double[] x, double[] y, int length,
+			int i) {
+		int i1 = i == length - 1 ? 0 : i + 1;
+		for (int j = 0; j < length; j++) {
+			int j1 = j == length - 1 ? 0 : j + 1;
+			if (j != i && segmentsIntersect(x[i], y[i], x[i1], y[i1], x[j],
+					y[j], x[j1], y[j1], i1 == j, j1 == i)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
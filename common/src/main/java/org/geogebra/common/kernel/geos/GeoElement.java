@@ -20,7 +20,6 @@ package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -65,6 +64,7 @@ import org.geogebra.common.kernel.algos.AlgorithmSet;
 import org.geogebra.common.kernel.algos.Algos;
 import org.geogebra.common.kernel.algos.ConstructionElement;
 import org.geogebra.common.kernel.algos.DrawInformationAlgo;
+import org.geogebra.common.kernel.algos.LevelUpdateScheduler;
 import org.geogebra.common.kernel.algos.TableAlgo;
 import org.geogebra.common.kernel.arithmetic.Equation;
 import org.geogebra.common.kernel.arithmetic.EquationValue;
@@ -318,7 +318,6 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	private List<Integer> viewFlags = null;
 
 	private NumberFormatAdapter numberFormatter6;
-	private static volatile TreeSet<AlgoElement> tempSet;
 
 	private boolean descriptionNeedsUpdateInAV;
 
@@ -328,15 +327,6 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 	private int ordering = -1;
 
-	private static Comparator<AlgoElement> algoComparator = new Comparator<AlgoElement>() {
-
-		@Override
-		public int compare(AlgoElement o1, AlgoElement o2) {
-			return o1.compareTo(o2);
-		}
-
-	};
-
 	/**
 	 * Creates new GeoElement for given construction
 	 *
@@ -3189,10 +3179,14 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	public void updateCascade(boolean dragging) {
 		long l = System.currentTimeMillis();
 		kernel.notifyBatchUpdate();
-		update(dragging);
-		updateDependentObjects();
+		try {
+			update(dragging);
+			updateDependentObjects();
+		} finally {
+			// views count nested batches, keep them balanced
+			kernel.notifyEndBatchUpdate();
+		}
 		GeoGebraProfiler.addUpdateCascade(System.currentTimeMillis() - l);
-		kernel.notifyEndBatchUpdate();
 	}
 
 	@Override
@@ -3206,7 +3200,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		} else if (algoUpdateSet != null) {
 			// update all algorithms in the algorithm set of this GeoElement
 			cons.setAlgoSetCurrentlyUpdated(algoUpdateSet);
-			algoUpdateSet.updateAll();
+			LevelUpdateScheduler scheduler = kernel.getUpdateScheduler();
+			if (scheduler == null) {
+				algoUpdateSet.updateAll();
+			} else {
+				scheduler.updateAll(algoUpdateSet);
+			}
 			cons.setAlgoSetCurrentlyUpdated(null);
 		}
 	}
@@ -3241,7 +3240,7 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 				algoUpdateSet.updateAll();
 			} else {
 				// join both algoUpdateSets and update all algorithms
-				final TreeSet<AlgoElement> tempAlgoSet = getTempSet();
+				final TreeSet<AlgoElement> tempAlgoSet = cons.getTempAlgoSet();
 				tempAlgoSet.clear();
 				algoUpdateSet.addAllToCollection(tempAlgoSet);
 				secondGeo.algoUpdateSet.addAllToCollection(tempAlgoSet);
@@ -3278,7 +3277,19 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @param updateCascadeAll
 	 *            true to update cascade over dependent geos as well
 	 */
-	static public synchronized void updateCascade(
+	static public void updateCascade(
+			final ArrayList<? extends GeoElementND> geos,
+			final TreeSet<AlgoElement> tempSet1,
+			final boolean updateCascadeAll) {
+		if (geos.isEmpty()) {
+			return;
+		}
+		synchronized (geos.get(0).getConstruction().getUpdateLock()) {
+			doUpdateCascade(geos, tempSet1, updateCascadeAll);
+		}
+	}
+
+	private static void doUpdateCascade(
 			final ArrayList<? extends GeoElementND> geos,
 			final TreeSet<AlgoElement> tempSet1,
 			final boolean updateCascadeAll) {
@@ -3310,6 +3321,12 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 
 		// now we have one nice algorithm set that we can update
 		if (tempSet1.size() > 0) {
+			LevelUpdateScheduler scheduler = geos.get(0).getKernel()
+					.getUpdateScheduler();
+			if (scheduler != null) {
+				scheduler.updateAll(tempSet1);
+				return;
+			}
 			for (AlgoElement algo : tempSet1) {
 				algo.update();
 			}
@@ -3326,7 +3343,14 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 	 * @param cons
 	 *            construction where update is done
 	 */
-	static public synchronized void updateCascadeLocation(
+	static public void updateCascadeLocation(
+			final ArrayList<Locateable> geos, Construction cons) {
+		synchronized (cons.getUpdateLock()) {
+			doUpdateCascadeLocation(geos, cons);
+		}
+	}
+
+	private static void doUpdateCascadeLocation(
 			final ArrayList<Locateable> geos, Construction cons) {
 		// build update set of all algorithms in construction element order
 		// clear temp set
@@ -5454,16 +5478,6 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 		colFunction = null;
 	}
 
-	/**
-	 * @return temporary set of algoritms
-	 */
-	protected static TreeSet<AlgoElement> getTempSet() {
-		if (tempSet == null) {
-			tempSet = new TreeSet<>(algoComparator);
-		}
-		return tempSet;
-	}
-
 	/**
 	 * @param rwTransVec
 	 *            translation vector
@@ -5568,7 +5582,8 @@ public abstract class GeoElement extends ConstructionElement implements GeoEleme
 				tempMoveObjectList2 = new ArrayList<>();
 			}
 			tempMoveObjectList2.add(number);
-			updateCascade(tempMoveObjectList2, getTempSet(), false);
+			updateCascade(tempMoveObjectList2,
+					number.getConstruction().getTempAlgoSet(), false);
 		}
 	}
 
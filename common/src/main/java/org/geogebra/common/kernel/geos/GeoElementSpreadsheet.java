@@ -35,7 +35,7 @@ public class GeoElementSpreadsheet {
 	/** regex group for row number */
 	public final static int MATCH_ROW = 4;
 
-	private static StringBuilder sb;
+	private StringBuilder sb;
 
 	/**
 	 * Converts column number to name
@@ -132,7 +132,7 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 
 	private double[] bounds;
 
-	private static StringBuilder sbCasCommand;
+	private StringBuilder sbCasCommand;
 
 	// Save a strong reference to the algo that created this
 	// function (needed for iOS)
@@ -609,6 +609,50 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		return fun.value(x);
 	}
 
+	/**
+	 * Returns this function's values at several positions.
+	 * 
+	 * @param xs
+	 *            points for evaluation
+	 * @param out
+	 *            array to store the values, may be the same as xs
+	 * @param n
+	 *            number of points
+	 */
+	public void value(double[] xs, double[] out, int n) {
+		if (fun == null || !isDefined) {
+			for (int k = 0; k < n; k++) {
+				out[k] = Double.NaN;
+			}
+			return;
+		}
+		fun.value(xs, out, n);
+	}
+
+	/**
+	 * Evaluates a function-like element at several positions, in one batch
+	 * if it's a function.
+	 * 
+	 * @param function
+	 *            function, line, ...
+	 * @param xs
+	 *            points for evaluation
+	 * @param out
+	 *            array to store the values, may be the same as xs
+	 * @param n
+	 *            number of points
+	 */
+	public static void evaluateAll(GeoFunctionable function, double[] xs,
+			double[] out, int n) {
+		if (function instanceof GeoFunction) {
+			((GeoFunction) function).value(xs, out, n);
+			return;
+		}
+		for (int k = 0; k < n; k++) {
+			out[k] = function.value(xs[k]);
+		}
+	}
+
 	/**
 	 * Returns this function's value at position x.
 	 * 
@@ -1411,6 +1455,13 @@ public class GeoFunction extends GeoElement implements VarString, Translateable,
 		}
 	}
 
+	@Override
+	public void evaluateCurve(double[] ts, double[][] out, int n) {
+		int valueIndex = evalSwapped ? 0 : 1;
+		System.arraycopy(ts, 0, out[1 - valueIndex], 0, n);
+		value(ts, out[valueIndex], n);
+	}
+
 	/**
 	 * Evaluates curvature for function: k(x) = f''/T^3, T = sqrt(1+(f')^2)
 	 * 
@@ -326,6 +326,25 @@ public class GeoFunctionNVar extends GeoElement
 		return fun.evaluate(vals);
 	}
 
+	/**
+	 * @param args
+	 *            values of variables, args[i][k] is the value of i-th variable
+	 *            in the k-th tuple
+	 * @param out
+	 *            array to store the values
+	 * @param n
+	 *            number of tuples
+	 */
+	public void evaluate(double[][] args, double[] out, int n) {
+		if (fun == null || !isDefined) {
+			for (int k = 0; k < n; k++) {
+				out[k] = Double.NaN;
+			}
+			return;
+		}
+		fun.evaluate(args, out, n);
+	}
+
 	/**
 	 * @param vals
 	 *            variable values
@@ -51,7 +51,7 @@ public class GeoInputBox extends GeoButton implements HasSymbolicMode, HasAlignm
 	InputBoxRenderer inputBoxRenderer;
 	private String tempUserDisplayInput;
 	private GeoText dynamicCaption;
-	private static GeoText emptyText;
+	private GeoText emptyText;
 	private boolean serifContent = true;
 
 	/**
@@ -61,17 +61,10 @@ public class GeoInputBox extends GeoButton implements HasSymbolicMode, HasAlignm
 	public GeoInputBox(Construction cons) {
 		super(cons);
 		linkedGeo = new GeoText(cons, "");
-		createEmptyText(cons);
 		inputBoxRenderer = new InputBoxRenderer(this);
 		inputBoxProcessor = new InputBoxProcessor(this, linkedGeo);
 	}
 
-	private static void createEmptyText(Construction cons) {
-		if (emptyText == null) {
-			emptyText = new GeoText(cons, "");
-		}
-	}
-
 	/**
 	 * @param cons construction
 	 * @param labelOffsetX x offset
@@ -561,6 +554,9 @@ public class GeoInputBox extends GeoButton implements HasSymbolicMode, HasAlignm
 	@Override
 	public void clearDynamicCaption() {
 		unregisterDynamicCaption();
+		if (emptyText == null) {
+			emptyText = new GeoText(cons, "");
+		}
 		dynamicCaption = emptyText;
 	}
 
@@ -13,7 +13,9 @@ the Free Software Foundation.
 package org.geogebra.common.kernel.geos;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.TreeSet;
 
 import org.geogebra.common.awt.GColor;
@@ -53,6 +55,7 @@ import org.geogebra.common.kernel.kernelND.GeoElementND;
 import org.geogebra.common.kernel.kernelND.GeoPointND;
 import org.geogebra.common.kernel.kernelND.GeoQuadricND;
 import org.geogebra.common.kernel.matrix.Coords;
+import org.geogebra.common.kernel.statistics.ListStatistics;
 import org.geogebra.common.main.Localization;
 import org.geogebra.common.plugin.EuclidianStyleConstants;
 import org.geogebra.common.plugin.GeoClass;
@@ -74,7 +77,7 @@ public class GeoList extends GeoElement
 	private boolean trace;
 
 	// GeoElement list members
-	private final ArrayList<GeoElement> elements;
+	private final GeoListElements elements;
 
 	// lists will often grow and shrink dynamically,
 	// so we keep a cacheList of all old list elements
@@ -84,6 +87,8 @@ public class GeoList extends GeoElement
 	private boolean isDrawable = true;
 	private boolean drawAsComboBox = false;
 	private GeoClass elementType = ELEMENT_TYPE_MIXED;
+	// values and statistics shared by statistics algos
+	private ListStatistics statistics;
 
 	/**
 	 * Whether this lists show all properties in the properties dialog. This is
@@ -150,7 +155,7 @@ public class GeoList extends GeoElement
 		// http://benpryor.com/blog/2008/01/02/dont-call-subclass-methods-from-a-superclass-constructor/
 		setConstructionDefaults(); // init visual settings
 
-		elements = new ArrayList<>(size);
+		elements = new GeoListElements(this, size);
 		cacheList = new ArrayList<>(size);
 		setEuclidianVisible(false);
 		// don't add here, see GGB-264
@@ -642,6 +647,7 @@ public class GeoList extends GeoElement
 	 */
 	public final void clear() {
 		elements.clear();
+		invalidateStatistics();
 	}
 
 	/**
@@ -670,6 +676,7 @@ public class GeoList extends GeoElement
 	public final void add(final GeoElementND geo) {
 		// add geo to end of list
 		elements.add(geo.toGeoElement());
+		invalidateStatistics();
 
 		if (elements.size() == 1) {
 			setTypeStringForXML(geo.getXMLtypeString());
@@ -708,8 +715,18 @@ public class GeoList extends GeoElement
 		}
 		updateDrawableFlag(geo);
 
+		initElement(geo.toGeoElement());
+	}
+
+	/**
+	 * Applies visual style and views of this list to an element.
+	 *
+	 * @param geo
+	 *            element
+	 */
+	void initElement(GeoElement geo) {
 		// set visual style of this list
-		applyVisualStyle(geo.toGeoElement());
+		applyVisualStyle(geo);
 		if (!geo.isLabelSet()) {
 			geo.setViewFlags(getViewSet());
 			geo.setVisibleInView3D(this);
@@ -717,6 +734,82 @@ public class GeoList extends GeoElement
 		}
 	}
 
+	/**
+	 * Replaces all elements by numbers. Only the values are stored, element
+	 * objects are created when needed (and reused for later values).
+	 *
+	 * @param values
+	 *            values, owned by this list afterwards
+	 * @param n
+	 *            number of elements
+	 * @param template
+	 *            number to copy for element objects
+	 * @param parent
+	 *            parent algo of the elements
+	 */
+	public void setNumbers(double[] values, int n, GeoElement template,
+			AlgoElement parent) {
+		setPacked(values, null, n, template, parent);
+	}
+
+	/**
+	 * Replaces all elements by 2D points. Only the coordinates are stored,
+	 * element objects are created when needed (and reused for later values).
+	 * Points with non-finite coordinates are undefined.
+	 *
+	 * @param xs
+	 *            x-coordinates, owned by this list afterwards
+	 * @param ys
+	 *            y-coordinates, owned by this list afterwards
+	 * @param n
+	 *            number of elements
+	 * @param template
+	 *            point to copy for element objects
+	 * @param parent
+	 *            parent algo of the elements
+	 */
+	public void setPoints(double[] xs, double[] ys, int n, GeoElement template,
+			AlgoElement parent) {
+		setPacked(xs, ys, n, template, parent);
+	}
+
+	private void setPacked(double[] xs, double[] ys, int n,
+			GeoElement template, AlgoElement parent) {
+		elements.setPacked(xs, ys, n, template, parent);
+		invalidateStatistics();
+		if (n > 0) {
+			setTypeStringForXML(template.getXMLtypeString());
+			elementType = template.getGeoClassType();
+			isDrawable = true;
+			updateDrawableFlag(template);
+		}
+	}
+
+	/**
+	 * @return values of the elements if they are stored as numbers (see
+	 *         {@link #setNumbers}), null otherwise; only the first
+	 *         {@link #size()} entries are used
+	 */
+	public double[] getPackedNumbers() {
+		return elements.isPackedNumbers() ? elements.getPackedX() : null;
+	}
+
+	/**
+	 * @return x-coordinates of the elements if they are stored as points (see
+	 *         {@link #setPoints}), null otherwise
+	 */
+	public double[] getPackedPointsX() {
+		return elements.isPackedPoints() ? elements.getPackedX() : null;
+	}
+
+	/**
+	 * @return y-coordinates of the elements if they are stored as points (see
+	 *         {@link #setPoints}), null otherwise
+	 */
+	public double[] getPackedPointsY() {
+		return elements.isPackedPoints() ? elements.getPackedY() : null;
+	}
+
 	private void updateDrawableFlag(GeoElementND geo) {
 		isDrawable = isDrawable && geo.isDrawable() && !geo.isGeoButton()
 				&& !(geo instanceof GeoBoolean) && !(geo instanceof GeoNumeric
@@ -732,6 +825,7 @@ public class GeoList extends GeoElement
 	 */
 	public final void remove(final GeoElement geo) {
 		elements.remove(geo);
+		invalidateStatistics();
 
 	}
 
@@ -758,6 +852,7 @@ public class GeoList extends GeoElement
 	 */
 	public final void remove(final int index) {
 		elements.remove(index);
+		invalidateStatistics();
 
 	}
 
@@ -793,7 +888,11 @@ public class GeoList extends GeoElement
 	@Override
 	public double[] toDouble(int offset) {
 		int length = elements.size();
+		double[] packed = getPackedNumbers();
 		try {
+			if (packed != null) {
+				return Arrays.copyOfRange(packed, offset, length);
+			}
 			final double[] valueArray = new double[length - offset];
 			for (int i = offset; i < length; i++) {
 				valueArray[i - offset] = elements.get(i).evaluateDouble();
@@ -1058,6 +1157,7 @@ public class GeoList extends GeoElement
 	 */
 	@Override
 	public void update(boolean drag) {
+		invalidateStatistics();
 		super.update(drag);
 
 		// update information on whether this path is fit for AlgoLocus
@@ -1081,6 +1181,23 @@ public class GeoList extends GeoElement
 		}
 	}
 
+	/**
+	 * @return values and statistics of this list, shared by statistics algos
+	 *         until the next update of this list
+	 */
+	public synchronized ListStatistics getStatistics() {
+		if (statistics == null) {
+			statistics = new ListStatistics(this);
+		}
+		return statistics;
+	}
+
+	private void invalidateStatistics() {
+		if (statistics != null) {
+			statistics.invalidate();
+		}
+	}
+
 	/**
 	 * Tells condition listeners that their condition is removed and calls
 	 * super.remove()
@@ -1136,6 +1253,7 @@ public class GeoList extends GeoElement
 	@Override
 	public void setZero() {
 		elements.clear();
+		invalidateStatistics();
 	}
 
 	@Override
@@ -2115,7 +2233,7 @@ public class GeoList extends GeoElement
 	 *         list
 	 */
 	final static public TraceModesEnum getTraceModes(
-			ArrayList<GeoElement> geos) {
+			List<GeoElement> geos) {
 
 		TraceModesEnum traceModes = null;
 
@@ -3120,6 +3238,7 @@ public class GeoList extends GeoElement
 	 */
 	public void setListElement(int i, GeoElement element) {
 		this.elements.set(i, element);
+		invalidateStatistics();
 		this.applyVisualStyle(element);
 		// this.elementType = element.getGeoClassType();
 		isDrawable = true;
@@ -0,0 +1,248 @@
+package org.geogebra.common.kernel.geos;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import org.geogebra.common.kernel.algos.AlgoElement;
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+
+/**
+ * Elements of a {@link GeoList}. Usually this is just a list of objects, but
+ * numbers and 2D points computed by an algo can be stored as coordinate
+ * arrays instead. In that case the element objects are only created when an
+ * element is accessed individually, and they are reused for later values.
+ * Element objects are created under a lock, so that dependent algos computed
+ * in parallel get the same object for the same index.
+ */
+final class GeoListElements extends AbstractList<GeoElement>
+		implements RandomAccess {
+
+	private final GeoList owner;
+	private final ArrayList<GeoElement> objects;
+
+	// packed elements: values (or x-coordinates) and y-coordinates for points
+	private boolean packed = false;
+	private double[] xs;
+	private double[] ys;
+	private int packedSize = 0;
+	private GeoElement[] views = new GeoElement[0];
+	private GeoElement template;
+	private AlgoElement parent;
+
+	/**
+	 * @param owner
+	 *            list
+	 * @param capacity
+	 *            initial capacity
+	 */
+	GeoListElements(GeoList owner, int capacity) {
+		this.owner = owner;
+		this.objects = new ArrayList<>(capacity);
+	}
+
+	@Override
+	public GeoElement get(int index) {
+		if (!packed) {
+			return objects.get(index);
+		}
+		return getView(index);
+	}
+
+	private synchronized GeoElement getView(int index) {
+		if (index < 0 || index >= packedSize) {
+			throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: " + packedSize);
+		}
+		GeoElement view = views[index];
+		if (view == null) {
+			view = createView();
+			// initElement may access the element again
+			views[index] = view;
+			setViewValue(view, index);
+			owner.initElement(view);
+		}
+		return view;
+	}
+
+	@Override
+	public int size() {
+		return packed ? packedSize : objects.size();
+	}
+
+	@Override
+	public boolean add(GeoElement geo) {
+		unpack();
+		return objects.add(geo);
+	}
+
+	@Override
+	public void add(int index, GeoElement geo) {
+		unpack();
+		objects.add(index, geo);
+	}
+
+	@Override
+	public GeoElement set(int index, GeoElement geo) {
+		unpack();
+		return objects.set(index, geo);
+	}
+
+	@Override
+	public GeoElement remove(int index) {
+		unpack();
+		return objects.remove(index);
+	}
+
+	@Override
+	public void clear() {
+		objects.clear();
+		if (packed) {
+			undefineViews(0);
+		}
+		packed = false;
+		packedSize = 0;
+	}
+
+	/**
+	 * @param capacity
+	 *            capacity to ensure
+	 */
+	void ensureCapacity(int capacity) {
+		objects.ensureCapacity(capacity);
+	}
+
+	/**
+	 * Replaces all elements by numbers or points given by coordinates. The
+	 * arrays are owned by this list afterwards.
+	 *
+	 * @param x
+	 *            values of numbers or x-coordinates of points
+	 * @param y
+	 *            y-coordinates of points, null for numbers
+	 * @param n
+	 *            number of elements
+	 * @param elementTemplate
+	 *            element to copy for individual access
+	 * @param algo
+	 *            parent algo of the elements
+	 */
+	void setPacked(double[] x, double[] y, int n, GeoElement elementTemplate,
+			AlgoElement algo) {
+		if (!packed) {
+			// elements created by the algo before are no longer part of
+			// this list
+			for (GeoElement geo : objects) {
+				if (!geo.isLabelSet() && geo.getParentAlgorithm() == algo) {
+					geo.setUndefined();
+					geo.update();
+				}
+			}
+		}
+		objects.clear();
+		if (template != null && (elementTemplate.getGeoClassType() != template
+				.getGeoClassType() || algo != parent)) {
+			// existing views have the wrong type
+			undefineViews(0);
+			Arrays.fill(views, null);
+		}
+		packed = true;
+		xs = x;
+		ys = y;
+		packedSize = n;
+		template = elementTemplate;
+		parent = algo;
+		if (views.length < n) {
+			views = Arrays.copyOf(views, n);
+		}
+		// keep the objects that were already accessed up to date
+		for (int i = 0; i < n; i++) {
+			GeoElement view = views[i];
+			if (view != null) {
+				setViewValue(view, i);
+				view.update();
+			}
+		}
+		undefineViews(n);
+	}
+
+	/**
+	 * Objects of elements that are no longer in the list become undefined,
+	 * as they did when the algo stored elements as objects.
+	 */
+	private void undefineViews(int from) {
+		for (int i = from; i < views.length; i++) {
+			GeoElement view = views[i];
+			if (view != null && view.isDefined()) {
+				view.setUndefined();
+				view.update();
+			}
+		}
+	}
+
+	/**
+	 * @return whether the elements are numbers stored as values
+	 */
+	boolean isPackedNumbers() {
+		return packed && ys == null;
+	}
+
+	/**
+	 * @return whether the elements are points stored as coordinates
+	 */
+	boolean isPackedPoints() {
+		return packed && ys != null;
+	}
+
+	/**
+	 * @return values of numbers or x-coordinates of points (only the first
+	 *         {@link #size()} entries are used)
+	 */
+	double[] getPackedX() {
+		return xs;
+	}
+
+	/**
+	 * @return y-coordinates of points (only the first {@link #size()} entries
+	 *         are used)
+	 */
+	double[] getPackedY() {
+		return ys;
+	}
+
+	private GeoElement createView() {
+		GeoElement view = template.copyInternal(owner.getConstruction());
+		view.setParentAlgorithm(parent);
+		view.setConstructionDefaults();
+		view.setUseVisualDefaults(false);
+		return view;
+	}
+
+	private void setViewValue(GeoElement view, int i) {
+		if (ys == null) {
+			((GeoNumeric) view).setValue(xs[i]);
+		} else if (!MyDouble.isFinite(xs[i]) || !MyDouble.isFinite(ys[i])) {
+			view.setUndefined();
+		} else {
+			((GeoPoint) view).setCoords(xs[i], ys[i], 1.0);
+		}
+	}
+
+	/**
+	 * Creates objects for all elements and stores them as objects.
+	 */
+	private void unpack() {
+		if (!packed) {
+			return;
+		}
+		objects.ensureCapacity(packedSize);
+		for (int i = 0; i < packedSize; i++) {
+			objects.add(get(i));
+		}
+		packed = false;
+		packedSize = 0;
+		xs = null;
+		ys = null;
+	}
+}
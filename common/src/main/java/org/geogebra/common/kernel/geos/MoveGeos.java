@@ -16,8 +16,6 @@ import org.geogebra.common.kernel.matrix.Coords;
  * Library class for moving geos by drag
  */
 public class MoveGeos {
-	private static volatile ArrayList<GeoElement> moveObjectsUpdateList;
-
 	/**
 	 * Translates all GeoElement objects in geos by a vector in real world
 	 * coordinates or by (xPixel, yPixel) in screen coordinates.
@@ -37,9 +35,6 @@ public class MoveGeos {
 	public static boolean moveObjects(List<GeoElement> geosToMove,
 			final Coords rwTransVec, final Coords endPosition,
 			final Coords viewDirection, EuclidianView view) {
-		if (moveObjectsUpdateList == null) {
-			moveObjectsUpdateList = new ArrayList<>();
-		}
 		List<GeoElement> geos = geosToMove;
 		final ArrayList<GeoElement> geos2 = new ArrayList<>();
 
@@ -54,8 +49,8 @@ public class MoveGeos {
 
 		boolean moved = false;
 		final int size = geos.size();
-		moveObjectsUpdateList.clear();
-		moveObjectsUpdateList.ensureCapacity(size);
+		final ArrayList<GeoElement> moveObjectsUpdateList = new ArrayList<>(
+				size);
 
 		for (int i = 0; i < size; i++) {
 			final GeoElement geo = geos.get(i);
@@ -84,8 +79,12 @@ public class MoveGeos {
 		// then update all their algos.
 		// (don't do updateCascade() on them individually as this could cause
 		// multiple updates of the same algorithm)
-		GeoElement.updateCascade(moveObjectsUpdateList, GeoElement.getTempSet(),
-				false);
+		if (!moveObjectsUpdateList.isEmpty()) {
+			GeoElement.updateCascade(moveObjectsUpdateList,
+					moveObjectsUpdateList.get(0).getConstruction()
+							.getTempAlgoSet(),
+					false);
+		}
 
 		return moved;
 	}
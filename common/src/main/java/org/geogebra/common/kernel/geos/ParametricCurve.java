@@ -50,6 +50,19 @@ public interface ParametricCurve extends Traceable, Path, CurveEvaluable {
 	@Override
 	void evaluateCurve(double t, double[] out);
 
+	/**
+	 * Evaluates the curve for several parameter values
+	 * 
+	 * @param ts
+	 *            parameter values
+	 * @param out
+	 *            arrays to store the result, out[i][k] is the i-th coordinate
+	 *            for parameter ts[k]
+	 * @param n
+	 *            number of parameter values
+	 */
+	void evaluateCurve(double[] ts, double[][] out, int n);
+
 	/**
 	 * Evaluates the curve for given parameter value
 	 * 
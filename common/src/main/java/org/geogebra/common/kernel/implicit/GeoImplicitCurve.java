@@ -16,6 +16,7 @@ import org.geogebra.common.kernel.Kernel;
 import org.geogebra.common.kernel.PathMover;
 import org.geogebra.common.kernel.SegmentType;
 import org.geogebra.common.kernel.StringTemplate;
+import org.geogebra.common.kernel.TaskScheduler;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.algos.AlgoPointOnPath;
 import org.geogebra.common.kernel.arithmetic.Equation;
@@ -111,6 +112,8 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 	private double[] eval = new double[2];
 	private boolean calcPath = true;
+	// changed whenever values of the curve may change, see getCurveVersion
+	private int curveVersion = 0;
 
 	/**
 	 * Construct an empty Implicit Curve Object
@@ -198,6 +201,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	@Override
 	public void fromEquation(Equation eqn, double[][] coeffEqn) {
 
+		curveVersion++;
 		coeffSquarefree = null;
 
 		setDefinition(eqn.wrap());
@@ -437,6 +441,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	}
 
 	private void resetCoeff() {
+		curveVersion++;
 		isConstant = true;
 		degX = -1;
 		degY = -1;
@@ -795,6 +800,21 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 		}
 	}
 
+	@Override
+	public void update(boolean dragging) {
+		// the definition may depend on other objects
+		curveVersion++;
+		super.update(dragging);
+	}
+
+	/**
+	 * @return number that changes whenever the curve is set or updated, so
+	 *         that cached values can be checked
+	 */
+	int getCurveVersion() {
+		return curveVersion;
+	}
+
 	private static double get(double[] ds, int i) {
 		return ds.length > i ? ds[i] : 0;
 	}
@@ -1024,6 +1044,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	}
 
 	private void updateCoeffFromExpr() {
+		curveVersion++;
 		if (coeff != null) {
 			updateCoeff(new Equation(kernel, expression.getFunctionExpression(),
 					new MyDouble(kernel, 0)));
@@ -1674,11 +1695,14 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	private class WebExperimentalQuadTree extends QuadTree {
 		private static final int RES_COARSE = 8;
 		private static final int MAX_SPLIT = 40;
+		private static final int MIN_PARALLEL_ROWS = 4;
 		private int plotDepth;
 		private int segmentCheckDepth;
+		private boolean fastDevice = true;
 		private int sw;
 		private int sh;
 		private Rect[][] grid;
+		private TileCache[] tileCaches = new TileCache[0];
 		private Timer timer = Timer.newTimer();
 
 		public WebExperimentalQuadTree() {
@@ -1687,79 +1711,100 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 
 		@Override
 		public void updatePath() {
+			if (tileCaches.length != factorLength()) {
+				tileCaches = new TileCache[factorLength()];
+			}
 			for (int factor = 0; factor < factorLength(); ++factor) {
 				try {
 					evaluateImplicitCurve(0, 0, factor);
 				} catch (Throwable e) {
 					continue;
 				}
-				this.sw = Math.min(MAX_SPLIT, (int) (w * scaleX / RES_COARSE));
-				this.sh = Math.min(MAX_SPLIT, (int) (h * scaleY / RES_COARSE));
-				if (sw == 0 || sh == 0) {
+				if ((int) (w * scaleX / RES_COARSE) == 0
+						|| (int) (h * scaleY / RES_COARSE) == 0) {
 					return;
 				}
-
-				this.grid = new Rect[sh][sw];
-
-				double frx = w / sw;
-				double fry = h / sh;
-
-				double[] vertices = new double[sw + 1];
-				double[] xcoords = new double[sw + 1];
-				double[] ycoords = new double[sh + 1];
-				double cur, prev;
-
-				for (int i = 0; i <= sw; i++) {
-					xcoords[i] = x + i * frx;
+				// cell size depends only on the zoom, grid lines are its
+				// multiples: panning reuses cached samples
+				int levelX = TileCache.getLevel(
+						Math.max(w / MAX_SPLIT, RES_COARSE / scaleX));
+				int levelY = TileCache.getLevel(
+						Math.max(h / MAX_SPLIT, RES_COARSE / scaleY));
+				double frx = TileCache.getSize(levelX);
+				double fry = TileCache.getSize(levelY);
+				long ix = (long) Math.floor(x / frx);
+				long iy = (long) Math.floor(y / fry);
+				this.sw = (int) ((long) Math.ceil((x + w) / frx) - ix);
+				this.sh = (int) ((long) Math.ceil((y + h) / fry) - iy);
+				if (sw <= 0 || sh <= 0) {
+					return;
 				}
 
-				for (int i = 0; i <= sh; i++) {
-					ycoords[i] = y + i * fry;
+				if (tileCaches[factor] == null) {
+					tileCaches[factor] = new TileCache();
+				}
+				TileCache cache = tileCaches[factor];
+				cache.validate(curveVersion,
+						coeffSquarefree == null ? getFactor(factor)
+								: coeffSquarefree[factor],
+						levelX, levelY);
+				cache.ensureCapacity((sw + 1) * (sh + 1));
+
+				TileCache.Sample[][] samples = new TileCache.Sample[sh
+						+ 1][sw + 1];
+				ArrayList<Runnable> rows = new ArrayList<>();
+				int i, j;
+				for (i = 0; i <= sh; i++) {
+					boolean missing = false;
+					for (j = 0; j <= sw; j++) {
+						TileCache.Sample sample = cache.get(ix + j, iy + i);
+						missing |= !sample.evaluated || (i < sh && j < sw
+								&& sample.singular == TileCache.UNKNOWN);
+						samples[i][j] = sample;
+					}
+					if (missing) {
+						rows.add(new SampleRow(samples[i], ix, iy + i, frx,
+								fry, factor, i < sh));
+					}
 				}
 
-				for (int i = 0; i <= sw; i++) {
-					vertices[i] = evaluateImplicitCurve(xcoords[i], ycoords[0],
-							factor);
+				timer.reset();
+				TaskScheduler scheduler = kernel.getTaskScheduler();
+				if (scheduler != null && rows.size() >= MIN_PARALLEL_ROWS
+						&& coeffSquarefree != null && coeff != null) {
+					// polynomial evaluation is thread safe
+					scheduler.runAll(rows);
+				} else {
+					for (Runnable row : rows) {
+						row.run();
+					}
 				}
 
 				// initialize grid configuration at the search depth
-				int i, j;
-				double dx, dy, fx, fy;
-				// debug = true;
-				timer.reset();
-				for (i = 1; i <= sh; i++) {
-					prev = evaluateImplicitCurve(xcoords[0], ycoords[i],
-							factor);
-					fy = ycoords[i] - 0.5 * fry;
-					for (j = 1; j <= sw; j++) {
-						cur = evaluateImplicitCurve(xcoords[j], ycoords[i],
-								factor);
-						Rect rect = new Rect(j - 1, i - 1, frx, fry, false);
-						rect.coords.val[0] = xcoords[j - 1];
-						rect.coords.val[1] = ycoords[i - 1];
-						rect.evals[0] = vertices[j - 1];
-						rect.evals[1] = vertices[j];
-						rect.evals[2] = cur;
-						rect.evals[3] = prev;
+				this.grid = new Rect[sh][sw];
+				for (i = 0; i < sh; i++) {
+					for (j = 0; j < sw; j++) {
+						Rect rect = new Rect(j, i, frx, fry,
+								samples[i][j].singular == TileCache.SINGULAR);
+						rect.coords.val[0] = (ix + j) * frx;
+						rect.coords.val[1] = (iy + i) * fry;
+						rect.evals[0] = samples[i][j].value;
+						rect.evals[1] = samples[i][j + 1].value;
+						rect.evals[2] = samples[i + 1][j + 1].value;
+						rect.evals[3] = samples[i + 1][j].value;
 						rect.status = edgeConfig(rect);
 						rect.shares = 0xff;
-						fx = xcoords[j] - 0.5 * frx;
-						dx = derivativeX(fx, fy);
-						dy = derivativeY(fx, fy);
-						dx = Math.abs(dx) + Math.abs(dy);
-						if (DoubleUtil.isZero(dx, 0.001)) {
-							rect.singular = true;
-						}
-						this.grid[i - 1][j - 1] = rect;
-						vertices[j - 1] = prev;
-						prev = cur;
+						this.grid[i][j] = rect;
 					}
-					vertices[sw] = prev;
 				}
 
 				timer.record();
+				// timing of cached grids says nothing about the device
+				if (2 * rows.size() > sh) {
+					fastDevice = timer.elapse <= 10;
+				}
 
-				if (timer.elapse <= 10) {
+				if (fastDevice) {
 					// Fast device optimize for UX
 					plotDepth = 3;
 					segmentCheckDepth = 2;
@@ -1793,6 +1838,52 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 			}
 		}
 
+		/**
+		 * Evaluates missing samples of one grid row.
+		 */
+		private class SampleRow implements Runnable {
+			private final TileCache.Sample[] row;
+			private final long ix;
+			private final long iy;
+			private final double frx;
+			private final double fry;
+			private final int factor;
+			private final boolean checkCells;
+
+			protected SampleRow(TileCache.Sample[] row, long ix, long iy,
+					double frx, double fry, int factor, boolean checkCells) {
+				this.row = row;
+				this.ix = ix;
+				this.iy = iy;
+				this.frx = frx;
+				this.fry = fry;
+				this.factor = factor;
+				this.checkCells = checkCells;
+			}
+
+			@Override
+			public void run() {
+				double y0 = iy * fry;
+				double cy = y0 + 0.5 * fry;
+				for (int j = 0; j < row.length; j++) {
+					TileCache.Sample sample = row[j];
+					double x0 = (ix + j) * frx;
+					if (!sample.evaluated) {
+						sample.value = evaluateImplicitCurve(x0, y0, factor);
+						sample.evaluated = true;
+					}
+					if (checkCells && j < row.length - 1
+							&& sample.singular == TileCache.UNKNOWN) {
+						double cx = x0 + 0.5 * frx;
+						double d = Math.abs(derivativeX(cx, cy))
+								+ Math.abs(derivativeY(cx, cy));
+						sample.singular = DoubleUtil.isZero(d, 0.001)
+								? TileCache.SINGULAR : TileCache.REGULAR;
+					}
+				}
+			}
+		}
+
 		public void createTree(Rect r, int depth, int factor) {
 			Rect[] n = r.split(GeoImplicitCurve.this, factor);
 			plot(n[0], depth, factor);
@@ -2194,6 +2285,7 @@ public class GeoImplicitCurve extends GeoElement implements EuclidianViewCE,
 	}
 
 	private void doSetCoeff(double[][] coeffMatrix) {
+		curveVersion++;
 		if (coeffMatrix == null) {
 			resetCoeff();
 			return;
@@ -0,0 +1,119 @@
+package org.geogebra.common.kernel.implicit;
+
+import java.util.HashMap;
+
+/**
+ * Samples of one factor of an implicit curve on a world-space grid. Grid
+ * lines are multiples of the cell size, so after panning the samples of cells
+ * that stay visible are reused and only newly exposed cells are evaluated.
+ */
+final class TileCache {
+	/** singularity of the cell was not checked yet */
+	static final int UNKNOWN = -1;
+	/** cell has no singular point */
+	static final int REGULAR = 0;
+	/** cell may contain a singular point */
+	static final int SINGULAR = 1;
+
+	/** maximal number of samples, about ten screens */
+	private static final int MAX_SIZE = 20000;
+	/** cell sizes grow by factor 2^(1/LEVELS_PER_OCTAVE) */
+	private static final int LEVELS_PER_OCTAVE = 4;
+
+	private final HashMap<Long, Sample> samples = new HashMap<>();
+	private int levelX;
+	private int levelY;
+	private Object definition;
+	private int version = -1;
+
+	/**
+	 * Value of the curve at a grid point and singularity of the cell having
+	 * this point as its first corner.
+	 */
+	static final class Sample {
+		double value;
+		boolean evaluated;
+		int singular = UNKNOWN;
+	}
+
+	/**
+	 * Clears the cache unless it contains samples of the same curve for the
+	 * same cell size.
+	 *
+	 * @param curveVersion
+	 *            version of the curve, see
+	 *            {@link GeoImplicitCurve#getCurveVersion()}
+	 * @param factorDefinition
+	 *            coefficients or function of the factor
+	 * @param newLevelX
+	 *            cell width level, see {@link #getLevel(double)}
+	 * @param newLevelY
+	 *            cell height level
+	 */
+	void validate(int curveVersion, Object factorDefinition, int newLevelX,
+			int newLevelY) {
+		if (curveVersion != version || factorDefinition != definition
+				|| newLevelX != levelX || newLevelY != levelY) {
+			samples.clear();
+			version = curveVersion;
+			definition = factorDefinition;
+			levelX = newLevelX;
+			levelY = newLevelY;
+		}
+	}
+
+	/**
+	 * Makes room for given number of new samples.
+	 *
+	 * @param count
+	 *            number of samples needed for the next grid
+	 */
+	void ensureCapacity(int count) {
+		if (samples.size() + count > MAX_SIZE) {
+			samples.clear();
+		}
+	}
+
+	/**
+	 * @param ix
+	 *            column of the grid point
+	 * @param iy
+	 *            row of the grid point
+	 * @return cached sample or new sample that needs to be evaluated
+	 */
+	Sample get(long ix, long iy) {
+		Long key = (ix << 32) ^ (iy & 0xffffffffL);
+		Sample sample = samples.get(key);
+		if (sample == null) {
+			sample = new Sample();
+			samples.put(key, sample);
+		}
+		return sample;
+	}
+
+	/**
+	 * @return number of cached samples
+	 */
+	int size() {
+		return samples.size();
+	}
+
+	/**
+	 * @param minSize
+	 *            minimal cell size
+	 * @return smallest level with cell size at least minSize
+	 */
+	static int getLevel(double minSize) {
+		return (int) Math.ceil(
+				LEVELS_PER_OCTAVE * Math.log(minSize) / Math.log(2) - 1E-9);
+	}
+
+	/**
+	 * @param level
+	 *            level
+	 * @return cell size for given level
+	 */
+	static double getSize(int level) {
+		return Math.pow(2, level / (double) LEVELS_PER_OCTAVE);
+	}
+}
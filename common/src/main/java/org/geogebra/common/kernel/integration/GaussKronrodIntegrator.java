@@ -0,0 +1,334 @@
+package org.geogebra.common.kernel.integration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.commons.math3.analysis.UnivariateFunction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.TaskScheduler;
+import org.geogebra.common.util.DoubleUtil;
+
+/**
+ * Adaptive Gauss-Kronrod (7/15 points) integration. An interval is accepted
+ * when the Gauss and Kronrod results agree, otherwise it is bisected.
+ *
+ * Accepted subintervals can be kept for the next integration of the same
+ * function, so that moving a bound only needs integration of the new part.
+ * Expensive integrations of thread safe functions may be split into parts
+ * integrated concurrently.
+ */
+public class GaussKronrodIntegrator {
+
+	/** maximal number of subintervals for one integration */
+	public static final int MAX_SUBINTERVALS = 500;
+	private static final int MAX_CACHED = 4096;
+	/** minimal number of subintervals of the last integration to split */
+	public static final int MIN_PARALLEL_SUBINTERVALS = 64;
+
+	// Kronrod nodes (odd indices are also Gauss nodes) and weights
+	private static final double[] XGK = { 0.991455371120812639206854697526329,
+			0.949107912342758524526189684047851,
+			0.864864423359769072789712788640926,
+			0.741531185599394439863864773280788,
+			0.586087235467691130294144845693013,
+			0.405845151377397166906606412076961,
+			0.207784955007898467600689403773245, 0 };
+	private static final double[] WGK = { 0.022935322010529224963732008058970,
+			0.063092092629978553290700663189204,
+			0.104790010322250183839876322541518,
+			0.140653259715525918745189590510238,
+			0.169004726639267902826583426598550,
+			0.190350578064785409913256402421014,
+			0.204432940075298892414161999234649,
+			0.209482141084727828012999174891714 };
+	private static final double[] WG = { 0.129484966168869693270611432679082,
+			0.279705391489276667901467771423780,
+			0.381830050505118944950369775488975,
+			0.417959183673469387755102040816327 };
+
+	private final double[] nodes = new double[15];
+	private final double[] nodeValues = new double[15];
+	private int maxSubintervals = MAX_SUBINTERVALS;
+	private int subintervals;
+
+	// accepted subintervals of the last integration, sorted
+	private Object cacheKey;
+	private double[] starts = new double[0];
+	private double[] ends = new double[0];
+	private double[] values = new double[0];
+	private int cached = 0;
+	// subintervals accepted in the current integration
+	private double[] newStarts = new double[16];
+	private double[] newEnds = new double[16];
+	private double[] newValues = new double[16];
+	private int added = 0;
+
+	/**
+	 * @param maxSubintervals
+	 *            maximal number of subintervals for one integration
+	 */
+	public void setMaxSubintervals(int maxSubintervals) {
+		this.maxSubintervals = maxSubintervals;
+	}
+
+	/**
+	 * @param fun
+	 *            function
+	 * @param a
+	 *            lower bound
+	 * @param b
+	 *            upper bound
+	 * @return integral value, NaN if the integral does not converge
+	 */
+	public double integrate(UnivariateFunction fun, double a, double b) {
+		return integrate(fun, a, b, null);
+	}
+
+	/**
+	 * @param fun
+	 *            function
+	 * @param a
+	 *            lower bound
+	 * @param b
+	 *            upper bound
+	 * @param key
+	 *            object equal to the key of the previous integration iff the
+	 *            function did not change; null to disable caching
+	 * @return integral value, NaN if the integral does not converge
+	 */
+	public double integrate(UnivariateFunction fun, double a, double b,
+			Object key) {
+		if (a == b) {
+			return 0;
+		}
+		if (a > b) {
+			return -integrate(fun, b, a, key);
+		}
+		if (key == null || !key.equals(cacheKey)) {
+			cached = 0;
+		}
+		cacheKey = key;
+		subintervals = 0;
+		added = 0;
+		double sum = 0;
+		double from = a;
+		for (int i = 0; i < cached && !Double.isNaN(sum); i++) {
+			if (starts[i] < from || ends[i] > b) {
+				continue;
+			}
+			// integrate the gap before the cached subinterval
+			if (starts[i] > from) {
+				sum += integrateAdaptive(fun, from, starts[i]);
+			}
+			sum += values[i];
+			from = ends[i];
+		}
+		if (from < b && !Double.isNaN(sum)) {
+			sum += integrateAdaptive(fun, from, b);
+		}
+		if (Double.isNaN(sum) || key == null) {
+			cached = 0;
+		} else {
+			mergeNewSubintervals();
+		}
+		return sum;
+	}
+
+	/**
+	 * Same as {@link #integrate(UnivariateFunction, double, double, Object)},
+	 * but if the last integration needed at least
+	 * {@link #MIN_PARALLEL_SUBINTERVALS} subintervals and no cached ones can
+	 * be reused, the interval is split into parts that are integrated
+	 * concurrently. The limit for the number of subintervals applies to all
+	 * parts together.
+	 * 
+	 * @param fun
+	 *            function, must allow evaluation from several threads
+	 * @param a
+	 *            lower bound
+	 * @param b
+	 *            upper bound
+	 * @param key
+	 *            object equal to the key of the previous integration iff the
+	 *            function did not change; null to disable caching
+	 * @param scheduler
+	 *            scheduler for the parts, may be null
+	 * @return integral value, NaN if the integral does not converge
+	 */
+	public double integrate(final UnivariateFunction fun, double a, double b,
+			Object key, TaskScheduler scheduler) {
+		boolean reuse = key != null && key.equals(cacheKey) && cached > 0;
+		if (scheduler == null || scheduler.getParallelism() < 2 || reuse
+				|| subintervals < MIN_PARALLEL_SUBINTERVALS || a == b) {
+			return integrate(fun, a, b, key);
+		}
+		if (a > b) {
+			return -integrate(fun, b, a, key, scheduler);
+		}
+		int parts = scheduler.getParallelism();
+		double[] bounds = new double[parts + 1];
+		for (int i = 0; i < parts; i++) {
+			bounds[i] = a + (b - a) * i / parts;
+		}
+		bounds[parts] = b;
+		final GaussKronrodIntegrator[] integrators =
+				new GaussKronrodIntegrator[parts];
+		final double[] sums = new double[parts];
+		ArrayList<Runnable> tasks = new ArrayList<>(parts);
+		for (int i = 0; i < parts; i++) {
+			final int index = i;
+			final double from = bounds[i];
+			final double to = bounds[i + 1];
+			integrators[i] = new GaussKronrodIntegrator();
+			integrators[i].setMaxSubintervals(maxSubintervals);
+			tasks.add(new Runnable() {
+				@Override
+				public void run() {
+					sums[index] = integrators[index].integrate(fun, from, to);
+				}
+			});
+		}
+		scheduler.runAll(tasks);
+
+		// collect the accepted subintervals, parts are in order
+		cacheKey = key;
+		cached = 0;
+		subintervals = 0;
+		added = 0;
+		double sum = 0;
+		for (int i = 0; i < parts; i++) {
+			GaussKronrodIntegrator part = integrators[i];
+			sum += sums[i];
+			subintervals += part.subintervals;
+			for (int j = 0; j < part.added; j++) {
+				addSubinterval(part.newStarts[j], part.newEnds[j],
+						part.newValues[j]);
+			}
+		}
+		if (subintervals > maxSubintervals) {
+			sum = Double.NaN;
+		}
+		if (!Double.isNaN(sum) && key != null) {
+			mergeNewSubintervals();
+		}
+		return sum;
+	}
+
+	private double integrateAdaptive(UnivariateFunction fun, double a,
+			double b) {
+		if (++subintervals > maxSubintervals) {
+			return Double.NaN;
+		}
+		double center = (a + b) / 2;
+		double halfLength = (b - a) / 2;
+		for (int j = 0; j < 7; j++) {
+			double dx = halfLength * XGK[j];
+			nodes[2 * j] = center - dx;
+			nodes[2 * j + 1] = center + dx;
+		}
+		nodes[14] = center;
+		// evaluate all nodes at once
+		try {
+			for (int i = 0; i < nodes.length; i++) {
+				nodeValues[i] = fun.value(nodes[i]);
+			}
+		} catch (RuntimeException e) {
+			return Double.NaN;
+		}
+		double kronrod = nodeValues[14] * WGK[7];
+		double gauss = nodeValues[14] * WG[3];
+		for (int j = 0; j < 7; j++) {
+			double pair = nodeValues[2 * j] + nodeValues[2 * j + 1];
+			kronrod += WGK[j] * pair;
+			if (j % 2 == 1) {
+				gauss += WG[j / 2] * pair;
+			}
+		}
+		kronrod *= halfLength;
+		gauss *= halfLength;
+		if (Double.isNaN(kronrod)) {
+			return Double.NaN;
+		}
+		if (DoubleUtil.isEqual(kronrod, gauss, Kernel.STANDARD_PRECISION)) {
+			addSubinterval(a, b, kronrod);
+			return kronrod;
+		}
+		double mid = center;
+		if (mid <= a || mid >= b) {
+			// interval too small to be bisected
+			return Double.NaN;
+		}
+		double left = integrateAdaptive(fun, a, mid);
+		if (Double.isNaN(left)) {
+			return Double.NaN;
+		}
+		return left + integrateAdaptive(fun, mid, b);
+	}
+
+	private void addSubinterval(double a, double b, double value) {
+		if (added == newStarts.length) {
+			newStarts = Arrays.copyOf(newStarts, 2 * added);
+			newEnds = Arrays.copyOf(newEnds, 2 * added);
+			newValues = Arrays.copyOf(newValues, 2 * added);
+		}
+		newStarts[added] = a;
+		newEnds[added] = b;
+		newValues[added] = value;
+		added++;
+	}
+
+	/**
+	 * Merges subintervals of this integration into the sorted cache. Cached
+	 * subintervals overlapping new ones are dropped.
+	 */
+	private void mergeNewSubintervals() {
+		int total = cached + added;
+		if (total > MAX_CACHED) {
+			cached = 0;
+			return;
+		}
+		double[] mergedStarts = new double[total];
+		double[] mergedEnds = new double[total];
+		double[] mergedValues = new double[total];
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < cached || j < added) {
+			if (j >= added || (i < cached && starts[i] < newStarts[j])) {
+				boolean overlaps = (j < added && ends[i] > newStarts[j])
+						|| (j > 0 && starts[i] < newEnds[j - 1]);
+				if (!overlaps) {
+					mergedStarts[k] = starts[i];
+					mergedEnds[k] = ends[i];
+					mergedValues[k] = values[i];
+					k++;
+				}
+				i++;
+			} else {
+				mergedStarts[k] = newStarts[j];
+				mergedEnds[k] = newEnds[j];
+				mergedValues[k] = newValues[j];
+				k++;
+				j++;
+			}
+		}
+		starts = mergedStarts;
+		ends = mergedEnds;
+		values = mergedValues;
+		cached = k;
+	}
+
+	/**
+	 * @return number of cached subintervals
+	 */
+	public int getCachedSubintervals() {
+		return cached;
+	}
+
+	/**
+	 * @return number of subintervals evaluated in the last integration
+	 */
+	public int getEvaluatedSubintervals() {
+		return subintervals;
+	}
+}
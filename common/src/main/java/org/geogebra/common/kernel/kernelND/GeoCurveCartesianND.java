@@ -730,6 +730,13 @@ public abstract class GeoCurveCartesianND extends GeoElement
 
 	}
 
+	@Override
+	public void evaluateCurve(double[] ts, double[][] out, int n) {
+		for (int i = 0; i < out.length; i++) {
+			getFun(i).value(ts, out[i], n);
+		}
+	}
+
 	/**
 	 * 
 	 * @param points
@@ -980,7 +980,7 @@ public class CoordMatrix {
 	 * @param columns
 	 *            matrix columns
 	 */
-	static synchronized final public void solve(double[][] matrixForSolve,
+	static final public void solve(double[][] matrixForSolve,
 			double[] sol, Coords res,
 			Coords... columns) {
 
@@ -0,0 +1,154 @@
+package org.geogebra.common.kernel.parser;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.geogebra.common.kernel.Construction;
+import org.geogebra.common.kernel.Kernel;
+import org.geogebra.common.kernel.arithmetic.ExpressionValue;
+import org.geogebra.common.kernel.arithmetic.FunctionVariable;
+import org.geogebra.common.kernel.arithmetic.Inspecting;
+import org.geogebra.common.kernel.arithmetic.ValidExpression;
+import org.geogebra.common.kernel.geos.GeoElement;
+
+/**
+ * Bounded LRU cache of parsed input, so that scripts evaluating the same
+ * command many times don't run the parser every time.
+ *
+ * The parser looks up labels to decide e.g. between multiplication and
+ * function application, so all entries are dropped when labels change.
+ * Results are kept as templates and every call gets a deep copy.
+ */
+public class ParseResultCache {
+
+	/** default number of entries */
+	public static final int DEFAULT_SIZE = 256;
+
+	private final Kernel kernel;
+	private final LinkedHashMap<String, ValidExpression> templates;
+	private int labelVersion = -1;
+	private long hits = 0;
+	private long misses = 0;
+
+	private static final Inspecting NOT_REUSABLE = new Inspecting() {
+		@Override
+		public boolean check(ExpressionValue v) {
+			// function variables are shared by deep copies; unlabeled
+			// elements are created by the parser (e.g. random numbers)
+			return v instanceof FunctionVariable || (v instanceof GeoElement
+					&& !((GeoElement) v).isLabelSet());
+		}
+	};
+
+	/**
+	 * @param kernel
+	 *            kernel
+	 * @param size
+	 *            maximal number of entries
+	 */
+	public ParseResultCache(Kernel kernel, final int size) {
+		this.kernel = kernel;
+		this.templates = new LinkedHashMap<String, ValidExpression>(16, 0.75f,
+				true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<String, ValidExpression> eldest) {
+				return size() > size;
+			}
+		};
+	}
+
+	/**
+	 * Parses the input or copies the result of a previous call.
+	 *
+	 * @param parser
+	 *            parser used for new input
+	 * @param input
+	 *            input
+	 * @return expression, not shared with other callers
+	 * @throws ParseException
+	 *             if parsing fails
+	 */
+	public ValidExpression parseGeoGebraExpression(ParserInterface parser,
+			String input) throws ParseException {
+		Construction cons = kernel.getConstruction();
+		if (cons.isFileLoading()
+				|| cons.getRegisteredFunctionVariable() != null) {
+			return parser.parseGeoGebraExpression(input);
+		}
+		if (labelVersion != cons.getLabelVersion()) {
+			templates.clear();
+			labelVersion = cons.getLabelVersion();
+		}
+		String key = getKey(input);
+		ValidExpression template = templates.get(key);
+		if (template != null) {
+			hits++;
+			return copy(template);
+		}
+		misses++;
+		ValidExpression parsed = parser.parseGeoGebraExpression(input);
+		if (parsed == null || cons.getRegisteredFunctionVariable() != null
+				|| labelVersion != cons.getLabelVersion()
+				|| parsed.inspect(NOT_REUSABLE)) {
+			// parsing had side effects or the result can't be copied
+			return parsed;
+		}
+		templates.put(key, parsed);
+		return copy(parsed);
+	}
+
+	private String getKey(String input) {
+		StringBuilder sb = new StringBuilder(input.length() + 20);
+		sb.append(kernel.getLocalization().getLocaleStr());
+		sb.append(',');
+		sb.append(kernel.getAngleUnit());
+		sb.append(',');
+		sb.append(kernel.getSymbolicMode());
+		sb.append(',');
+		sb.append(kernel.getAlgebraProcessor().enableStructures());
+		sb.append(',');
+		sb.append(kernel.isUsingInternalCommandNames());
+		sb.append('\n');
+		sb.append(input);
+		return sb.toString();
+	}
+
+	private ValidExpression copy(ValidExpression template) {
+		ValidExpression ret = template.deepCopy(kernel);
+		if (template.labelCount() > 0) {
+			ret.setLabels(template.getLabels());
+		}
+		return ret;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		templates.clear();
+	}
+
+	/**
+	 * @return number of cached expressions
+	 */
+	public int size() {
+		return templates.size();
+	}
+
+	/**
+	 * @return number of calls that didn't need the parser
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return number of calls that needed the parser
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+}
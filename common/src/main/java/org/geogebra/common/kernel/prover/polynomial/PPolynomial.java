@@ -1,13 +1,13 @@
 package org.geogebra.common.kernel.prover.polynomial;
 
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
@@ -26,13 +26,13 @@ import org.geogebra.common.util.debug.Log;
  * 
  */
 public class PPolynomial implements Comparable<PPolynomial> {
-	private TreeMap<PTerm, BigInteger> terms;
+	private final PackedTerms terms;
 
 	/**
 	 * Creates the 0 polynomial
 	 */
 	public PPolynomial() {
-		terms = new TreeMap<>();
+		terms = PackedTerms.ZERO;
 	}
 
 	/**
@@ -42,21 +42,21 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the polynomial to copy
 	 */
 	public PPolynomial(final PPolynomial poly) {
-		terms = new TreeMap<>(poly.getTerms());
+		terms = poly.terms;
 	}
 
-	private PPolynomial(final TreeMap<PTerm, BigInteger> terms) {
+	private PPolynomial(final PackedTerms terms) {
 		this.terms = terms;
 	}
 
 	/**
-	 * Getter for the map which contains the terms and the according
+	 * Creates a new map which contains the terms and the according
 	 * coefficients.
 	 * 
 	 * @return the map
 	 */
 	public TreeMap<PTerm, BigInteger> getTerms() {
-		return terms;
+		return terms.toMap();
 	}
 
 	/**
@@ -66,7 +66,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the constant
 	 */
 	public PPolynomial(final BigInteger coeff) {
-		this(coeff, new PTerm());
+		terms = PackedTerms.constant(coeff);
 	}
 
 	/**
@@ -76,7 +76,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the constant
 	 */
 	public PPolynomial(final long coeff) {
-		this(new BigInteger(Long.toString(coeff)), new PTerm());
+		terms = PackedTerms.constant(coeff);
 	}
 	
 	/**
@@ -86,8 +86,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the variable
 	 */
 	public PPolynomial(final PVariable fv) {
-		this();
-		terms.put(new PTerm(fv), BigInteger.ONE);
+		terms = PackedTerms.monomial(BigInteger.ONE, fv, 1);
 	}
 
 	/**
@@ -99,9 +98,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the variable
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable), coeff);
+		terms = PackedTerms.monomial(coeff, variable, 1);
 	}
 
 	/**
@@ -116,9 +113,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public PPolynomial(final BigInteger coeff, final PVariable variable,
 			final int power) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(new PTerm(variable, power), coeff);
+		terms = PackedTerms.monomial(coeff, variable, power);
 	}
 
 	/**
@@ -128,8 +123,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the term
 	 */
 	public PPolynomial(final PTerm t) {
-		this();
-		terms.put(t, BigInteger.ONE);
+		terms = PackedTerms.monomial(BigInteger.ONE, t);
 	}
 
 	/**
@@ -141,9 +135,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 *            the term
 	 */
 	public PPolynomial(final BigInteger coeff, final PTerm t) {
-		this();
-		if (coeff != BigInteger.ZERO)
-			terms.put(t, coeff);
+		terms = PackedTerms.monomial(coeff, t);
 	}
 
 	/**
@@ -154,24 +146,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the sum
 	 */
 	public PPolynomial add(final PPolynomial poly) {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>(terms);
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it = terms2.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			if (terms.containsKey(t)) {
-				BigInteger coefficient = terms.get(t).add(terms2.get(t));
-				if (coefficient == BigInteger.ZERO) {
-					result.remove(t);
-				} else {
-					result.put(t, terms.get(t).add(entry.getValue()));
-				}
-			} else {
-				result.put(t, entry.getValue());
-			}
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(terms.add(poly.terms));
 	}
 
 	/**
@@ -180,14 +155,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the negation of the polynomial
 	 */
 	public PPolynomial negate() {
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			result.put(t, BigInteger.ZERO.subtract(entry.getValue()));
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(terms.negate());
 	}
 
 	/**
@@ -221,114 +189,52 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		}
 		*/
 		
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		TreeMap<PTerm, BigInteger> terms2 = poly.getTerms();
-		Iterator<Entry<PTerm, BigInteger>> it1 = terms.entrySet().iterator();
-		while (it1.hasNext()) {
-			Entry<PTerm, BigInteger> entry1 = it1.next();
-			PTerm t1 = entry1.getKey();
-			Iterator<Entry<PTerm, BigInteger>> it2 = terms2.entrySet()
-					.iterator();
-			while (it2.hasNext()) {
-				Entry<PTerm, BigInteger> entry2 = it2.next();
-				PTerm t2 = entry2.getKey();
-				PTerm product = t1.times(t2);
-				BigInteger productCoefficient = entry1.getValue()
-						.multiply(entry2.getValue());
-				if (result.containsKey(product)) {
-					BigInteger sum = result.get(product).add(productCoefficient);
-					if (sum == BigInteger.ZERO) {
-						result.remove(product);
-					} else {
-						result.put(product, result.get(product).add(productCoefficient));
-					}
-				} else {
-					result.put(product, productCoefficient);
-				}
-			}
-
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(terms.multiply(poly.terms));
 	}
 
 	@Override
 	public int compareTo(PPolynomial poly) {
-		if (this==poly){
+		if (this == poly) {
 			return 0;
 		}
-
-		TreeMap<PTerm, BigInteger> polyVars = poly.getTerms();
-		if (polyVars.isEmpty()) {
-			if (terms.isEmpty()) {
-				return 0;
-			}
-			return 1;
-		}
-		if (terms.isEmpty()) {
-			return -1;
-		}
-		
-		PTerm termsLastKey=terms.lastKey(),
-				polyVarsLastKey=polyVars.lastKey();
-
-		int compare = termsLastKey.compareTo(polyVarsLastKey);
-
-		if (compare == 0) {
-			compare = terms.get(termsLastKey).compareTo(polyVars.get(polyVarsLastKey));
-		}
-
-		if (compare != 0) {
-			return compare;
-		}
-		
-		do {
-			SortedMap<PTerm, BigInteger> termsSub = terms.headMap(termsLastKey);
-			SortedMap<PTerm, BigInteger> oSub = polyVars.headMap(polyVarsLastKey);
-			if (termsSub.isEmpty()) {
-				if (oSub.isEmpty()) {
-					return 0;
-				}
-				return -1;
-			}
-			if (oSub.isEmpty()) {
-				return 1;
-			}
-			termsLastKey=termsSub.lastKey();
-			polyVarsLastKey=oSub.lastKey();
-			compare = termsLastKey.compareTo(polyVarsLastKey);
-			if (compare == 0) {
-				compare = termsSub.get(termsLastKey).compareTo(
-						oSub.get(polyVarsLastKey));
-			}
-		} while (compare == 0);
-
-		return compare;
+		return terms.compareTo(poly.terms);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		if (!it.hasNext()) {
-			return "0";
+		appendTo(sb);
+		return sb.toString();
+	}
+
+	/**
+	 * Appends the polynomial in the format of {@link #toString()}, used for
+	 * building CAS input without creating intermediate strings.
+	 * 
+	 * @param sb
+	 *            output
+	 */
+	public void appendTo(StringBuilder sb) {
+		if (terms.size == 0) {
+			sb.append('0');
+			return;
 		}
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			BigInteger c = entry.getValue();
-			if (!t.getTerm().isEmpty()) {
-				if (c != BigInteger.ONE)
-					sb.append(c + "*");
-				sb.append(t);
+		for (int i = 0; i < terms.size; i++) {
+			if (i > 0 && terms.signum(i) > 0) {
+				sb.append('+');
+			}
+			if (terms.isConstantTerm(i)) {
+				terms.appendCoefficient(sb, i);
+			} else {
+				if (terms.coefficientEquals(i, -1)) {
+					sb.append('-');
+				} else if (!terms.coefficientEquals(i, 1)) {
+					terms.appendCoefficient(sb, i);
+					sb.append('*');
+				}
+				terms.appendTerm(sb, i);
 			}
-			else
-				sb.append(c);
-			sb.append('+');
 		}
-		String ret = sb.substring(0, sb.length() - 1); // removing closing "+"
-		ret = ret.replaceAll("\\+-", "-").replaceAll("-1\\*", "-")
-				.replaceAll("\\+1\\*", "+").replaceAll("^1\\*", "");
-		return ret;
 	}
 
 	/**
@@ -336,55 +242,38 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return the LaTeX formatted polynomial
 	 */
 	public String toTeX() {
-		StringBuilder sb = new StringBuilder();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		if (!it.hasNext()) {
+		if (terms.size == 0) {
 			return "0";
 		}
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t = entry.getKey();
-			BigInteger c = entry.getValue();
-			if (!t.getTerm().isEmpty()) {
-				if (!c.equals(BigInteger.ONE)) {
-					// c != -1
-					if (!(c.add(BigInteger.ONE)).equals(BigInteger.ZERO)) {
-						// c < -1
-						if (c.add(BigInteger.ONE).compareTo(BigInteger.ZERO) < 0) {
-							if (sb.length() > 0) {
-								sb.deleteCharAt(sb.length()-1); // removing last "+"
-							}
-						} 
-						sb.append(c);
-					} else {
-						// -1
-						if (sb.length() > 0) {
-							sb.deleteCharAt(sb.length()-1); // removing last "+"
-						}
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < terms.size; i++) {
+			if (!terms.isConstantTerm(i)) {
+				if (!terms.coefficientEquals(i, 1)) {
+					if (terms.signum(i) < 0 && sb.length() > 0) {
+						sb.deleteCharAt(sb.length() - 1); // removing last "+"
+					}
+					if (terms.coefficientEquals(i, -1)) {
 						sb.append('-');
+					} else {
+						terms.appendCoefficient(sb, i);
 					}
 				}
-				sb.append(t.toTeX());
+				terms.appendTermTeX(sb, i);
+			} else {
+				terms.appendCoefficient(sb, i);
 			}
-			else
-				sb.append(c);
 			sb.append('+');
 		}
 		return sb.substring(0, sb.length() - 1); // removing closing "+"
 	}
 
-	
 	/**
 	 * The set of the variables in this polynomial
 	 * @return the set of variables
 	 */
 	public HashSet<PVariable> getVars() {
 		HashSet<PVariable> v = new HashSet<>();
-		Iterator<PTerm> it = terms.keySet().iterator();
-		while (it.hasNext()) {
-			PTerm t = it.next();
-			v.addAll(t.getVars());
-		}
+		Collections.addAll(v, terms.vars);
 		return v;
 	}
 
@@ -465,12 +354,13 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		StringBuilder sb = new StringBuilder();
 		for (int i = 0; i < polys.length; ++i) {
 			if (!polys[i].isZero()) { // avoid sending 0 to Giac's eliminate
-				sb.append("," + polys[i].toString());
+				if (sb.length() > 0) {
+					sb.append(',');
+				}
+				polys[i].appendTo(sb);
 			}
 		}
-		if (sb.length()>0)
-			return sb.substring(1); // removing first "," character
-		return "";
+		return sb.toString();
 	}
 	
 
@@ -697,50 +587,9 @@ public class PPolynomial implements Comparable<PPolynomial> {
 		if (substitutions == null)
 			return this;
 			
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(t1.getTerm());
-			BigInteger product = BigInteger.ONE;
-			Iterator<Entry<PVariable, BigInteger>> itSubst = substitutions
-					.entrySet()
-					.iterator();
-			while (itSubst.hasNext()) {
-				Entry<PVariable, BigInteger> entrySubst = itSubst.next();
-				PVariable variable = entrySubst.getKey();
-				Integer exponent = term.get(variable);
-				if (exponent != null) {
-					product = product
-							.multiply(entrySubst.getValue().pow(exponent));
-					term.remove(variable);
-				}
-			}
-			product = product.multiply(entry.getValue());
-			PTerm t = new PTerm(term);
-			if (result.containsKey(t)) {
-				BigInteger sum = result.get(t).add(product);
-//				if (sum.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > -1) {
-//					throw new ArithmeticException(
-//							"Integer Overflow in polynomial class");
-//				}
-				if (sum.longValue() == 0) {
-					result.remove(t);
-				} else {
-					result.put(t, sum);
-				}
-			} else if (product.intValue() != 0){
-//				if (product.compareTo(BigInteger.valueOf(Integer.MAX_VALUE)) > -1) {
-//					throw new ArithmeticException(
-//							"Integer Overflow in polynomial class");
-//				}
-				result.put(t, product);
-			}
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(terms.substitute(substitutions));
 	}
+
 	/**
 	 * Substitutes a variable in the polynomial by another variable.
 	 * 
@@ -753,32 +602,9 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 */
 	public PPolynomial substitute(PVariable oldVar, PVariable newVar) {
 
-		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
-		Iterator<Entry<PTerm, BigInteger>> it = terms.entrySet().iterator();
-		while (it.hasNext()) {
-			Entry<PTerm, BigInteger> entry = it.next();
-			PTerm t1 = entry.getKey();
-			TreeMap<PVariable, Integer> term = new TreeMap<>(
-					t1.getTerm());
-			Integer oldExponent = term.get(oldVar);
-			if (oldExponent != null) {
-				Integer newExponent = term.get(newVar);
-				if (newExponent == null) {
-					newExponent = 0;
-				} else {
-					term.remove(newVar);
-				}
-				term.remove(oldVar);
-				term.put(newVar, oldExponent + newExponent);
-			}
-			BigInteger coeff = entry.getValue();
-			PTerm t = new PTerm(term);
-			result.put(t, coeff);
-		}
-		return new PPolynomial(result);
+		return new PPolynomial(terms.substitute(oldVar, newVar));
 	}
-	
-	
+
 	@Override
 	public boolean equals(Object o) {
 		if (o instanceof PPolynomial) {
@@ -797,7 +623,7 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return true if the polynomial is zero false otherwise
 	 */
 	public boolean isZero() {
-		return terms.isEmpty();
+		return terms.size == 0;
 	}
 	
 	/**
@@ -805,23 +631,20 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return if input is a constant
 	 */
 	public boolean isConstant() {
-		if (terms.size() > 1) {
-			return false;
-		}
-		if (terms.firstKey().equals(new PTerm())) {
-			return true;
-		}
-		return false;
-		}
+		return terms.vars.length == 0;
+	}
 	
 	/**
 	 * @return Integer value of Polynomial if it is constant
 	 */
 	public BigInteger getConstant() {
-		if (terms.size() > 1) {
+		if (terms.size > 1) {
 			return null;
 		}
-		return terms.firstEntry().getValue();
+		if (terms.size == 0) {
+			return BigInteger.ZERO;
+		}
+		return terms.getCoefficient(0);
 	}
 
 	/**
@@ -840,7 +663,8 @@ public class PPolynomial implements Comparable<PPolynomial> {
 	 * @return true if the polynomial is zero false otherwise
 	 */
 	public boolean isOne() {
-		return equals(new PPolynomial(BigInteger.ONE));
+		return terms.size == 1 && terms.vars.length == 0
+				&& terms.coefficientEquals(0, 1);
 	}
 	
 
@@ -0,0 +1,843 @@
+package org.geogebra.common.kernel.prover.polynomial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable sparse polynomial in packed form. The variables are stored once
+ * per polynomial (sorted by increasing id), every term is a row of exponents
+ * for these variables in one int array and the coefficients are kept in a
+ * long array. Coefficients which don't fit in a long are stored as
+ * BigInteger. The rows are sorted in the order of {@link PTerm}, so
+ * polynomials with a common variable table can be added by merging.
+ */
+final class PackedTerms {
+
+	/** the zero polynomial */
+	static final PackedTerms ZERO = new PackedTerms(new PVariable[0],
+			new int[0], new long[0], null, 0);
+
+	/** variables, sorted by increasing id */
+	final PVariable[] vars;
+	/** exponents, size rows of vars.length entries */
+	final int[] exponents;
+	/** coefficients which fit in a long */
+	final long[] coefficients;
+	/** null if all coefficients fit in a long, big coefficients otherwise */
+	final BigInteger[] bigCoefficients;
+	/** number of terms */
+	final int size;
+
+	private PackedTerms(PVariable[] vars, int[] exponents, long[] coefficients,
+			BigInteger[] bigCoefficients, int size) {
+		this.vars = vars;
+		this.exponents = exponents;
+		this.coefficients = coefficients;
+		this.bigCoefficients = bigCoefficients;
+		this.size = size;
+	}
+
+	/**
+	 * @param coeff
+	 *            coefficient
+	 * @return constant polynomial
+	 */
+	static PackedTerms constant(BigInteger coeff) {
+		Builder result = new Builder(ZERO.vars, 1);
+		result.reserve();
+		result.commit(coeff);
+		return result.build();
+	}
+
+	/**
+	 * @param coeff
+	 *            coefficient
+	 * @return constant polynomial
+	 */
+	static PackedTerms constant(long coeff) {
+		Builder result = new Builder(ZERO.vars, 1);
+		result.reserve();
+		result.commit(coeff);
+		return result.build();
+	}
+
+	/**
+	 * @param coeff
+	 *            coefficient
+	 * @param variable
+	 *            variable
+	 * @param power
+	 *            exponent
+	 * @return coeff*variable^power
+	 */
+	static PackedTerms monomial(BigInteger coeff, PVariable variable,
+			int power) {
+		if (power == 0) {
+			return constant(coeff);
+		}
+		Builder result = new Builder(new PVariable[] { variable }, 1);
+		result.exponents[result.reserve()] = power;
+		result.commit(coeff);
+		return result.build();
+	}
+
+	/**
+	 * @param coeff
+	 *            coefficient
+	 * @param term
+	 *            term
+	 * @return coeff*term
+	 */
+	static PackedTerms monomial(BigInteger coeff, PTerm term) {
+		TreeMap<PVariable, Integer> powers = term.getTerm();
+		int width = 0;
+		for (Integer power : powers.values()) {
+			if (power.intValue() != 0) {
+				width++;
+			}
+		}
+		PVariable[] vars = new PVariable[width];
+		int[] row = new int[width];
+		// PVariable order is decreasing id
+		int k = width;
+		for (Map.Entry<PVariable, Integer> entry : powers.entrySet()) {
+			if (entry.getValue().intValue() != 0) {
+				k--;
+				vars[k] = entry.getKey();
+				row[k] = entry.getValue();
+			}
+		}
+		Builder result = new Builder(vars, 1);
+		System.arraycopy(row, 0, result.exponents, result.reserve(), width);
+		result.commit(coeff);
+		return result.build();
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @return whether the coefficient fits in a long
+	 */
+	boolean isSmall(int i) {
+		return bigCoefficients == null || bigCoefficients[i] == null;
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @return coefficient of the term
+	 */
+	BigInteger getCoefficient(int i) {
+		if (isSmall(i)) {
+			return BigInteger.valueOf(coefficients[i]);
+		}
+		return bigCoefficients[i];
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @return sign of the coefficient
+	 */
+	int signum(int i) {
+		if (isSmall(i)) {
+			return Long.signum(coefficients[i]);
+		}
+		return bigCoefficients[i].signum();
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @param value
+	 *            value
+	 * @return whether the coefficient equals the value
+	 */
+	boolean coefficientEquals(int i, long value) {
+		return isSmall(i) && coefficients[i] == value;
+	}
+
+	/**
+	 * @param i
+	 *            term index
+	 * @return whether the term has no variables
+	 */
+	boolean isConstantTerm(int i) {
+		int width = vars.length;
+		for (int k = i * width; k < (i + 1) * width; k++) {
+			if (exponents[k] != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param other
+	 *            other polynomial
+	 * @return sum
+	 */
+	PackedTerms add(PackedTerms other) {
+		if (size == 0) {
+			return other;
+		}
+		if (other.size == 0) {
+			return this;
+		}
+		PVariable[] union = union(vars, other.vars);
+		return merge(widen(union), other.widen(union)).compact();
+	}
+
+	/**
+	 * @return additive inverse
+	 */
+	PackedTerms negate() {
+		int width = vars.length;
+		Builder result = new Builder(vars, size);
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(exponents, i * width, result.exponents,
+					result.reserve(), width);
+			if (isSmall(i) && coefficients[i] != Long.MIN_VALUE) {
+				result.commit(-coefficients[i]);
+			} else {
+				result.commit(getCoefficient(i).negate());
+			}
+		}
+		return result.build();
+	}
+
+	/**
+	 * @param other
+	 *            other polynomial
+	 * @return product
+	 */
+	PackedTerms multiply(PackedTerms other) {
+		if (size == 0 || other.size == 0) {
+			return ZERO;
+		}
+		PVariable[] union = union(vars, other.vars);
+		PackedTerms a = widen(union);
+		PackedTerms b = other.widen(union);
+		if (a.size > b.size) {
+			return b.multiply(0, b.size, a).compact();
+		}
+		return a.multiply(0, a.size, b).compact();
+	}
+
+	/**
+	 * Multiplies the terms from..to-1 with the other polynomial, adding the
+	 * partial products pairwise. All the partial products are sorted already,
+	 * so this only needs merging.
+	 */
+	private PackedTerms multiply(int from, int to, PackedTerms other) {
+		if (to - from == 1) {
+			return other.times(this, from);
+		}
+		int mid = (from + to) >>> 1;
+		return merge(multiply(from, mid, other), multiply(mid, to, other));
+	}
+
+	/**
+	 * @return this polynomial times the i-th term of a (same variables)
+	 */
+	private PackedTerms times(PackedTerms a, int i) {
+		int width = vars.length;
+		Builder result = new Builder(vars, size);
+		int offset = i * width;
+		for (int j = 0; j < size; j++) {
+			int row = result.reserve();
+			for (int k = 0; k < width; k++) {
+				result.exponents[row + k] = exponents[j * width + k]
+						+ a.exponents[offset + k];
+			}
+			result.commitProduct(a, i, this, j);
+		}
+		return result.build();
+	}
+
+	/**
+	 * Substitutes variables by integer values.
+	 *
+	 * @param substitutions
+	 *            values of variables
+	 * @return polynomial with substitutions
+	 */
+	PackedTerms substitute(Map<PVariable, BigInteger> substitutions) {
+		int width = vars.length;
+		BigInteger[] values = new BigInteger[width];
+		int newWidth = 0;
+		for (int k = 0; k < width; k++) {
+			values[k] = substitutions.get(vars[k]);
+			if (values[k] == null) {
+				newWidth++;
+			}
+		}
+		if (newWidth == width) {
+			return this;
+		}
+		PVariable[] newVars = new PVariable[newWidth];
+		for (int k = 0, l = 0; k < width; k++) {
+			if (values[k] == null) {
+				newVars[l++] = vars[k];
+			}
+		}
+		Builder result = new Builder(newVars, size);
+		terms: for (int i = 0; i < size; i++) {
+			BigInteger factor = null;
+			int row = result.reserve();
+			int l = 0;
+			for (int k = 0; k < width; k++) {
+				int power = exponents[i * width + k];
+				if (values[k] == null) {
+					result.exponents[row + l++] = power;
+				} else if (power != 0) {
+					if (values[k].signum() == 0) {
+						continue terms;
+					}
+					BigInteger value = values[k].pow(power);
+					factor = factor == null ? value : factor.multiply(value);
+				}
+			}
+			if (factor == null || BigInteger.ONE.equals(factor)) {
+				result.commit(this, i);
+			} else {
+				result.commit(getCoefficient(i).multiply(factor));
+			}
+		}
+		return result.build().sort().compact();
+	}
+
+	/**
+	 * Substitutes a variable by another variable.
+	 *
+	 * @param oldVar
+	 *            old variable
+	 * @param newVar
+	 *            new variable
+	 * @return polynomial with substitution
+	 */
+	PackedTerms substitute(PVariable oldVar, PVariable newVar) {
+		if (indexOf(vars, oldVar) < 0 || oldVar.getId() == newVar.getId()) {
+			return this;
+		}
+		PVariable[] newVars = union(vars, new PVariable[] { newVar });
+		PackedTerms widened = widen(newVars);
+		int width = newVars.length;
+		int oldIndex = indexOf(newVars, oldVar);
+		int newIndex = indexOf(newVars, newVar);
+		Builder result = new Builder(newVars, size);
+		for (int i = 0; i < size; i++) {
+			int row = result.reserve();
+			System.arraycopy(widened.exponents, i * width, result.exponents,
+					row, width);
+			result.exponents[row + newIndex] += result.exponents[row
+					+ oldIndex];
+			result.exponents[row + oldIndex] = 0;
+			result.commit(this, i);
+		}
+		return result.build().sort().compact();
+	}
+
+	private static int indexOf(PVariable[] vars, PVariable variable) {
+		int id = variable.getId();
+		int low = 0;
+		int high = vars.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int midId = vars[mid].getId();
+			if (midId < id) {
+				low = mid + 1;
+			} else if (midId > id) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Compares two polynomials in the order of {@link PPolynomial}: the
+	 * highest terms are compared first, then their coefficients.
+	 *
+	 * @param other
+	 *            other polynomial
+	 * @return comparison result
+	 */
+	int compareTo(PackedTerms other) {
+		int i = size - 1;
+		int j = other.size - 1;
+		while (i >= 0 && j >= 0) {
+			int compare = compareTerms(this, i, other, j);
+			if (compare == 0) {
+				if (isSmall(i) && other.isSmall(j)) {
+					long a = coefficients[i];
+					long b = other.coefficients[j];
+					compare = a < b ? -1 : (a == b ? 0 : 1);
+				} else {
+					compare = getCoefficient(i)
+							.compareTo(other.getCoefficient(j));
+				}
+			}
+			if (compare != 0) {
+				return compare;
+			}
+			i--;
+			j--;
+		}
+		if (i < 0) {
+			return j < 0 ? 0 : -1;
+		}
+		return 1;
+	}
+
+	/**
+	 * Compares terms with (maybe) different variable tables.
+	 */
+	private static int compareTerms(PackedTerms a, int i, PackedTerms b,
+			int j) {
+		int widthA = a.vars.length;
+		int widthB = b.vars.length;
+		int k = 0;
+		int l = 0;
+		while (k < widthA || l < widthB) {
+			int idA = k < widthA ? a.vars[k].getId() : Integer.MAX_VALUE;
+			int idB = l < widthB ? b.vars[l].getId() : Integer.MAX_VALUE;
+			int powerA = 0;
+			int powerB = 0;
+			if (idA <= idB) {
+				powerA = a.exponents[i * widthA + k++];
+			}
+			if (idB <= idA) {
+				powerB = b.exponents[j * widthB + l++];
+			}
+			if (powerA != powerB) {
+				return powerA < powerB ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Compares two rows of exponents with the same variables; this is the
+	 * order of {@link PTerm} (lower id means higher variable).
+	 */
+	private static int compareRows(int[] a, int offsetA, int[] b,
+			int offsetB, int width) {
+		for (int k = 0; k < width; k++) {
+			int powerA = a[offsetA + k];
+			int powerB = b[offsetB + k];
+			if (powerA != powerB) {
+				return powerA < powerB ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+
+	private static PVariable[] union(PVariable[] a, PVariable[] b) {
+		PVariable[] result = new PVariable[a.length + b.length];
+		int i = 0;
+		int j = 0;
+		int n = 0;
+		while (i < a.length && j < b.length) {
+			int idA = a[i].getId();
+			int idB = b[j].getId();
+			if (idA < idB) {
+				result[n++] = a[i++];
+			} else if (idA > idB) {
+				result[n++] = b[j++];
+			} else {
+				result[n++] = a[i++];
+				j++;
+			}
+		}
+		while (i < a.length) {
+			result[n++] = a[i++];
+		}
+		while (j < b.length) {
+			result[n++] = b[j++];
+		}
+		if (n == a.length) {
+			return a;
+		}
+		if (n == b.length) {
+			return b;
+		}
+		return Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * @param union
+	 *            superset of the variables of this polynomial
+	 * @return the same polynomial with the given variable table
+	 */
+	private PackedTerms widen(PVariable[] union) {
+		int width = vars.length;
+		int newWidth = union.length;
+		if (width == newWidth) {
+			return this;
+		}
+		int[] positions = new int[width];
+		for (int k = 0, l = 0; k < width; k++) {
+			while (union[l].getId() != vars[k].getId()) {
+				l++;
+			}
+			positions[k] = l;
+		}
+		int[] newExponents = new int[size * newWidth];
+		for (int i = 0; i < size; i++) {
+			for (int k = 0; k < width; k++) {
+				newExponents[i * newWidth + positions[k]] = exponents[i * width
+						+ k];
+			}
+		}
+		return new PackedTerms(union, newExponents, coefficients,
+				bigCoefficients, size);
+	}
+
+	/**
+	 * @return the same polynomial without variables that have zero exponent
+	 *         in every term
+	 */
+	private PackedTerms compact() {
+		int width = vars.length;
+		boolean[] used = new boolean[width];
+		int newWidth = 0;
+		for (int i = 0; i < size && newWidth < width; i++) {
+			for (int k = 0; k < width; k++) {
+				if (!used[k] && exponents[i * width + k] != 0) {
+					used[k] = true;
+					newWidth++;
+				}
+			}
+		}
+		if (newWidth == width) {
+			return this;
+		}
+		PVariable[] newVars = new PVariable[newWidth];
+		int[] newExponents = new int[size * newWidth];
+		for (int k = 0, l = 0; k < width; k++) {
+			if (used[k]) {
+				newVars[l] = vars[k];
+				for (int i = 0; i < size; i++) {
+					newExponents[i * newWidth + l] = exponents[i * width + k];
+				}
+				l++;
+			}
+		}
+		return new PackedTerms(newVars, newExponents, coefficients,
+				bigCoefficients, size);
+	}
+
+	/**
+	 * Adds two polynomials with the same variable table.
+	 */
+	private static PackedTerms merge(PackedTerms a, PackedTerms b) {
+		int width = a.vars.length;
+		Builder result = new Builder(a.vars, a.size + b.size);
+		int i = 0;
+		int j = 0;
+		while (i < a.size && j < b.size) {
+			int compare = compareRows(a.exponents, i * width, b.exponents,
+					j * width, width);
+			if (compare < 0) {
+				result.copy(a, i++);
+			} else if (compare > 0) {
+				result.copy(b, j++);
+			} else {
+				System.arraycopy(a.exponents, i * width, result.exponents,
+						result.reserve(), width);
+				result.commitSum(a, i++, b, j++);
+			}
+		}
+		while (i < a.size) {
+			result.copy(a, i++);
+		}
+		while (j < b.size) {
+			result.copy(b, j++);
+		}
+		return result.build();
+	}
+
+	/**
+	 * @return the same terms sorted, equal terms added
+	 */
+	private PackedTerms sort() {
+		int width = vars.length;
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		// bottom-up merge sort of term indices
+		int[] buffer = new int[size];
+		for (int run = 1; run < size; run *= 2) {
+			for (int from = 0; from < size; from += 2 * run) {
+				int mid = Math.min(from + run, size);
+				int to = Math.min(from + 2 * run, size);
+				int i = from;
+				int j = mid;
+				int n = from;
+				while (i < mid && j < to) {
+					if (compareRows(exponents, order[j] * width, exponents,
+							order[i] * width, width) < 0) {
+						buffer[n++] = order[j++];
+					} else {
+						buffer[n++] = order[i++];
+					}
+				}
+				while (i < mid) {
+					buffer[n++] = order[i++];
+				}
+				while (j < to) {
+					buffer[n++] = order[j++];
+				}
+			}
+			int[] swap = order;
+			order = buffer;
+			buffer = swap;
+		}
+		Builder result = new Builder(vars, size);
+		int i = 0;
+		while (i < size) {
+			int j = i + 1;
+			while (j < size && compareRows(exponents, order[i] * width,
+					exponents, order[j] * width, width) == 0) {
+				j++;
+			}
+			if (j == i + 1) {
+				result.copy(this, order[i]);
+			} else {
+				BigInteger sum = BigInteger.ZERO;
+				for (int k = i; k < j; k++) {
+					sum = sum.add(getCoefficient(order[k]));
+				}
+				System.arraycopy(exponents, order[i] * width,
+						result.exponents, result.reserve(), width);
+				result.commit(sum);
+			}
+			i = j;
+		}
+		return result.build();
+	}
+
+	/**
+	 * @return the terms as map
+	 */
+	TreeMap<PTerm, BigInteger> toMap() {
+		TreeMap<PTerm, BigInteger> result = new TreeMap<>();
+		int width = vars.length;
+		for (int i = 0; i < size; i++) {
+			TreeMap<PVariable, Integer> term = new TreeMap<>();
+			for (int k = 0; k < width; k++) {
+				int power = exponents[i * width + k];
+				if (power != 0) {
+					term.put(vars[k], power);
+				}
+			}
+			result.put(new PTerm(term), getCoefficient(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Appends the product of variables of the i-th term, highest variable
+	 * first (same as {@link PTerm#toString()}).
+	 *
+	 * @param sb
+	 *            output
+	 * @param i
+	 *            term index
+	 */
+	void appendTerm(StringBuilder sb, int i) {
+		int width = vars.length;
+		boolean first = true;
+		for (int k = width - 1; k >= 0; k--) {
+			int power = exponents[i * width + k];
+			if (power != 0) {
+				if (!first) {
+					sb.append('*');
+				}
+				first = false;
+				sb.append('v').append(vars[k].getId());
+				if (power > 1) {
+					sb.append('^').append(power);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Appends the i-th term in LaTeX (same as {@link PTerm#toTeX()}).
+	 *
+	 * @param sb
+	 *            output
+	 * @param i
+	 *            term index
+	 */
+	void appendTermTeX(StringBuilder sb, int i) {
+		int width = vars.length;
+		for (int k = width - 1; k >= 0; k--) {
+			int power = exponents[i * width + k];
+			if (power != 0) {
+				sb.append(vars[k].toTeX());
+				if (power > 1) {
+					sb.append("^{").append(power).append('}');
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param sb
+	 *            output
+	 * @param i
+	 *            term index
+	 */
+	void appendCoefficient(StringBuilder sb, int i) {
+		if (isSmall(i)) {
+			sb.append(coefficients[i]);
+		} else {
+			sb.append(bigCoefficients[i]);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		int width = vars.length;
+		int hash = size;
+		for (int k = 0; k < width; k++) {
+			hash = 31 * hash + vars[k].getId();
+		}
+		for (int i = 0; i < size; i++) {
+			for (int k = i * width; k < (i + 1) * width; k++) {
+				hash = 31 * hash + exponents[k];
+			}
+			if (isSmall(i)) {
+				long c = coefficients[i];
+				hash = 31 * hash + (int) (c ^ (c >>> 32));
+			} else {
+				hash = 31 * hash + bigCoefficients[i].hashCode();
+			}
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof PackedTerms && compareTo((PackedTerms) o) == 0;
+	}
+
+	/**
+	 * Growable term list; a term is added by writing its exponents to the
+	 * row returned by {@link #reserve()} and then committing its coefficient.
+	 * Terms with zero coefficient are dropped.
+	 */
+	private static final class Builder {
+		private final PVariable[] vars;
+		private final int width;
+		int[] exponents;
+		private long[] coefficients;
+		private BigInteger[] bigCoefficients;
+		private int size = 0;
+
+		Builder(PVariable[] vars, int capacity) {
+			this.vars = vars;
+			this.width = vars.length;
+			int initial = Math.max(capacity, 1);
+			exponents = new int[initial * width];
+			coefficients = new long[initial];
+		}
+
+		/**
+		 * @return offset of the next row in exponents
+		 */
+		int reserve() {
+			if (size == coefficients.length) {
+				int capacity = 2 * size;
+				exponents = Arrays.copyOf(exponents, capacity * width);
+				coefficients = Arrays.copyOf(coefficients, capacity);
+				if (bigCoefficients != null) {
+					bigCoefficients = Arrays.copyOf(bigCoefficients, capacity);
+				}
+			}
+			return size * width;
+		}
+
+		void commit(long coeff) {
+			if (coeff == 0) {
+				return;
+			}
+			coefficients[size] = coeff;
+			if (bigCoefficients != null) {
+				bigCoefficients[size] = null;
+			}
+			size++;
+		}
+
+		void commit(BigInteger coeff) {
+			if (coeff.bitLength() < 64) {
+				commit(coeff.longValue());
+				return;
+			}
+			if (bigCoefficients == null) {
+				bigCoefficients = new BigInteger[coefficients.length];
+			}
+			coefficients[size] = 0;
+			bigCoefficients[size] = coeff;
+			size++;
+		}
+
+		/**
+		 * Commits the coefficient of the i-th term of a.
+		 */
+		void commit(PackedTerms a, int i) {
+			if (a.isSmall(i)) {
+				commit(a.coefficients[i]);
+			} else {
+				commit(a.bigCoefficients[i]);
+			}
+		}
+
+		void commitSum(PackedTerms a, int i, PackedTerms b, int j) {
+			if (a.isSmall(i) && b.isSmall(j)) {
+				long x = a.coefficients[i];
+				long y = b.coefficients[j];
+				long sum = x + y;
+				// no overflow if the result has the sign of an input
+				if (((x ^ sum) & (y ^ sum)) >= 0) {
+					commit(sum);
+					return;
+				}
+			}
+			commit(a.getCoefficient(i).add(b.getCoefficient(j)));
+		}
+
+		void commitProduct(PackedTerms a, int i, PackedTerms b, int j) {
+			if (a.isSmall(i) && b.isSmall(j)) {
+				long x = a.coefficients[i];
+				long y = b.coefficients[j];
+				if (x == (int) x && y == (int) y) {
+					commit(x * y);
+					return;
+				}
+			}
+			commit(a.getCoefficient(i).multiply(b.getCoefficient(j)));
+		}
+
+		void copy(PackedTerms a, int i) {
+			System.arraycopy(a.exponents, i * width, exponents, reserve(),
+					width);
+			commit(a, i);
+		}
+
+		PackedTerms build() {
+			if (size == 0) {
+				return ZERO;
+			}
+			return new PackedTerms(vars, exponents, coefficients,
+					bigCoefficients, size);
+		}
+	}
+}
@@ -15,7 +15,6 @@ package org.geogebra.common.kernel.statistics;
 import org.apache.commons.math3.stat.descriptive.rank.Percentile;
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
-import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
@@ -102,18 +101,13 @@ public class AlgoPercentile extends AlgoElement {
 		// ==========================
 		// compute result
 
-		inputArray = new double[size];
-
-		// load input value array from geoList
-		for (int i = 0; i < size; i++) {
-			GeoElement geo = inputList.get(i);
-			if (geo instanceof NumberValue) {
-				inputArray[i] = geo.evaluateDouble();
-			} else {
-				result.setUndefined();
-				return;
-			}
+		// values shared with other statistics of the same list
+		ListStatistics stats = inputList.getStatistics();
+		if (!stats.isNumeric()) {
+			result.setUndefined();
+			return;
 		}
+		inputArray = stats.getSorted();
 
 		if (percentile == null) {
 			percentile = new Percentile();
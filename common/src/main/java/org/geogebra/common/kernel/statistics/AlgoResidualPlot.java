@@ -16,6 +16,7 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoFunctionable;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoPoint;
@@ -98,7 +99,10 @@ public class AlgoResidualPlot extends AlgoElement {
 		outputList.setDefined(true);
 		outputList.clear();
 
-		double x, y, r;
+		double[] x = new double[size];
+		double[] y = new double[size];
+		double[] v = new double[size];
+		double r;
 
 		min = Double.MAX_VALUE;
 		max = -Double.MAX_VALUE;
@@ -106,17 +110,20 @@ public class AlgoResidualPlot extends AlgoElement {
 		for (int i = 0; i < size; i++) {
 			GeoElement p = inputList.get(i);
 			if (p instanceof GeoPoint) {
-				x = ((GeoPoint) p).getInhomX();
-				y = ((GeoPoint) p).getInhomY();
-				r = y - function.value(x);
-				min = Math.min(r, min);
-				max = Math.max(r, max);
-				outputList.addPoint(x, r, 1.0, null);
+				x[i] = ((GeoPoint) p).getInhomX();
+				y[i] = ((GeoPoint) p).getInhomY();
 			} else {
 				outputList.setUndefined();
 				return;
 			}
 		}
+		GeoFunction.evaluateAll(function, x, v, size);
+		for (int i = 0; i < size; i++) {
+			r = y[i] - v[i];
+			min = Math.min(r, min);
+			max = Math.max(r, max);
+			outputList.addPoint(x[i], r, 1.0, null);
+		}
 	}
 
 }
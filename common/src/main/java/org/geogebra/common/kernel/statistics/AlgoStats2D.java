@@ -14,12 +14,9 @@ package org.geogebra.common.kernel.statistics;
 
 import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
-import org.geogebra.common.kernel.arithmetic.NumberValue;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
-import org.geogebra.common.kernel.kernelND.GeoPointND;
-import org.geogebra.common.kernel.matrix.Coords;
 
 /**
  * Mean, covariance, sum, sum of squares, etc from two lists or a list of points
@@ -151,7 +148,6 @@ public abstract class AlgoStats2D extends AlgoElement {
 		double sumxx = 0;
 		double sumxy = 0;
 		double sumyy = 0;
-		double valx, valy;
 		int sizex = geoListx.size();
 		int sizey = sizex;
 		if (mode == MODE_DOUBLELIST) {
@@ -162,44 +158,33 @@ public abstract class AlgoStats2D extends AlgoElement {
 				return;
 			}
 
+			// sums of single lists are shared with other statistics
+			ListStatistics statsx = geoListx.getStatistics();
+			ListStatistics statsy = geoListy.getStatistics();
+			if (!statsx.isNumeric() || !statsy.isNumeric()) {
+				result.setUndefined();
+				return;
+			}
+			sumx = statsx.getSum();
+			sumy = statsy.getSum();
+			sumxx = statsx.getSumSquares();
+			sumyy = statsy.getSumSquares();
+			double[] valx = statsx.getValues();
+			double[] valy = statsy.getValues();
 			for (int i = 0; i < sizex; i++) {
-				GeoElement geox = geoListx.get(i);
-				GeoElement geoy = geoListy.get(i);
-				if (geox instanceof NumberValue
-						&& geoy instanceof NumberValue) {
-					valx = geox.evaluateDouble();
-					valy = geoy.evaluateDouble();
-					sumx += valx;
-					sumy += valy;
-					sumxx += valx * valx;
-					sumyy += valy * valy;
-					sumxy += valx * valy;
-				} else {
-					result.setUndefined();
-					return;
-				}
+				sumxy += valx[i] * valy[i];
 			}
 		} else { // MODE_LISTOFPOINTS
-			for (int i = 0; i < sizex; i++) {
-				GeoElement geo = geoListx.get(i);
-				if (geo.isGeoPoint()) {
-					Coords coords = ((GeoPointND) geo).getInhomCoordsInD3();
-					double x = coords.getX();
-					double y = coords.getY();
-
-					valx = x;
-					valy = y;
-					sumx += valx;
-					sumy += valy;
-					sumxx += valx * valx;
-					sumyy += valy * valy;
-					sumxy += valx * valy;
-				} else {
-					result.setUndefined();
-					return;
-				}
+			ListStatistics stats = geoListx.getStatistics();
+			if (!stats.isPointList()) {
+				result.setUndefined();
+				return;
 			}
-
+			sumx = stats.getSumX();
+			sumy = stats.getSumY();
+			sumxx = stats.getSumXX();
+			sumyy = stats.getSumYY();
+			sumxy = stats.getSumXY();
 		}
 
 		double mux = sumx / sizex;
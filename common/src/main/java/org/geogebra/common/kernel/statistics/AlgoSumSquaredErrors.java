@@ -16,6 +16,7 @@ import org.geogebra.common.kernel.Construction;
 import org.geogebra.common.kernel.algos.AlgoElement;
 import org.geogebra.common.kernel.commands.Commands;
 import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoFunction;
 import org.geogebra.common.kernel.geos.GeoFunctionable;
 import org.geogebra.common.kernel.geos.GeoList;
 import org.geogebra.common.kernel.geos.GeoNumeric;
@@ -108,20 +109,24 @@ public class AlgoSumSquaredErrors extends AlgoElement {
 		double errorsum = 0.0d;
 		GeoElement geo = null;
 		GeoPoint point = null;
-		double x, y, v;
+		double[] x = new double[size];
+		double[] y = new double[size];
+		double[] v = new double[size];
 		for (int i = 0; i < size; i++) {
 			geo = inputList.get(i);
 			if (geo instanceof GeoPoint) {
 				point = (GeoPoint) geo;
-				x = point.getX();
-				y = point.getY();
-				v = function.value(x);
-				errorsum += (v - y) * (v - y);
+				x[i] = point.getX();
+				y[i] = point.getY();
 			} else {
 				sse.setUndefined();
 				return;
 			} // if calculation is possible
 		} // for all points
+		GeoFunction.evaluateAll(function, x, v, size);
+		for (int i = 0; i < size; i++) {
+			errorsum += (v[i] - y[i]) * (v[i] - y[i]);
+		}
 
 		sse.setValue(errorsum);
 	}
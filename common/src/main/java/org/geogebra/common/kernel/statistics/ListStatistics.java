@@ -0,0 +1,281 @@
+package org.geogebra.common.kernel.statistics;
+
+import java.util.Arrays;
+
+import org.geogebra.common.kernel.arithmetic.MyDouble;
+import org.geogebra.common.kernel.arithmetic.NumberValue;
+import org.geogebra.common.kernel.geos.GeoElement;
+import org.geogebra.common.kernel.geos.GeoList;
+import org.geogebra.common.kernel.kernelND.GeoPointND;
+import org.geogebra.common.kernel.matrix.Coords;
+
+/**
+ * Values of a list and statistics derived from them, shared by all
+ * statistics algos using the same list (see {@link GeoList#getStatistics()}).
+ * Everything is computed lazily and kept until the list is updated.
+ *
+ * Returned arrays are shared and must not be modified. The lazy computations
+ * are synchronized and only marked as valid when complete, so algos of the
+ * same update level may use this concurrently.
+ */
+public class ListStatistics {
+
+	private final GeoList list;
+
+	private volatile boolean valuesValid = false;
+	private boolean numeric;
+	private double[] values = new double[0];
+	private volatile double[] sorted;
+	private volatile boolean momentsValid = false;
+	private double sum;
+	private double sumSquares;
+	private double product;
+
+	private volatile boolean pointsValid = false;
+	private boolean pointList;
+	private double sumX;
+	private double sumY;
+	private double sumXX;
+	private double sumYY;
+	private double sumXY;
+
+	/**
+	 * @param list
+	 *            list
+	 */
+	public ListStatistics(GeoList list) {
+		this.list = list;
+	}
+
+	/**
+	 * Forget all values, called when the list changes.
+	 */
+	public synchronized void invalidate() {
+		valuesValid = false;
+		sorted = null;
+		momentsValid = false;
+		pointsValid = false;
+	}
+
+	private void updateValues() {
+		if (valuesValid) {
+			return;
+		}
+		synchronized (this) {
+			if (!valuesValid) {
+				int size = list.size();
+				if (values.length != size) {
+					values = new double[size];
+				}
+				numeric = fillValues(size);
+				valuesValid = true;
+			}
+		}
+	}
+
+	/**
+	 * @return whether all elements are numbers
+	 */
+	private boolean fillValues(int size) {
+		double[] packed = list.getPackedNumbers();
+		if (packed != null) {
+			System.arraycopy(packed, 0, values, 0, size);
+			return true;
+		}
+		if (list.getPackedPointsX() != null) {
+			return size == 0;
+		}
+		for (int i = 0; i < size; i++) {
+			GeoElement geo = list.get(i);
+			if (geo instanceof NumberValue) {
+				values[i] = geo.evaluateDouble();
+			} else {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return whether all elements are numbers
+	 */
+	public boolean isNumeric() {
+		updateValues();
+		return numeric;
+	}
+
+	/**
+	 * @return values of the elements (only valid if {@link #isNumeric()})
+	 */
+	public double[] getValues() {
+		updateValues();
+		return values;
+	}
+
+	/**
+	 * @return sorted values of the elements (only valid if
+	 *         {@link #isNumeric()})
+	 */
+	public double[] getSorted() {
+		double[] ret = sorted;
+		if (ret == null) {
+			synchronized (this) {
+				ret = sorted;
+				if (ret == null) {
+					double[] vals = getValues();
+					ret = Arrays.copyOf(vals, vals.length);
+					Arrays.sort(ret);
+					sorted = ret;
+				}
+			}
+		}
+		return ret;
+	}
+
+	private void updateMoments() {
+		if (momentsValid) {
+			return;
+		}
+		synchronized (this) {
+			if (momentsValid) {
+				return;
+			}
+			double[] vals = getValues();
+			sum = 0;
+			sumSquares = 0;
+			product = 1;
+			for (int i = 0; i < vals.length; i++) {
+				double val = vals[i];
+				sum += val;
+				sumSquares += val * val;
+				product *= val;
+			}
+			momentsValid = true;
+		}
+	}
+
+	/**
+	 * @return sum of values
+	 */
+	public double getSum() {
+		updateMoments();
+		return sum;
+	}
+
+	/**
+	 * @return sum of squares of values
+	 */
+	public double getSumSquares() {
+		updateMoments();
+		return sumSquares;
+	}
+
+	/**
+	 * @return product of values
+	 */
+	public double getProduct() {
+		updateMoments();
+		return product;
+	}
+
+	private void updatePoints() {
+		if (pointsValid) {
+			return;
+		}
+		synchronized (this) {
+			if (!pointsValid) {
+				sumX = 0;
+				sumY = 0;
+				sumXX = 0;
+				sumYY = 0;
+				sumXY = 0;
+				pointList = fillPoints();
+				pointsValid = true;
+			}
+		}
+	}
+
+	/**
+	 * @return whether all elements are points
+	 */
+	private boolean fillPoints() {
+		double[] xs = list.getPackedPointsX();
+		if (xs != null) {
+			double[] ys = list.getPackedPointsY();
+			for (int i = 0; i < list.size(); i++) {
+				// undefined points have NaN coordinates
+				addPoint(MyDouble.isFinite(xs[i]) ? xs[i] : Double.NaN,
+						MyDouble.isFinite(ys[i]) ? ys[i] : Double.NaN);
+			}
+			return true;
+		}
+		if (list.getPackedNumbers() != null) {
+			return list.size() == 0;
+		}
+		for (int i = 0; i < list.size(); i++) {
+			GeoElement geo = list.get(i);
+			if (!geo.isGeoPoint()) {
+				return false;
+			}
+			Coords coords = ((GeoPointND) geo).getInhomCoordsInD3();
+			addPoint(coords.getX(), coords.getY());
+		}
+		return true;
+	}
+
+	private void addPoint(double x, double y) {
+		sumX += x;
+		sumY += y;
+		sumXX += x * x;
+		sumYY += y * y;
+		sumXY += x * y;
+	}
+
+	/**
+	 * @return whether all elements are points
+	 */
+	public boolean isPointList() {
+		updatePoints();
+		return pointList;
+	}
+
+	/**
+	 * @return sum of x-coordinates of points
+	 */
+	public double getSumX() {
+		updatePoints();
+		return sumX;
+	}
+
+	/**
+	 * @return sum of y-coordinates of points
+	 */
+	public double getSumY() {
+		updatePoints();
+		return sumY;
+	}
+
+	/**
+	 * @return sum of squared x-coordinates of points
+	 */
+	public double getSumXX() {
+		updatePoints();
+		return sumXX;
+	}
+
+	/**
+	 * @return sum of squared y-coordinates of points
+	 */
+	public double getSumYY() {
+		updatePoints();
+		return sumYY;
+	}
+
+	/**
+	 * @return sum of x*y for all points
+	 */
+	public double getSumXY() {
+		updatePoints();
+		return sumXY;
+	}
+}
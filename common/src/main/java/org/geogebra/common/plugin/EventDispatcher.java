@@ -1,6 +1,7 @@
 package org.geogebra.common.plugin;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import org.geogebra.common.kernel.ClientView;
 import org.geogebra.common.kernel.ModeSetter;
@@ -29,6 +30,17 @@ public class EventDispatcher implements ClientView {
 	private App app;
 	private ArrayList<EventListener> listeners = new ArrayList<>();
 
+	// coalescing of update events within batch updates
+	private boolean coalesceUpdates = false;
+	private int batchDepth = 0;
+	private final ArrayList<Event> pendingEvents = new ArrayList<>();
+	private final HashSet<GeoElement> pendingUpdates = new HashSet<>();
+	private final HashSet<GeoElement> pendingStyleUpdates = new HashSet<>();
+	private long batchStart;
+	private long droppedEvents = 0;
+	private long lastLatency = 0;
+	private long maxLatency = 0;
+
 	/**
 	 * @param app
 	 *            application
@@ -58,6 +70,52 @@ public class EventDispatcher implements ClientView {
 		listeners.remove(listener);
 	}
 
+	/**
+	 * If enabled, update and style update events sent during a batch update
+	 * (e.g. an update cascade while dragging) are collected and delivered at
+	 * the end of the batch, at most once per object and event type.
+	 *
+	 * @param coalesceUpdates
+	 *            whether to coalesce update events
+	 */
+	public void setCoalesceUpdates(boolean coalesceUpdates) {
+		if (!coalesceUpdates) {
+			flushPendingEvents();
+		}
+		this.coalesceUpdates = coalesceUpdates;
+	}
+
+	/**
+	 * @return whether update events are coalesced within batch updates
+	 */
+	public boolean isCoalesceUpdates() {
+		return coalesceUpdates;
+	}
+
+	/**
+	 * @return number of update events that were not delivered because the
+	 *         same event was already pending
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents;
+	}
+
+	/**
+	 * @return time in milliseconds between the first coalesced event of the
+	 *         last batch and its delivery
+	 */
+	public long getLastLatency() {
+		return lastLatency;
+	}
+
+	/**
+	 * @return maximal time in milliseconds between the first coalesced event of
+	 *         a batch and its delivery
+	 */
+	public long getMaxLatency() {
+		return maxLatency;
+	}
+
 	/**
 	 * For tests only.
 	 * @return listeners
@@ -149,6 +207,10 @@ public class EventDispatcher implements ClientView {
 
 	@Override
 	public void update(GeoElement geo) {
+		if (isCoalescing()) {
+			queueEvent(EventType.UPDATE, geo, pendingUpdates);
+			return;
+		}
 		long start = System.currentTimeMillis();
 		dispatchEvent(EventType.UPDATE, geo);
 		GeoGebraProfiler.addEvent(System.currentTimeMillis() - start);
@@ -156,11 +218,60 @@ public class EventDispatcher implements ClientView {
 
 	@Override
 	public void updateVisualStyle(GeoElement geo, GProperty prop) {
-		if (prop != GProperty.TEXT_SELECTION) {
+		if (prop == GProperty.TEXT_SELECTION) {
+			return;
+		}
+		if (isCoalescing()) {
+			queueEvent(EventType.UPDATE_STYLE, geo, pendingStyleUpdates);
+		} else {
 			dispatchEvent(EventType.UPDATE_STYLE, geo);
 		}
 	}
 
+	private boolean isCoalescing() {
+		return coalesceUpdates && batchDepth > 0;
+	}
+
+	private void queueEvent(EventType type, GeoElement geo,
+			HashSet<GeoElement> pending) {
+		if (!geo.isLabelSet()) {
+			return;
+		}
+		if (!pending.add(geo)) {
+			droppedEvents++;
+			return;
+		}
+		if (pendingEvents.isEmpty()) {
+			batchStart = System.currentTimeMillis();
+		}
+		pendingEvents.add(new Event(type, geo));
+	}
+
+	private void flushPendingEvents() {
+		if (pendingEvents.isEmpty()) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		lastLatency = start - batchStart;
+		maxLatency = Math.max(maxLatency, lastLatency);
+		ArrayList<Event> events = new ArrayList<>(pendingEvents);
+		clearPendingEvents();
+		for (Event evt : events) {
+			// the object may have been removed or renamed meanwhile
+			if (evt.target.isLabelSet()) {
+				evt.argument = evt.target.getLabelSimple();
+				dispatchEvent(evt);
+			}
+		}
+		GeoGebraProfiler.addEvent(System.currentTimeMillis() - start);
+	}
+
+	private void clearPendingEvents() {
+		pendingEvents.clear();
+		pendingUpdates.clear();
+		pendingStyleUpdates.clear();
+	}
+
 	@Override
 	public void updateHighlight(GeoElementND geo) {
 		// nothing to do here
@@ -193,6 +304,8 @@ public class EventDispatcher implements ClientView {
 		// As I understand it, this happens when a new file is started. This is
 		// the time to call the reset() function of the registered event
 		// listeners.
+		clearPendingEvents();
+		batchDepth = 0;
 		for (EventListener listener : listeners) {
 			listener.reset();
 		}
@@ -216,14 +329,17 @@ public class EventDispatcher implements ClientView {
 
 	@Override
 	public void startBatchUpdate() {
-		// TODO Auto-generated method stub
-
+		batchDepth++;
 	}
 
 	@Override
 	public void endBatchUpdate() {
-		// TODO Auto-generated method stub
-
+		if (batchDepth > 0) {
+			batchDepth--;
+		}
+		if (batchDepth == 0) {
+			flushPendingEvents();
+		}
 	}
 
 	@Override
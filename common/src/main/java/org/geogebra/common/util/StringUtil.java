@@ -43,8 +43,6 @@ public class StringUtil extends com.himamis.retex.editor.share.input.Character {
 
 	private static final Object lock = new Object();
 
-	private static StringBuilder sbReplaceExp = new StringBuilder(200);
-
 	/**
 	 * @param data
 	 *            to convert
@@ -369,10 +367,10 @@ public class StringUtil extends com.himamis.retex.editor.share.input.Character {
 	 *            whether to convert unicode alpha to \alpha
 	 * @return latex string
 	 */
-	public static synchronized String toLaTeXString(String str,
+	public static String toLaTeXString(String str,
 			boolean convertGreekLetters) {
 		int length = str.length();
-		sbReplaceExp.setLength(0);
+		StringBuilder sbReplaceExp = new StringBuilder(length + 16);
 
 		char c = 0;
 		char previousChar;
@@ -14,11 +14,13 @@ import org.geogebra.common.gui.view.spreadsheet.CellRange;
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
 import org.geogebra.common.gui.view.spreadsheet.DataImport;
 import org.geogebra.common.gui.view.spreadsheet.RelativeCopy;
+import org.geogebra.common.gui.view.spreadsheet.StreamingDataImport;
 import org.geogebra.common.kernel.StringTemplate;
 import org.geogebra.common.kernel.geos.GeoElement;
 import org.geogebra.common.main.App;
 import org.geogebra.common.util.Charsets;
 import org.geogebra.common.util.StringUtil;
+import org.geogebra.common.util.opencsv.CSVException;
 
 public class CopyPasteCutD extends CopyPasteCut {
 
@@ -164,6 +166,10 @@ public class CopyPasteCutD extends CopyPasteCut {
 	public boolean pasteFromURL(URL url, CellRange targetRange,
 			boolean clearSpreadsheet) {
 
+		if (targetRange.isSingleCell()) {
+			return pasteFromURLStreaming(url, targetRange, clearSpreadsheet);
+		}
+
 		// read file
 		StringBuilder contents = new StringBuilder();
 
@@ -208,6 +214,64 @@ public class CopyPasteCutD extends CopyPasteCut {
 
 	}
 
+	/**
+	 * Reads the file line by line, numbers are not stored as strings
+	 */
+	private boolean pasteFromURLStreaming(URL url, CellRange targetRange,
+			boolean clearSpreadsheet) {
+		StreamingDataImport data;
+		try {
+			// same separator as DataImport: tab if there is any tab in the
+			// file
+			data = new StreamingDataImport(containsTab(url) ? '\t' : ',');
+			InputStream is = url.openStream();
+			BufferedReader input = new BufferedReader(
+					new InputStreamReader(is, Charsets.getUtf8()));
+			try {
+				String line = null;
+				while ((line = input.readLine()) != null) {
+					data.addLine(line);
+				}
+			} finally {
+				input.close();
+			}
+		} catch (IOException | CSVException ex) {
+			ex.printStackTrace();
+			return false;
+		}
+		if (data.getRowCount() == 0) {
+			return false;
+		}
+		if (clearSpreadsheet) {
+			deleteAll();
+		}
+		return pasteExternal(data, targetRange.getMinColumn(),
+				targetRange.getMinRow());
+	}
+
+	/**
+	 * Scans the file without storing it.
+	 * 
+	 * @param url
+	 *            file URL
+	 * @return whether the file contains a tab
+	 */
+	private static boolean containsTab(URL url) throws IOException {
+		BufferedReader input = new BufferedReader(
+				new InputStreamReader(url.openStream(), Charsets.getUtf8()));
+		try {
+			int c;
+			while ((c = input.read()) != -1) {
+				if (c == '\t') {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			input.close();
+		}
+	}
+
 	/**
 	 * Return the extension portion of the file's name.
 	 * 
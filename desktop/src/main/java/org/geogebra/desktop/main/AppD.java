@@ -117,6 +117,7 @@ import org.geogebra.common.GeoGebraConstants.Platform;
 import org.geogebra.common.awt.GDimension;
 import org.geogebra.common.awt.GFont;
 import org.geogebra.common.awt.MyImage;
+import org.geogebra.common.cas.CasResultCache;
 import org.geogebra.common.euclidian.EuclidianConstants;
 import org.geogebra.common.euclidian.EuclidianController;
 import org.geogebra.common.euclidian.EuclidianCursor;
@@ -137,9 +138,13 @@ import org.geogebra.common.io.layout.DockPanelData;
 import org.geogebra.common.io.layout.Perspective;
 import org.geogebra.common.io.layout.PerspectiveDecoder;
 import org.geogebra.common.javax.swing.GImageIcon;
+import org.geogebra.common.jre.cas.FileCasResultStore;
 import org.geogebra.common.jre.factory.FormatFactoryJre;
 import org.geogebra.common.jre.gui.MyImageJre;
 import org.geogebra.common.jre.headless.AppDI;
+import org.geogebra.common.jre.io.PipelinedXMLParser;
+import org.geogebra.common.jre.kernel.ForkJoinTaskScheduler;
+import org.geogebra.common.jre.kernel.ParallelUpdateScheduler;
 import org.geogebra.common.jre.kernel.commands.CommandDispatcher3DJre;
 import org.geogebra.common.jre.kernel.commands.CommandDispatcherJre;
 import org.geogebra.common.jre.main.TemplateHelper;
@@ -775,6 +780,9 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 																	// accepted
 					+ "  --showSplash=BOOLEAN\tenable/disable the splash screen\n"
 					+ "  --enableUndo=BOOLEAN\tenable/disable Undo\n"
+					+ "  --parallelUpdate=BOOLEAN\tupdate independent objects, implicit curves and loci in parallel\n"
+					+ "  --casCache=true|DIRECTORY\tcache CAS results in memory and optionally in a directory shared with other sessions\n"
+					+ "  --streamingLoad=BOOLEAN\tread files on a background thread while building the construction\n"
 					+ "  --fontSize=NUMBER\tset default font size\n"
 					+ "  --showAxes=BOOLEAN\tshow/hide coordinate axes\n"
 					+ "  --showGrid=BOOLEAN\tshow/hide grid\n"
@@ -943,6 +951,20 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 			setUndoActive(false);
 		}
 
+		if (args.getBooleanValue("parallelUpdate", false)) {
+			kernel.setUpdateScheduler(new ParallelUpdateScheduler());
+			kernel.setTaskScheduler(new ForkJoinTaskScheduler());
+		}
+
+		if (args.containsArg("casCache")) {
+			String casCacheDir = args.getStringValue("casCache");
+			FileCasResultStore store = casCacheDir.length() == 0
+					|| "true".equals(casCacheDir) ? null
+							: new FileCasResultStore(new File(casCacheDir));
+			kernel.getGeoGebraCAS().setResultCache(
+					new CasResultCache(CasResultCache.DEFAULT_SIZE, store));
+		}
+
 		if (args.containsArg("showAxes")) {
 			boolean showAxesParam = args.getBooleanValue("showAxes", true);
 			this.showAxes[0] = showAxesParam;
@@ -1301,6 +1323,9 @@ public class AppD extends App implements KeyEventDispatcher, AppDI {
 		if (args.containsArg("regressionFile")) {
 			this.regressionFileName = args.getStringValue("regressionFile");
 		}
+		if (args.getBooleanValue("streamingLoad", false)) {
+			getXMLio().setParseExecutor(PipelinedXMLParser.createExecutor());
+		}
 		if (args.containsArg("prover")) {
 			String[] proverOptions = args.getStringValue("prover").split(",");
 			for (int i = 0; i < proverOptions.length; i++) {
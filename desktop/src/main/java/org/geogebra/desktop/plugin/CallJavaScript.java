@@ -7,10 +7,35 @@ import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Context.ClassShutterSetter;
 import org.mozilla.javascript.ContextFactory;
 import org.mozilla.javascript.NativeFunction;
+import org.mozilla.javascript.Script;
 import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
 
 public class CallJavaScript {
 
+	/**
+	 * Creates the top-level scope shared by all scripts of an app: sealed
+	 * standard objects and GgbApi functions, eg ggbApplet.evalCommand()
+	 * 
+	 * @param app
+	 *            application
+	 * @return sealed scope
+	 */
+	public static ScriptableObject createSharedScope(App app) {
+		if (!ContextFactory.hasExplicitGlobal()) {
+			ContextFactory.initGlobal(SandboxContextFactory.getInstance());
+		}
+		Context cx = enter();
+		try {
+			ScriptableObject scope = cx.initStandardObjects(null, true);
+			GeoGebraGlobal.initStandardObjects(app, scope, null, true);
+			scope.sealObject();
+			return scope;
+		} finally {
+			Context.exit();
+		}
+	}
+
 	/**
 	 * Evaluates the global script for the current construction and returns a
 	 * scope object for this script.
@@ -19,33 +44,24 @@ public class CallJavaScript {
 	 * @return
 	 */
 	public static Scriptable evalGlobalScript(App app) {
-
-		ContextFactory.initGlobal(SandboxContextFactory.getInstance());
+		ScriptManagerD scriptManager = (ScriptManagerD) app.getScriptManager();
+		Scriptable sharedScope = scriptManager.getSharedScope();
 
 		// create new scope
-		Context cx = Context.enter();
-
-		Scriptable scope = cx.initStandardObjects();
-
-		ClassShutterSetter setter = cx.getClassShutterSetter();
-		if (setter != null) {
-			setter.setClassShutter(sandboxClassShutter);
-		}
-
-		// Initialize GgbApi functions, eg ggbApplet.evalCommand()
-		GeoGebraGlobal.initStandardObjects(app, scope, null, false);
-
-		// Evaluate the global string
+		Context cx = enter();
 		try {
-			cx.evaluateString(scope,
-					app.getKernel().getLibraryJavaScript(),
-					app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-		} catch (Throwable t) {
+			Scriptable scope = newScope(cx, sharedScope);
 
-		}
-		Context.exit();
-		return scope;
+			// Evaluate the global string
+			try {
+				exec(cx, scope, app.getKernel().getLibraryJavaScript(), app);
+			} catch (Throwable t) {
 
+			}
+			return scope;
+		} finally {
+			Context.exit();
+		}
 	}
 
 	/**
@@ -57,41 +73,68 @@ public class CallJavaScript {
 	 * @param arg
 	 */
 	public static void evalScript(App app, String script, String arg) {
-		Context cx = Context.enter();
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-
-		// Evaluate the script.
-		cx.evaluateString(newScope, script,
-				app.getLocalization().getMenu("ErrorAtLine"), 1, null);
-
-		Context.exit();
-
+		Context cx = enter();
+		try {
+			// Evaluate the script.
+			exec(cx, getScope(app, cx), script, app);
+		} finally {
+			Context.exit();
+		}
 	}
 
 	private static final SandboxClassShutter sandboxClassShutter = new SandboxClassShutter();
 
 	public static void evalFunction(NativeFunction nativeRunnable, Object[] args, App app) {
-		Context cx = Context.enter();
-		cx.initStandardObjects();
-		Scriptable newScope = getScope(app, cx);
-		// Evaluate the script.
-		nativeRunnable.call(cx, newScope, nativeRunnable, args);
+		Context cx = enter();
+		long start = System.nanoTime();
+		try {
+			// Evaluate the script.
+			nativeRunnable.call(cx, getScope(app, cx), nativeRunnable, args);
+		} finally {
+			getScriptCache(app).addExecutionTime(System.nanoTime() - start);
+			Context.exit();
+		}
+	}
 
-		Context.exit();
+	private static void exec(Context cx, Scriptable scope, String script,
+			App app) {
+		CompiledScriptCache cache = getScriptCache(app);
+		Script compiled = cache.getScript(cx, script,
+				app.getLocalization().getMenu("ErrorAtLine"));
+		long start = System.nanoTime();
+		try {
+			compiled.exec(cx, scope);
+		} finally {
+			cache.addExecutionTime(System.nanoTime() - start);
+		}
 	}
 
-	private static Scriptable getScope(App app, Context cx) {
-		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
-				.getGlobalScopeMap().get(app.getKernel().getConstruction());
+	private static CompiledScriptCache getScriptCache(App app) {
+		return ((ScriptManagerD) app.getScriptManager()).getScriptCache();
+	}
+
+	private static Context enter() {
+		Context cx = Context.enter();
 		ClassShutterSetter setter = cx.getClassShutterSetter();
 		if (setter != null) {
 			setter.setClassShutter(sandboxClassShutter);
 		}
+		return cx;
+	}
 
-		// Create a new scope that shares the global scope
-		Scriptable newScope = cx.newObject(globalScope);
-		newScope.setPrototype(globalScope);
+	private static Scriptable getScope(App app, Context cx) {
+		Scriptable globalScope = ((ScriptManagerD) app.getScriptManager())
+				.getGlobalScopeMap().get(app.getKernel().getConstruction());
+		return newScope(cx, globalScope);
+	}
+
+	/**
+	 * Creates a new scope that shares the given scope: definitions go to the
+	 * new scope, lookups fall back to the parent
+	 */
+	private static Scriptable newScope(Context cx, Scriptable parent) {
+		Scriptable newScope = cx.newObject(parent);
+		newScope.setPrototype(parent);
 		newScope.setParentScope(null);
 		return newScope;
 	}
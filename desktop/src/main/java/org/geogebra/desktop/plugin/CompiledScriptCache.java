@@ -0,0 +1,116 @@
+package org.geogebra.desktop.plugin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+
+/**
+ * Compiled Rhino scripts, so that scripts running on every update (e.g. while
+ * dragging) are only compiled once. Least recently used scripts are dropped
+ * when the cache is full.
+ */
+public class CompiledScriptCache {
+
+	private static final int MAX_SIZE = 256;
+
+	private final LinkedHashMap<Key, Script> scripts =
+			new LinkedHashMap<Key, Script>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Script> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	private long hits = 0;
+	private long misses = 0;
+	private long executionTime = 0;
+
+	private static final class Key {
+		private final String script;
+		private final int optimizationLevel;
+
+		Key(String script, int optimizationLevel) {
+			this.script = script;
+			this.optimizationLevel = optimizationLevel;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * script.hashCode() + optimizationLevel;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return optimizationLevel == other.optimizationLevel
+					&& script.equals(other.script);
+		}
+	}
+
+	/**
+	 * @param cx
+	 *            current context
+	 * @param script
+	 *            script source
+	 * @param sourceName
+	 *            name used in error messages
+	 * @return compiled script for the optimization level of the context
+	 */
+	public synchronized Script getScript(Context cx, String script,
+			String sourceName) {
+		Key key = new Key(script, cx.getOptimizationLevel());
+		Script compiled = scripts.get(key);
+		if (compiled != null) {
+			hits++;
+			return compiled;
+		}
+		misses++;
+		compiled = cx.compileString(script, sourceName, 1, null);
+		scripts.put(key, compiled);
+		return compiled;
+	}
+
+	/**
+	 * @param nanos
+	 *            time spent executing a script
+	 */
+	public synchronized void addExecutionTime(long nanos) {
+		executionTime += nanos;
+	}
+
+	/**
+	 * @return number of scripts found in the cache
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of scripts that had to be compiled
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return total time spent executing scripts and functions in nanoseconds
+	 */
+	public synchronized long getExecutionTime() {
+		return executionTime;
+	}
+
+	/**
+	 * Removes all compiled scripts.
+	 */
+	public synchronized void clear() {
+		scripts.clear();
+	}
+}
@@ -13,6 +13,8 @@ import org.mozilla.javascript.Scriptable;
 public class ScriptManagerD extends ScriptManagerJre {
 
 	protected HashMap<Construction, Scriptable> globalScopeMap;
+	private Scriptable sharedScope;
+	private final CompiledScriptCache scriptCache = new CompiledScriptCache();
 
 	public ScriptManagerD(App app) {
 		super(app);
@@ -23,6 +25,24 @@ public class ScriptManagerD extends ScriptManagerJre {
 		return globalScopeMap;
 	}
 
+	/**
+	 * @return sealed scope with standard objects and GgbApi functions, shared
+	 *         by all constructions of this app
+	 */
+	public Scriptable getSharedScope() {
+		if (sharedScope == null) {
+			sharedScope = CallJavaScript.createSharedScope(app);
+		}
+		return sharedScope;
+	}
+
+	/**
+	 * @return cache of compiled scripts
+	 */
+	public CompiledScriptCache getScriptCache() {
+		return scriptCache;
+	}
+
 	@Override
 	protected void evalJavaScript(String jsFunction) {
 		evalJavaScript(app, jsFunction, null);
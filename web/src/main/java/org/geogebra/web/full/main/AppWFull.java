@@ -24,7 +24,7 @@ import org.geogebra.common.gui.layout.DockPanel;
 import org.geogebra.common.gui.toolbar.ToolBar;
 import org.geogebra.common.gui.view.probcalculator.ProbabilityCalculatorView;
 import org.geogebra.common.gui.view.spreadsheet.CopyPasteCut;
-import org.geogebra.common.gui.view.spreadsheet.DataImport;
+import org.geogebra.common.gui.view.spreadsheet.StreamingDataImport;
 import org.geogebra.common.io.layout.DockPanelData;
 import org.geogebra.common.io.layout.Perspective;
 import org.geogebra.common.io.layout.PerspectiveDecoder;
@@ -56,6 +56,7 @@ import org.geogebra.common.plugin.ScriptManager;
 import org.geogebra.common.util.AsyncOperation;
 import org.geogebra.common.util.StringUtil;
 import org.geogebra.common.util.debug.Log;
+import org.geogebra.common.util.opencsv.CSVException;
 import org.geogebra.ggbjdk.java.awt.geom.Dimension;
 import org.geogebra.keyboard.web.HasKeyboard;
 import org.geogebra.keyboard.web.TabbedKeyboard;
@@ -533,11 +534,15 @@ public class AppWFull extends AppW implements HasKeyboard, MenuViewListener {
 
 	@Override
 	public final void openCSV(String csv) {
-		String[][] data = DataImport.parseExternalData(this, csv, true);
+		StreamingDataImport data = StreamingDataImport.forSource(csv);
+		try {
+			data.addLines(csv);
+		} catch (CSVException e) {
+			Log.debug(e);
+		}
 		CopyPasteCut cpc = getGuiManager().getSpreadsheetView()
 				.getSpreadsheetTable().getCopyPasteCut();
-		cpc.pasteExternal(data, 0, 0, data.length > 0 ? data[0].length - 1 : 0,
-				data.length);
+		cpc.pasteExternal(data, 0, 0);
 		onOpenFile();
 	}
 
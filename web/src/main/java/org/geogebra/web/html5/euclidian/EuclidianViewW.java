@@ -640,6 +640,11 @@ public class EuclidianViewW extends EuclidianView implements
 		bgGraphics = bgImage.createGraphics();
 	}
 
+	@Override
+	protected GBufferedImage createStaticLayerImage() {
+		return makeImage();
+	}
+
 	private GBufferedImage makeImage() {
 		return new GBufferedImageW(g2p.getOffsetWidth(), g2p.getOffsetHeight(),
 				appW == null || appW.getPixelRatio() == 0 ? 1